@@ -0,0 +1,136 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import io.github.abolpv.lightdi.annotation.Inject;
+import io.github.abolpv.lightdi.annotation.Injectable;
+import io.github.abolpv.lightdi.annotation.Singleton;
+import io.github.abolpv.lightdi.container.BeanHandle;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.container.Key;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares bean access through {@code Container.get} with pre-resolved handles.
+ *
+ * <p>{@code plainField} reads a bean stored in a field of the benchmark state and is
+ * the lower bound; {@code singletonHandle} should come close to it. The prototype
+ * benchmarks show the cost saved by skipping the registry lookup per instance.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanHandleBenchmark {
+
+    public interface Sender {
+    }
+
+    @Injectable
+    @Singleton
+    public static class Repository {
+    }
+
+    @Injectable
+    @Singleton
+    public static class EmailSender implements Sender {
+    }
+
+    @Injectable
+    public static class RequestHandler {
+        private final Repository repository;
+
+        @Inject
+        public RequestHandler(Repository repository) {
+            this.repository = repository;
+        }
+    }
+
+    private static final Key<Sender> EMAIL = Key.of(Sender.class, "email");
+
+    private Container container;
+    private Container frozen;
+    private Repository repository;
+    private BeanHandle<Repository> repositoryHandle;
+    private BeanHandle<Sender> emailHandle;
+    private BeanHandle<RequestHandler> handlerHandle;
+
+    @Setup
+    public void setUp() {
+        container = Container.builder()
+            .register(Repository.class)
+            .register(RequestHandler.class)
+            .bind(Sender.class, EmailSender.class).named("email")
+            .build();
+        frozen = Container.builder()
+            .register(Repository.class)
+            .register(RequestHandler.class)
+            .bind(Sender.class, EmailSender.class).named("email")
+            .freeze()
+            .build();
+
+        repository = container.get(Repository.class);
+        repositoryHandle = container.handle(Repository.class);
+        emailHandle = container.handle(EMAIL);
+        handlerHandle = container.handle(RequestHandler.class);
+    }
+
+    @Benchmark
+    public Object plainField() {
+        return repository;
+    }
+
+    @Benchmark
+    public Object singletonGet() {
+        return container.get(Repository.class);
+    }
+
+    @Benchmark
+    public Object singletonGetFrozen() {
+        return frozen.get(Repository.class);
+    }
+
+    @Benchmark
+    public Object singletonHandle() {
+        return repositoryHandle.get();
+    }
+
+    @Benchmark
+    public Object namedGet() {
+        return container.get(Sender.class, "email");
+    }
+
+    @Benchmark
+    public Object namedGetFrozen() {
+        return frozen.get(Sender.class, "email");
+    }
+
+    @Benchmark
+    public Object namedHandle() {
+        return emailHandle.get();
+    }
+
+    @Benchmark
+    public Object prototypeGet() {
+        return container.get(RequestHandler.class);
+    }
+
+    @Benchmark
+    public Object prototypeHandle() {
+        return handlerHandle.get();
+    }
+}
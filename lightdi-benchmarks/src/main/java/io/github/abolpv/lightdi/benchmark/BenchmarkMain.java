@@ -0,0 +1,40 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of the benchmarks JAR. Runs JMH with the GC profiler ({@code -prof gc}),
+ * so that every result reports allocation per operation next to its time.
+ *
+ * <p>The arguments are passed on to {@link org.openjdk.jmh.Main} after {@code -prof gc},
+ * unless they already select the GC profiler or only list benchmarks, profilers or
+ * options.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class BenchmarkMain {
+
+    private static final List<String> INFO_OPTIONS = List.of("-l", "-lp", "-lprof", "-lrf", "-h");
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(withGcProfiler(args));
+    }
+
+    static String[] withGcProfiler(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (INFO_OPTIONS.contains(args[i])
+                || "-prof".equals(args[i]) && i + 1 < args.length && args[i + 1].startsWith("gc")) {
+                return args;
+            }
+        }
+        List<String> result = new ArrayList<>(List.of("-prof", "gc"));
+        result.addAll(Arrays.asList(args));
+        return result.toArray(new String[0]);
+    }
+}
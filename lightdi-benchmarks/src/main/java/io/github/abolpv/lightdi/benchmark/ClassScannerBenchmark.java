@@ -0,0 +1,94 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import io.github.abolpv.lightdi.scanner.ClassScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ClassScanner#scanPackage(String)} over {@code classes} generated classes,
+ * half of them {@literal @}Injectable, from a class directory or from a JAR.
+ *
+ * <p>Classes stay loaded after the first scan, so iterations measure finding and
+ * filtering class files rather than class loading.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassScannerBenchmark {
+
+    private static final String PACKAGE = "synthetic.scan";
+
+    @Param({"100", "1000"})
+    private int classes;
+
+    @Param({"directory", "jar"})
+    private String source;
+
+    private Path directory;
+    private URLClassLoader loader;
+    private ClassScanner scanner;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("lightdi-scan");
+        Path compiled = directory.resolve("classes");
+        Files.createDirectories(compiled);
+        SourceCompiler.compile(compiled, classSources(classes)).close();
+        if ("jar".equals(source)) {
+            Path jar = directory.resolve("synthetic.jar");
+            SourceCompiler.jar(compiled, jar);
+            loader = SourceCompiler.loader(jar);
+        } else {
+            loader = SourceCompiler.loader(compiled);
+        }
+        scanner = new ClassScanner(loader);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        loader.close();
+        SourceCompiler.delete(directory);
+    }
+
+    @Benchmark
+    public Set<Class<?>> scanPackage() {
+        return scanner.scanPackage(PACKAGE);
+    }
+
+    private static Map<String, String> classSources(int classes) {
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (int i = 0; i < classes; i++) {
+            String annotation = i % 2 == 0 ? "@io.github.abolpv.lightdi.annotation.Injectable\n" : "";
+            sources.put(PACKAGE + ".Bean" + i, "package " + PACKAGE + ";\n"
+                + annotation
+                + "public class Bean" + i + " {}\n");
+        }
+        return sources;
+    }
+}
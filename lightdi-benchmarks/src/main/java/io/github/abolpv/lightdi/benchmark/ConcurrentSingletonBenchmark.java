@@ -0,0 +1,174 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import io.github.abolpv.lightdi.annotation.Inject;
+import io.github.abolpv.lightdi.annotation.Injectable;
+import io.github.abolpv.lightdi.annotation.Singleton;
+import io.github.abolpv.lightdi.container.Container;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures singleton creation and lookup from several threads sharing one container.
+ *
+ * <p>{@code parallelCreation} creates eight independent singletons, each doing some CPU
+ * work in its constructor, from a pool of worker threads. With a container-wide creation
+ * lock its time grows with the number of beans; with per-bean creation it approaches the
+ * time of the slowest bean divided across the pool. {@code contendedCreation} has all
+ * workers ask for the same bean, which must still be created once. {@code cachedGet}
+ * reads an existing singleton from four benchmark threads at once.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentSingletonBenchmark {
+
+    private static final long WORK = 20_000;
+
+    @Injectable
+    @Singleton
+    public static class Bean0 {
+        public Bean0() {
+            Blackhole.consumeCPU(WORK);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    public static class Bean1 {
+        public Bean1() {
+            Blackhole.consumeCPU(WORK);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    public static class Bean2 {
+        public Bean2() {
+            Blackhole.consumeCPU(WORK);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    public static class Bean3 {
+        public Bean3() {
+            Blackhole.consumeCPU(WORK);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    public static class Bean4 {
+        public Bean4() {
+            Blackhole.consumeCPU(WORK);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    public static class Bean5 {
+        public Bean5() {
+            Blackhole.consumeCPU(WORK);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    public static class Bean6 {
+        public Bean6() {
+            Blackhole.consumeCPU(WORK);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    public static class Bean7 {
+        @Inject
+        public Bean7(Bean0 bean0) {
+            Blackhole.consumeCPU(WORK);
+        }
+    }
+
+    private static final List<Class<?>> BEANS = List.of(
+        Bean0.class, Bean1.class, Bean2.class, Bean3.class,
+        Bean4.class, Bean5.class, Bean6.class, Bean7.class
+    );
+
+    @Param({"4"})
+    public int workers;
+
+    private Container container;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        container = new Container();
+        for (Class<?> bean : BEANS) {
+            container.register(bean);
+        }
+        executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void parallelCreation(Blackhole blackhole) throws Exception {
+        container.clearSingletons();
+        List<Future<?>> futures = new ArrayList<>(BEANS.size());
+        for (Class<?> bean : BEANS) {
+            futures.add(executor.submit(() -> container.get(bean)));
+        }
+        for (Future<?> future : futures) {
+            blackhole.consume(future.get());
+        }
+    }
+
+    @Benchmark
+    public void contendedCreation(Blackhole blackhole) throws Exception {
+        container.clearSingletons();
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(() -> container.get(Bean7.class)));
+        }
+        for (Future<?> future : futures) {
+            blackhole.consume(future.get());
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object cachedGet() {
+        return container.get(Bean7.class);
+    }
+}
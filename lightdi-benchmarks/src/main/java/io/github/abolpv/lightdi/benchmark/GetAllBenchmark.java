@@ -0,0 +1,164 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import io.github.abolpv.lightdi.annotation.Injectable;
+import io.github.abolpv.lightdi.annotation.Singleton;
+import io.github.abolpv.lightdi.container.Container;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Container#getAll(Class)} and {@link Container#getBeansWithAnnotation(Class)}
+ * for four beans, next to {@code unrelated} generated beans that match neither lookup.
+ *
+ * <p>Lookups go through the type and annotation indexes, so the unrelated beans should
+ * not change the results. Singleton collections are cached; prototype collections
+ * create every member on each call.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetAllBenchmark {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public @interface Handler {
+    }
+
+    public interface Plugin {
+    }
+
+    public interface Task {
+    }
+
+    @Injectable
+    @Singleton
+    @Handler
+    public static class AuditPlugin implements Plugin {
+    }
+
+    @Injectable
+    @Singleton
+    @Handler
+    public static class MetricsPlugin implements Plugin {
+    }
+
+    @Injectable
+    @Singleton
+    @Handler
+    public static class CachePlugin implements Plugin {
+    }
+
+    @Injectable
+    @Singleton
+    @Handler
+    public static class TracePlugin implements Plugin {
+    }
+
+    @Injectable
+    public static class CleanupTask implements Task {
+    }
+
+    @Injectable
+    public static class ReportTask implements Task {
+    }
+
+    @Injectable
+    public static class BackupTask implements Task {
+    }
+
+    @Injectable
+    public static class IndexTask implements Task {
+    }
+
+    @Param({"0", "1000"})
+    private int unrelated;
+
+    private Path directory;
+    private URLClassLoader loader;
+    private Container container;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        container = new Container()
+            .register(AuditPlugin.class)
+            .register(MetricsPlugin.class)
+            .register(CachePlugin.class)
+            .register(TracePlugin.class)
+            .register(CleanupTask.class)
+            .register(ReportTask.class)
+            .register(BackupTask.class)
+            .register(IndexTask.class);
+
+        directory = Files.createTempDirectory("lightdi-getall");
+        loader = unrelated == 0
+            ? SourceCompiler.loader(directory)
+            : SourceCompiler.compile(directory, unrelatedSources(unrelated));
+        for (int i = 0; i < unrelated; i++) {
+            container.register(loader.loadClass("unrelated.Bean" + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        loader.close();
+        SourceCompiler.delete(directory);
+    }
+
+    @Benchmark
+    public List<Plugin> singletons() {
+        return container.getAll(Plugin.class);
+    }
+
+    @Benchmark
+    public List<Task> prototypes() {
+        return container.getAll(Task.class);
+    }
+
+    @Benchmark
+    public List<Object> annotated() {
+        return container.getBeansWithAnnotation(Handler.class);
+    }
+
+    private static Map<String, String> unrelatedSources(int count) {
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            sources.put("unrelated.Bean" + i, "package unrelated;\n"
+                + "@io.github.abolpv.lightdi.annotation.Injectable\n"
+                + "@io.github.abolpv.lightdi.annotation.Singleton\n"
+                + "public class Bean" + i + " implements Runnable {\n"
+                + "    public void run() {}\n"
+                + "}\n");
+        }
+        return sources;
+    }
+}
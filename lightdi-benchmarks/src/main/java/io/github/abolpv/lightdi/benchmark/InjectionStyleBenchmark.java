@@ -0,0 +1,143 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import io.github.abolpv.lightdi.annotation.Inject;
+import io.github.abolpv.lightdi.annotation.Injectable;
+import io.github.abolpv.lightdi.annotation.Singleton;
+import io.github.abolpv.lightdi.container.Container;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures prototype creation for each injection style, with the same three singleton
+ * dependencies injected through the constructor, fields, a method, or a mix of all three.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectionStyleBenchmark {
+
+    @Injectable
+    @Singleton
+    public static class Repository {
+    }
+
+    @Injectable
+    @Singleton
+    public static class Clock {
+    }
+
+    @Injectable
+    @Singleton
+    public static class Config {
+    }
+
+    @Injectable
+    public static class ConstructorInjected {
+        private final Repository repository;
+        private final Clock clock;
+        private final Config config;
+
+        @Inject
+        public ConstructorInjected(Repository repository, Clock clock, Config config) {
+            this.repository = repository;
+            this.clock = clock;
+            this.config = config;
+        }
+    }
+
+    @Injectable
+    public static class FieldInjected {
+        @Inject
+        private Repository repository;
+
+        @Inject
+        private Clock clock;
+
+        @Inject
+        private Config config;
+    }
+
+    @Injectable
+    public static class MethodInjected {
+        private Repository repository;
+        private Clock clock;
+        private Config config;
+
+        @Inject
+        public void setDependencies(Repository repository, Clock clock, Config config) {
+            this.repository = repository;
+            this.clock = clock;
+            this.config = config;
+        }
+    }
+
+    @Injectable
+    public static class MixedInjected {
+        private final Repository repository;
+
+        @Inject
+        private Clock clock;
+
+        private Config config;
+
+        @Inject
+        public MixedInjected(Repository repository) {
+            this.repository = repository;
+        }
+
+        @Inject
+        public void setConfig(Config config) {
+            this.config = config;
+        }
+    }
+
+    private Container container;
+
+    @Setup
+    public void setUp() {
+        container = new Container()
+            .register(Repository.class)
+            .register(Clock.class)
+            .register(Config.class)
+            .register(ConstructorInjected.class)
+            .register(FieldInjected.class)
+            .register(MethodInjected.class)
+            .register(MixedInjected.class);
+    }
+
+    @Benchmark
+    public Object constructor() {
+        return container.get(ConstructorInjected.class);
+    }
+
+    @Benchmark
+    public Object field() {
+        return container.get(FieldInjected.class);
+    }
+
+    @Benchmark
+    public Object method() {
+        return container.get(MethodInjected.class);
+    }
+
+    @Benchmark
+    public Object mixed() {
+        return container.get(MixedInjected.class);
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import io.github.abolpv.lightdi.annotation.Inject;
+import io.github.abolpv.lightdi.annotation.Injectable;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.container.InstantiationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the instantiation engines on a deep prototype graph
+ * against hand-written {@code new} calls.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantiationEngineBenchmark {
+
+    @Injectable
+    public static class Leaf {
+    }
+
+    @Injectable
+    public static class Level1 {
+        final Leaf left;
+        final Leaf right;
+
+        @Inject
+        public Level1(Leaf left, Leaf right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    @Injectable
+    public static class Level2 {
+        final Level1 left;
+        final Level1 right;
+
+        @Inject
+        public Level2(Level1 left, Level1 right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    @Injectable
+    public static class Level3 {
+        final Level2 left;
+        final Level2 right;
+
+        @Inject
+        public Level3(Level2 left, Level2 right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    @Param({"reflection", "methodHandles", "hiddenClasses"})
+    public String engine;
+
+    private Container container;
+
+    @Setup
+    public void setUp() {
+        container = Container.builder()
+            .instantiationEngine(engine(engine))
+            .register(Leaf.class)
+            .register(Level1.class)
+            .register(Level2.class)
+            .register(Level3.class)
+            .build();
+    }
+
+    static InstantiationEngine engine(String name) {
+        switch (name) {
+            case "methodHandles":
+                return InstantiationEngine.methodHandles();
+            case "hiddenClasses":
+                return InstantiationEngine.hiddenClasses();
+            default:
+                return InstantiationEngine.reflection();
+        }
+    }
+
+    @Benchmark
+    public Object container() {
+        return container.get(Level3.class);
+    }
+
+    @Benchmark
+    public Object handWritten() {
+        return new Level3(
+            new Level2(new Level1(new Leaf(), new Leaf()), new Level1(new Leaf(), new Leaf())),
+            new Level2(new Level1(new Leaf(), new Leaf()), new Level1(new Leaf(), new Leaf()))
+        );
+    }
+}
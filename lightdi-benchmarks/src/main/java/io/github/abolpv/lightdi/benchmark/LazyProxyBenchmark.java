@@ -0,0 +1,113 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import io.github.abolpv.lightdi.proxy.LazyProxy;
+import io.github.abolpv.lightdi.proxy.ProxyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures calls through lazy proxies, before and after initialization.
+ *
+ * <p>{@code jdkProxy} goes through {@link LazyProxy} and {@code Method.invoke};
+ * the generated proxies forward directly and should come close to {@code direct}.
+ * The {@code firstCall} benchmarks create a proxy and make its first call, which
+ * creates the target; proxy classes are cached, so they are only generated once.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyProxyBenchmark {
+
+    public interface Counter {
+        int next(int step);
+    }
+
+    public static class SimpleCounter implements Counter {
+        private int value;
+
+        @Override
+        public int next(int step) {
+            value += step;
+            return value;
+        }
+    }
+
+    private Counter direct;
+    private Counter jdkProxy;
+    private Counter interfaceProxy;
+    private SimpleCounter classProxy;
+
+    @Setup
+    public void setUp() {
+        direct = new SimpleCounter();
+        jdkProxy = (Counter) Proxy.newProxyInstance(
+            Counter.class.getClassLoader(),
+            new Class<?>[] {Counter.class},
+            new LazyProxy(SimpleCounter::new)
+        );
+        interfaceProxy = ProxyFactory.createLazyProxy(Counter.class, SimpleCounter::new);
+        classProxy = ProxyFactory.createLazyProxy(SimpleCounter.class, SimpleCounter::new);
+
+        // Initialize the targets so that only forwarding is measured
+        jdkProxy.next(0);
+        interfaceProxy.next(0);
+        classProxy.next(0);
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.next(1);
+    }
+
+    @Benchmark
+    public int jdkProxy() {
+        return jdkProxy.next(1);
+    }
+
+    @Benchmark
+    public int interfaceProxy() {
+        return interfaceProxy.next(1);
+    }
+
+    @Benchmark
+    public int classProxy() {
+        return classProxy.next(1);
+    }
+
+    @Benchmark
+    public int jdkProxyFirstCall() {
+        Counter proxy = (Counter) Proxy.newProxyInstance(
+            Counter.class.getClassLoader(),
+            new Class<?>[] {Counter.class},
+            new LazyProxy(SimpleCounter::new)
+        );
+        return proxy.next(1);
+    }
+
+    @Benchmark
+    public int interfaceProxyFirstCall() {
+        return ProxyFactory.createLazyProxy(Counter.class, SimpleCounter::new).next(1);
+    }
+
+    @Benchmark
+    public int classProxyFirstCall() {
+        return ProxyFactory.createLazyProxy(SimpleCounter.class, SimpleCounter::new).next(1);
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import io.github.abolpv.lightdi.annotation.Inject;
+import io.github.abolpv.lightdi.annotation.Injectable;
+import io.github.abolpv.lightdi.annotation.PostConstruct;
+import io.github.abolpv.lightdi.annotation.Singleton;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.util.ReflectionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures prototype creation through cached injection plans.
+ *
+ * <p>{@code rediscovery} replays what the container did before plans were cached:
+ * finding the constructor, fields, methods and {@literal @}PostConstruct callback
+ * reflectively for every instance. The difference to {@code cachedPlan} is the
+ * per-instance cost that plans remove.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrototypeCreationBenchmark {
+
+    @Injectable
+    @Singleton
+    public static class Repository {
+    }
+
+    @Injectable
+    @Singleton
+    public static class Clock {
+    }
+
+    @Injectable
+    public static class RequestHandler {
+        private final Repository repository;
+
+        @Inject
+        private Clock clock;
+
+        private Repository auditRepository;
+        private boolean ready;
+
+        @Inject
+        public RequestHandler(Repository repository) {
+            this.repository = repository;
+        }
+
+        @Inject
+        public void setAuditRepository(Repository auditRepository) {
+            this.auditRepository = auditRepository;
+        }
+
+        @PostConstruct
+        public void init() {
+            ready = true;
+        }
+    }
+
+    private Container container;
+
+    @Setup
+    public void setUp() {
+        container = new Container()
+            .register(Repository.class)
+            .register(Clock.class)
+            .register(RequestHandler.class);
+    }
+
+    @Benchmark
+    public Object cachedPlan() {
+        return container.get(RequestHandler.class);
+    }
+
+    @Benchmark
+    public Object rediscovery() {
+        Class<?> clazz = RequestHandler.class;
+
+        Constructor<?> constructor = ReflectionUtils.findInjectableConstructor(clazz);
+        Parameter[] parameters = constructor.getParameters();
+        Object[] args = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            args[i] = container.get(parameters[i].getType());
+        }
+        Object instance = ReflectionUtils.createInstance(constructor, args);
+
+        for (Field field : ReflectionUtils.findInjectableFields(clazz)) {
+            ReflectionUtils.setField(instance, field, container.get(field.getType()));
+        }
+        for (Method method : ReflectionUtils.findInjectableMethods(clazz)) {
+            Parameter[] methodParameters = method.getParameters();
+            Object[] methodArgs = new Object[methodParameters.length];
+            for (int i = 0; i < methodParameters.length; i++) {
+                methodArgs[i] = container.get(methodParameters[i].getType());
+            }
+            ReflectionUtils.invokeMethodWithArgs(instance, method, methodArgs);
+        }
+        ReflectionUtils.findPostConstructMethod(clazz)
+            .ifPresent(method -> ReflectionUtils.invokeMethod(instance, method));
+
+        return instance;
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import io.github.abolpv.lightdi.container.Container;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating a prototype graph of {@code size} dependencies, all prototypes.
+ *
+ * <p>{@code flat} creates a root taking every dependency in its constructor;
+ * {@code deep} creates a chain in which each bean takes the previous one. Both create
+ * the same number of instances, so the difference is the cost of nesting.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrototypeGraphBenchmark {
+
+    @Param({"8", "32"})
+    private int size;
+
+    private Path directory;
+    private URLClassLoader loader;
+    private Container container;
+    private Class<?> flatRoot;
+    private Class<?> deepRoot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("lightdi-graph");
+        loader = SourceCompiler.compile(directory, graphSources(size));
+        container = new Container();
+        for (int i = 0; i < size; i++) {
+            container.register(loader.loadClass("graph.Leaf" + i));
+            container.register(loader.loadClass("graph.Link" + i));
+        }
+        flatRoot = loader.loadClass("graph.FlatRoot");
+        deepRoot = loader.loadClass("graph.Link" + (size - 1));
+        container.register(flatRoot);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        loader.close();
+        SourceCompiler.delete(directory);
+    }
+
+    @Benchmark
+    public Object flat() {
+        return container.get(flatRoot);
+    }
+
+    @Benchmark
+    public Object deep() {
+        return container.get(deepRoot);
+    }
+
+    private static Map<String, String> graphSources(int size) {
+        Map<String, String> sources = new LinkedHashMap<>();
+        StringJoiner parameters = new StringJoiner(", ");
+        for (int i = 0; i < size; i++) {
+            sources.put("graph.Leaf" + i, "package graph;\n"
+                + "@io.github.abolpv.lightdi.annotation.Injectable\n"
+                + "public class Leaf" + i + " {}\n");
+            String constructor = i == 0
+                ? ""
+                : "    @io.github.abolpv.lightdi.annotation.Inject\n"
+                  + "    public Link" + i + "(Link" + (i - 1) + " previous) {}\n";
+            sources.put("graph.Link" + i, "package graph;\n"
+                + "@io.github.abolpv.lightdi.annotation.Injectable\n"
+                + "public class Link" + i + " {\n" + constructor + "}\n");
+            parameters.add("Leaf" + i + " leaf" + i);
+        }
+        sources.put("graph.FlatRoot", "package graph;\n"
+            + "@io.github.abolpv.lightdi.annotation.Injectable\n"
+            + "public class FlatRoot {\n"
+            + "    @io.github.abolpv.lightdi.annotation.Inject\n"
+            + "    public FlatRoot(" + parameters + ") {}\n"
+            + "}\n");
+        return sources;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import io.github.abolpv.lightdi.container.Container;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares recursive and iterative resolution of a prototype chain of the given depth.
+ *
+ * <p>The chain {@code Stage0 <- Stage1 <- ... <- StageN-1} is generated and compiled
+ * at setup, each stage injecting the previous one through its constructor, and
+ * {@code StageN-1} is requested on every invocation. Recursive resolution uses several
+ * stack frames per stage and defeats inlining once the chain is deep; iterative resolution
+ * runs the same loop for every stage. Depths are kept below the point where the recursive
+ * path overflows the default thread stack.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolutionDepthBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int depth;
+
+    private Path directory;
+    private URLClassLoader loader;
+    private Class<?> last;
+    private Container recursive;
+    private Container iterative;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("lightdi-chain");
+        loader = SourceCompiler.compile(directory, chainSources(depth));
+        recursive = new Container().setIterativeResolution(false);
+        iterative = new Container().setIterativeResolution(true);
+        for (int i = 0; i < depth; i++) {
+            Class<?> stage = loader.loadClass("chain.Stage" + i);
+            recursive.register(stage);
+            iterative.register(stage);
+        }
+        last = loader.loadClass("chain.Stage" + (depth - 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        loader.close();
+        SourceCompiler.delete(directory);
+    }
+
+    @Benchmark
+    public Object recursive() {
+        return recursive.get(last);
+    }
+
+    @Benchmark
+    public Object iterative() {
+        return iterative.get(last);
+    }
+
+    private static Map<String, String> chainSources(int depth) {
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (int i = 0; i < depth; i++) {
+            String constructor = i == 0
+                ? ""
+                : "    @io.github.abolpv.lightdi.annotation.Inject\n"
+                  + "    public Stage" + i + "(Stage" + (i - 1) + " previous) {}\n";
+            sources.put("chain.Stage" + i, "package chain;\n"
+                + "@io.github.abolpv.lightdi.annotation.Injectable\n"
+                + "public class Stage" + i + " {\n" + constructor + "}\n");
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Compiles generated bean sources at benchmark setup, for benchmarks that need more
+ * classes than are worth writing by hand.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class SourceCompiler {
+
+    private SourceCompiler() {
+    }
+
+    /**
+     * Compiles sources against the benchmark classpath, without annotation processing.
+     *
+     * @param directory the directory the sources and classes are written to
+     * @param sources source code by fully qualified class name
+     * @return a class loader for the compiled classes
+     */
+    static URLClassLoader compile(Path directory, Map<String, String> sources) throws IOException {
+        List<String> args = new ArrayList<>(List.of(
+            "-proc:none", "-classpath", System.getProperty("java.class.path"), "-d", directory.toString()));
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path file = directory.resolve(source.getKey().replace('.', '/') + ".java");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source.getValue());
+            args.add(file.toString());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler.run(null, null, null, args.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Failed to compile " + sources.size() + " generated classes");
+        }
+        return loader(directory);
+    }
+
+    /**
+     * Packs the class files of a directory into a JAR, with directory entries as build
+     * tools write them, so that packages can be found as class loader resources.
+     *
+     * @param directory the compiled classes
+     * @param jar the JAR to write
+     */
+    static void jar(Path directory, Path jar) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+                String name = directory.relativize(file).toString().replace('\\', '/');
+                if (Files.isDirectory(file)) {
+                    if (!name.isEmpty()) {
+                        out.putNextEntry(new JarEntry(name + "/"));
+                        out.closeEntry();
+                    }
+                } else if (name.endsWith(".class")) {
+                    out.putNextEntry(new JarEntry(name));
+                    Files.copy(file, out);
+                    out.closeEntry();
+                }
+            }
+        }
+    }
+
+    static URLClassLoader loader(Path root) throws IOException {
+        return new URLClassLoader(new URL[] {root.toUri().toURL()}, SourceCompiler.class.getClassLoader());
+    }
+
+    static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.container.ContainerBuilder;
+import io.github.abolpv.lightdi.container.ValidationReport;
+import io.github.abolpv.lightdi.scanner.ClassScanner;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures how container startup scales with the number of beans, on generated
+ * {@link SyntheticGraph graphs} compiled with {@code javax.tools.JavaCompiler}.
+ *
+ * <p>Each graph is compiled once and packaged as a class directory or a JAR. Every run then
+ * loads it through a new class loader, so classes, plans and caches are cold, and records:</p>
+ * <ul>
+ *   <li>{@code scanMs} - {@link ClassScanner#scanPackage(String)}, including class loading</li>
+ *   <li>{@code registerMs} - registering the scanned classes and {@link ContainerBuilder#build()}</li>
+ *   <li>{@code validateMs} - {@link Container#validate()}</li>
+ *   <li>{@code firstGetMs} - the first {@code get} of a bean from the last layer</li>
+ *   <li>{@code retainedKb} - heap retained by the container once every root is resolved</li>
+ * </ul>
+ *
+ * <p>Results are written as CSV, one row per run, with a {@code label} column to tell
+ * versions apart. Usage:</p>
+ * <pre>
+ * java -cp lightdi-benchmarks/target/benchmarks.jar \
+ *     io.github.abolpv.lightdi.benchmark.StartupScalability \
+ *     --beans 5000,20000 --fan-out 4 --depth 8 --singletons 0.8 --named 0.1 --primary 0.1 \
+ *     --packaging directory,jar --runs 3 --label 1.2.0 --output startup.csv
+ * </pre>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class StartupScalability {
+
+    private static final String HEADER = "label,beans,fanOut,depth,singletons,named,primary,packaging,run,"
+        + "scanMs,registerMs,validateMs,firstGetMs,retainedKb";
+
+    private StartupScalability() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        List<String> packagings = List.of(options.getOrDefault("packaging", "directory,jar").split(","));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+        String label = options.getOrDefault("label", "current");
+        String output = options.get("output");
+
+        PrintStream out = output != null ? new PrintStream(Files.newOutputStream(Path.of(output))) : System.out;
+        try {
+            out.println(HEADER);
+            for (String beans : options.getOrDefault("beans", "1000,5000").split(",")) {
+                SyntheticGraph graph = configure(SyntheticGraph.of(Integer.parseInt(beans.trim())), options);
+                Path directory = Files.createTempDirectory("lightdi-startup");
+                try {
+                    Path classes = directory.resolve("classes");
+                    Files.createDirectories(classes);
+                    long start = System.nanoTime();
+                    SourceCompiler.compile(classes, graph.sources()).close();
+                    System.err.printf(Locale.ROOT, "Compiled %d beans in %.1f s%n",
+                        graph.beans(), (System.nanoTime() - start) / 1e9);
+
+                    for (String packaging : packagings) {
+                        Path root = classes;
+                        if ("jar".equals(packaging.trim())) {
+                            root = directory.resolve("graph.jar");
+                            SourceCompiler.jar(classes, root);
+                        } else if (!"directory".equals(packaging.trim())) {
+                            throw new IllegalArgumentException("Unknown packaging: " + packaging);
+                        }
+                        for (int run = 1; run <= runs; run++) {
+                            out.println(label + "," + graph.beans() + "," + graph.fanOut() + "," + graph.depth()
+                                + "," + graph.singletons() + "," + graph.named() + "," + graph.primary()
+                                + "," + packaging.trim() + "," + run + "," + measure(graph, root));
+                            out.flush();
+                        }
+                    }
+                } finally {
+                    SourceCompiler.delete(directory);
+                }
+            }
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+        }
+    }
+
+    private static SyntheticGraph configure(SyntheticGraph graph, Map<String, String> options) {
+        if (options.containsKey("depth")) {
+            graph = graph.depth(Integer.parseInt(options.get("depth")));
+        }
+        if (options.containsKey("fan-out")) {
+            graph = graph.fanOut(Integer.parseInt(options.get("fan-out")));
+        }
+        if (options.containsKey("singletons")) {
+            graph = graph.singletons(Double.parseDouble(options.get("singletons")));
+        }
+        if (options.containsKey("named")) {
+            graph = graph.named(Double.parseDouble(options.get("named")));
+        }
+        if (options.containsKey("primary")) {
+            graph = graph.primary(Double.parseDouble(options.get("primary")));
+        }
+        if (options.containsKey("seed")) {
+            graph = graph.seed(Long.parseLong(options.get("seed")));
+        }
+        return graph;
+    }
+
+    /**
+     * Performs one cold run and returns its measurements as CSV columns.
+     * The retained heap is what is released once the container and its classes become
+     * unreachable, which is not skewed by garbage left over from earlier runs.
+     */
+    private static String measure(SyntheticGraph graph, Path root) throws Exception {
+        long[] loaded = new long[1];
+        String timings = load(graph, root, loaded);
+        long retained = loaded[0] - usedHeap();
+        return timings + "," + Math.max(0, retained / 1024);
+    }
+
+    /**
+     * Loads, registers, validates and resolves the graph in its own frame, so that nothing
+     * it created is reachable once it returns.
+     */
+    private static String load(SyntheticGraph graph, Path root, long[] loaded) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (URLClassLoader loader = SourceCompiler.loader(root)) {
+            thread.setContextClassLoader(loader);
+
+            long start = System.nanoTime();
+            Set<Class<?>> classes = new ClassScanner(loader).scanPackage(SyntheticGraph.PACKAGE);
+            long scanned = System.nanoTime();
+            if (classes.size() != graph.beans()) {
+                throw new IllegalStateException("Scan found " + classes.size() + " of " + graph.beans() + " beans");
+            }
+
+            ContainerBuilder builder = new ContainerBuilder();
+            classes.forEach(builder::register);
+            Container container = builder.build();
+            long registered = System.nanoTime();
+
+            ValidationReport report = container.validate();
+            long validated = System.nanoTime();
+            if (!report.isValid()) {
+                throw new IllegalStateException("Generated graph is invalid: " + report.getProblems());
+            }
+
+            List<String> roots = graph.roots();
+            container.get(loader.loadClass(roots.get(0)));
+            long resolved = System.nanoTime();
+
+            for (String name : roots) {
+                container.get(loader.loadClass(name));
+            }
+            loaded[0] = usedHeap();
+            Reference.reachabilityFence(container);
+
+            return String.format(Locale.ROOT, "%.3f,%.3f,%.3f,%.3f",
+                (scanned - start) / 1e6, (registered - scanned) / 1e6,
+                (validated - registered) / 1e6, (resolved - validated) / 1e6);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> unknown = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--") && i + 1 < args.length) {
+                options.put(args[i].substring(2), args[++i]);
+            } else {
+                unknown.add(args[i]);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unexpected arguments: " + unknown);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,243 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Describes a generated, acyclic graph of {@literal @}Injectable beans and writes its sources.
+ * Instances are immutable; every method returns a modified copy.
+ *
+ * <p>Beans are generated in pairs and spread over {@code depth} layers. Each bean outside
+ * the first layer takes {@code fanOut} beans of the layer below in its constructor. A pair is
+ * either plain, {@literal @}Primary (both beans implement a shared interface, the first one is
+ * primary, and dependents inject the interface) or {@literal @}Named (dependents inject the
+ * bean with its qualifier). The same shape and seed always produce the same sources.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class SyntheticGraph {
+
+    static final String PACKAGE = "synthetic.graph";
+
+    private static final String ANNOTATIONS = "io.github.abolpv.lightdi.annotation.";
+
+    private enum Kind { PLAIN, PRIMARY, NAMED }
+
+    private final int beans;
+    private final int fanOut;
+    private final int depth;
+    private final double singletons;
+    private final double named;
+    private final double primary;
+    private final long seed;
+
+    private SyntheticGraph(int beans, int fanOut, int depth, double singletons, double named,
+                           double primary, long seed) {
+        this.beans = beans;
+        this.fanOut = fanOut;
+        this.depth = depth;
+        this.singletons = singletons;
+        this.named = named;
+        this.primary = primary;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a graph of the given size with a fan-out of 4, 8 layers, 80% singletons,
+     * and 10% each of named and primary pairs.
+     *
+     * @param beans the number of beans
+     * @return the graph
+     * @throws IllegalArgumentException if beans is less than two
+     */
+    static SyntheticGraph of(int beans) {
+        if (beans < 2) {
+            throw new IllegalArgumentException("A graph needs at least 2 beans: " + beans);
+        }
+        return new SyntheticGraph(beans, 4, Math.min(8, (beans + 1) / 2), 0.8, 0.1, 0.1, 42);
+    }
+
+    SyntheticGraph fanOut(int fanOut) {
+        if (fanOut < 1) {
+            throw new IllegalArgumentException("Fan-out must be at least 1: " + fanOut);
+        }
+        return new SyntheticGraph(beans, fanOut, depth, singletons, named, primary, seed);
+    }
+
+    SyntheticGraph depth(int depth) {
+        if (depth < 1 || depth > pairs()) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + pairs() + ": " + depth);
+        }
+        return new SyntheticGraph(beans, fanOut, depth, singletons, named, primary, seed);
+    }
+
+    SyntheticGraph singletons(double share) {
+        return new SyntheticGraph(beans, fanOut, depth, share(share, "Singleton"), named, primary, seed);
+    }
+
+    SyntheticGraph named(double share) {
+        checkPairShares(share, primary);
+        return new SyntheticGraph(beans, fanOut, depth, singletons, share, primary, seed);
+    }
+
+    SyntheticGraph primary(double share) {
+        checkPairShares(named, share);
+        return new SyntheticGraph(beans, fanOut, depth, singletons, named, share, seed);
+    }
+
+    SyntheticGraph seed(long seed) {
+        return new SyntheticGraph(beans, fanOut, depth, singletons, named, primary, seed);
+    }
+
+    int beans() {
+        return beans;
+    }
+
+    int fanOut() {
+        return fanOut;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    double singletons() {
+        return singletons;
+    }
+
+    double named() {
+        return named;
+    }
+
+    double primary() {
+        return primary;
+    }
+
+    /**
+     * Gets the beans of the last layer, which nothing depends on.
+     *
+     * @return fully qualified class names
+     */
+    List<String> roots() {
+        List<String> roots = new ArrayList<>();
+        for (int i = 0; i < beans; i++) {
+            if (layer(i) == depth - 1) {
+                roots.add(PACKAGE + ".Bean" + i);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Generates the sources of all beans and shared interfaces.
+     *
+     * @return source code by fully qualified class name
+     */
+    Map<String, String> sources() {
+        Random random = new Random(seed);
+        int pairs = pairs();
+        Kind[] kinds = new Kind[pairs];
+        for (int pair = 0; pair < pairs; pair++) {
+            double roll = random.nextDouble();
+            boolean complete = 2 * pair + 1 < beans;
+            kinds[pair] = !complete ? Kind.PLAIN
+                : roll < primary ? Kind.PRIMARY
+                : roll < primary + named ? Kind.NAMED
+                : Kind.PLAIN;
+        }
+
+        List<List<Integer>> layers = new ArrayList<>();
+        for (int layer = 0; layer < depth; layer++) {
+            layers.add(new ArrayList<>());
+        }
+        for (int i = 0; i < beans; i++) {
+            layers.get(layer(i)).add(i);
+        }
+
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (int pair = 0; pair < pairs; pair++) {
+            if (kinds[pair] == Kind.PRIMARY) {
+                sources.put(PACKAGE + ".Contract" + pair,
+                    "package " + PACKAGE + ";\npublic interface Contract" + pair + " {}\n");
+            }
+        }
+        for (int i = 0; i < beans; i++) {
+            Kind kind = kinds[i / 2];
+            StringBuilder source = new StringBuilder("package " + PACKAGE + ";\n");
+            source.append('@').append(ANNOTATIONS).append("Injectable\n");
+            if (random.nextDouble() < singletons) {
+                source.append('@').append(ANNOTATIONS).append("Singleton\n");
+            }
+            if (kind == Kind.PRIMARY && i % 2 == 0) {
+                source.append('@').append(ANNOTATIONS).append("Primary\n");
+            }
+            if (kind == Kind.NAMED) {
+                source.append('@').append(ANNOTATIONS).append("Named(\"bean").append(i).append("\")\n");
+            }
+            source.append("public class Bean").append(i);
+            if (kind == Kind.PRIMARY) {
+                source.append(" implements Contract").append(i / 2);
+            }
+            source.append(" {\n");
+
+            int layer = layer(i);
+            if (layer > 0) {
+                List<Integer> below = new ArrayList<>(layers.get(layer - 1));
+                int count = Math.min(fanOut, below.size());
+                List<String> parameters = new ArrayList<>();
+                for (int d = 0; d < count; d++) {
+                    int target = below.remove(random.nextInt(below.size()));
+                    parameters.add(parameter(target, kinds[target / 2]) + " d" + d);
+                }
+                source.append("    @").append(ANNOTATIONS).append("Inject\n")
+                    .append("    public Bean").append(i).append('(')
+                    .append(String.join(", ", parameters)).append(") {}\n");
+            }
+            source.append("}\n");
+            sources.put(PACKAGE + ".Bean" + i, source.toString());
+        }
+        return sources;
+    }
+
+    private static String parameter(int target, Kind kind) {
+        switch (kind) {
+            case PRIMARY:
+                return "Contract" + target / 2;
+            case NAMED:
+                return "@" + ANNOTATIONS + "Named(\"bean" + target + "\") Bean" + target;
+            default:
+                return "Bean" + target;
+        }
+    }
+
+    /**
+     * Gets the layer of a bean. Both beans of a pair are in the same layer, so a
+     * {@literal @}Primary interface never resolves to a bean of another layer.
+     */
+    private int layer(int bean) {
+        return (int) ((long) (bean / 2) * depth / pairs());
+    }
+
+    private int pairs() {
+        return (beans + 1) / 2;
+    }
+
+    private static double share(double share, String what) {
+        if (share < 0 || share > 1) {
+            throw new IllegalArgumentException(what + " share must be between 0 and 1: " + share);
+        }
+        return share;
+    }
+
+    private static void checkPairShares(double named, double primary) {
+        share(named, "Named");
+        share(primary, "Primary");
+        if (named + primary > 1) {
+            throw new IllegalArgumentException("Named and primary shares exceed 1: " + (named + primary));
+        }
+    }
+}
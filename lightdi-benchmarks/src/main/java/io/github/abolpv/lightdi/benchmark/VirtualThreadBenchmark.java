@@ -0,0 +1,138 @@
+package io.github.abolpv.lightdi.benchmark;
+
+import io.github.abolpv.lightdi.annotation.Inject;
+import io.github.abolpv.lightdi.annotation.Injectable;
+import io.github.abolpv.lightdi.annotation.Singleton;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.provider.Lazy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts one task per request, each resolving a prototype graph, to stress the container
+ * under the thread-per-request model virtual threads encourage.
+ *
+ * <p>Every task resolves a {@code Request} prototype, which injects a fresh {@code Session}
+ * prototype, a shared singleton and a {@code Lazy} holder that it dereferences. The singleton
+ * and the lazy bean are recreated before each invocation, so the first tasks race to create
+ * them. With {@code executor=virtual} each task gets its own virtual thread; on a JDK
+ * without virtual threads that trial fails rather than measuring a platform pool, so run
+ * only {@code -p executor=platform} there.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    @Injectable
+    @Singleton
+    public static class Catalog {
+    }
+
+    @Injectable
+    @Singleton
+    public static class Pricing {
+    }
+
+    @Injectable
+    public static class Session {
+    }
+
+    @Injectable
+    public static class Request {
+        @Inject
+        public Session session;
+
+        @Inject
+        public Catalog catalog;
+
+        @Inject
+        public Lazy<Pricing> pricing;
+    }
+
+    @Param({"1000000"})
+    public int tasks;
+
+    @Param({"virtual", "platform"})
+    public String executor;
+
+    private Container container;
+    private Method virtualExecutor;
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()} reflectively, since the
+     * benchmarks compile against Java 17.
+     */
+    @Setup(Level.Trial)
+    public void checkExecutor() {
+        if ("virtual".equals(executor)) {
+            try {
+                virtualExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Virtual threads are not available on Java "
+                    + Runtime.version().feature() + "; run with -p executor=platform", e);
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        container = new Container()
+            .register(Catalog.class)
+            .register(Pricing.class)
+            .register(Session.class)
+            .register(Request.class);
+    }
+
+    @Benchmark
+    public int resolvePrototypes() throws Exception {
+        AtomicInteger resolved = new AtomicInteger();
+        ExecutorService service = newExecutor();
+        try {
+            for (int i = 0; i < tasks; i++) {
+                service.execute(() -> {
+                    Request request = container.get(Request.class);
+                    if (request.pricing.get() != null) {
+                        resolved.incrementAndGet();
+                    }
+                });
+            }
+        } finally {
+            service.shutdown();
+            service.awaitTermination(10, TimeUnit.MINUTES);
+        }
+        if (resolved.get() != tasks) {
+            throw new IllegalStateException("Resolved " + resolved.get() + " of " + tasks + " requests");
+        }
+        return resolved.get();
+    }
+
+    private ExecutorService newExecutor() throws ReflectiveOperationException {
+        if (virtualExecutor != null) {
+            return (ExecutorService) virtualExecutor.invoke(null);
+        }
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 4);
+    }
+}
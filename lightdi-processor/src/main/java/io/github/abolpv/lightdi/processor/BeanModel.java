@@ -0,0 +1,153 @@
+package io.github.abolpv.lightdi.processor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compile-time description of an {@literal @}Injectable class.
+ * Mirrors the runtime {@code InjectionPlan}, using source names instead of reflection objects
+ * so that it stays valid across processing rounds.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class BeanModel {
+
+    final TypeElement element;
+    final String binaryName;
+    final String sourceName;
+    final String packageName;
+    final String factorySimpleName;
+    final String name;
+    final boolean primary;
+    final Set<String> supertypes;
+
+    final List<Dependency> constructorDependencies = new ArrayList<>();
+    final List<FieldInjection> fields = new ArrayList<>();
+    final List<MethodInjection> methods = new ArrayList<>();
+    String postConstruct;
+    String preDestroy;
+
+    /**
+     * Reason why no factory can be generated, or null if one can.
+     */
+    String notGeneratableReason;
+
+    BeanModel(TypeElement element, String binaryName, String packageName, String name,
+              boolean primary, Set<String> supertypes) {
+        this.element = element;
+        this.binaryName = binaryName;
+        this.sourceName = element.getQualifiedName().toString();
+        this.packageName = packageName;
+        String simpleBinaryName = packageName.isEmpty()
+            ? binaryName
+            : binaryName.substring(packageName.length() + 1);
+        this.factorySimpleName = simpleBinaryName.replace('$', '_') + "_LightDIFactory";
+        this.name = name;
+        this.primary = primary;
+        this.supertypes = supertypes;
+    }
+
+    boolean isGeneratable() {
+        return notGeneratableReason == null;
+    }
+
+    void notGeneratable(String reason) {
+        if (notGeneratableReason == null) {
+            notGeneratableReason = reason;
+        }
+    }
+
+    String factoryQualifiedName() {
+        return packageName.isEmpty() ? factorySimpleName : packageName + "." + factorySimpleName;
+    }
+
+    List<Dependency> allDependencies() {
+        List<Dependency> all = new ArrayList<>(constructorDependencies);
+        for (FieldInjection field : fields) {
+            all.add(field.dependency);
+        }
+        for (MethodInjection method : methods) {
+            all.addAll(method.dependencies);
+        }
+        return all;
+    }
+
+    @Override
+    public String toString() {
+        return sourceName;
+    }
+
+    /**
+     * How a dependency is wrapped at its injection point, mirroring {@code InjectionPoint.Kind}.
+     */
+    enum Wrapper {
+        NONE,
+        PROVIDER,
+        LAZY,
+        LIST,
+        SET,
+        MAP
+    }
+
+    /**
+     * A single injection point. For wrapped dependencies, {@code type} is the bean type.
+     */
+    static final class Dependency {
+        final String type;
+        final String qualifier;
+        final boolean lazy;
+        final Wrapper wrapper;
+        final Element origin;
+
+        Dependency(String type, String qualifier, boolean lazy, Wrapper wrapper, Element origin) {
+            this.type = type;
+            this.qualifier = qualifier;
+            this.lazy = lazy;
+            this.wrapper = wrapper;
+            this.origin = origin;
+        }
+
+        /**
+         * Checks if injecting the dependency does not create it.
+         */
+        boolean isDeferred() {
+            return lazy || wrapper == Wrapper.PROVIDER || wrapper == Wrapper.LAZY;
+        }
+
+        /**
+         * Checks if the dependency receives all beans of its type.
+         */
+        boolean isCollection() {
+            return wrapper == Wrapper.LIST || wrapper == Wrapper.SET || wrapper == Wrapper.MAP;
+        }
+
+        @Override
+        public String toString() {
+            return qualifier != null ? type + " named '" + qualifier + "'" : type;
+        }
+    }
+
+    static final class FieldInjection {
+        final String name;
+        final Dependency dependency;
+
+        FieldInjection(String name, Dependency dependency) {
+            this.name = name;
+            this.dependency = dependency;
+        }
+    }
+
+    static final class MethodInjection {
+        final String name;
+        final List<Dependency> dependencies;
+
+        MethodInjection(String name, List<Dependency> dependencies) {
+            this.name = name;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package io.github.abolpv.lightdi.processor;
+
+import io.github.abolpv.lightdi.processor.BeanModel.Dependency;
+
+import javax.annotation.processing.Messager;
+import javax.tools.Diagnostic;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Checks the bean graph of a compilation for missing bindings and cycles.
+ *
+ * <p>A dependency is satisfied by any bean assignable to its type. A qualified dependency
+ * is only satisfied by a bean of exactly its type with the same name, since the runtime
+ * registers {@literal @}Named beans under their own class and name only. Edges are added only for dependencies that resolve
+ * to a single bean (an exact class match or a single {@literal @}Primary candidate),
+ * and {@literal @}Lazy fields and {@code Provider}, {@code Supplier} and {@code Lazy}
+ * dependencies never form edges, so reported cycles are the ones the
+ * runtime {@code CircularDependencyDetector} would throw on.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class BindingVerifier {
+
+    private final Messager messager;
+    private final boolean allowMissing;
+
+    BindingVerifier(Messager messager, boolean allowMissing) {
+        this.messager = messager;
+        this.allowMissing = allowMissing;
+    }
+
+    void verify(Collection<BeanModel> beans) {
+        Map<BeanModel, Set<BeanModel>> edges = new LinkedHashMap<>();
+        for (BeanModel bean : beans) {
+            Set<BeanModel> targets = new LinkedHashSet<>();
+            for (Dependency dependency : bean.allDependencies()) {
+                List<BeanModel> candidates = candidates(beans, dependency);
+                if (dependency.isCollection()) {
+                    // Collections receive every candidate and may be empty
+                    targets.addAll(candidates);
+                    continue;
+                }
+                if (candidates.isEmpty()) {
+                    messager.printMessage(
+                        allowMissing ? Diagnostic.Kind.WARNING : Diagnostic.Kind.ERROR,
+                        "No bean found for " + dependency + " required by " + bean.sourceName,
+                        dependency.origin
+                    );
+                    continue;
+                }
+                BeanModel target = select(dependency, candidates);
+                if (target != null && !dependency.isDeferred()) {
+                    targets.add(target);
+                }
+            }
+            edges.put(bean, targets);
+        }
+
+        for (List<BeanModel> cycle : findCycles(edges)) {
+            String chain = cycle.stream()
+                .map(bean -> simpleName(bean.sourceName))
+                .collect(Collectors.joining(" → "));
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                "Circular dependency detected: " + chain, cycle.get(0).element);
+        }
+    }
+
+    private static List<BeanModel> candidates(Collection<BeanModel> beans, Dependency dependency) {
+        List<BeanModel> candidates = new ArrayList<>();
+        for (BeanModel bean : beans) {
+            boolean matches = dependency.qualifier != null
+                ? bean.sourceName.equals(dependency.type) && dependency.qualifier.equals(bean.name)
+                : bean.sourceName.equals(dependency.type) || bean.supertypes.contains(dependency.type);
+            if (matches) {
+                candidates.add(bean);
+            }
+        }
+        return candidates;
+    }
+
+    private static BeanModel select(Dependency dependency, List<BeanModel> candidates) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        BeanModel primary = null;
+        for (BeanModel candidate : candidates) {
+            if (candidate.sourceName.equals(dependency.type)) {
+                return candidate;
+            }
+            if (candidate.primary) {
+                if (primary != null) {
+                    return null;
+                }
+                primary = candidate;
+            }
+        }
+        return primary;
+    }
+
+    /**
+     * Finds one cycle per strongly connected component (Tarjan's algorithm),
+     * each returned closed, e.g. {@code [A, B, A]}.
+     */
+    private static List<List<BeanModel>> findCycles(Map<BeanModel, Set<BeanModel>> edges) {
+        Map<BeanModel, Integer> index = new HashMap<>();
+        Map<BeanModel, Integer> lowLink = new HashMap<>();
+        Deque<BeanModel> stack = new ArrayDeque<>();
+        Set<BeanModel> onStack = new LinkedHashSet<>();
+        List<List<BeanModel>> cycles = new ArrayList<>();
+        int[] counter = {0};
+
+        for (BeanModel bean : edges.keySet()) {
+            if (!index.containsKey(bean)) {
+                strongConnect(bean, edges, index, lowLink, stack, onStack, cycles, counter);
+            }
+        }
+        return cycles;
+    }
+
+    private static void strongConnect(BeanModel bean, Map<BeanModel, Set<BeanModel>> edges,
+                                      Map<BeanModel, Integer> index, Map<BeanModel, Integer> lowLink,
+                                      Deque<BeanModel> stack, Set<BeanModel> onStack,
+                                      List<List<BeanModel>> cycles, int[] counter) {
+        index.put(bean, counter[0]);
+        lowLink.put(bean, counter[0]);
+        counter[0]++;
+        stack.push(bean);
+        onStack.add(bean);
+
+        for (BeanModel target : edges.get(bean)) {
+            if (!index.containsKey(target)) {
+                strongConnect(target, edges, index, lowLink, stack, onStack, cycles, counter);
+                lowLink.put(bean, Math.min(lowLink.get(bean), lowLink.get(target)));
+            } else if (onStack.contains(target)) {
+                lowLink.put(bean, Math.min(lowLink.get(bean), index.get(target)));
+            }
+        }
+
+        if (lowLink.get(bean).equals(index.get(bean))) {
+            Set<BeanModel> component = new LinkedHashSet<>();
+            BeanModel member;
+            do {
+                member = stack.pop();
+                onStack.remove(member);
+                component.add(member);
+            } while (member != bean);
+
+            if (component.size() > 1 || edges.get(bean).contains(bean)) {
+                cycles.add(cycleThrough(bean, component, edges));
+            }
+        }
+    }
+
+    /**
+     * Walks from a bean inside its component until a bean repeats.
+     */
+    private static List<BeanModel> cycleThrough(BeanModel start, Set<BeanModel> component,
+                                                Map<BeanModel, Set<BeanModel>> edges) {
+        List<BeanModel> path = new ArrayList<>();
+        BeanModel current = start;
+        while (!path.contains(current)) {
+            path.add(current);
+            for (BeanModel next : edges.get(current)) {
+                if (component.contains(next)) {
+                    current = next;
+                    break;
+                }
+            }
+        }
+        List<BeanModel> cycle = new ArrayList<>(path.subList(path.indexOf(current), path.size()));
+        cycle.add(current);
+        return cycle;
+    }
+
+    private static String simpleName(String qualifiedName) {
+        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.abolpv.lightdi.processor;
+
+import io.github.abolpv.lightdi.processor.BeanModel.Dependency;
+import io.github.abolpv.lightdi.processor.BeanModel.FieldInjection;
+import io.github.abolpv.lightdi.processor.BeanModel.MethodInjection;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Writes the {@code GeneratedFactory} source for a bean.
+ *
+ * <p>Example output for a bean {@code UserService}:</p>
+ * <pre>
+ * public final class UserService_LightDIFactory implements GeneratedFactory&lt;UserService&gt; {
+ *     public UserService create(BeanResolver resolver) throws Exception {
+ *         UserService bean = new UserService(resolver.get(UserRepository.class));
+ *         bean.cache = resolver.get(Cache.class, "local");
+ *         bean.init();
+ *         return bean;
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class FactoryWriter {
+
+    private static final String GENERATED_FACTORY = "io.github.abolpv.lightdi.container.GeneratedFactory";
+    private static final String BEAN_RESOLVER = "io.github.abolpv.lightdi.container.BeanResolver";
+    private static final String GENERATED_ANNOTATION = "javax.annotation.processing.Generated";
+
+    private final ProcessingEnvironment processingEnv;
+
+    FactoryWriter(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    void write(BeanModel bean) {
+        try {
+            JavaFileObject file = processingEnv.getFiler()
+                .createSourceFile(bean.factoryQualifiedName(), bean.element);
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                writeSource(bean, out);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Failed to write factory for " + bean.sourceName + ": " + e.getMessage(), bean.element);
+        }
+    }
+
+    private void writeSource(BeanModel bean, PrintWriter out) {
+        String type = bean.sourceName;
+
+        if (!bean.packageName.isEmpty()) {
+            out.println("package " + bean.packageName + ";");
+            out.println();
+        }
+        out.println("// Generated by LightDI annotation processor. Do not edit.");
+        if (processingEnv.getElementUtils().getTypeElement(GENERATED_ANNOTATION) != null) {
+            out.println("@" + GENERATED_ANNOTATION + "(\"" + LightDIProcessor.class.getName() + "\")");
+        }
+        out.println("@SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+        out.println("public final class " + bean.factorySimpleName
+            + " implements " + GENERATED_FACTORY + "<" + type + "> {");
+        out.println();
+
+        out.println("    @Override");
+        out.println("    public " + type + " create(" + BEAN_RESOLVER + " resolver) throws Exception {");
+        out.println("        " + type + " bean = new " + type + "(" + arguments(bean.constructorDependencies) + ");");
+        for (FieldInjection field : bean.fields) {
+            out.println("        bean." + field.name + " = " + resolve(field.dependency) + ";");
+        }
+        for (MethodInjection method : bean.methods) {
+            out.println("        bean." + method.name + "(" + arguments(method.dependencies) + ");");
+        }
+        if (bean.postConstruct != null) {
+            out.println("        bean." + bean.postConstruct + "();");
+        }
+        out.println("        return bean;");
+        out.println("    }");
+
+        if (bean.preDestroy != null) {
+            out.println();
+            out.println("    @Override");
+            out.println("    public void destroy(" + type + " bean) throws Exception {");
+            out.println("        bean." + bean.preDestroy + "();");
+            out.println("    }");
+        }
+        out.println("}");
+    }
+
+    private static String arguments(List<Dependency> dependencies) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < dependencies.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(resolve(dependencies.get(i)));
+        }
+        return sb.toString();
+    }
+
+    private static String resolve(Dependency dependency) {
+        String literal = dependency.type + ".class";
+        String qualifier = dependency.qualifier != null ? quote(dependency.qualifier) : null;
+        if (dependency.wrapper == BeanModel.Wrapper.PROVIDER) {
+            return "resolver.getProvider(" + literal + ", " + qualifier + ")";
+        }
+        if (dependency.wrapper == BeanModel.Wrapper.LAZY) {
+            return "resolver.getLazyHolder(" + literal + ", " + qualifier + ")";
+        }
+        if (dependency.wrapper == BeanModel.Wrapper.LIST) {
+            return "resolver.getList(" + literal + ")";
+        }
+        if (dependency.wrapper == BeanModel.Wrapper.SET) {
+            return "resolver.getSet(" + literal + ")";
+        }
+        if (dependency.wrapper == BeanModel.Wrapper.MAP) {
+            return "resolver.getMap(" + literal + ")";
+        }
+        if (dependency.lazy) {
+            return "resolver.getLazy(" + literal + ", " + qualifier + ")";
+        }
+        if (qualifier != null) {
+            return "resolver.get(" + literal + ", " + qualifier + ")";
+        }
+        return "resolver.get(" + literal + ")";
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
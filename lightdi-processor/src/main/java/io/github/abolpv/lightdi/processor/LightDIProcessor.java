@@ -0,0 +1,465 @@
+package io.github.abolpv.lightdi.processor;
+
+import io.github.abolpv.lightdi.processor.BeanModel.Dependency;
+import io.github.abolpv.lightdi.processor.BeanModel.FieldInjection;
+import io.github.abolpv.lightdi.processor.BeanModel.MethodInjection;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor for LightDI beans.
+ *
+ * <p>For every {@literal @}Injectable class it:</p>
+ * <ul>
+ *   <li>generates a {@code GeneratedFactory} that builds the bean without reflection,
+ *       when all injected members are reachable from the bean's package</li>
+ *   <li>adds the bean to the {@code META-INF/lightdi/beans} index, which lets
+ *       {@code ClassScanner} skip walking the classpath root</li>
+ *   <li>reports missing bindings and circular dependencies as compile errors</li>
+ * </ul>
+ *
+ * <p>Options:</p>
+ * <ul>
+ *   <li>{@code -Alightdi.allowMissing=true} - report missing bindings as warnings,
+ *       for beans that are bound at runtime with {@code bind()} or {@code instance()}</li>
+ * </ul>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@SupportedAnnotationTypes(LightDIProcessor.INJECTABLE)
+@SupportedOptions(LightDIProcessor.ALLOW_MISSING_OPTION)
+public class LightDIProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION_PACKAGE = "io.github.abolpv.lightdi.annotation.";
+    static final String INJECTABLE = ANNOTATION_PACKAGE + "Injectable";
+    static final String INJECT = ANNOTATION_PACKAGE + "Inject";
+    static final String NAMED = ANNOTATION_PACKAGE + "Named";
+    static final String LAZY = ANNOTATION_PACKAGE + "Lazy";
+    static final String PRIMARY = ANNOTATION_PACKAGE + "Primary";
+    static final String POST_CONSTRUCT = ANNOTATION_PACKAGE + "PostConstruct";
+    static final String PRE_DESTROY = ANNOTATION_PACKAGE + "PreDestroy";
+
+    static final String PROVIDER = "io.github.abolpv.lightdi.provider.Provider";
+    static final String LAZY_HOLDER = "io.github.abolpv.lightdi.provider.Lazy";
+    static final String SUPPLIER = "java.util.function.Supplier";
+    static final String LIST = "java.util.List";
+    static final String SET = "java.util.Set";
+    static final String MAP = "java.util.Map";
+
+    static final String INDEX_RESOURCE = "META-INF/lightdi/beans";
+    static final String ALLOW_MISSING_OPTION = "lightdi.allowMissing";
+
+    private final Map<String, BeanModel> beans = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement injectable = processingEnv.getElementUtils().getTypeElement(INJECTABLE);
+        if (injectable != null) {
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(injectable))) {
+                if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+                    continue;
+                }
+                BeanModel bean = analyze(type);
+                beans.put(bean.binaryName, bean);
+                if (bean.isGeneratable()) {
+                    new FactoryWriter(processingEnv).write(bean);
+                } else {
+                    note(type, "No factory generated for " + bean.sourceName + ": " + bean.notGeneratableReason);
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !beans.isEmpty()) {
+            boolean allowMissing = Boolean.parseBoolean(processingEnv.getOptions().get(ALLOW_MISSING_OPTION));
+            new BindingVerifier(processingEnv.getMessager(), allowMissing).verify(beans.values());
+            writeIndex();
+        }
+        return false;
+    }
+
+    // ==================== Analysis ====================
+
+    private BeanModel analyze(TypeElement type) {
+        String packageName = packageOf(type).getQualifiedName().toString();
+        BeanModel bean = new BeanModel(
+            type,
+            processingEnv.getElementUtils().getBinaryName(type).toString(),
+            packageName,
+            stringValue(type, NAMED),
+            hasAnnotation(type, PRIMARY),
+            supertypes(type.asType())
+        );
+
+        if (!isAccessible(type, packageName)) {
+            bean.notGeneratable("class is not accessible from its package");
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            bean.notGeneratable("inner classes need an enclosing instance");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            bean.notGeneratable("generic bean classes are not supported");
+        }
+
+        analyzeConstructor(bean, type);
+        analyzeMembers(bean, type);
+        return bean;
+    }
+
+    private void analyzeConstructor(BeanModel bean, TypeElement type) {
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        ExecutableElement selected = null;
+        for (ExecutableElement constructor : constructors) {
+            if (hasAnnotation(constructor, INJECT)) {
+                selected = constructor;
+                break;
+            }
+        }
+        if (selected == null && constructors.size() == 1) {
+            selected = constructors.get(0);
+        }
+        if (selected == null) {
+            for (ExecutableElement constructor : constructors) {
+                if (constructor.getParameters().isEmpty()) {
+                    selected = constructor;
+                }
+            }
+        }
+        if (selected == null) {
+            error(type, "No suitable constructor found for " + bean.binaryName +
+                ". Add @Inject to a constructor or provide a default constructor.");
+            bean.notGeneratable("no suitable constructor");
+            return;
+        }
+
+        checkMemberAccess(bean, selected, "constructor");
+        for (VariableElement parameter : selected.getParameters()) {
+            bean.constructorDependencies.add(dependency(bean, parameter, parameter.asType(), false));
+        }
+    }
+
+    private void analyzeMembers(BeanModel bean, TypeElement type) {
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!hasAnnotation(field, INJECT)) {
+                    continue;
+                }
+                checkMemberAccess(bean, field, "field " + field.getSimpleName());
+                if (field.getModifiers().contains(Modifier.FINAL)) {
+                    bean.notGeneratable("field " + field.getSimpleName() + " is final");
+                }
+                boolean lazy = hasAnnotation(field, LAZY) && isProxyable(field.asType());
+                bean.fields.add(new FieldInjection(
+                    field.getSimpleName().toString(), dependency(bean, field, field.asType(), lazy)
+                ));
+            }
+
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                String methodName = method.getSimpleName().toString();
+                if (hasAnnotation(method, INJECT) && !hasAnnotation(method, POST_CONSTRUCT)) {
+                    if (method.getParameters().isEmpty()) {
+                        error(method, "@Inject method must have at least one parameter: " + methodName);
+                        bean.notGeneratable("invalid @Inject method");
+                        continue;
+                    }
+                    checkMemberAccess(bean, method, "method " + methodName);
+                    List<Dependency> dependencies = new ArrayList<>();
+                    for (VariableElement parameter : method.getParameters()) {
+                        dependencies.add(dependency(bean, parameter, parameter.asType(), false));
+                    }
+                    bean.methods.add(new MethodInjection(methodName, dependencies));
+                }
+                if (bean.postConstruct == null && hasAnnotation(method, POST_CONSTRUCT)) {
+                    checkLifecycleMethod(method, "@PostConstruct");
+                    checkMemberAccess(bean, method, "method " + methodName);
+                    bean.postConstruct = methodName;
+                }
+                if (bean.preDestroy == null && hasAnnotation(method, PRE_DESTROY)) {
+                    checkLifecycleMethod(method, "@PreDestroy");
+                    checkMemberAccess(bean, method, "method " + methodName);
+                    bean.preDestroy = methodName;
+                }
+            }
+
+            current = superclassOf(current);
+        }
+    }
+
+    private void checkLifecycleMethod(ExecutableElement method, String kind) {
+        if (!method.getParameters().isEmpty()) {
+            error(method, kind + " method must have no parameters: " + method.getSimpleName());
+        }
+        if (method.getReturnType().getKind() != TypeKind.VOID) {
+            error(method, kind + " method must return void: " + method.getSimpleName());
+        }
+    }
+
+    private Dependency dependency(BeanModel bean, Element origin, TypeMirror type, boolean lazy) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        BeanModel.Wrapper wrapper = wrapperOf(erased.toString());
+        if (wrapper != BeanModel.Wrapper.NONE) {
+            return wrappedDependency(bean, origin, type, wrapper);
+        }
+        if (type.getKind() == TypeKind.TYPEVAR) {
+            bean.notGeneratable("dependency " + origin.getSimpleName() + " has a type variable type");
+        } else if (!isAccessible(erased, bean.packageName)) {
+            bean.notGeneratable("type " + erased + " is not accessible from " + bean.packageName);
+        }
+        return new Dependency(erased.toString(), stringValue(origin, NAMED), lazy, BeanModel.Wrapper.NONE, origin);
+    }
+
+    /**
+     * Unwraps {@code Provider<T>}, {@code Supplier<T>}, {@code Lazy<T>}, {@code List<T>},
+     * {@code Set<T>} and {@code Map<String, T>} to the bean type {@code T}.
+     */
+    private Dependency wrappedDependency(BeanModel bean, Element origin, TypeMirror type, BeanModel.Wrapper wrapper) {
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        String qualifier = stringValue(origin, NAMED);
+        boolean collection = wrapper == BeanModel.Wrapper.LIST || wrapper == BeanModel.Wrapper.SET
+            || wrapper == BeanModel.Wrapper.MAP;
+        if (collection && qualifier != null) {
+            error(origin, "Collection " + origin.getSimpleName()
+                + " cannot be @Named; it receives all beans of its element type");
+            qualifier = null;
+        }
+        int index = 0;
+        if (wrapper == BeanModel.Wrapper.MAP) {
+            if (arguments.isEmpty() || !processingEnv.getTypeUtils().erasure(arguments.get(0)).toString()
+                    .equals(String.class.getName())) {
+                error(origin, "Map " + origin.getSimpleName() + " must have String keys");
+                bean.notGeneratable("dependency " + origin.getSimpleName() + " is a Map without String keys");
+            }
+            index = 1;
+        }
+        TypeMirror argument = arguments.size() > index ? arguments.get(index) : null;
+        if (argument == null || argument.getKind() != TypeKind.DECLARED) {
+            error(origin, "Cannot determine the bean type of " + origin.getSimpleName() +
+                ". Declare it with a concrete type argument, e.g. Provider<MyService>.");
+            bean.notGeneratable("dependency " + origin.getSimpleName() + " has no concrete type argument");
+            return new Dependency(Object.class.getName(), null, false, wrapper, origin);
+        }
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(argument);
+        if (!isAccessible(erased, bean.packageName)) {
+            bean.notGeneratable("type " + erased + " is not accessible from " + bean.packageName);
+        }
+        return new Dependency(erased.toString(), qualifier, false, wrapper, origin);
+    }
+
+    private static BeanModel.Wrapper wrapperOf(String typeName) {
+        switch (typeName) {
+            case PROVIDER:
+            case SUPPLIER:
+                return BeanModel.Wrapper.PROVIDER;
+            case LAZY_HOLDER:
+                return BeanModel.Wrapper.LAZY;
+            case LIST:
+                return BeanModel.Wrapper.LIST;
+            case SET:
+                return BeanModel.Wrapper.SET;
+            case MAP:
+                return BeanModel.Wrapper.MAP;
+            default:
+                return BeanModel.Wrapper.NONE;
+        }
+    }
+
+    private void checkMemberAccess(BeanModel bean, Element member, String description) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            bean.notGeneratable(description + " is private");
+            return;
+        }
+        boolean samePackage = packageOf(member).getQualifiedName().contentEquals(bean.packageName);
+        if (!samePackage && !modifiers.contains(Modifier.PUBLIC)) {
+            bean.notGeneratable(description + " is not accessible from " + bean.packageName);
+        }
+    }
+
+    private Set<String> supertypes(TypeMirror type) {
+        Set<String> result = new LinkedHashSet<>();
+        collectSupertypes(type, result);
+        return result;
+    }
+
+    private void collectSupertypes(TypeMirror type, Set<String> result) {
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (result.add(processingEnv.getTypeUtils().erasure(supertype).toString())) {
+                collectSupertypes(supertype, result);
+            }
+        }
+    }
+
+    // ==================== Index ====================
+
+    private void writeIndex() {
+        Set<String> names = new TreeSet<>(readExistingIndex());
+        names.addAll(beans.keySet());
+
+        try {
+            FileObject index = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Writer writer = index.openWriter()) {
+                writer.write("# Generated by LightDI annotation processor\n");
+                for (String name : names) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            error(null, "Failed to write " + INDEX_RESOURCE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the index left by a previous compilation, keeping beans that still exist,
+     * so incremental builds that recompile only some sources keep a complete index.
+     */
+    private Set<String> readExistingIndex() {
+        Set<String> names = new TreeSet<>();
+        try {
+            FileObject existing = processingEnv.getFiler()
+                .getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    TypeElement type = processingEnv.getElementUtils().getTypeElement(line.replace('$', '.'));
+                    if (type != null && hasAnnotation(type, INJECTABLE)) {
+                        names.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No previous index
+        }
+        return names;
+    }
+
+    // ==================== Helpers ====================
+
+    private boolean isAccessible(TypeMirror type, String packageName) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isAccessible(((javax.lang.model.type.ArrayType) type).getComponentType(), packageName);
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        return isAccessible((TypeElement) ((DeclaredType) type).asElement(), packageName);
+    }
+
+    private boolean isAccessible(TypeElement type, String packageName) {
+        boolean samePackage = packageOf(type).getQualifiedName().contentEquals(packageName);
+        Element current = type;
+        while (current instanceof TypeElement) {
+            Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!samePackage && !modifiers.contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Mirrors the container, which injects {@literal @}Lazy fields as proxies only for interfaces;
+     * fields of class types are injected eagerly.
+     */
+    private boolean isProxyable(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+            && ((DeclaredType) type).asElement().getKind() == ElementKind.INTERFACE;
+    }
+
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    private PackageElement packageOf(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element);
+    }
+
+    static boolean hasAnnotation(Element element, String annotationName) {
+        return annotation(element, annotationName) != null;
+    }
+
+    static AnnotationMirror annotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static String stringValue(Element element, String annotationName) {
+        AnnotationMirror mirror = annotation(element, annotationName);
+        if (mirror == null) {
+            return null;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                return String.valueOf(entry.getValue().getValue());
+            }
+        }
+        return null;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void note(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+    }
+}
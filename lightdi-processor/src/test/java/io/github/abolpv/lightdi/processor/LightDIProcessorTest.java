@@ -0,0 +1,330 @@
+package io.github.abolpv.lightdi.processor;
+
+import io.github.abolpv.lightdi.container.Container;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the LightDI annotation processor.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class LightDIProcessorTest {
+
+    @TempDir
+    Path output;
+
+    private static final String REPOSITORY = String.join("\n",
+        "package app;",
+        "import io.github.abolpv.lightdi.annotation.*;",
+        "@Injectable @Singleton",
+        "public class Repository { }");
+
+    private static final String SERVICE = String.join("\n",
+        "package app;",
+        "import io.github.abolpv.lightdi.annotation.*;",
+        "@Injectable",
+        "public class Service {",
+        "    final Repository repository;",
+        "    @Inject Repository fieldRepository;",
+        "    boolean initialized;",
+        "    final boolean viaFactory;",
+        "    @Inject Service(Repository repository) {",
+        "        this.repository = repository;",
+        "        this.viaFactory = java.util.Arrays.stream(new Throwable().getStackTrace())",
+        "            .anyMatch(e -> e.getClassName().endsWith(\"_LightDIFactory\"));",
+        "    }",
+        "    @PostConstruct void init() { initialized = true; }",
+        "}");
+
+    @Test
+    @DisplayName("Should generate factories and a bean index used by the container")
+    void shouldGenerateFactoriesAndIndex() throws Exception {
+        Result result = compile(Map.of("app.Repository", REPOSITORY, "app.Service", SERVICE));
+
+        assertTrue(result.success, result.messages());
+        assertTrue(Files.exists(output.resolve("app/Service_LightDIFactory.class")));
+        List<String> index = Files.readAllLines(output.resolve("META-INF/lightdi/beans"));
+        assertTrue(index.contains("app.Service"));
+        assertTrue(index.contains("app.Repository"));
+
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {output.toUri().toURL()}, getClass().getClassLoader())) {
+            Thread.currentThread().setContextClassLoader(loader);
+            Container container = new Container().scan("app");
+            Object service = container.get(loader.loadClass("app.Service"));
+
+            assertEquals(true, field(service, "viaFactory"));
+            assertEquals(true, field(service, "initialized"));
+            assertNotNull(field(service, "fieldRepository"));
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip factory generation for private members but keep the bean indexed")
+    void shouldSkipFactoryForPrivateMembers() throws Exception {
+        String hidden = String.join("\n",
+            "package app;",
+            "import io.github.abolpv.lightdi.annotation.*;",
+            "@Injectable",
+            "public class Hidden {",
+            "    @Inject private Repository repository;",
+            "}");
+
+        Result result = compile(Map.of("app.Repository", REPOSITORY, "app.Hidden", hidden));
+
+        assertTrue(result.success, result.messages());
+        assertFalse(Files.exists(output.resolve("app/Hidden_LightDIFactory.class")));
+        assertTrue(Files.readAllLines(output.resolve("META-INF/lightdi/beans")).contains("app.Hidden"));
+        assertTrue(result.messages().contains("field repository is private"));
+    }
+
+    @Test
+    @DisplayName("Should report circular dependencies as compile errors")
+    void shouldReportCycles() throws Exception {
+        String a = "package app; import io.github.abolpv.lightdi.annotation.*;"
+            + " @Injectable public class A { @Inject A(B b) { } }";
+        String b = "package app; import io.github.abolpv.lightdi.annotation.*;"
+            + " @Injectable public class B { @Inject C c; }";
+        String c = "package app; import io.github.abolpv.lightdi.annotation.*;"
+            + " @Injectable public class C { @Inject void setA(A a) { } }";
+
+        Result result = compile(Map.of("app.A", a, "app.B", b, "app.C", c));
+
+        assertFalse(result.success);
+        assertTrue(result.errors().stream().anyMatch(m -> m.startsWith("Circular dependency detected: ")
+            && m.contains("A") && m.contains("B") && m.contains("C")), result.messages());
+    }
+
+    @Test
+    @DisplayName("Should not report cycles broken by @Lazy fields")
+    void shouldIgnoreLazyEdges() throws Exception {
+        String api = "package app; public interface Api { }";
+        String a = "package app; import io.github.abolpv.lightdi.annotation.*;"
+            + " @Injectable public class A implements Api { @Inject B b; }";
+        String b = "package app; import io.github.abolpv.lightdi.annotation.*;"
+            + " @Injectable public class B { @Inject @Lazy Api api; }";
+
+        Result result = compile(Map.of("app.Api", api, "app.A", a, "app.B", b));
+
+        assertTrue(result.success, result.messages());
+    }
+
+    @Test
+    @DisplayName("Should generate factories for Provider, Supplier and Lazy dependencies")
+    void shouldGenerateProviderDependencies() throws Exception {
+        String consumer = String.join("\n",
+            "package app;",
+            "import io.github.abolpv.lightdi.annotation.*;",
+            "import io.github.abolpv.lightdi.provider.Provider;",
+            "@Injectable",
+            "public class Consumer {",
+            "    final Provider<Repository> provider;",
+            "    @Inject java.util.function.Supplier<Repository> supplier;",
+            "    @Inject io.github.abolpv.lightdi.provider.Lazy<Consumer> self;",
+            "    @Inject Consumer(Provider<Repository> provider) { this.provider = provider; }",
+            "}");
+
+        Result result = compile(Map.of("app.Repository", REPOSITORY, "app.Consumer", consumer));
+
+        assertTrue(result.success, result.messages());
+        String factory = Files.readString(output.resolve("app/Consumer_LightDIFactory.java"));
+        assertTrue(factory.contains("resolver.getProvider(app.Repository.class, null)"), factory);
+        assertTrue(factory.contains("resolver.getLazyHolder(app.Consumer.class, null)"), factory);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> repositoryClass = loader.loadClass("app.Repository");
+            Class<?> consumerClass = loader.loadClass("app.Consumer");
+            Container container = new Container().register(repositoryClass).register(consumerClass);
+            Object bean = container.get(consumerClass);
+
+            Object repository = container.get(repositoryClass);
+            assertSame(repository, ((java.util.function.Supplier<?>) field(bean, "provider")).get());
+            assertSame(repository, ((java.util.function.Supplier<?>) field(bean, "supplier")).get());
+            assertNotNull(((java.util.function.Supplier<?>) field(bean, "self")).get());
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate factories for List, Set and Map dependencies without requiring members")
+    void shouldGenerateCollectionDependencies() throws Exception {
+        String handler = "package app; public interface Handler { }";
+        String unused = "package app; public interface Unused { }";
+        String audit = "package app; import io.github.abolpv.lightdi.annotation.*;"
+            + " @Injectable @Singleton @Named(\"audit\") public class AuditHandler implements Handler { }";
+        String dispatcher = String.join("\n",
+            "package app;",
+            "import io.github.abolpv.lightdi.annotation.*;",
+            "import java.util.*;",
+            "@Injectable",
+            "public class Dispatcher {",
+            "    final List<Handler> list;",
+            "    @Inject Set<Handler> set;",
+            "    @Inject Map<String, Handler> map;",
+            "    @Inject List<Unused> none;",
+            "    @Inject Dispatcher(List<Handler> list) { this.list = list; }",
+            "}");
+
+        Result result = compile(Map.of("app.Handler", handler, "app.Unused", unused,
+            "app.AuditHandler", audit, "app.Dispatcher", dispatcher));
+
+        assertTrue(result.success, result.messages());
+        String factory = Files.readString(output.resolve("app/Dispatcher_LightDIFactory.java"));
+        assertTrue(factory.contains("resolver.getList(app.Handler.class)"), factory);
+        assertTrue(factory.contains("resolver.getSet(app.Handler.class)"), factory);
+        assertTrue(factory.contains("resolver.getMap(app.Handler.class)"), factory);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> auditClass = loader.loadClass("app.AuditHandler");
+            Class<?> dispatcherClass = loader.loadClass("app.Dispatcher");
+            Container container = new Container().register(auditClass).register(dispatcherClass);
+            Object bean = container.get(dispatcherClass);
+
+            Object auditHandler = container.get(auditClass);
+            assertEquals(List.of(auditHandler), field(bean, "list"));
+            assertEquals(java.util.Set.of(auditHandler), field(bean, "set"));
+            assertEquals(Map.of("audit", auditHandler), field(bean, "map"));
+            assertEquals(List.of(), field(bean, "none"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report missing bindings as errors unless allowed")
+    void shouldReportMissingBindings() throws Exception {
+        String service = "package app; import io.github.abolpv.lightdi.annotation.*;"
+            + " @Injectable public class Needy { @Inject Needy(@Named(\"main\") Repository repository) { } }";
+        Map<String, String> sources = Map.of("app.Repository", REPOSITORY, "app.Needy", service);
+
+        Result strict = compile(sources);
+        assertFalse(strict.success);
+        assertTrue(strict.errors().stream().anyMatch(m -> m.contains("No bean found for app.Repository named 'main'")),
+            strict.messages());
+
+        Result lenient = compile(sources, "-Alightdi.allowMissing=true");
+        assertTrue(lenient.success, lenient.messages());
+    }
+
+    @Test
+    @DisplayName("Should reject @Named dependencies on an interface of the named bean")
+    void shouldMatchNamedDependenciesByClass() throws Exception {
+        String handler = "package app; public interface Handler { }";
+        String audit = "package app; import io.github.abolpv.lightdi.annotation.*;"
+            + " @Injectable @Named(\"audit\") public class AuditHandler implements Handler { }";
+        String byInterface = "package app; import io.github.abolpv.lightdi.annotation.*;"
+            + " @Injectable public class Auditor { @Inject @Named(\"audit\") Handler handler; }";
+        String byClass = "package app; import io.github.abolpv.lightdi.annotation.*;"
+            + " @Injectable public class Auditor { @Inject @Named(\"audit\") AuditHandler handler; }";
+
+        Result rejected = compile(Map.of("app.Handler", handler, "app.AuditHandler", audit, "app.Auditor", byInterface));
+        assertFalse(rejected.success);
+        assertTrue(rejected.errors().stream().anyMatch(m -> m.contains("No bean found for app.Handler named 'audit'")),
+            rejected.messages());
+
+        Result accepted = compile(Map.of("app.Handler", handler, "app.AuditHandler", audit, "app.Auditor", byClass));
+        assertTrue(accepted.success, accepted.messages());
+    }
+
+    // ==================== Helpers ====================
+
+    private Result compile(Map<String, String> sources, String... options) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(output.toFile()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, List.of(output.toFile()));
+            fileManager.setLocation(StandardLocation.CLASS_PATH, List.of(lightdiClasspath()));
+
+            List<JavaFileObject> units = sources.entrySet().stream()
+                .map(e -> new Source(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                null, fileManager, diagnostics, List.of(options), null, units
+            );
+            task.setProcessors(List.of(new LightDIProcessor()));
+            boolean success = task.call();
+            return new Result(success, diagnostics.getDiagnostics());
+        }
+    }
+
+    private static File lightdiClasspath() {
+        try {
+            return new File(Container.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object field(Object target, String name) throws ReflectiveOperationException {
+        java.lang.reflect.Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
+    private static final class Source extends SimpleJavaFileObject {
+        private final String code;
+
+        Source(String className, String code) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+    private static final class Result {
+        final boolean success;
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+
+        Result(boolean success, List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+            this.success = success;
+            this.diagnostics = diagnostics;
+        }
+
+        List<String> errors() {
+            List<String> errors = new ArrayList<>();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    errors.add(diagnostic.getMessage(null));
+                }
+            }
+            return errors;
+        }
+
+        String messages() {
+            return diagnostics.stream()
+                .map(d -> d.getKind() + ": " + d.getMessage(null))
+                .collect(Collectors.joining("\n"));
+        }
+    }
+}
@@ -8,6 +8,8 @@ import java.lang.annotation.Target;
 /**
  * Specifies packages to scan for injectable components.
  * Can be used on configuration classes or the main application class.
+ * The packages are scanned when the annotated class is registered with the container;
+ * the class itself is only registered as a bean if it is also annotated with {@link Injectable}.
  *
  * <p>Example usage:</p>
  * <pre>
@@ -16,6 +18,12 @@ import java.lang.annotation.Target;
  *
  * {@literal @}ComponentScan({"com.example.services", "com.example.repositories"})
  * public class AppConfig { }
+ *
+ * {@literal @}ComponentScan(
+ *     value = "com.example",
+ *     excludeFilters = {@literal @}ComponentScan.Filter(type = ComponentScan.FilterType.REGEX, pattern = ".*Test.*")
+ * )
+ * public class AppConfig { }
  * </pre>
  *
  * @author Abolfazl Azizi
@@ -27,8 +35,78 @@ public @interface ComponentScan {
     
     /**
      * Base packages to scan for components.
+     * If empty, the package of the annotated class is scanned.
      *
      * @return array of package names
      */
     String[] value() default {};
+
+    /**
+     * Filters that narrow the {@literal @}Injectable classes found by the scan.
+     * If any are given, a class is registered only if it matches at least one of them.
+     *
+     * @return the include filters
+     * @since 1.2.0
+     */
+    Filter[] includeFilters() default {};
+
+    /**
+     * Filters that exclude {@literal @}Injectable classes found by the scan.
+     *
+     * @return the exclude filters
+     * @since 1.2.0
+     */
+    Filter[] excludeFilters() default {};
+
+    /**
+     * Declares a filter on scanned classes.
+     * Filters are evaluated on the class file bytes before a class is loaded.
+     *
+     * @since 1.2.0
+     */
+    @Target({})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Filter {
+
+        /**
+         * The type of filter.
+         *
+         * @return the filter type
+         */
+        FilterType type() default FilterType.ANNOTATION;
+
+        /**
+         * Annotation types to match when the type is {@link FilterType#ANNOTATION}.
+         * Only annotations with runtime retention are visible to the filter.
+         *
+         * @return the annotation types
+         */
+        Class<?>[] classes() default {};
+
+        /**
+         * Regular expressions matched against the fully qualified class name
+         * when the type is {@link FilterType#REGEX}.
+         *
+         * @return the patterns
+         */
+        String[] pattern() default {};
+    }
+
+    /**
+     * Types of {@link Filter}.
+     *
+     * @since 1.2.0
+     */
+    enum FilterType {
+
+        /**
+         * Matches classes annotated with one of the given annotation types.
+         */
+        ANNOTATION,
+
+        /**
+         * Matches classes whose name fully matches one of the given patterns.
+         */
+        REGEX
+    }
 }
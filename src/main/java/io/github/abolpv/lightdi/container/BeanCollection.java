@@ -0,0 +1,100 @@
+package io.github.abolpv.lightdi.container;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The beans assignable to one type, as injected into {@code List<T>}, {@code Set<T>}
+ * and {@code Map<String, T>} injection points and returned by {@link Container#getAll(Class)}.
+ *
+ * <p>The members are taken from the {@link TypeIndex} once per registration state. When every
+ * member is a singleton, the resolved collections are immutable and never change until the
+ * singletons are cleared, so they are cached and later lookups return the same instance.
+ * Collections containing prototypes are resolved on every lookup.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class BeanCollection {
+
+    private final List<BeanDefinition> members;
+    private final boolean cacheable;
+    private volatile List<Object> list;
+    private volatile Set<Object> set;
+    private volatile Map<String, Object> map;
+
+    BeanCollection(List<BeanDefinition> members) {
+        this.members = members;
+        this.cacheable = members.stream().allMatch(BeanDefinition::isSingleton);
+    }
+
+    List<BeanDefinition> members() {
+        return members;
+    }
+
+    /**
+     * Gets all members in registration order.
+     *
+     * @param resolver resolves a member definition to its instance
+     * @return an immutable list
+     */
+    List<Object> list(Function<BeanDefinition, Object> resolver) {
+        List<Object> result = list;
+        if (result == null) {
+            Object[] instances = new Object[members.size()];
+            for (int i = 0; i < instances.length; i++) {
+                instances[i] = resolver.apply(members.get(i));
+            }
+            result = List.of(instances);
+            if (cacheable) {
+                list = result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets all distinct members in registration order.
+     *
+     * @param resolver resolves a member definition to its instance
+     * @return an immutable set
+     */
+    Set<Object> set(Function<BeanDefinition, Object> resolver) {
+        Set<Object> result = set;
+        if (result == null) {
+            result = Collections.unmodifiableSet(new LinkedHashSet<>(list(resolver)));
+            if (cacheable) {
+                set = result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the {@literal @}Named members by name, in registration order.
+     *
+     * @param resolver resolves a member definition to its instance
+     * @return an immutable map
+     */
+    Map<String, Object> map(Function<BeanDefinition, Object> resolver) {
+        Map<String, Object> result = map;
+        if (result == null) {
+            Map<String, Object> named = new LinkedHashMap<>();
+            for (BeanDefinition member : members) {
+                if (member.hasName()) {
+                    named.put(member.getName(), resolver.apply(member));
+                }
+            }
+            result = Collections.unmodifiableMap(named);
+            if (cacheable) {
+                map = result;
+            }
+        }
+        return result;
+    }
+}
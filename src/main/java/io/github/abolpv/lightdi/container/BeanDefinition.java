@@ -1,5 +1,7 @@
 package io.github.abolpv.lightdi.container;
 
+import io.github.abolpv.lightdi.exception.ContainerException;
+
 /**
  * Holds metadata about a registered bean.
  * Stores the implementation class, scope, optional qualifier name, and primary status.
@@ -9,11 +11,17 @@ package io.github.abolpv.lightdi.container;
  */
 public class BeanDefinition {
 
+    private static final Object NO_FACTORY = new Object();
+
     private final Class<?> implementationClass;
     private final Scope scope;
     private final String name;
     private final boolean lazy;
     private final boolean primary;
+    private volatile InjectionPlan plan;
+    private volatile CompiledPlan compiled;
+    private volatile Object generatedFactory;
+    private final SingletonSlot singletonSlot = new SingletonSlot();
 
     public BeanDefinition(Class<?> implementationClass, Scope scope) {
         this(implementationClass, scope, null, false, false);
@@ -63,6 +71,80 @@ public class BeanDefinition {
         return primary;
     }
 
+    /**
+     * Returns the injection plan of the implementation class.
+     * The plan is computed on first access and cached for the lifetime of this definition.
+     *
+     * @return the injection plan
+     */
+    public InjectionPlan getPlan() {
+        InjectionPlan result = plan;
+        if (result == null) {
+            // Plans are immutable, so a racing computation is harmless
+            result = InjectionPlan.of(implementationClass);
+            plan = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the instantiator compiled by the given engine, compiling it on first use.
+     * A definition keeps the instantiator of the most recently used engine only.
+     */
+    BeanInstantiator getInstantiator(InstantiationEngine engine) {
+        CompiledPlan result = compiled;
+        if (result == null || result.engine != engine) {
+            result = new CompiledPlan(engine, engine.compile(getPlan()));
+            compiled = result;
+        }
+        return result.instantiator;
+    }
+
+    /**
+     * Returns the slot holding the singleton instance of this definition.
+     * The slot is shared by every key the definition is registered under.
+     */
+    SingletonSlot getSingletonSlot() {
+        return singletonSlot;
+    }
+
+    /**
+     * Returns the compile-time generated factory of the implementation class.
+     * Only classes listed in a bean index are looked up, once; absence is cached as well.
+     *
+     * @return the generated factory, or null if none was generated
+     */
+    @SuppressWarnings("unchecked")
+    GeneratedFactory<Object> getGeneratedFactory() {
+        Object result = generatedFactory;
+        if (result == null) {
+            result = loadGeneratedFactory();
+            generatedFactory = result;
+        }
+        return result instanceof GeneratedFactory ? (GeneratedFactory<Object>) result : null;
+    }
+
+    private Object loadGeneratedFactory() {
+        if (!BeanIndex.isIndexed(implementationClass)) {
+            return NO_FACTORY;
+        }
+        String factoryName = GeneratedFactory.factoryClassName(implementationClass);
+        Class<?> factoryClass;
+        try {
+            factoryClass = Class.forName(factoryName, true, implementationClass.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return NO_FACTORY;
+        }
+        if (!GeneratedFactory.class.isAssignableFrom(factoryClass)) {
+            return NO_FACTORY;
+        }
+        try {
+            return factoryClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new ContainerException("Failed to instantiate generated factory " + factoryName, e);
+        }
+    }
+
     @Override
     public String toString() {
         return "BeanDefinition{" +
@@ -73,4 +155,14 @@ public class BeanDefinition {
                (primary ? ", primary=true" : "") +
                '}';
     }
+
+    private static final class CompiledPlan {
+        final InstantiationEngine engine;
+        final BeanInstantiator instantiator;
+
+        CompiledPlan(InstantiationEngine engine, BeanInstantiator instantiator) {
+            this.engine = engine;
+            this.instantiator = instantiator;
+        }
+    }
 }
@@ -0,0 +1,56 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.provider.Provider;
+
+/**
+ * A pre-resolved reference to a bean, for call sites that look up the same bean repeatedly.
+ *
+ * <p>The bean definition is resolved once, when the handle is created by
+ * {@link Container#handle(Key)}. For singletons, {@link #get()} then reads a cached
+ * field; for prototypes, it runs the bean's injection plan directly without looking
+ * up the registry. Handles follow {@link Container#clearSingletons()} and
+ * {@link Container#shutdown()}, but keep the definition they were created with if
+ * the bean is registered again.</p>
+ *
+ * <p>Handles are also what the container injects for {@code Provider<T>} and
+ * {@code Supplier<T>} dependencies.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * BeanHandle&lt;RequestHandler&gt; handler = container.handle(RequestHandler.class);
+ *
+ * while (running) {
+ *     handler.get().handle(nextRequest());
+ * }
+ * </pre>
+ *
+ * @param <T> the bean type
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public interface BeanHandle<T> extends Provider<T> {
+
+    /**
+     * Returns the bean: the cached instance for singletons, a new instance for prototypes.
+     *
+     * @return the bean instance
+     * @throws io.github.abolpv.lightdi.exception.ContainerException if instantiation fails
+     *         or the container is shutting down
+     */
+    @Override
+    T get();
+
+    /**
+     * Returns the key this handle was resolved for.
+     *
+     * @return the key
+     */
+    Key<T> getKey();
+
+    /**
+     * Returns the scope of the bean.
+     *
+     * @return the scope
+     */
+    Scope getScope();
+}
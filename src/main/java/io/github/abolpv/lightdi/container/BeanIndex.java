@@ -0,0 +1,73 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.scanner.ClassScanner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * The bean classes listed in the compile-time bean indexes ({@value ClassScanner#INDEX_RESOURCE})
+ * visible to each class loader.
+ *
+ * <p>The annotation processor lists every bean it generates a factory for, so classes
+ * that are not listed skip the {@code Class.forName} lookup of a factory, and the
+ * {@link ClassNotFoundException} it would throw. Indexes are read once per class loader.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class BeanIndex {
+
+    private static final Map<ClassLoader, Set<String>> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private BeanIndex() {
+    }
+
+    /**
+     * Checks if a bean class may have a generated factory.
+     *
+     * @return true if the class is indexed, or if the indexes could not be read
+     */
+    static boolean isIndexed(Class<?> beanClass) {
+        ClassLoader loader = beanClass.getClassLoader();
+        if (loader == null) {
+            return false;
+        }
+        Set<String> names = INDEXES.computeIfAbsent(loader, BeanIndex::read);
+        return names == null || names.contains(beanClass.getName());
+    }
+
+    /**
+     * Reads all indexes of the loader, or returns null (not cached) if one cannot be read.
+     */
+    private static Set<String> read(ClassLoader loader) {
+        Set<String> names = new HashSet<>();
+        try {
+            Enumeration<URL> resources = loader.getResources(ClassScanner.INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        line = line.trim();
+                        if (!line.isEmpty() && !line.startsWith("#")) {
+                            names.add(line);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return names;
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.abolpv.lightdi.container;
+
+/**
+ * Creates and injects instances of a single bean class.
+ * Produced by an {@link InstantiationEngine} from an {@link InjectionPlan};
+ * member indexes refer to the order of {@link InjectionPlan#getFields()}
+ * and {@link InjectionPlan#getMethods()}.
+ *
+ * <p>All failures are reported as
+ * {@link io.github.abolpv.lightdi.exception.ContainerException}.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public interface BeanInstantiator {
+
+    /**
+     * Invokes the injectable constructor.
+     *
+     * @param args the resolved constructor arguments
+     * @return the new instance
+     */
+    Object newInstance(Object[] args);
+
+    /**
+     * Sets an injectable field.
+     *
+     * @param target the instance to inject into
+     * @param index the field index in the plan
+     * @param value the resolved dependency
+     */
+    void setField(Object target, int index, Object value);
+
+    /**
+     * Invokes an {@literal @}Inject method.
+     *
+     * @param target the instance to inject into
+     * @param index the method index in the plan
+     * @param args the resolved method arguments
+     */
+    void invokeMethod(Object target, int index, Object[] args);
+
+    /**
+     * Invokes the {@literal @}PostConstruct callback, if the plan has one.
+     *
+     * @param target the fully injected instance
+     */
+    void postConstruct(Object target);
+
+    /**
+     * Invokes the {@literal @}PreDestroy callback, if the plan has one.
+     *
+     * @param target the instance being destroyed
+     */
+    void preDestroy(Object target);
+}
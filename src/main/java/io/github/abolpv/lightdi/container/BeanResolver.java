@@ -0,0 +1,95 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.provider.Lazy;
+import io.github.abolpv.lightdi.provider.Provider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves dependencies on behalf of a {@link GeneratedFactory}.
+ * Passed by the container to generated code so that it can look up
+ * dependencies without reflection.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public interface BeanResolver {
+
+    /**
+     * Resolves an unqualified dependency.
+     *
+     * @param type the dependency type
+     * @param <T> the dependency type
+     * @return the resolved instance
+     */
+    <T> T get(Class<T> type);
+
+    /**
+     * Resolves a dependency qualified with {@literal @}Named.
+     *
+     * @param type the dependency type
+     * @param name the qualifier name
+     * @param <T> the dependency type
+     * @return the resolved instance
+     */
+    <T> T get(Class<T> type, String name);
+
+    /**
+     * Resolves a dependency as a lazy proxy, as done for {@literal @}Lazy fields.
+     *
+     * @param type the dependency interface or non-final class
+     * @param name the qualifier name, or null if the dependency is unqualified
+     * @param <T> the dependency type
+     * @return a proxy that resolves the dependency on first use
+     */
+    <T> T getLazy(Class<T> type, String name);
+
+    /**
+     * Resolves a {@code Provider<T>} or {@code Supplier<T>} dependency.
+     *
+     * @param type the provided bean type
+     * @param name the qualifier name, or null if the dependency is unqualified
+     * @param <T> the provided bean type
+     * @return a provider bound to the bean definition
+     */
+    <T> Provider<T> getProvider(Class<T> type, String name);
+
+    /**
+     * Resolves a {@code Lazy<T>} dependency.
+     *
+     * @param type the bean type
+     * @param name the qualifier name, or null if the dependency is unqualified
+     * @param <T> the bean type
+     * @return a holder that creates the bean on first use
+     */
+    <T> Lazy<T> getLazyHolder(Class<T> type, String name);
+
+    /**
+     * Resolves a {@code List<T>} dependency.
+     *
+     * @param type the element type
+     * @param <T> the element type
+     * @return an immutable list of all beans assignable to the type
+     */
+    <T> List<T> getList(Class<T> type);
+
+    /**
+     * Resolves a {@code Set<T>} dependency.
+     *
+     * @param type the element type
+     * @param <T> the element type
+     * @return an immutable set of all beans assignable to the type
+     */
+    <T> Set<T> getSet(Class<T> type);
+
+    /**
+     * Resolves a {@code Map<String, T>} dependency.
+     *
+     * @param type the value type
+     * @param <T> the value type
+     * @return an immutable map of all {@literal @}Named beans assignable to the type, keyed by name
+     */
+    <T> Map<String, T> getMap(Class<T> type);
+}
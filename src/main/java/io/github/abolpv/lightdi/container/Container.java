@@ -5,17 +5,24 @@ import io.github.abolpv.lightdi.exception.AmbiguousBeanException;
 import io.github.abolpv.lightdi.exception.BeanNotFoundException;
 import io.github.abolpv.lightdi.exception.CircularDependencyException;
 import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.monitor.BeanCreationEvent;
+import io.github.abolpv.lightdi.monitor.RegistrationEvent;
+import io.github.abolpv.lightdi.provider.Provider;
 import io.github.abolpv.lightdi.proxy.ProxyFactory;
-import io.github.abolpv.lightdi.resolver.CircularDependencyDetector;
 import io.github.abolpv.lightdi.scanner.ClassScanner;
+import io.github.abolpv.lightdi.scanner.ScanCache;
+import io.github.abolpv.lightdi.scanner.ScanFilter;
+import io.github.abolpv.lightdi.scanner.ScanSession;
 import io.github.abolpv.lightdi.util.ReflectionUtils;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
+import java.lang.annotation.Annotation;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * A lightweight dependency injection container.
@@ -30,11 +37,15 @@ import java.util.concurrent.ConcurrentHashMap;
  *   <li>Named qualifiers for multiple implementations</li>
  *   <li>Primary bean selection with @Primary</li>
  *   <li>Lazy initialization with @Lazy</li>
+ *   <li>Provider, Supplier and Lazy holder injection</li>
  *   <li>Circular dependency detection</li>
- *   <li>Package scanning for auto-discovery</li>
+ *   <li>Up-front validation of the whole dependency graph</li>
+ *   <li>Package scanning for auto-discovery, including @ComponentScan with filters</li>
  *   <li>PostConstruct and PreDestroy lifecycle callbacks</li>
  *   <li>Graceful shutdown with cleanup</li>
  *   <li>Conditional registration (@ConditionalOnProperty, @ConditionalOnBean, @ConditionalOnMissingBean)</li>
+ *   <li>Frozen, read-optimized registry for lock-free lookups once configuration is done</li>
+ *   <li>Pre-resolved bean handles for hot call sites</li>
  * </ul>
  *
  * <h2>Example usage:</h2>
@@ -54,13 +65,27 @@ public class Container {
 
     private final Map<Class<?>, BeanDefinition> registry = new ConcurrentHashMap<>();
     private final Map<String, BeanDefinition> namedRegistry = new ConcurrentHashMap<>();
-    private final Map<Class<?>, Object> singletonCache = new ConcurrentHashMap<>();
-    private final Map<String, Object> namedSingletonCache = new ConcurrentHashMap<>();
-    private final List<Object> singletonInstances = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Thread, SingletonSlot.Creation> singletonWaits = new ConcurrentHashMap<>();
+    private final Queue<DisposableSingleton> singletonInstances = new ConcurrentLinkedQueue<>();
     private final Map<String, String> properties = new ConcurrentHashMap<>();
-    private final CircularDependencyDetector circularDetector = new CircularDependencyDetector();
     private final ClassScanner classScanner = new ClassScanner();
+    private final Set<Class<?>> scannedConfigurations = ConcurrentHashMap.newKeySet();
+    private volatile InstantiationEngine instantiationEngine = InstantiationEngine.reflection();
+    private volatile boolean useGeneratedFactories = true;
+    private volatile boolean iterativeResolution;
+    private final BeanResolver resolver = new ContainerResolver();
+    private final IterativeResolver.Host resolutionHost = new ResolutionHost();
     private volatile boolean shutdownInProgress = false;
+    private volatile FrozenRegistry frozen;
+    private final Set<Class<?>> boundTypes = ConcurrentHashMap.newKeySet();
+    private volatile boolean validated;
+    private final Map<Key<?>, BeanHandle<?>> handles = new ConcurrentHashMap<>();
+    private final TypeIndex typeIndex = new TypeIndex();
+    private final Map<Class<?>, BeanCollection> collections = new ConcurrentHashMap<>();
+    private final TypeIndex annotationIndex = new TypeIndex();
+    private final Map<Class<?>, BeanCollection> annotatedCollections = new ConcurrentHashMap<>();
+    private volatile ContainerMetrics metrics;
+    private volatile StartupProfiler profiler;
 
     /**
      * Creates a new empty container.
@@ -85,12 +110,27 @@ public class Container {
      * Conditional annotations (@ConditionalOnProperty, @ConditionalOnBean, @ConditionalOnMissingBean)
      * are evaluated and the bean is only registered if all conditions are met.
      *
+     * <p>If the class is annotated with @ComponentScan, its packages are scanned first.
+     * Such a class does not need to be @Injectable itself; it is then only used for scanning.</p>
+     *
      * @param clazz the class to register
      * @param <T> the type of the class
      * @return this container for method chaining
-     * @throws ContainerException if the class is not annotated with @Injectable
+     * @throws ContainerException if the class is not annotated with @Injectable or @ComponentScan,
+     *         or the container is frozen
      */
     public <T> Container register(Class<T> clazz) {
+        startRegistration();
+        ComponentScan componentScan = clazz.getAnnotation(ComponentScan.class);
+        if (componentScan != null) {
+            scanComponents(clazz, componentScan);
+            if (!clazz.isAnnotationPresent(Injectable.class)) {
+                return this;
+            }
+        }
+
+        RegistrationEvent event = new RegistrationEvent();
+        event.begin();
         validateInjectable(clazz);
 
         // Check conditional annotations
@@ -101,6 +141,7 @@ public class Container {
         BeanDefinition definition = createBeanDefinition(clazz);
 
         registry.put(clazz, definition);
+        index(definition);
 
         // Also register by name if @Named is present
         if (definition.hasName()) {
@@ -110,6 +151,7 @@ public class Container {
         // Register for all implemented interfaces
         registerForInterfaces(clazz, definition);
 
+        complete(event, clazz, definition);
         return this;
     }
 
@@ -122,16 +164,22 @@ public class Container {
      * @return this container for method chaining
      */
     public <T> Container register(Class<T> interfaceClass, Class<? extends T> implementationClass) {
+        startRegistration();
+        RegistrationEvent event = new RegistrationEvent();
+        event.begin();
         validateInjectable(implementationClass);
         BeanDefinition definition = createBeanDefinition(implementationClass);
         
         registry.put(interfaceClass, definition);
         registry.put(implementationClass, definition);
+        boundTypes.add(interfaceClass);
+        index(definition);
         
         if (definition.hasName()) {
             namedRegistry.put(buildNamedKey(interfaceClass, definition.getName()), definition);
         }
         
+        complete(event, interfaceClass, definition);
         return this;
     }
 
@@ -145,6 +193,9 @@ public class Container {
      * @return this container for method chaining
      */
     public <T> Container register(Class<T> interfaceClass, Class<? extends T> implementationClass, String name) {
+        startRegistration();
+        RegistrationEvent event = new RegistrationEvent();
+        event.begin();
         validateInjectable(implementationClass);
         Scope scope = determineScope(implementationClass);
         boolean lazy = implementationClass.isAnnotationPresent(Lazy.class);
@@ -152,7 +203,9 @@ public class Container {
         
         namedRegistry.put(buildNamedKey(interfaceClass, name), definition);
         registry.put(implementationClass, definition);
+        index(definition);
         
+        complete(event, interfaceClass, definition);
         return this;
     }
 
@@ -165,39 +218,70 @@ public class Container {
      * @return this container for method chaining
      */
     public <T> Container registerInstance(Class<T> clazz, T instance) {
+        startRegistration();
+        RegistrationEvent event = new RegistrationEvent();
+        event.begin();
         BeanDefinition definition = new BeanDefinition(clazz, Scope.SINGLETON);
+        definition.getSingletonSlot().set(instance);
         registry.put(clazz, definition);
-        singletonCache.put(clazz, instance);
+        boundTypes.add(clazz);
+        index(definition);
+        complete(event, clazz, definition);
         return this;
     }
 
+    private static void complete(RegistrationEvent event, Class<?> type, BeanDefinition definition) {
+        event.complete(type, definition.getImplementationClass(), definition.getScope().name(), definition.getName());
+    }
+
     /**
      * Scans a package and registers all @Injectable classes.
+     * Classes are registered on the calling thread as the scan finds them.
      *
      * @param packageName the package to scan
      * @return this container for method chaining
+     * @see #setScanParallelism(int)
      */
     public Container scan(String packageName) {
-        Set<Class<?>> classes = classScanner.scanPackage(packageName);
-        for (Class<?> clazz : classes) {
-            register(clazz);
-        }
+        startRegistration();
+        classScanner.scanPackage(packageName, ScanFilter.acceptAll(), clazz -> register(clazz));
         return this;
     }
 
     /**
      * Scans multiple packages and registers all @Injectable classes.
+     * The packages share one scan session, so each JAR is opened and indexed only once.
      *
      * @param packageNames the packages to scan
      * @return this container for method chaining
      */
     public Container scan(String... packageNames) {
-        for (String packageName : packageNames) {
-            scan(packageName);
+        startRegistration();
+        try (ScanSession session = classScanner.openSession()) {
+            for (String packageName : packageNames) {
+                session.scanPackage(packageName, ScanFilter.acceptAll(), clazz -> register(clazz));
+            }
         }
         return this;
     }
 
+    /**
+     * Scans the packages declared by a @ComponentScan, applying its filters.
+     * Each configuration class is processed once, so a configuration found by its own scan is not rescanned.
+     */
+    private void scanComponents(Class<?> configClass, ComponentScan componentScan) {
+        if (!scannedConfigurations.add(configClass)) {
+            return;
+        }
+        ScanFilter filter = ScanFilter.from(componentScan);
+        String[] packages = componentScan.value().length > 0
+            ? componentScan.value()
+            : new String[] {configClass.getPackageName()};
+        for (String packageName : packages) {
+            classScanner.scanPackage(packageName, filter, clazz -> register(clazz));
+        }
+    }
+
     // ==================== Property Methods ====================
 
     /**
@@ -255,6 +339,482 @@ public class Container {
         return properties.containsKey(key);
     }
 
+    // ==================== Scanning ====================
+
+    /**
+     * Sets the number of threads used to scan packages.
+     * A parallelism of one scans on the calling thread.
+     * Defaults to the number of available processors.
+     *
+     * @param parallelism the parallelism level, at least one
+     * @return this container for method chaining
+     * @throws IllegalArgumentException if parallelism is less than one
+     */
+    public Container setScanParallelism(int parallelism) {
+        classScanner.setParallelism(parallelism);
+        return this;
+    }
+
+    /**
+     * Gets the number of threads used to scan packages.
+     *
+     * @return the parallelism level
+     */
+    public int getScanParallelism() {
+        return classScanner.getParallelism();
+    }
+
+    /**
+     * Sets a persistent cache of scan results, so that unchanged classpath
+     * locations are not rescanned on the next run. Disabled by default.
+     *
+     * @param scanCache the cache, or null to disable caching
+     * @return this container for method chaining
+     * @see ScanCache
+     */
+    public Container setScanCache(ScanCache scanCache) {
+        classScanner.setScanCache(scanCache);
+        return this;
+    }
+
+    /**
+     * Adds a module layer whose named modules are scanned in addition to the classpath.
+     * The boot layer is always scanned.
+     *
+     * @param layer the module layer
+     * @return this container for method chaining
+     */
+    public Container addModuleLayer(ModuleLayer layer) {
+        classScanner.addModuleLayer(Objects.requireNonNull(layer, "layer"));
+        return this;
+    }
+
+    // ==================== Instantiation Engine ====================
+
+    /**
+     * Sets the engine used to instantiate and inject beans.
+     * Takes effect for instances created after this call.
+     *
+     * @param engine the instantiation engine
+     * @return this container for method chaining
+     * @see InstantiationEngine
+     */
+    public Container setInstantiationEngine(InstantiationEngine engine) {
+        this.instantiationEngine = Objects.requireNonNull(engine, "engine");
+        return this;
+    }
+
+    /**
+     * Gets the engine used to instantiate and inject beans.
+     *
+     * @return the instantiation engine
+     */
+    public InstantiationEngine getInstantiationEngine() {
+        return instantiationEngine;
+    }
+
+    /**
+     * Enables or disables compile-time generated factories.
+     * When enabled (the default), beans with a factory generated by the
+     * {@code lightdi-processor} annotation processor are created through it
+     * instead of the instantiation engine.
+     *
+     * @param enabled true to prefer generated factories
+     * @return this container for method chaining
+     * @see GeneratedFactory
+     */
+    public Container setUseGeneratedFactories(boolean enabled) {
+        this.useGeneratedFactories = enabled;
+        return this;
+    }
+
+    /**
+     * Enables or disables iterative resolution.
+     *
+     * <p>By default a bean's dependencies are created by recursive calls, several stack
+     * frames per level of the dependency graph, so chains thousands of beans deep can
+     * overflow the thread stack. When enabled, beans built from their injection plan are
+     * created with an explicit work stack on the heap instead. Instances, injection order
+     * and {@literal @}PostConstruct order are the same. Beans with a generated factory still
+     * resolve their own dependencies recursively.</p>
+     *
+     * @param enabled true to resolve dependencies iteratively
+     * @return this container for method chaining
+     * @since 1.2.0
+     */
+    public Container setIterativeResolution(boolean enabled) {
+        this.iterativeResolution = enabled;
+        return this;
+    }
+
+    /**
+     * Enables or disables runtime metrics, read through {@link #getMetrics()}.
+     *
+     * <p>Until a container in the JVM enables metrics, the metrics code is compiled out of
+     * the {@code get()} path. Enabling starts from zero; disabling drops the metrics.</p>
+     *
+     * @param enabled true to record metrics
+     * @return this container for method chaining
+     * @see ContainerMetrics
+     * @since 1.2.0
+     */
+    public Container setMetricsEnabled(boolean enabled) {
+        if (enabled) {
+            if (metrics == null) {
+                metrics = new ContainerMetrics();
+            }
+            MetricsSwitch.turnOn();
+        } else {
+            metrics = null;
+        }
+        return this;
+    }
+
+    /**
+     * Gets the runtime metrics of this container.
+     *
+     * @return the live metrics
+     * @throws ContainerException if metrics are not enabled
+     * @since 1.2.0
+     */
+    public ContainerMetrics getMetrics() {
+        ContainerMetrics current = metrics;
+        if (current == null) {
+            throw new ContainerException("Metrics are not enabled, call setMetricsEnabled(true) first");
+        }
+        return current;
+    }
+
+    /**
+     * Starts recording every bean this container creates, with its creation time and the
+     * dependencies created for it, until {@link #stopProfiling()} is called. Starting again
+     * discards what was recorded so far.
+     *
+     * @return this container for method chaining
+     * @see StartupProfile
+     * @since 1.2.0
+     */
+    public Container startProfiling() {
+        this.profiler = new StartupProfiler();
+        return this;
+    }
+
+    /**
+     * Stops profiling and returns the beans created since {@link #startProfiling()},
+     * with the critical path of their creation.
+     *
+     * @return the profile
+     * @throws ContainerException if profiling was not started
+     * @since 1.2.0
+     */
+    public StartupProfile stopProfiling() {
+        StartupProfiler current = profiler;
+        if (current == null) {
+            throw new ContainerException("Profiling was not started, call startProfiling() first");
+        }
+        profiler = null;
+        return current.snapshot();
+    }
+
+    /**
+     * Records that the bean being created on a path uses an existing singleton, while profiling.
+     */
+    private void profileReference(BeanDefinition definition, ResolutionPath path) {
+        if (path != null) {
+            StartupProfiler profiler = this.profiler;
+            if (profiler != null) {
+                profiler.reference(definition, path);
+            }
+        }
+    }
+
+    /**
+     * Gets the metrics to record into, or null. Free while no container in the JVM has enabled metrics.
+     */
+    private ContainerMetrics metrics() {
+        return MetricsSwitch.isOn() ? metrics : null;
+    }
+
+    /**
+     * Checks if dependencies are resolved iteratively.
+     *
+     * @return true if iterative resolution is enabled
+     * @since 1.2.0
+     */
+    public boolean isIterativeResolution() {
+        return iterativeResolution;
+    }
+
+    // ==================== Freezing ====================
+
+    /**
+     * Compiles the registry into an immutable, read-optimized structure.
+     *
+     * <p>After freezing, {@link #get(Class)} and {@link #get(Class, String)} find beans through
+     * a collision-free hash table built for the registered keys, and cached singletons are read
+     * from a per-bean slot, so repeated lookups take no locks, perform no writes and allocate
+     * nothing. If every dependency resolves to a registered bean and the graph has no cycles,
+     * runtime circular dependency tracking is skipped as well; otherwise it stays enabled.</p>
+     *
+     * <p>A frozen container rejects further registration and scanning. {@link #clear()}
+     * discards the frozen registry together with all registrations.</p>
+     *
+     * <p>Example:</p>
+     * <pre>
+     * Container container = Container.builder()
+     *     .scan("com.example")
+     *     .freeze()
+     *     .build();
+     * </pre>
+     *
+     * @return this container for method chaining
+     * @since 1.2.0
+     */
+    public synchronized Container freeze() {
+        if (frozen == null) {
+            frozen = new FrozenRegistry(registry, namedRegistry, typeIndex);
+        }
+        return this;
+    }
+
+    /**
+     * Checks if the container has been frozen.
+     *
+     * @return true if {@link #freeze()} has been called
+     * @since 1.2.0
+     */
+    public boolean isFrozen() {
+        return frozen != null;
+    }
+
+    // ==================== Validation ====================
+
+    /**
+     * Checks the whole dependency graph without creating any bean, and reports every
+     * problem at once instead of failing on the first {@link #get(Class)} that hits one.
+     *
+     * <p>The graph is derived from the constructor, field and method injection points of
+     * all registered beans, resolved the way {@link #get(Class)} and {@link #get(Class, String)}
+     * resolve them. The report lists:</p>
+     * <ul>
+     *   <li>dependencies on unregistered types or names, including {@literal @}Lazy,
+     *       {@code Provider}, {@code Supplier} and {@code Lazy} injection points</li>
+     *   <li>unqualified dependencies on a type that several beans implement, unless the type
+     *       was bound explicitly or one of the beans is {@literal @}Primary</li>
+     *   <li>every cycle, one per group of beans depending on each other</li>
+     *   <li>beans without a usable constructor</li>
+     * </ul>
+     *
+     * <p>If the graph is valid, runtime circular dependency tracking is switched off until
+     * the next registration or {@link #clearSingletons()}, removing its per-creation cost.</p>
+     *
+     * <p>Example:</p>
+     * <pre>
+     * ValidationReport report = container.validate();
+     * if (!report.isValid()) {
+     *     report.getProblems().forEach(problem -&gt; log.error("{}", problem));
+     * }
+     * </pre>
+     *
+     * @return the validation report
+     * @since 1.2.0
+     */
+    public ValidationReport validate() {
+        List<BeanDefinition> definitions = new ArrayList<>();
+        Set<BeanDefinition> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BeanDefinition definition : registry.values()) {
+            if (seen.add(definition)) {
+                definitions.add(definition);
+            }
+        }
+        for (BeanDefinition definition : namedRegistry.values()) {
+            if (seen.add(definition)) {
+                definitions.add(definition);
+            }
+        }
+        // Registered instances are never constructed, so their dependencies do not matter
+        definitions.removeIf(definition -> definition.getSingletonSlot().instance() != null);
+        definitions.sort(Comparator.comparing(definition -> definition.getImplementationClass().getName()));
+
+        Set<ValidationKey> reported = new HashSet<>();
+        List<ValidationReport.Problem> problems = new ArrayList<>();
+        for (BeanDefinition definition : definitions) {
+            validateDefinition(definition, seen, reported, problems);
+        }
+
+        DependencyGraph graph = DependencyGraph.build(definitions, this::lookup, typeIndex::get);
+        for (List<Class<?>> cycle : graph.findCycles()) {
+            problems.add(new ValidationReport.Problem(ValidationReport.Kind.CIRCULAR, cycle.get(0),
+                new CircularDependencyException(cycle).getMessage(), cycle));
+        }
+
+        ValidationReport report = new ValidationReport(problems);
+        validated = report.isValid();
+        return report;
+    }
+
+    private void validateDefinition(BeanDefinition definition, Set<BeanDefinition> all,
+                                    Set<ValidationKey> reported, List<ValidationReport.Problem> problems) {
+        Class<?> beanClass = definition.getImplementationClass();
+        InjectionPlan plan;
+        try {
+            plan = definition.getPlan();
+        } catch (RuntimeException e) {
+            problems.add(new ValidationReport.Problem(ValidationReport.Kind.INVALID, beanClass,
+                beanClass.getSimpleName() + " cannot be created: " + e.getMessage(), List.of()));
+            return;
+        }
+
+        List<InjectionPoint> points = new ArrayList<>(plan.getConstructorParameters());
+        points.addAll(plan.getFieldPoints());
+        plan.getMethodParameters().forEach(points::addAll);
+
+        for (InjectionPoint point : points) {
+            Class<?> type = point.getType();
+            if (point.isCollection()) {
+                continue; // an empty collection is a valid value
+            }
+            if (!reported.add(new ValidationKey(beanClass, type, point.getQualifier()))) {
+                continue;
+            }
+            BeanDefinition target = lookup(type, point.getQualifier());
+            if (target == null) {
+                String dependency = point.hasQualifier()
+                    ? type.getSimpleName() + " named '" + point.getQualifier() + "'"
+                    : type.getSimpleName();
+                problems.add(new ValidationReport.Problem(ValidationReport.Kind.MISSING, beanClass,
+                    beanClass.getSimpleName() + " requires " + dependency + ", which is not registered", List.of()));
+            } else if (!point.hasQualifier() && !boundTypes.contains(type)
+                && target.getImplementationClass() != type && !target.isPrimary()) {
+                List<Class<?>> candidates = candidates(type, all);
+                if (candidates.size() > 1) {
+                    problems.add(new ValidationReport.Problem(ValidationReport.Kind.AMBIGUOUS, beanClass,
+                        beanClass.getSimpleName() + " requires " + type.getSimpleName()
+                            + ", which is implemented by " + simpleNames(candidates)
+                            + " and none is @Primary; currently resolves to "
+                            + target.getImplementationClass().getSimpleName(), List.of()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the distinct registered implementations assignable to a type.
+     */
+    private static List<Class<?>> candidates(Class<?> type, Set<BeanDefinition> definitions) {
+        Set<Class<?>> candidates = new LinkedHashSet<>();
+        for (BeanDefinition definition : definitions) {
+            if (type.isAssignableFrom(definition.getImplementationClass())) {
+                candidates.add(definition.getImplementationClass());
+            }
+        }
+        List<Class<?>> sorted = new ArrayList<>(candidates);
+        sorted.sort(Comparator.comparing(Class::getName));
+        return sorted;
+    }
+
+    private static String simpleNames(List<Class<?>> classes) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (Class<?> clazz : classes) {
+            joiner.add(clazz.getSimpleName());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * A dependency of a bean, reported once however many injection points share it.
+     */
+    private static final class ValidationKey {
+        private final Class<?> beanClass;
+        private final Class<?> type;
+        private final String qualifier;
+
+        ValidationKey(Class<?> beanClass, Class<?> type, String qualifier) {
+            this.beanClass = beanClass;
+            this.type = type;
+            this.qualifier = qualifier;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ValidationKey)) {
+                return false;
+            }
+            ValidationKey other = (ValidationKey) o;
+            return beanClass == other.beanClass && type == other.type
+                && Objects.equals(qualifier, other.qualifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(beanClass, type, qualifier);
+        }
+    }
+
+    // ==================== Eager Initialization ====================
+
+    /**
+     * Creates all non-lazy singletons now instead of on first use, in parallel.
+     * Uses a temporary pool with one thread per available processor.
+     *
+     * @return this container for method chaining
+     * @throws CircularDependencyException if the singletons depend on each other in a cycle
+     * @throws ContainerException if a singleton cannot be created
+     * @see #initializeSingletons(Executor, int)
+     * @since 1.2.0
+     */
+    public Container initializeSingletons() {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return initializeSingletons(pool, parallelism);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates all non-lazy singletons now instead of on first use, in parallel.
+     *
+     * <p>The dependency graph of all registered beans is sorted topologically, and each
+     * singleton is created once the beans it depends on exist, so independent singletons,
+     * such as ones opening connection pools in {@literal @}PostConstruct, start concurrently.
+     * Beans heading the longest chains of dependents are started first. The first failure
+     * stops scheduling and interrupts the creations in progress; singletons created before
+     * the failure remain cached.</p>
+     *
+     * <p>Example:</p>
+     * <pre>
+     * ExecutorService executor = Executors.newFixedThreadPool(16);
+     * container.initializeSingletons(executor, 16);
+     * </pre>
+     *
+     * @param executor runs the creation tasks, e.g. a {@code ForkJoinPool} or a virtual thread executor
+     * @param parallelism the maximum number of singletons created at a time
+     * @return this container for method chaining
+     * @throws IllegalArgumentException if parallelism is less than one
+     * @throws CircularDependencyException if the singletons depend on each other in a cycle
+     * @throws ContainerException if a singleton cannot be created or the container is shut down
+     * @since 1.2.0
+     */
+    public Container initializeSingletons(Executor executor, int parallelism) {
+        Objects.requireNonNull(executor, "executor");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        if (shutdownInProgress) {
+            throw new ContainerException("Container is shutting down, cannot create new instances");
+        }
+
+        Consumer<BeanDefinition> creator = definition -> {
+            if (definition.isSingleton()) {
+                getOrCreateSingleton(definition, null);
+            }
+        };
+        new SingletonInitializer(dependencyGraph(), creator, executor, parallelism).run();
+        return this;
+    }
+
     // ==================== Retrieval Methods ====================
 
     /**
@@ -269,13 +829,11 @@ public class Container {
      * @throws ContainerException if instantiation fails
      */
     public <T> T get(Class<T> clazz) {
-        BeanDefinition definition = registry.get(clazz);
-        
-        if (definition == null) {
-            throw new BeanNotFoundException(clazz);
+        ContainerMetrics metrics = metrics();
+        if (metrics != null) {
+            metrics.recordGet(clazz);
         }
-
-        return clazz.cast(getInstance(clazz, definition));
+        return clazz.cast(getBean(clazz, null));
     }
 
     /**
@@ -288,54 +846,178 @@ public class Container {
      * @throws BeanNotFoundException if no bean with the given name is found
      */
     public <T> T get(Class<T> clazz, String name) {
-        String key = buildNamedKey(clazz, name);
-        BeanDefinition definition = namedRegistry.get(key);
-        
-        if (definition == null) {
-            throw new BeanNotFoundException(clazz, name);
+        ContainerMetrics metrics = metrics();
+        if (metrics != null) {
+            metrics.recordGet(clazz);
         }
+        return clazz.cast(getNamedBean(clazz, name, null));
+    }
+
+    /**
+     * Retrieves an optional instance of the requested type.
+     *
+     * @param clazz the class to retrieve
+     * @param <T> the type of the class
+     * @return optional containing the instance, or empty if not registered
+     */
+    public <T> Optional<T> getOptional(Class<T> clazz) {
+        try {
+            return Optional.of(get(clazz));
+        } catch (BeanNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Retrieves all beans assignable to the given type: implementations of an interface,
+     * subclasses of a class, and the class itself if it is registered.
+     * Each bean is returned once, in registration order, even if it is registered under
+     * several types. The beans are found through an index maintained on registration,
+     * so the cost does not grow with the size of the registry.
+     *
+     * <p>If every bean is a singleton, the same immutable list is returned until
+     * the registrations or singletons change.</p>
+     *
+     * @param interfaceClass the interface or base class
+     * @param <T> the interface type
+     * @return an immutable list of all implementations, empty if there are none
+     * @throws ContainerException if a bean cannot be created
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getAll(Class<T> interfaceClass) {
+        Objects.requireNonNull(interfaceClass, "interfaceClass");
+        return (List<T>) collection(interfaceClass).list(definition -> getMember(definition, null));
+    }
+
+    /**
+     * Retrieves all {@literal @}Named beans assignable to the given type, keyed by name,
+     * in registration order. Beans without a name are not included.
+     *
+     * @param interfaceClass the interface or base class
+     * @param <T> the interface type
+     * @return an immutable map of the named implementations, empty if there are none
+     * @throws ContainerException if a bean cannot be created
+     * @since 1.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, T> getAllByName(Class<T> interfaceClass) {
+        Objects.requireNonNull(interfaceClass, "interfaceClass");
+        return (Map<String, T>) collection(interfaceClass).map(definition -> getMember(definition, null));
+    }
+
+    /**
+     * Retrieves all beans whose class carries the given annotation, directly or
+     * through {@literal @}Inherited, in registration order.
+     *
+     * <p>Annotations are indexed when a bean is registered, including beans found by
+     * {@link #scan(String)}, so no bean class is inspected again here. If every bean is a
+     * singleton, the same immutable list is returned until the registrations or singletons change.</p>
+     *
+     * <p>Example:</p>
+     * <pre>
+     * for (Object handler : container.getBeansWithAnnotation(MessageHandler.class)) {
+     *     router.add(handler);
+     * }
+     * </pre>
+     *
+     * @param annotationType the annotation type
+     * @return an immutable list of the annotated beans, empty if there are none
+     * @throws ContainerException if a bean cannot be created
+     * @see #getBeanDefinitionsWithAnnotation(Class)
+     * @since 1.2.0
+     */
+    public List<Object> getBeansWithAnnotation(Class<? extends Annotation> annotationType) {
+        Objects.requireNonNull(annotationType, "annotationType");
+        return annotatedCollections
+            .computeIfAbsent(annotationType, type -> new BeanCollection(annotationIndex.get(type)))
+            .list(definition -> getMember(definition, null));
+    }
+
+    /**
+     * Gets the definitions of all beans whose class carries the given annotation, without
+     * creating any of them. Useful to build tables such as routes from the bean classes at
+     * startup and create the beans only when they are first used.
+     *
+     * @param annotationType the annotation type
+     * @return an immutable list of the annotated bean definitions, in registration order
+     * @see #getBeansWithAnnotation(Class)
+     * @since 1.2.0
+     */
+    public List<BeanDefinition> getBeanDefinitionsWithAnnotation(Class<? extends Annotation> annotationType) {
+        Objects.requireNonNull(annotationType, "annotationType");
+        return annotationIndex.get(annotationType);
+    }
+
+    /**
+     * Retrieves the bean identified by a key.
+     *
+     * @param key the bean key
+     * @param <T> the bean type
+     * @return an instance of the requested type
+     * @throws BeanNotFoundException if no bean matches the key
+     * @since 1.2.0
+     */
+    public <T> T get(Key<T> key) {
+        return key.hasQualifier() ? get(key.getType(), key.getQualifier()) : get(key.getType());
+    }
+
+    // ==================== Handles ====================
 
-        return clazz.cast(getNamedInstance(key, definition));
+    /**
+     * Returns a pre-resolved handle to a bean.
+     *
+     * @param clazz the bean type
+     * @param <T> the bean type
+     * @return the handle
+     * @throws BeanNotFoundException if the type is not registered
+     * @see #handle(Key)
+     * @since 1.2.0
+     */
+    public <T> BeanHandle<T> handle(Class<T> clazz) {
+        return handle(Key.of(clazz));
     }
 
     /**
-     * Retrieves an optional instance of the requested type.
+     * Returns a pre-resolved handle to a named bean.
      *
-     * @param clazz the class to retrieve
-     * @param <T> the type of the class
-     * @return optional containing the instance, or empty if not registered
+     * @param clazz the bean type
+     * @param qualifier the qualifier name, or null for an unqualified bean
+     * @param <T> the bean type
+     * @return the handle
+     * @throws BeanNotFoundException if no bean with the given name is found
+     * @see #handle(Key)
+     * @since 1.2.0
      */
-    public <T> Optional<T> getOptional(Class<T> clazz) {
-        try {
-            return Optional.of(get(clazz));
-        } catch (BeanNotFoundException e) {
-            return Optional.empty();
-        }
+    public <T> BeanHandle<T> handle(Class<T> clazz, String qualifier) {
+        return handle(Key.of(clazz, qualifier));
     }
 
     /**
-     * Retrieves all instances that implement the given interface.
+     * Returns a pre-resolved handle to a bean, for call sites that retrieve the same bean repeatedly.
+     * The definition is looked up once; the handle's {@link BeanHandle#get()} is a field read for
+     * singletons and a direct injection plan invocation for prototypes.
+     * Handles are cached, so the same key returns the same handle until a new registration,
+     * after which a handle must be obtained again to see the new definition.
      *
-     * @param interfaceClass the interface class
-     * @param <T> the interface type
-     * @return list of all implementations
+     * <p>Example:</p>
+     * <pre>
+     * BeanHandle&lt;UserService&gt; users = container.handle(UserService.class);
+     * UserService service = users.get();
+     * </pre>
+     *
+     * @param key the bean key
+     * @param <T> the bean type
+     * @return the handle
+     * @throws BeanNotFoundException if no bean matches the key
+     * @since 1.2.0
      */
-    public <T> List<T> getAll(Class<T> interfaceClass) {
-        List<T> instances = new ArrayList<>();
-        
-        for (Map.Entry<Class<?>, BeanDefinition> entry : registry.entrySet()) {
-            Class<?> key = entry.getKey();
-            if (interfaceClass.isAssignableFrom(entry.getValue().getImplementationClass()) 
-                && key != interfaceClass) {
-                try {
-                    instances.add(interfaceClass.cast(getInstance(key, entry.getValue())));
-                } catch (Exception e) {
-                    // Skip beans that fail to instantiate
-                }
-            }
+    @SuppressWarnings("unchecked")
+    public <T> BeanHandle<T> handle(Key<T> key) {
+        BeanHandle<?> handle = handles.get(key);
+        if (handle == null) {
+            handle = handles.computeIfAbsent(key, k -> createHandle(key));
         }
-        
-        return instances;
+        return (BeanHandle<T>) handle;
     }
 
     // ==================== Query Methods ====================
@@ -398,8 +1080,9 @@ public class Container {
 
     /**
      * Shuts down the container gracefully.
-     * Invokes @PreDestroy methods on all singleton instances in reverse creation order,
-     * then clears all caches and registrations.
+     * Invokes @PreDestroy methods on all singleton instances, one at a time, in reverse
+     * dependency order (a bean is destroyed before the beans it depends on; otherwise
+     * the most recently created goes first), then clears all caches.
      *
      * <p>This method should be called when the application is shutting down
      * to allow beans to release resources properly.</p>
@@ -419,35 +1102,59 @@ public class Container {
      * @throws ContainerException if a @PreDestroy method fails (but continues with remaining beans)
      */
     public void shutdown() {
-        if (shutdownInProgress) {
-            return;
-        }
-        shutdownInProgress = true;
+        ShutdownReport report = shutdown(ShutdownOptions.sequential());
 
-        // Invoke @PreDestroy in reverse order of creation
-        List<Object> instances = new ArrayList<>(singletonInstances);
-        Collections.reverse(instances);
+        List<ShutdownReport.BeanShutdown> failed = report.getBeans(ShutdownReport.Status.FAILED);
+        if (!failed.isEmpty()) {
+            throw new ContainerException(
+                "Errors occurred during shutdown. " + failed.size() + " @PreDestroy method(s) failed.",
+                failed.get(0).getFailure()
+            );
+        }
+    }
 
-        List<Exception> exceptions = new ArrayList<>();
-        for (Object instance : instances) {
-            try {
-                invokePreDestroy(instance);
-            } catch (Exception e) {
-                exceptions.add(e);
+    /**
+     * Shuts down the container, destroying independent singletons in parallel and
+     * enforcing deadlines, and reports how each bean was destroyed.
+     *
+     * <p>A singleton is destroyed once all singletons depending on it have been destroyed.
+     * A bean overrunning its deadline is interrupted, reported as timed out, and stops
+     * holding up the beans it depends on. Once the global deadline passes, the beans not
+     * yet started are skipped. Failures are reported rather than thrown. The
+     * {@literal @}PreDestroy callback of each singleton is resolved when it is created.</p>
+     *
+     * <p>Example:</p>
+     * <pre>
+     * ShutdownReport report = container.shutdown(ShutdownOptions.parallel(8)
+     *     .beanTimeout(Duration.ofSeconds(5))
+     *     .timeout(Duration.ofSeconds(25)));
+     * report.getBeans(ShutdownReport.Status.TIMED_OUT).forEach(bean -&gt; log.warn("{}", bean));
+     * </pre>
+     *
+     * @param options the parallelism, executor and deadlines
+     * @return the shutdown report, empty if the container was already shut down
+     * @since 1.2.0
+     */
+    public ShutdownReport shutdown(ShutdownOptions options) {
+        Objects.requireNonNull(options, "options");
+        synchronized (this) {
+            if (shutdownInProgress) {
+                return ShutdownReport.empty();
             }
+            shutdownInProgress = true;
         }
 
+        List<DisposableSingleton> singletons = new ArrayList<>(singletonInstances);
+        ShutdownReport report = new ShutdownEngine(singletons, dependencyGraph(), options).run();
+
         // Clear all caches
         singletonInstances.clear();
-        singletonCache.clear();
-        namedSingletonCache.clear();
+        resetSingletonSlots();
+        clearFrozenInstances();
+        resetHandles();
+        clearCollections();
 
-        if (!exceptions.isEmpty()) {
-            throw new ContainerException(
-                "Errors occurred during shutdown. " + exceptions.size() + " @PreDestroy method(s) failed.",
-                exceptions.get(0)
-            );
-        }
+        return report;
     }
 
     /**
@@ -465,25 +1172,169 @@ public class Container {
      * Note: This does NOT call @PreDestroy methods. Use {@link #shutdown()} for graceful cleanup.
      */
     public void clearSingletons() {
+        // Registered instances are cleared too and would now be constructed
+        validated = false;
         singletonInstances.clear();
-        singletonCache.clear();
-        namedSingletonCache.clear();
+        resetSingletonSlots();
+        clearFrozenInstances();
+        resetHandles();
+        clearCollections();
     }
 
     /**
      * Clears all registrations and singleton caches.
+     * A frozen container becomes mutable again.
      * Note: This does NOT call @PreDestroy methods. Use {@link #shutdown()} for graceful cleanup.
      */
-    public void clear() {
+    public synchronized void clear() {
+        frozen = null;
+        resetHandles();
+        handles.clear();
         singletonInstances.clear();
+        resetSingletonSlots();
         registry.clear();
         namedRegistry.clear();
-        singletonCache.clear();
-        namedSingletonCache.clear();
+        boundTypes.clear();
+        typeIndex.clear();
+        annotationIndex.clear();
+        clearCollections();
+        validated = false;
+        scannedConfigurations.clear();
     }
 
     // ==================== Private Methods ====================
 
+    private DependencyGraph dependencyGraph() {
+        List<BeanDefinition> definitions = new ArrayList<>(registry.values());
+        definitions.addAll(namedRegistry.values());
+        return DependencyGraph.build(definitions, this::lookup, typeIndex::get);
+    }
+
+    /**
+     * Finds the definition a dependency resolves to, or null if there is none.
+     */
+    private BeanDefinition lookup(Class<?> type, String qualifier) {
+        return qualifier != null
+            ? namedRegistry.get(buildNamedKey(type, qualifier))
+            : registry.get(type);
+    }
+
+    /**
+     * Rejects registration into a frozen container; a registration voids an earlier validation.
+     */
+    private void startRegistration() {
+        if (frozen != null) {
+            throw new ContainerException("Container is frozen, no further beans can be registered");
+        }
+        validated = false;
+        clearCollections();
+        // Handles hold the definition they were created for
+        handles.clear();
+    }
+
+    private void clearFrozenInstances() {
+        FrozenRegistry frozen = this.frozen;
+        if (frozen != null) {
+            frozen.clearInstances();
+        }
+    }
+
+    private void resetSingletonSlots() {
+        for (BeanDefinition definition : registry.values()) {
+            definition.getSingletonSlot().reset();
+        }
+        for (BeanDefinition definition : namedRegistry.values()) {
+            definition.getSingletonSlot().reset();
+        }
+    }
+
+    private void resetHandles() {
+        for (BeanHandle<?> handle : handles.values()) {
+            if (handle instanceof SingletonHandle) {
+                ((SingletonHandle<?>) handle).reset();
+            }
+        }
+    }
+
+    private <T> BeanHandle<T> createHandle(Key<T> key) {
+        Class<T> type = key.getType();
+        BeanDefinition definition = key.hasQualifier()
+            ? namedRegistry.get(buildNamedKey(type, key.getQualifier()))
+            : registry.get(type);
+
+        if (definition == null) {
+            throw key.hasQualifier()
+                ? new BeanNotFoundException(type, key.getQualifier())
+                : new BeanNotFoundException(type);
+        }
+        if (definition.isSingleton()) {
+            return new SingletonHandle<>(key);
+        }
+        boolean lazyProxy = definition.isLazy() && type.isInterface() && !key.hasQualifier();
+        return new PrototypeHandle<>(key, definition, lazyProxy);
+    }
+
+    private Object getBean(Class<?> type, ResolutionPath path) {
+        FrozenRegistry frozen = this.frozen;
+        if (frozen != null) {
+            int slot = frozen.slotOf(type);
+            if (slot < 0) {
+                throw new BeanNotFoundException(type);
+            }
+            return getFrozenInstance(frozen, slot, path);
+        }
+
+        BeanDefinition definition = registry.get(type);
+        if (definition == null) {
+            throw new BeanNotFoundException(type);
+        }
+        return getInstance(type, definition, path);
+    }
+
+    private Object getNamedBean(Class<?> type, String name, ResolutionPath path) {
+        FrozenRegistry frozen = this.frozen;
+        if (frozen != null) {
+            int slot = frozen.slotOf(type, name);
+            if (slot < 0) {
+                throw new BeanNotFoundException(type, name);
+            }
+            return getFrozenInstance(frozen, slot, path);
+        }
+
+        String key = buildNamedKey(type, name);
+        BeanDefinition definition = namedRegistry.get(key);
+        if (definition == null) {
+            throw new BeanNotFoundException(type, name);
+        }
+        return getNamedInstance(key, definition, path);
+    }
+
+    /**
+     * Reads a bean from its frozen slot, falling back to the regular creation path
+     * on a miss and publishing singletons to the slot for subsequent lookups.
+     */
+    private Object getFrozenInstance(FrozenRegistry frozen, int slot, ResolutionPath path) {
+        Object instance = frozen.instance(slot);
+        if (instance != null) {
+            ContainerMetrics metrics = metrics();
+            if (metrics != null) {
+                metrics.recordSingletonHit();
+            }
+            profileReference(frozen.definition(slot), path);
+            return instance;
+        }
+
+        BeanDefinition definition = frozen.definition(slot);
+        String namedKey = frozen.namedKey(slot);
+        instance = namedKey != null
+            ? getNamedInstance(namedKey, definition, path)
+            : getInstance(frozen.type(slot), definition, path);
+        if (definition.isSingleton()) {
+            frozen.publish(slot, instance);
+        }
+        return instance;
+    }
+
     private void validateInjectable(Class<?> clazz) {
         if (!clazz.isAnnotationPresent(Injectable.class)) {
             throw new ContainerException(
@@ -620,160 +1471,527 @@ public class Container {
         return clazz.getName() + ":" + name;
     }
 
-    private Object getInstance(Class<?> key, BeanDefinition definition) {
+    private Object getInstance(Class<?> key, BeanDefinition definition, ResolutionPath path) {
         if (shutdownInProgress) {
             throw new ContainerException("Container is shutting down, cannot create new instances");
         }
 
         if (definition.isSingleton()) {
-            return singletonCache.computeIfAbsent(key, k -> {
-                Object instance = createInstance(definition);
-                singletonInstances.add(instance);
-                return instance;
-            });
+            return getOrCreateSingleton(definition, path);
         }
 
         if (definition.isLazy() && key.isInterface()) {
             return createLazyProxyForClass(key, definition);
         }
 
-        return createInstance(definition);
+        return createInstance(definition, path);
     }
     
     @SuppressWarnings("unchecked")
     private <T> T createLazyProxyForClass(Class<T> type, BeanDefinition definition) {
-        return ProxyFactory.createLazyProxy(type, () -> type.cast(createInstance(definition)));
+        return lazyProxy(type, () -> type.cast(createInstance(definition, null)));
+    }
+
+    private <T> T lazyProxy(Class<T> type, Supplier<T> target) {
+        return ProxyFactory.createLazyProxy(type, () -> {
+            ContainerMetrics metrics = metrics();
+            if (metrics != null) {
+                metrics.recordLazyInitialization();
+            }
+            return target.get();
+        });
+    }
+
+    /**
+     * Gets or creates the singleton of a definition through its slot. No lock is held while
+     * the bean and its dependencies are created; concurrent callers for the same bean wait
+     * for the creating thread, and callers for other beans proceed in parallel.
+     */
+    private Object getOrCreateSingleton(BeanDefinition definition, ResolutionPath path) {
+        SingletonSlot slot = definition.getSingletonSlot();
+        while (true) {
+            Object state = slot.state();
+            if (state == null) {
+                SingletonSlot.Creation creation = slot.begin(definition.getImplementationClass());
+                if (creation != null) {
+                    ContainerMetrics metrics = metrics();
+                    if (metrics != null) {
+                        metrics.recordSingletonMiss();
+                    }
+                    return createSingleton(slot, creation, definition, path);
+                }
+            } else if (state instanceof SingletonSlot.Creation) {
+                SingletonSlot.Creation creation = (SingletonSlot.Creation) state;
+                if (creation.isOwnedByCurrentThread()) {
+                    throw reentrantCreation(creation, path);
+                }
+                return await(creation, definition, path);
+            } else {
+                ContainerMetrics metrics = metrics();
+                if (metrics != null) {
+                    metrics.recordSingletonHit();
+                }
+                profileReference(definition, path);
+                return state;
+            }
+        }
+    }
+
+    /**
+     * Waits for a singleton being created by another thread, recording the wait in the metrics
+     * and, while profiling, as a dependency of the bean being created on the path.
+     */
+    private Object await(SingletonSlot.Creation creation, BeanDefinition definition, ResolutionPath path) {
+        ContainerMetrics metrics = metrics();
+        StartupProfiler profiler = path != null ? this.profiler : null;
+        if (metrics == null && profiler == null) {
+            return creation.await(singletonWaits);
+        }
+        long start = System.nanoTime();
+        try {
+            return creation.await(singletonWaits);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            if (metrics != null) {
+                metrics.recordSingletonWait(nanos);
+            }
+            if (profiler != null) {
+                profiler.await(definition, nanos, path);
+            }
+        }
+    }
+
+    private Object createSingleton(SingletonSlot slot, SingletonSlot.Creation creation, BeanDefinition definition,
+                                   ResolutionPath path) {
+        Object instance;
+        try {
+            instance = createInstance(definition, path);
+        } catch (RuntimeException | Error e) {
+            slot.fail(creation, e);
+            throw e;
+        }
+        singletonInstances.add(new DisposableSingleton(definition, instance, destroyCallback(definition)));
+        slot.complete(creation, instance);
+        return instance;
     }
 
-    private Object getNamedInstance(String key, BeanDefinition definition) {
+    /**
+     * A singleton requested again by the thread creating it depends on itself. The resolution
+     * path gives the full cycle; it is only omitted for graphs proven acyclic.
+     */
+    private CircularDependencyException reentrantCreation(SingletonSlot.Creation creation, ResolutionPath path) {
+        Class<?> clazz = creation.getBeanClass();
+        return new CircularDependencyException(path != null ? path.cycleTo(clazz) : List.of(clazz, clazz));
+    }
+
+    private Object getNamedInstance(String key, BeanDefinition definition, ResolutionPath path) {
         if (shutdownInProgress) {
             throw new ContainerException("Container is shutting down, cannot create new instances");
         }
 
         if (definition.isSingleton()) {
-            return namedSingletonCache.computeIfAbsent(key, k -> {
-                Object instance = createInstance(definition);
-                singletonInstances.add(instance);
-                return instance;
-            });
+            return getOrCreateSingleton(definition, path);
         }
-        return createInstance(definition);
+        return createInstance(definition, path);
     }
 
-    private Object createInstance(BeanDefinition definition) {
+    /**
+     * Creates a bean and the dependencies it needs.
+     *
+     * @param path the beans being created further up the call stack, or null when starting a resolution
+     */
+    private Object createInstance(BeanDefinition definition, ResolutionPath path) {
         Class<?> clazz = definition.getImplementationClass();
 
-        // Check for circular dependency
-        circularDetector.push(clazz);
+        // Check for circular dependency, unless the graph was proven acyclic; profiles follow the path
+        StartupProfiler profiler = this.profiler;
+        boolean trackCycles = tracksCycles() || profiler != null;
+        if (trackCycles && path == null) {
+            path = profiler != null ? new ResolutionPath.Profiled() : new ResolutionPath();
+        }
+
+        GeneratedFactory<Object> factory = useGeneratedFactories ? definition.getGeneratedFactory() : null;
+        if (iterativeResolution && factory == null) {
+            return IterativeResolver.create(resolutionHost, definition,
+                definition.getInstantiator(instantiationEngine), trackCycles ? path : null, profiler);
+        }
+
+        ContainerMetrics metrics = metrics();
+        long start = metrics != null ? System.nanoTime() : 0;
+
+        // While creations are recorded, the path is also kept for acyclic graphs to give their depth
+        BeanCreationEvent event = new BeanCreationEvent();
+        event.start();
+        if (!trackCycles && event.isEnabled()) {
+            trackCycles = true;
+            if (path == null) {
+                path = new ResolutionPath();
+            }
+        }
+        int depth = path != null ? path.depth() : 0;
+
+        if (trackCycles) {
+            path.push(clazz);
+        }
+        StartupProfiler.Node node = profiler != null ? profiler.enter(definition, path) : null;
 
         try {
+            if (factory != null) {
+                Object instance = createFromFactory(factory, clazz, trackCycles ? path : null);
+                if (node != null) {
+                    node.created();
+                }
+                event.complete(clazz, definition.getScope().name(), depth);
+                if (metrics != null) {
+                    metrics.recordCreation(definition, System.nanoTime() - start);
+                }
+                return instance;
+            }
+
+            InjectionPlan plan = definition.getPlan();
+            BeanInstantiator instantiator = definition.getInstantiator(instantiationEngine);
+
             // Create instance via constructor
-            Object instance = createViaConstructor(clazz);
+            Object instance = instantiator.newInstance(resolveAll(plan.getConstructorParameters(), path));
+            event.constructed();
 
             // Inject fields
-            injectFields(instance, clazz);
+            List<InjectionPoint> fieldPoints = plan.getFieldPoints();
+            for (int i = 0; i < fieldPoints.size(); i++) {
+                instantiator.setField(instance, i, resolve(fieldPoints.get(i), path));
+            }
 
             // Inject methods
-            injectMethods(instance, clazz);
+            List<List<InjectionPoint>> methodParameters = plan.getMethodParameters();
+            for (int i = 0; i < methodParameters.size(); i++) {
+                instantiator.invokeMethod(instance, i, resolveAll(methodParameters.get(i), path));
+            }
+            event.injected();
 
             // Call @PostConstruct
-            invokePostConstruct(instance, clazz);
+            long initStart = node != null ? System.nanoTime() : 0;
+            instantiator.postConstruct(instance);
+            if (node != null) {
+                node.postConstructed(System.nanoTime() - initStart);
+                node.created();
+            }
+            event.initialized();
 
+            event.complete(clazz, definition.getScope().name(), depth);
+            if (metrics != null) {
+                metrics.recordCreation(definition, System.nanoTime() - start);
+            }
             return instance;
         } finally {
-            circularDetector.pop(clazz);
+            if (node != null) {
+                profiler.exit(node, path);
+            }
+            if (trackCycles) {
+                path.pop();
+            }
         }
     }
 
-    private Object createViaConstructor(Class<?> clazz) {
-        Constructor<?> constructor = ReflectionUtils.findInjectableConstructor(clazz);
-        Parameter[] parameters = constructor.getParameters();
-        Object[] args = new Object[parameters.length];
+    private boolean tracksCycles() {
+        FrozenRegistry frozen = this.frozen;
+        return !validated && (frozen == null || !frozen.isValidated());
+    }
 
-        for (int i = 0; i < parameters.length; i++) {
-            args[i] = resolveParameter(parameters[i]);
+    private Object createFromFactory(GeneratedFactory<Object> factory, Class<?> clazz, ResolutionPath path) {
+        try {
+            // The factory resolves its dependencies through the resolver, which carries the path on
+            return factory.create(path != null ? new ContainerResolver(path) : resolver);
+        } catch (ContainerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ContainerException("Failed to create instance of " + clazz.getName(), e);
         }
-
-        return ReflectionUtils.createInstance(constructor, args);
     }
 
-    private Object resolveParameter(Parameter parameter) {
-        Class<?> type = parameter.getType();
-        Optional<String> qualifier = ReflectionUtils.getParameterQualifier(parameter);
-        
-        if (qualifier.isPresent()) {
-            return get(type, qualifier.get());
+    private Object[] resolveAll(List<InjectionPoint> points, ResolutionPath path) {
+        Object[] args = new Object[points.size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = resolve(points.get(i), path);
         }
-        
-        return get(type);
+        return args;
     }
 
-    private void injectFields(Object instance, Class<?> clazz) {
-        List<Field> fields = ReflectionUtils.findInjectableFields(clazz);
-        
-        for (Field field : fields) {
-            Object dependency = resolveField(field);
-            ReflectionUtils.setField(instance, field, dependency);
+    private Object resolve(InjectionPoint point, ResolutionPath path) {
+        Class<?> type = point.getType();
+
+        // Provider<T>, Supplier<T> and Lazy<T> are bound to the target definition once
+        switch (point.getKind()) {
+            case PROVIDER:
+                return handle(Key.of(type, point.getQualifier()));
+            case LAZY:
+                return io.github.abolpv.lightdi.provider.Lazy.of(handle(Key.of(type, point.getQualifier())));
+            case LIST:
+                return collection(type).list(definition -> getMember(definition, path));
+            case SET:
+                return collection(type).set(definition -> getMember(definition, path));
+            case MAP:
+                return collection(type).map(definition -> getMember(definition, path));
+            default:
+                break;
         }
-    }
 
-    private Object resolveField(Field field) {
-        Class<?> type = field.getType();
-        Optional<String> qualifier = ReflectionUtils.getFieldQualifier(field);
-        
         // Handle @Lazy on field
-        if (field.isAnnotationPresent(Lazy.class) && type.isInterface()) {
-            if (qualifier.isPresent()) {
-                String name = qualifier.get();
-                return createLazyProxyForField(type, name);
+        if (point.isLazy()) {
+            if (point.hasQualifier()) {
+                return createLazyProxyForField(type, point.getQualifier());
             }
             return createLazyProxyForField(type);
         }
-        
-        if (qualifier.isPresent()) {
-            return get(type, qualifier.get());
+
+        if (point.hasQualifier()) {
+            return getNamedBean(type, point.getQualifier(), path);
         }
-        
-        return get(type);
+
+        return getBean(type, path);
     }
-    
+
+    private BeanCollection collection(Class<?> type) {
+        return collections.computeIfAbsent(type, t -> new BeanCollection(typeIndex.get(t)));
+    }
+
+    /**
+     * Adds a new definition to the supertype and annotation indexes.
+     */
+    private void index(BeanDefinition definition) {
+        typeIndex.add(definition);
+        for (Annotation annotation : definition.getImplementationClass().getAnnotations()) {
+            annotationIndex.add(annotation.annotationType(), definition);
+        }
+    }
+
+    private void clearCollections() {
+        collections.clear();
+        annotatedCollections.clear();
+    }
+
+    private Object getMember(BeanDefinition definition, ResolutionPath path) {
+        return getInstance(definition.getImplementationClass(), definition, path);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> T createLazyProxyForField(Class<T> type, String name) {
-        return ProxyFactory.createLazyProxy(type, () -> get(type, name));
+        return lazyProxy(type, () -> type.cast(getNamedBean(type, name, null)));
     }
     
     @SuppressWarnings("unchecked")
     private <T> T createLazyProxyForField(Class<T> type) {
-        return ProxyFactory.createLazyProxy(type, () -> get(type));
+        return lazyProxy(type, () -> type.cast(getBean(type, null)));
+    }
+
+    /**
+     * Resolves the destroy callback of a new singleton through the same path that created it,
+     * so shutdown does not look up @PreDestroy methods again.
+     */
+    private DisposableSingleton.Callback destroyCallback(BeanDefinition definition) {
+        GeneratedFactory<Object> factory = useGeneratedFactories ? definition.getGeneratedFactory() : null;
+        if (factory != null) {
+            return factory::destroy;
+        }
+        if (definition.getPlan().preDestroyMethod() == null) {
+            return null;
+        }
+        BeanInstantiator instantiator = definition.getInstantiator(instantiationEngine);
+        return instantiator::preDestroy;
     }
 
-    private void injectMethods(Object instance, Class<?> clazz) {
-        List<Method> methods = ReflectionUtils.findInjectableMethods(clazz);
+    /**
+     * Handle caching a singleton until the container's singletons are cleared.
+     */
+    private final class SingletonHandle<T> implements BeanHandle<T> {
+        private final Key<T> key;
+        private volatile T instance;
+
+        SingletonHandle(Key<T> key) {
+            this.key = key;
+        }
+
+        @Override
+        public T get() {
+            T bean = instance;
+            return bean != null ? bean : resolve();
+        }
+
+        private T resolve() {
+            T bean = Container.this.get(key);
+            instance = bean;
+            return bean;
+        }
+
+        void reset() {
+            instance = null;
+        }
+
+        @Override
+        public Key<T> getKey() {
+            return key;
+        }
 
-        for (Method method : methods) {
-            Object[] args = resolveMethodParameters(method);
-            ReflectionUtils.invokeMethodWithArgs(instance, method, args);
+        @Override
+        public Scope getScope() {
+            return Scope.SINGLETON;
         }
     }
 
-    private Object[] resolveMethodParameters(Method method) {
-        Parameter[] parameters = method.getParameters();
-        Object[] args = new Object[parameters.length];
+    /**
+     * Handle creating prototypes from the definition resolved when it was created.
+     */
+    private final class PrototypeHandle<T> implements BeanHandle<T> {
+        private final Key<T> key;
+        private final BeanDefinition definition;
+        private final boolean lazyProxy;
+
+        PrototypeHandle(Key<T> key, BeanDefinition definition, boolean lazyProxy) {
+            this.key = key;
+            this.definition = definition;
+            this.lazyProxy = lazyProxy;
+        }
 
-        for (int i = 0; i < parameters.length; i++) {
-            args[i] = resolveParameter(parameters[i]);
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get() {
+            if (shutdownInProgress) {
+                throw new ContainerException("Container is shutting down, cannot create new instances");
+            }
+            if (lazyProxy) {
+                return createLazyProxyForClass(key.getType(), definition);
+            }
+            return (T) createInstance(definition, null);
         }
 
-        return args;
+        @Override
+        public Key<T> getKey() {
+            return key;
+        }
+
+        @Override
+        public Scope getScope() {
+            return Scope.PROTOTYPE;
+        }
     }
 
-    private void invokePostConstruct(Object instance, Class<?> clazz) {
-        Optional<Method> postConstruct = ReflectionUtils.findPostConstructMethod(clazz);
-        postConstruct.ifPresent(method -> ReflectionUtils.invokeMethod(instance, method));
+    /**
+     * Container services used by the iterative resolver.
+     */
+    private final class ResolutionHost implements IterativeResolver.Host {
+
+        @Override
+        public Object resolveDeferred(InjectionPoint point) {
+            return resolve(point, null);
+        }
+
+        @Override
+        public Object resolveCollection(InjectionPoint point, ResolutionPath path) {
+            return resolve(point, path);
+        }
+
+        @Override
+        public BeanDefinition definition(InjectionPoint point) {
+            if (shutdownInProgress) {
+                throw new ContainerException("Container is shutting down, cannot create new instances");
+            }
+            BeanDefinition definition = lookup(point.getType(), point.getQualifier());
+            if (definition == null) {
+                throw point.hasQualifier()
+                    ? new BeanNotFoundException(point.getType(), point.getQualifier())
+                    : new BeanNotFoundException(point.getType());
+            }
+            return definition;
+        }
+
+        @Override
+        public Object lazyProxy(Class<?> type, BeanDefinition definition) {
+            return createLazyProxyForClass(type, definition);
+        }
+
+        @Override
+        public BeanInstantiator instantiator(BeanDefinition definition) {
+            if (useGeneratedFactories && definition.getGeneratedFactory() != null) {
+                return null;
+            }
+            return definition.getInstantiator(instantiationEngine);
+        }
+
+        @Override
+        public Object createWithFactory(BeanDefinition definition, ResolutionPath path) {
+            return createInstance(definition, path);
+        }
+
+        @Override
+        public void singletonCreated(BeanDefinition definition, Object instance) {
+            singletonInstances.add(new DisposableSingleton(definition, instance, destroyCallback(definition)));
+        }
+
+        @Override
+        public Map<Thread, SingletonSlot.Creation> singletonWaits() {
+            return singletonWaits;
+        }
+
+        @Override
+        public ContainerMetrics metrics() {
+            return Container.this.metrics();
+        }
     }
 
-    private void invokePreDestroy(Object instance) {
-        Optional<Method> preDestroy = ReflectionUtils.findPreDestroyMethod(instance.getClass());
-        preDestroy.ifPresent(method -> ReflectionUtils.invokeMethod(instance, method));
+    /**
+     * Resolver handed to generated factories, carrying the resolution path of the bean being created.
+     */
+    private final class ContainerResolver implements BeanResolver {
+        private final ResolutionPath path;
+
+        ContainerResolver() {
+            this(null);
+        }
+
+        ContainerResolver(ResolutionPath path) {
+            this.path = path;
+        }
+
+        @Override
+        public <T> T get(Class<T> type) {
+            return type.cast(getBean(type, path));
+        }
+
+        @Override
+        public <T> T get(Class<T> type, String name) {
+            return type.cast(getNamedBean(type, name, path));
+        }
+
+        @Override
+        public <T> T getLazy(Class<T> type, String name) {
+            return name != null ? createLazyProxyForField(type, name) : createLazyProxyForField(type);
+        }
+
+        @Override
+        public <T> Provider<T> getProvider(Class<T> type, String name) {
+            return handle(Key.of(type, name));
+        }
+
+        @Override
+        public <T> io.github.abolpv.lightdi.provider.Lazy<T> getLazyHolder(Class<T> type, String name) {
+            return io.github.abolpv.lightdi.provider.Lazy.of(handle(Key.of(type, name)));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> getList(Class<T> type) {
+            return (List<T>) collection(type).list(definition -> getMember(definition, path));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Set<T> getSet(Class<T> type) {
+            return (Set<T>) collection(type).set(definition -> getMember(definition, path));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Map<String, T> getMap(Class<T> type) {
+            return (Map<String, T>) collection(type).map(definition -> getMember(definition, path));
+        }
     }
 }
@@ -1,9 +1,15 @@
 package io.github.abolpv.lightdi.container;
 
+import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.scanner.ScanCache;
+
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * Builder for creating and configuring Container instances.
@@ -31,6 +37,19 @@ public class ContainerBuilder {
     private final List<NamedBinding> namedBindings = new ArrayList<>();
     private final Map<Class<?>, Object> instances = new HashMap<>();
     private final Map<String, String> properties = new HashMap<>();
+    private InstantiationEngine instantiationEngine;
+    private boolean useGeneratedFactories = true;
+    private boolean iterativeResolution;
+    private boolean metrics;
+    private boolean profiling;
+    private int scanParallelism;
+    private Path scanCacheFile;
+    private final List<ModuleLayer> moduleLayers = new ArrayList<>();
+    private boolean validate;
+    private boolean freeze;
+    private boolean eagerSingletons;
+    private Executor eagerExecutor;
+    private int eagerParallelism;
 
     private BindingBuilder<?> pendingBinding;
     
@@ -141,10 +160,182 @@ public class ContainerBuilder {
         return this;
     }
 
+    /**
+     * Sets the engine used to instantiate and inject beans.
+     * Defaults to {@link InstantiationEngine#reflection()}.
+     *
+     * @param engine the instantiation engine
+     * @return this builder
+     */
+    public ContainerBuilder instantiationEngine(InstantiationEngine engine) {
+        completePendingBinding();
+        this.instantiationEngine = engine;
+        return this;
+    }
+
+    /**
+     * Enables or disables compile-time generated factories. Enabled by default.
+     *
+     * @param enabled true to prefer generated factories
+     * @return this builder
+     * @see GeneratedFactory
+     */
+    public ContainerBuilder generatedFactories(boolean enabled) {
+        completePendingBinding();
+        this.useGeneratedFactories = enabled;
+        return this;
+    }
+
+    /**
+     * Enables or disables iterative resolution, which creates dependencies with an explicit
+     * work stack instead of recursive calls. Disabled by default.
+     *
+     * @param enabled true to resolve dependencies iteratively
+     * @return this builder
+     * @see Container#setIterativeResolution(boolean)
+     */
+    public ContainerBuilder iterativeResolution(boolean enabled) {
+        completePendingBinding();
+        this.iterativeResolution = enabled;
+        return this;
+    }
+
+    /**
+     * Enables runtime metrics, read through {@link Container#getMetrics()}.
+     *
+     * @param enabled true to record metrics
+     * @return this builder
+     * @see Container#setMetricsEnabled(boolean)
+     */
+    public ContainerBuilder metrics(boolean enabled) {
+        completePendingBinding();
+        this.metrics = enabled;
+        return this;
+    }
+
+    /**
+     * Starts profiling before anything is scanned or created, so that eager singletons are
+     * included. Call {@link Container#stopProfiling()} on the built container once started up.
+     *
+     * @param enabled true to profile bean creation
+     * @return this builder
+     * @see Container#startProfiling()
+     */
+    public ContainerBuilder profiling(boolean enabled) {
+        completePendingBinding();
+        this.profiling = enabled;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads used to scan packages.
+     * Defaults to the number of available processors; use 1 to scan on the calling thread.
+     *
+     * @param parallelism the parallelism level, at least one
+     * @return this builder
+     * @throws IllegalArgumentException if parallelism is less than one
+     */
+    public ContainerBuilder scanParallelism(int parallelism) {
+        completePendingBinding();
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.scanParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Enables the persistent scan cache stored in the given file.
+     * Unchanged JARs and directories are not rescanned when the container is built again.
+     *
+     * @param file the cache file, created if it does not exist
+     * @return this builder
+     * @see ScanCache
+     */
+    public ContainerBuilder scanCache(Path file) {
+        completePendingBinding();
+        this.scanCacheFile = file;
+        return this;
+    }
+
+    /**
+     * Adds a module layer to scan, e.g. a plugin layer created at runtime.
+     * The boot layer is always scanned.
+     *
+     * @param layer the module layer
+     * @return this builder
+     */
+    public ContainerBuilder moduleLayer(ModuleLayer layer) {
+        completePendingBinding();
+        moduleLayers.add(layer);
+        return this;
+    }
+
+    /**
+     * Validates the dependency graph after all beans are registered, so that missing,
+     * ambiguous and circular dependencies fail the build instead of a later lookup.
+     *
+     * @return this builder
+     * @see Container#validate()
+     */
+    public ContainerBuilder validate() {
+        completePendingBinding();
+        this.validate = true;
+        return this;
+    }
+
+    /**
+     * Freezes the container after all beans are registered, compiling the registry
+     * into a read-optimized structure. The built container rejects further registration.
+     *
+     * @return this builder
+     * @see Container#freeze()
+     */
+    public ContainerBuilder freeze() {
+        completePendingBinding();
+        this.freeze = true;
+        return this;
+    }
+
+    /**
+     * Creates all non-lazy singletons when the container is built, in parallel,
+     * using a temporary pool with one thread per available processor.
+     *
+     * @return this builder
+     * @see Container#initializeSingletons()
+     */
+    public ContainerBuilder eagerSingletons() {
+        completePendingBinding();
+        this.eagerSingletons = true;
+        this.eagerExecutor = null;
+        return this;
+    }
+
+    /**
+     * Creates all non-lazy singletons when the container is built, in parallel on the given executor.
+     *
+     * @param executor runs the creation tasks, e.g. a {@code ForkJoinPool} or a virtual thread executor
+     * @param parallelism the maximum number of singletons created at a time
+     * @return this builder
+     * @throws IllegalArgumentException if parallelism is less than one
+     * @see Container#initializeSingletons(Executor, int)
+     */
+    public ContainerBuilder eagerSingletons(Executor executor, int parallelism) {
+        completePendingBinding();
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.eagerSingletons = true;
+        this.eagerExecutor = Objects.requireNonNull(executor, "executor");
+        this.eagerParallelism = parallelism;
+        return this;
+    }
+
     /**
      * Builds and returns the configured container.
      *
      * @return the configured Container
+     * @throws ContainerException if validation is enabled and the dependency graph has problems
      */
     @SuppressWarnings("unchecked")
     public Container build() {
@@ -155,9 +346,28 @@ public class ContainerBuilder {
         // Set properties first (required for conditional registration)
         container.setProperties(properties);
 
-        // Scan packages
-        for (String pkg : packagesToScan) {
-            container.scan(pkg);
+        if (instantiationEngine != null) {
+            container.setInstantiationEngine(instantiationEngine);
+        }
+        container.setUseGeneratedFactories(useGeneratedFactories);
+        container.setIterativeResolution(iterativeResolution);
+        container.setMetricsEnabled(metrics);
+        if (profiling) {
+            container.startProfiling();
+        }
+        if (scanParallelism > 0) {
+            container.setScanParallelism(scanParallelism);
+        }
+        if (scanCacheFile != null) {
+            container.setScanCache(new ScanCache(scanCacheFile));
+        }
+        for (ModuleLayer layer : moduleLayers) {
+            container.addModuleLayer(layer);
+        }
+
+        // Scan packages in one session, opening each JAR once
+        if (!packagesToScan.isEmpty()) {
+            container.scan(packagesToScan.toArray(new String[0]));
         }
 
         // Register individual classes
@@ -180,6 +390,25 @@ public class ContainerBuilder {
             registerInstance(container, entry.getKey(), entry.getValue());
         }
 
+        if (validate) {
+            ValidationReport report = container.validate();
+            if (!report.isValid()) {
+                throw new ContainerException(report.toString());
+            }
+        }
+
+        if (freeze) {
+            container.freeze();
+        }
+
+        if (eagerSingletons) {
+            if (eagerExecutor != null) {
+                container.initializeSingletons(eagerExecutor, eagerParallelism);
+            } else {
+                container.initializeSingletons();
+            }
+        }
+
         return container;
     }
     
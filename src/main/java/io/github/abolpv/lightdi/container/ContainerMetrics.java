@@ -0,0 +1,257 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.exception.ContainerException;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime metrics of a container, enabled with {@link Container#setMetricsEnabled(boolean)}.
+ *
+ * <p>Metrics are read while the container runs; every getter returns the current values.
+ * Counters are {@link LongAdder}s, so recording from many threads does not contend:</p>
+ * <ul>
+ *   <li>{@code get()} calls per requested type; lookups through {@link BeanHandle}s are not counted</li>
+ *   <li>singleton hits (the instance existed) and misses (this call created it)</li>
+ *   <li>prototype instances created per implementation class, including those created as dependencies</li>
+ *   <li>creation latency histograms for singletons and prototypes, including their dependencies</li>
+ *   <li>lazy proxy targets created</li>
+ *   <li>waits for a singleton being created by another thread, and the time spent waiting</li>
+ * </ul>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * Container container = new Container().setMetricsEnabled(true).scan("com.example");
+ * container.getMetrics().registerMBean("orders");
+ * ...
+ * container.getMetrics().getPrototypeAllocations(); // {com.example.OrderDto=120453, ...}
+ * </pre>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class ContainerMetrics implements ContainerMetricsMXBean {
+
+    private static final String DOMAIN = "io.github.abolpv.lightdi";
+
+    private final Map<Class<?>, LongAdder> gets = new ConcurrentHashMap<>();
+    private final Map<Class<?>, LongAdder> prototypes = new ConcurrentHashMap<>();
+    private final LongAdder singletonHits = new LongAdder();
+    private final LongAdder singletonMisses = new LongAdder();
+    private final LongAdder lazyInitializations = new LongAdder();
+    private final LongAdder singletonWaits = new LongAdder();
+    private final LongAdder singletonWaitNanos = new LongAdder();
+    private final LatencyHistogram singletonCreation = new LatencyHistogram();
+    private final LatencyHistogram prototypeCreation = new LatencyHistogram();
+
+    ContainerMetrics() {
+    }
+
+    // ==================== Recording ====================
+
+    void recordGet(Class<?> type) {
+        counter(gets, type).increment();
+    }
+
+    void recordSingletonHit() {
+        singletonHits.increment();
+    }
+
+    void recordSingletonMiss() {
+        singletonMisses.increment();
+    }
+
+    void recordCreation(BeanDefinition definition, long nanos) {
+        if (definition.isSingleton()) {
+            singletonCreation.record(nanos);
+        } else {
+            prototypeCreation.record(nanos);
+            counter(prototypes, definition.getImplementationClass()).increment();
+        }
+    }
+
+    void recordLazyInitialization() {
+        lazyInitializations.increment();
+    }
+
+    void recordSingletonWait(long nanos) {
+        singletonWaits.increment();
+        singletonWaitNanos.add(nanos);
+    }
+
+    private static LongAdder counter(Map<Class<?>, LongAdder> counters, Class<?> type) {
+        LongAdder counter = counters.get(type);
+        return counter != null ? counter : counters.computeIfAbsent(type, key -> new LongAdder());
+    }
+
+    // ==================== Reading ====================
+
+    /**
+     * Gets the number of {@code get()} calls per requested type, most requested first.
+     *
+     * @return counts by class name
+     */
+    @Override
+    public Map<String, Long> getGetCounts() {
+        return sorted(gets);
+    }
+
+    /**
+     * Gets the number of prototype instances created per implementation class, most created first.
+     *
+     * @return counts by class name
+     */
+    @Override
+    public Map<String, Long> getPrototypeAllocations() {
+        return sorted(prototypes);
+    }
+
+    @Override
+    public long getSingletonHits() {
+        return singletonHits.sum();
+    }
+
+    @Override
+    public long getSingletonMisses() {
+        return singletonMisses.sum();
+    }
+
+    @Override
+    public long getLazyInitializations() {
+        return lazyInitializations.sum();
+    }
+
+    /**
+     * Gets how often a thread waited for a singleton being created by another thread.
+     *
+     * @return the number of waits
+     */
+    @Override
+    public long getSingletonWaits() {
+        return singletonWaits.sum();
+    }
+
+    @Override
+    public long getSingletonWaitTimeNanos() {
+        return singletonWaitNanos.sum();
+    }
+
+    /**
+     * Gets the time threads spent waiting for singletons created by other threads.
+     *
+     * @return the total wait time
+     */
+    public Duration getSingletonWaitTime() {
+        return Duration.ofNanos(singletonWaitNanos.sum());
+    }
+
+    /**
+     * Gets the creation latency histogram of a scope.
+     *
+     * @param scope the scope
+     * @return the live histogram
+     */
+    public LatencyHistogram getCreationLatency(Scope scope) {
+        return Objects.requireNonNull(scope, "scope") == Scope.SINGLETON ? singletonCreation : prototypeCreation;
+    }
+
+    @Override
+    public long[] getSingletonCreationLatencyBuckets() {
+        return singletonCreation.getBucketCounts();
+    }
+
+    @Override
+    public long[] getPrototypeCreationLatencyBuckets() {
+        return prototypeCreation.getBucketCounts();
+    }
+
+    @Override
+    public long[] getLatencyBucketBoundsMicros() {
+        long[] bounds = new long[LatencyHistogram.BUCKETS - 1];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = LatencyHistogram.getUpperBound(i).toNanos() / 1000;
+        }
+        return bounds;
+    }
+
+    /**
+     * Resets all metrics to zero.
+     */
+    @Override
+    public void reset() {
+        gets.clear();
+        prototypes.clear();
+        singletonHits.reset();
+        singletonMisses.reset();
+        lazyInitializations.reset();
+        singletonWaits.reset();
+        singletonWaitNanos.reset();
+        singletonCreation.reset();
+        prototypeCreation.reset();
+    }
+
+    // ==================== JMX ====================
+
+    /**
+     * Registers these metrics with the platform MBean server as
+     * {@code io.github.abolpv.lightdi:type=ContainerMetrics,name=<name>}.
+     *
+     * @param name the name distinguishing this container
+     * @return the object name of the MBean
+     * @throws ContainerException if the MBean cannot be registered, e.g. because the name is taken
+     */
+    public ObjectName registerMBean(String name) {
+        ObjectName objectName = objectName(name);
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (JMException e) {
+            throw new ContainerException("Failed to register metrics MBean " + objectName, e);
+        }
+        return objectName;
+    }
+
+    /**
+     * Unregisters an MBean registered with {@link #registerMBean(String)}.
+     *
+     * @param name the name given on registration
+     */
+    public void unregisterMBean(String name) {
+        ObjectName objectName = objectName(name);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            throw new ContainerException("Failed to unregister metrics MBean " + objectName, e);
+        }
+    }
+
+    private static ObjectName objectName(String name) {
+        Objects.requireNonNull(name, "name");
+        try {
+            return new ObjectName(DOMAIN + ":type=ContainerMetrics,name=" + ObjectName.quote(name));
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid MBean name: " + name, e);
+        }
+    }
+
+    private static Map<String, Long> sorted(Map<Class<?>, LongAdder> counters) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counters.entrySet().stream()
+            .map(entry -> Map.entry(entry.getKey().getName(), entry.getValue().sum()))
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()))
+            .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+}
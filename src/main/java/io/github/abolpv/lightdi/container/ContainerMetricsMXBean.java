@@ -0,0 +1,38 @@
+package io.github.abolpv.lightdi.container;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link ContainerMetrics}, registered with
+ * {@link ContainerMetrics#registerMBean(String)}.
+ *
+ * <p>Latency buckets are described by {@link #getLatencyBucketBoundsMicros()}; the last
+ * bucket has no upper bound.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public interface ContainerMetricsMXBean {
+
+    Map<String, Long> getGetCounts();
+
+    Map<String, Long> getPrototypeAllocations();
+
+    long getSingletonHits();
+
+    long getSingletonMisses();
+
+    long getLazyInitializations();
+
+    long getSingletonWaits();
+
+    long getSingletonWaitTimeNanos();
+
+    long[] getSingletonCreationLatencyBuckets();
+
+    long[] getPrototypeCreationLatencyBuckets();
+
+    long[] getLatencyBucketBoundsMicros();
+
+    void reset();
+}
@@ -0,0 +1,383 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.exception.CircularDependencyException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Dependency graph of the bean definitions of a container.
+ *
+ * <p>Nodes are distinct bean definitions, identified by index. A definition depends on
+ * another when one of its injection points resolves to it and creating the bean creates
+ * that dependency: {@literal @}Lazy, {@code Provider}, {@code Supplier} and {@code Lazy}
+ * injection points and lazily proxied prototypes add no edge. {@code List}, {@code Set} and
+ * {@code Map} injection points add an edge to every member of the collection. Dependencies
+ * that do not resolve to a registered bean add no edge either; they fail when the bean is created.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class DependencyGraph {
+
+    private static final int[] NONE = new int[0];
+
+    private final List<BeanDefinition> nodes;
+    private final Map<BeanDefinition, Integer> indexes;
+    private final int[][] dependencies;
+    private final int[][] dependents;
+
+    private DependencyGraph(List<BeanDefinition> nodes, Map<BeanDefinition, Integer> indexes,
+                            int[][] dependencies, int[][] dependents) {
+        this.nodes = nodes;
+        this.indexes = indexes;
+        this.dependencies = dependencies;
+        this.dependents = dependents;
+    }
+
+    /**
+     * Builds the graph of the given definitions.
+     *
+     * @param definitions the definitions, duplicates are merged
+     * @param lookup finds the definition registered for a type and qualifier (null if unqualified),
+     *               or returns null if there is none
+     * @param members finds the definitions injected into a collection of a type
+     * @return the dependency graph
+     */
+    static DependencyGraph build(Collection<BeanDefinition> definitions,
+                                 BiFunction<Class<?>, String, BeanDefinition> lookup,
+                                 Function<Class<?>, List<BeanDefinition>> members) {
+        List<BeanDefinition> nodes = new ArrayList<>();
+        Map<BeanDefinition, Integer> indexes = new IdentityHashMap<>();
+        for (BeanDefinition definition : definitions) {
+            if (!indexes.containsKey(definition)) {
+                indexes.put(definition, nodes.size());
+                nodes.add(definition);
+            }
+        }
+
+        List<List<Integer>> outgoing = new ArrayList<>();
+        List<List<Integer>> incoming = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            outgoing.add(new ArrayList<>());
+            incoming.add(new ArrayList<>());
+        }
+        for (int node = 0; node < nodes.size(); node++) {
+            Set<Integer> targets = new LinkedHashSet<>();
+            for (InjectionPoint point : injectionPoints(nodes.get(node))) {
+                if (point.isCollection()) {
+                    for (BeanDefinition member : members.apply(point.getType())) {
+                        Integer index = indexes.get(member);
+                        if (index != null) {
+                            targets.add(index);
+                        }
+                    }
+                    continue;
+                }
+                BeanDefinition target = resolve(point, lookup);
+                Integer index = target != null ? indexes.get(target) : null;
+                if (index != null) {
+                    targets.add(index);
+                }
+            }
+            for (int target : targets) {
+                outgoing.get(node).add(target);
+                incoming.get(target).add(node);
+            }
+        }
+        return new DependencyGraph(nodes, indexes, toArrays(outgoing), toArrays(incoming));
+    }
+
+    private static List<InjectionPoint> injectionPoints(BeanDefinition definition) {
+        InjectionPlan plan;
+        try {
+            plan = definition.getPlan();
+        } catch (RuntimeException e) {
+            // Beans without a usable constructor fail when they are created
+            return List.of();
+        }
+        List<InjectionPoint> points = new ArrayList<>(plan.getConstructorParameters());
+        points.addAll(plan.getFieldPoints());
+        plan.getMethodParameters().forEach(points::addAll);
+        return points;
+    }
+
+    private static BeanDefinition resolve(InjectionPoint point, BiFunction<Class<?>, String, BeanDefinition> lookup) {
+        if (point.isDeferred()) {
+            return null;
+        }
+        BeanDefinition target = lookup.apply(point.getType(), point.getQualifier());
+        if (target != null && target.isLazy() && !target.isSingleton()
+            && point.getType().isInterface() && !point.hasQualifier()) {
+            return null; // injected as a lazy proxy
+        }
+        return target;
+    }
+
+    private static int[][] toArrays(List<List<Integer>> lists) {
+        int[][] arrays = new int[lists.size()][];
+        for (int i = 0; i < arrays.length; i++) {
+            List<Integer> list = lists.get(i);
+            arrays[i] = list.isEmpty() ? NONE : list.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return arrays;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    BeanDefinition definition(int node) {
+        return nodes.get(node);
+    }
+
+    /**
+     * Gets the node of a definition.
+     *
+     * @return the node index, or -1 if the definition is not part of the graph
+     */
+    int indexOf(BeanDefinition definition) {
+        Integer index = indexes.get(definition);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Gets the nodes the given node depends on.
+     */
+    int[] dependencies(int node) {
+        return dependencies[node];
+    }
+
+    /**
+     * Gets the nodes depending on the given node.
+     */
+    int[] dependents(int node) {
+        return dependents[node];
+    }
+
+    /**
+     * Sorts the selected nodes so that every node comes after its selected dependencies.
+     *
+     * @param selected the nodes to sort; edges to unselected nodes are ignored
+     * @return the selected node indexes in dependency order
+     * @throws CircularDependencyException if the selected nodes contain a cycle
+     */
+    int[] topologicalOrder(boolean[] selected) {
+        int[] pending = new int[size()];
+        int count = 0;
+        for (int node = 0; node < size(); node++) {
+            if (selected[node]) {
+                count++;
+                for (int dependency : dependencies[node]) {
+                    if (selected[dependency]) {
+                        pending[node]++;
+                    }
+                }
+            }
+        }
+
+        int[] order = new int[count];
+        int head = 0;
+        int tail = 0;
+        for (int node = 0; node < size(); node++) {
+            if (selected[node] && pending[node] == 0) {
+                order[tail++] = node;
+            }
+        }
+        while (head < tail) {
+            int node = order[head++];
+            for (int dependent : dependents[node]) {
+                if (selected[dependent] && --pending[dependent] == 0) {
+                    order[tail++] = dependent;
+                }
+            }
+        }
+        if (tail < count) {
+            throw new CircularDependencyException(findCycle(selected, pending));
+        }
+        return order;
+    }
+
+    /**
+     * Computes, for each selected node, the number of nodes on the longest chain of
+     * selected dependents starting at the node, the node included. Nodes with long
+     * chains hold up the most work and are the ones to start first.
+     *
+     * @param order the selected nodes in dependency order
+     * @return path lengths indexed by node; zero for unselected nodes
+     */
+    int[] longestDependentPaths(int[] order, boolean[] selected) {
+        int[] lengths = new int[size()];
+        for (int i = order.length - 1; i >= 0; i--) {
+            int node = order[i];
+            int longest = 0;
+            for (int dependent : dependents[node]) {
+                if (selected[dependent]) {
+                    longest = Math.max(longest, lengths[dependent]);
+                }
+            }
+            lengths[node] = longest + 1;
+        }
+        return lengths;
+    }
+
+    /**
+     * Finds one cycle per strongly connected component (Tarjan's algorithm), each returned
+     * closed, e.g. {@code [A, B, A]}. A bean depending on itself is a cycle as well.
+     *
+     * @return the cycles, empty if the graph is acyclic
+     */
+    List<List<Class<?>>> findCycles() {
+        Tarjan tarjan = new Tarjan();
+        for (int node = 0; node < size(); node++) {
+            if (tarjan.index[node] < 0) {
+                tarjan.strongConnect(node);
+            }
+        }
+        return tarjan.cycles;
+    }
+
+    /**
+     * Tarjan's algorithm with an explicit stack of nodes being visited and a cursor into the
+     * dependencies of each, so graphs thousands of levels deep do not overflow the thread stack.
+     */
+    private final class Tarjan {
+        final int[] index = new int[size()];
+        final int[] lowLink = new int[size()];
+        final int[] cursor = new int[size()];
+        final int[] visiting = new int[size()];
+        final boolean[] onStack = new boolean[size()];
+        final Deque<Integer> stack = new ArrayDeque<>();
+        final List<List<Class<?>>> cycles = new ArrayList<>();
+        int counter;
+
+        Tarjan() {
+            Arrays.fill(index, -1);
+        }
+
+        void strongConnect(int root) {
+            int depth = 0;
+            visiting[depth++] = enter(root);
+            while (depth > 0) {
+                int node = visiting[depth - 1];
+                int[] targets = dependencies[node];
+                if (cursor[node] < targets.length) {
+                    int target = targets[cursor[node]++];
+                    if (index[target] < 0) {
+                        visiting[depth++] = enter(target);
+                    } else if (onStack[target]) {
+                        lowLink[node] = Math.min(lowLink[node], index[target]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (lowLink[node] == index[node]) {
+                    closeComponent(node);
+                }
+                if (depth > 0) {
+                    int parent = visiting[depth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+            }
+        }
+
+        private int enter(int node) {
+            index[node] = counter;
+            lowLink[node] = counter;
+            counter++;
+            stack.push(node);
+            onStack[node] = true;
+            return node;
+        }
+
+        private void closeComponent(int node) {
+            List<Integer> members = new ArrayList<>();
+            int member;
+            do {
+                member = stack.pop();
+                onStack[member] = false;
+                members.add(member);
+            } while (member != node);
+
+            if (members.size() > 1 || contains(dependencies[node], node)) {
+                boolean[] component = new boolean[size()];
+                for (int m : members) {
+                    component[m] = true;
+                }
+                cycles.add(cycleThrough(node, component));
+            }
+        }
+    }
+
+    private static boolean contains(int[] nodes, int node) {
+        for (int candidate : nodes) {
+            if (candidate == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Walks from a node inside its component until a node repeats.
+     */
+    private List<Class<?>> cycleThrough(int start, boolean[] component) {
+        List<Integer> path = new ArrayList<>();
+        int current = start;
+        while (!path.contains(current)) {
+            path.add(current);
+            for (int next : dependencies[current]) {
+                if (component[next]) {
+                    current = next;
+                    break;
+                }
+            }
+        }
+        List<Class<?>> cycle = new ArrayList<>();
+        for (int node : path.subList(path.indexOf(current), path.size())) {
+            cycle.add(nodes.get(node).getImplementationClass());
+        }
+        cycle.add(nodes.get(current).getImplementationClass());
+        return cycle;
+    }
+
+    /**
+     * Follows unsorted dependencies from an unsorted node until a node repeats;
+     * returns the closed cycle, e.g. {@code [A, B, A]}.
+     */
+    private List<Class<?>> findCycle(boolean[] selected, int[] pending) {
+        int current = -1;
+        for (int node = 0; node < size() && current < 0; node++) {
+            if (selected[node] && pending[node] > 0) {
+                current = node;
+            }
+        }
+        List<Integer> path = new ArrayList<>();
+        while (!path.contains(current)) {
+            path.add(current);
+            for (int dependency : dependencies[current]) {
+                if (selected[dependency] && pending[dependency] > 0) {
+                    current = dependency;
+                    break;
+                }
+            }
+        }
+        List<Class<?>> cycle = new ArrayList<>();
+        for (int node : path.subList(path.indexOf(current), path.size())) {
+            cycle.add(nodes.get(node).getImplementationClass());
+        }
+        cycle.add(nodes.get(current).getImplementationClass());
+        return cycle;
+    }
+}
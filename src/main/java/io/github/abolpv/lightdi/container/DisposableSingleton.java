@@ -0,0 +1,59 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.monitor.PreDestroyEvent;
+
+/**
+ * A singleton created by the container, with the destroy callback resolved when it was created.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class DisposableSingleton {
+
+    /**
+     * Invokes the {@literal @}PreDestroy callback of a bean.
+     */
+    @FunctionalInterface
+    interface Callback {
+        void destroy(Object bean) throws Exception;
+    }
+
+    private final BeanDefinition definition;
+    private final Object instance;
+    private final Callback callback;
+
+    DisposableSingleton(BeanDefinition definition, Object instance, Callback callback) {
+        this.definition = definition;
+        this.instance = instance;
+        this.callback = callback;
+    }
+
+    BeanDefinition getDefinition() {
+        return definition;
+    }
+
+    Object getInstance() {
+        return instance;
+    }
+
+    /**
+     * Checks if the bean has a destroy callback; beans without one only take part in ordering.
+     */
+    boolean hasCallback() {
+        return callback != null;
+    }
+
+    void destroy() throws Exception {
+        if (callback != null) {
+            PreDestroyEvent event = new PreDestroyEvent();
+            event.begin();
+            boolean failed = true;
+            try {
+                callback.destroy(instance);
+                failed = false;
+            } finally {
+                event.complete(definition.getImplementationClass(), failed);
+            }
+        }
+    }
+}
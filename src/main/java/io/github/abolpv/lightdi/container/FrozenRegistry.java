@@ -0,0 +1,466 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, read-optimized copy of a container's registry, built by {@link Container#freeze()}.
+ *
+ * <p>Every registered key (a type, or a type and qualifier pair) gets a dense slot id.
+ * Keys are found through open-addressing tables whose hash multiplier is searched at
+ * build time so that every key lands in its own bucket, so a lookup is one multiply,
+ * one array read and one identity comparison. Lookups take no locks and allocate nothing.
+ * Singleton instances are cached per slot and published with release/acquire semantics.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class FrozenRegistry {
+
+    private static final VarHandle INSTANCES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    /**
+     * Attempts per table size before the table is grown.
+     */
+    private static final int MULTIPLIER_ATTEMPTS = 64;
+
+    // Type table
+    private final Class<?>[] typeKeys;
+    private final int[] typeSlots;
+    private final long typeMultiplier;
+    private final int typeShift;
+
+    // Named table
+    private final Class<?>[] namedTypeKeys;
+    private final String[] namedNameKeys;
+    private final int[] namedSlots;
+    private final long namedMultiplier;
+    private final int namedShift;
+
+    // Slots
+    private final BeanDefinition[] definitions;
+    private final Class<?>[] slotTypes;
+    private final String[] slotNamedKeys;
+    private final Object[] instances;
+
+    private volatile boolean validated;
+
+    FrozenRegistry(Map<Class<?>, BeanDefinition> registry, Map<String, BeanDefinition> namedRegistry,
+                   TypeIndex typeIndex) {
+        int size = registry.size() + namedRegistry.size();
+        this.definitions = new BeanDefinition[size];
+        this.slotTypes = new Class<?>[size];
+        this.slotNamedKeys = new String[size];
+        this.instances = new Object[size];
+
+        // Type keys take slots [0, registry.size())
+        List<Class<?>> types = new ArrayList<>(registry.keySet());
+        long[] typeHashes = new long[types.size()];
+        for (int i = 0; i < types.size(); i++) {
+            Class<?> type = types.get(i);
+            definitions[i] = registry.get(type);
+            slotTypes[i] = type;
+            instances[i] = definitions[i].getSingletonSlot().instance();
+            typeHashes[i] = typeHash(type);
+        }
+
+        // Named keys take the remaining slots
+        Map<String, Class<?>> typesByName = new HashMap<>();
+        for (Class<?> type : types) {
+            typesByName.put(type.getName(), type);
+        }
+        List<String> namedKeys = new ArrayList<>(namedRegistry.keySet());
+        long[] namedHashes = new long[namedKeys.size()];
+        Class<?>[] namedTypes = new Class<?>[namedKeys.size()];
+        String[] names = new String[namedKeys.size()];
+        int offset = types.size();
+        for (int i = 0; i < namedKeys.size(); i++) {
+            String key = namedKeys.get(i);
+            BeanDefinition definition = namedRegistry.get(key);
+            int separator = key.lastIndexOf(':');
+            namedTypes[i] = resolveNamedType(key.substring(0, separator), definition, typesByName);
+            names[i] = key.substring(separator + 1);
+            definitions[offset + i] = definition;
+            slotTypes[offset + i] = namedTypes[i];
+            slotNamedKeys[offset + i] = key;
+            instances[offset + i] = definition.getSingletonSlot().instance();
+            namedHashes[i] = namedHash(namedTypes[i], names[i]);
+        }
+
+        Table typeTable = Table.build(typeHashes);
+        this.typeMultiplier = typeTable.multiplier;
+        this.typeShift = typeTable.shift;
+        this.typeSlots = typeTable.slots;
+        this.typeKeys = new Class<?>[typeSlots.length];
+        for (int bucket = 0; bucket < typeSlots.length; bucket++) {
+            if (typeSlots[bucket] >= 0) {
+                typeKeys[bucket] = types.get(typeSlots[bucket]);
+            }
+        }
+
+        Table namedTable = Table.build(namedHashes);
+        this.namedMultiplier = namedTable.multiplier;
+        this.namedShift = namedTable.shift;
+        this.namedSlots = namedTable.slots;
+        this.namedTypeKeys = new Class<?>[namedSlots.length];
+        this.namedNameKeys = new String[namedSlots.length];
+        for (int bucket = 0; bucket < namedSlots.length; bucket++) {
+            int index = namedSlots[bucket];
+            if (index >= 0) {
+                namedTypeKeys[bucket] = namedTypes[index];
+                namedNameKeys[bucket] = names[index];
+                namedSlots[bucket] = offset + index;
+            }
+        }
+
+        this.validated = DependencyCheck.isAcyclic(this, typeIndex);
+    }
+
+    // ==================== Lookups ====================
+
+    /**
+     * Gets the slot of a type, or -1 if it is not registered.
+     */
+    int slotOf(Class<?> type) {
+        int mask = typeKeys.length - 1;
+        int bucket = (int) ((typeHash(type) * typeMultiplier) >>> typeShift);
+        while (true) {
+            Class<?> key = typeKeys[bucket];
+            if (key == type) {
+                return typeSlots[bucket];
+            }
+            if (key == null) {
+                return -1;
+            }
+            bucket = (bucket + 1) & mask;
+        }
+    }
+
+    /**
+     * Gets the slot of a type and qualifier pair, or -1 if it is not registered.
+     */
+    int slotOf(Class<?> type, String name) {
+        int mask = namedTypeKeys.length - 1;
+        int bucket = (int) ((namedHash(type, name) * namedMultiplier) >>> namedShift);
+        while (true) {
+            Class<?> key = namedTypeKeys[bucket];
+            if (key == null) {
+                return -1;
+            }
+            if (key == type && namedNameKeys[bucket].equals(name)) {
+                return namedSlots[bucket];
+            }
+            bucket = (bucket + 1) & mask;
+        }
+    }
+
+    BeanDefinition definition(int slot) {
+        return definitions[slot];
+    }
+
+    Class<?> type(int slot) {
+        return slotTypes[slot];
+    }
+
+    /**
+     * Gets the key of the named registry entry, or null for type slots.
+     */
+    String namedKey(int slot) {
+        return slotNamedKeys[slot];
+    }
+
+    Object instance(int slot) {
+        return INSTANCES.getAcquire(instances, slot);
+    }
+
+    void publish(int slot, Object instance) {
+        INSTANCES.setRelease(instances, slot, instance);
+    }
+
+    /**
+     * Clears the cached instances. The dependency check skipped beans that had an instance,
+     * so the registry no longer counts as validated.
+     */
+    void clearInstances() {
+        validated = false;
+        for (int i = 0; i < instances.length; i++) {
+            INSTANCES.setRelease(instances, i, null);
+        }
+    }
+
+    /**
+     * Checks whether every dependency of every bean resolved to a registered bean and the
+     * dependency graph has no cycles, in which case runtime cycle tracking is unnecessary.
+     */
+    boolean isValidated() {
+        return validated;
+    }
+
+    int size() {
+        return definitions.length;
+    }
+
+    // ==================== Hashing ====================
+
+    private static long typeHash(Class<?> type) {
+        // Class uses the identity hash code, which is stable and allocation free
+        return type.hashCode();
+    }
+
+    private static long namedHash(Class<?> type, String name) {
+        return ((long) type.hashCode() << 32) ^ name.hashCode();
+    }
+
+    /**
+     * Recovers the Class of a named key from the registered types. Named keys store the
+     * type name only; the type is either registered itself or a supertype of the implementation.
+     */
+    private static Class<?> resolveNamedType(String typeName, BeanDefinition definition,
+                                             Map<String, Class<?>> typesByName) {
+        Class<?> registered = typesByName.get(typeName);
+        if (registered != null) {
+            return registered;
+        }
+        for (Class<?> c = definition.getImplementationClass(); c != null; c = c.getSuperclass()) {
+            if (c.getName().equals(typeName)) {
+                return c;
+            }
+            for (Class<?> iface : ReflectionUtils.getAllInterfaces(c)) {
+                if (iface.getName().equals(typeName)) {
+                    return iface;
+                }
+            }
+        }
+        try {
+            return Class.forName(typeName, false, definition.getImplementationClass().getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot resolve named bean type " + typeName, e);
+        }
+    }
+
+    /**
+     * An open-addressing table of key indexes. The multiplier is chosen so that,
+     * where possible, no two keys share a bucket.
+     */
+    private static final class Table {
+        final int[] slots;
+        final long multiplier;
+        final int shift;
+
+        private Table(int[] slots, long multiplier, int shift) {
+            this.slots = slots;
+            this.multiplier = multiplier;
+            this.shift = shift;
+        }
+
+        static Table build(long[] hashes) {
+            int bits = Math.max(1, 64 - Long.numberOfLeadingZeros(Math.max(1, hashes.length * 2L - 1)));
+            long seed = 0x9E3779B97F4A7C15L;
+            while (true) {
+                int capacity = 1 << bits;
+                int shift = 64 - bits;
+                for (int attempt = 0; attempt < MULTIPLIER_ATTEMPTS; attempt++) {
+                    seed += 0x9E3779B97F4A7C15L;
+                    long multiplier = mix(seed) | 1L;
+                    int[] slots = place(hashes, capacity, multiplier, shift, false);
+                    if (slots != null) {
+                        return new Table(slots, multiplier, shift);
+                    }
+                }
+                if (capacity >= hashes.length * 8 || bits >= 30) {
+                    // Identical hashes cannot be separated: fall back to linear probing
+                    long multiplier = mix(seed) | 1L;
+                    return new Table(place(hashes, capacity, multiplier, shift, true), multiplier, shift);
+                }
+                bits++;
+            }
+        }
+
+        /**
+         * Places every key; returns null on the first collision unless probing is allowed.
+         */
+        private static int[] place(long[] hashes, int capacity, long multiplier, int shift, boolean probe) {
+            int[] slots = new int[capacity];
+            Arrays.fill(slots, -1);
+            for (int i = 0; i < hashes.length; i++) {
+                int bucket = (int) ((hashes[i] * multiplier) >>> shift);
+                while (slots[bucket] >= 0) {
+                    if (!probe) {
+                        return null;
+                    }
+                    bucket = (bucket + 1) & (capacity - 1);
+                }
+                slots[bucket] = i;
+            }
+            return slots;
+        }
+
+        private static long mix(long value) {
+            value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+            value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+            return value ^ (value >>> 31);
+        }
+    }
+
+    /**
+     * Walks the dependency graph of the frozen registry looking for missing beans and cycles.
+     * The walk uses an explicit stack, so arbitrarily deep dependency chains can be frozen.
+     */
+    private static final class DependencyCheck {
+        /** Returned for a dependency that does not resolve to a registered bean. */
+        private static final BeanDefinition MISSING = new BeanDefinition(Object.class, Scope.PROTOTYPE);
+
+        private final FrozenRegistry registry;
+        private final TypeIndex typeIndex;
+        private final Map<BeanDefinition, Boolean> done = new IdentityHashMap<>();
+        private final Map<BeanDefinition, Boolean> path = new IdentityHashMap<>();
+        private final ArrayDeque<Frame> stack = new ArrayDeque<>();
+
+        private DependencyCheck(FrozenRegistry registry, TypeIndex typeIndex) {
+            this.registry = registry;
+            this.typeIndex = typeIndex;
+        }
+
+        static boolean isAcyclic(FrozenRegistry registry, TypeIndex typeIndex) {
+            DependencyCheck check = new DependencyCheck(registry, typeIndex);
+            for (int slot = 0; slot < registry.size(); slot++) {
+                // Instances existing now are never constructed; clearing them voids the check
+                if (registry.instance(slot) == null && !check.visit(registry.definition(slot))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Depth-first visit; the path map holds the definitions on the stack.
+         */
+        private boolean visit(BeanDefinition root) {
+            if (done.containsKey(root)) {
+                return true;
+            }
+            if (!push(root)) {
+                return false;
+            }
+            while (!stack.isEmpty()) {
+                Frame frame = stack.peek();
+                BeanDefinition target = next(frame);
+                if (target == null) {
+                    stack.pop();
+                    path.remove(frame.definition);
+                    done.put(frame.definition, Boolean.TRUE);
+                } else if (target == MISSING || path.containsKey(target)) {
+                    return false;
+                } else if (!done.containsKey(target) && !push(target)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean push(BeanDefinition definition) {
+            InjectionPlan plan;
+            try {
+                plan = definition.getPlan();
+            } catch (RuntimeException e) {
+                return false;
+            }
+            path.put(definition, Boolean.TRUE);
+            stack.push(new Frame(definition, plan));
+            return true;
+        }
+
+        /**
+         * Finds the next dependency of a frame that the container would construct.
+         *
+         * @return the dependency, {@link #MISSING}, or null once every dependency was visited
+         */
+        private BeanDefinition next(Frame frame) {
+            while (true) {
+                if (frame.members != null) {
+                    while (frame.member < frame.members.size()) {
+                        BeanDefinition member = frame.members.get(frame.member++);
+                        if (member.getSingletonSlot().instance() == null) {
+                            return member;
+                        }
+                    }
+                    frame.members = null;
+                }
+                InjectionPoint point = frame.nextPoint();
+                if (point == null) {
+                    return null;
+                }
+                if (point.isDeferred()) {
+                    continue;
+                }
+                if (point.isCollection()) {
+                    frame.members = typeIndex.get(point.getType());
+                    frame.member = 0;
+                    continue;
+                }
+                int slot = point.hasQualifier()
+                    ? registry.slotOf(point.getType(), point.getQualifier())
+                    : registry.slotOf(point.getType());
+                if (slot < 0) {
+                    return MISSING;
+                }
+                BeanDefinition target = registry.definition(slot);
+                if (target.isLazy() && !target.isSingleton() && point.getType().isInterface() && !point.hasQualifier()) {
+                    continue; // injected as a lazy proxy
+                }
+                if (registry.instance(slot) == null) {
+                    return target;
+                }
+            }
+        }
+
+        /**
+         * A definition being visited and its position among the injection points of its plan.
+         */
+        private static final class Frame {
+            final BeanDefinition definition;
+            private final InjectionPlan plan;
+            private int constructorIndex;
+            private int fieldIndex;
+            private int methodIndex;
+            private int parameterIndex;
+            List<BeanDefinition> members;
+            int member;
+
+            Frame(BeanDefinition definition, InjectionPlan plan) {
+                this.definition = definition;
+                this.plan = plan;
+            }
+
+            InjectionPoint nextPoint() {
+                List<InjectionPoint> constructor = plan.getConstructorParameters();
+                if (constructorIndex < constructor.size()) {
+                    return constructor.get(constructorIndex++);
+                }
+                List<InjectionPoint> fields = plan.getFieldPoints();
+                if (fieldIndex < fields.size()) {
+                    return fields.get(fieldIndex++);
+                }
+                List<List<InjectionPoint>> methods = plan.getMethodParameters();
+                while (methodIndex < methods.size()) {
+                    List<InjectionPoint> parameters = methods.get(methodIndex);
+                    if (parameterIndex < parameters.size()) {
+                        return parameters.get(parameterIndex++);
+                    }
+                    methodIndex++;
+                    parameterIndex = 0;
+                }
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.abolpv.lightdi.container;
+
+/**
+ * Reflection-free factory for a single bean class, generated at compile time
+ * by the {@code lightdi-processor} annotation processor.
+ *
+ * <p>For each bean listed in a {@code META-INF/lightdi/beans} index, the container
+ * looks for a class named by {@link #factoryClassName(Class)} next to the bean and,
+ * when present, uses it instead of the bean's
+ * {@link InjectionPlan}. Generated factories construct the bean, inject its
+ * fields and {@literal @}Inject methods and invoke its {@literal @}PostConstruct
+ * callback with plain Java code.</p>
+ *
+ * @param <T> the bean type
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public interface GeneratedFactory<T> {
+
+    /**
+     * Suffix appended to the flattened bean class name to form the factory class name.
+     */
+    String SUFFIX = "_LightDIFactory";
+
+    /**
+     * Creates a fully injected and initialized bean.
+     *
+     * @param resolver resolves the bean's dependencies
+     * @return the new bean
+     * @throws Exception if the constructor or a callback fails
+     */
+    T create(BeanResolver resolver) throws Exception;
+
+    /**
+     * Invokes the bean's {@literal @}PreDestroy callback, if any.
+     *
+     * @param bean the bean being destroyed
+     * @throws Exception if the callback fails
+     */
+    default void destroy(T bean) throws Exception {
+    }
+
+    /**
+     * Returns the binary name of the factory generated for a bean class.
+     * For {@code com.example.Outer$Inner} this is
+     * {@code com.example.Outer_Inner_LightDIFactory}.
+     *
+     * @param beanClass the bean class
+     * @return the factory class name
+     */
+    static String factoryClassName(Class<?> beanClass) {
+        String name = beanClass.getName();
+        int lastDot = name.lastIndexOf('.');
+        String packagePrefix = lastDot < 0 ? "" : name.substring(0, lastDot + 1);
+        return packagePrefix + name.substring(lastDot + 1).replace('$', '_') + SUFFIX;
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.util.ClassFileWriter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.function.Function;
+
+import static io.github.abolpv.lightdi.util.ClassFileWriter.*;
+
+/**
+ * Instantiation engine that spins a hidden class per bean.
+ * The generated factory performs the constructor call with plain
+ * {@code new}/{@code invokespecial} bytecode instead of reflection or
+ * a method handle.
+ *
+ * <p>All factories are called through the same {@code Function.apply} call site,
+ * which becomes megamorphic once more than two bean types are created, so the
+ * JIT does not inline a factory into the container. Creating a bean therefore
+ * still costs a virtual call more than hand-written {@code new}, and container
+ * overhead such as dependency lookup dominates either way; see
+ * {@code InstantiationEngineBenchmark}.</p>
+ *
+ * <p>The hidden class is defined as a nestmate of the bean class and can
+ * therefore call private constructors. Injection into fields and methods,
+ * which may be declared in other nests, and lifecycle callbacks are delegated
+ * to method handles. Beans whose constructor takes primitive parameters or
+ * types not visible from the bean's package are compiled with method handles
+ * entirely.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class HiddenClassInstantiationEngine implements InstantiationEngine {
+
+    static final HiddenClassInstantiationEngine INSTANCE = new HiddenClassInstantiationEngine();
+
+    private static final String FACTORY_SUFFIX = "$$LightDIFactory";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String OBJECT_ARRAY = "[Ljava/lang/Object;";
+
+    private HiddenClassInstantiationEngine() {
+    }
+
+    @Override
+    public BeanInstantiator compile(InjectionPlan plan) {
+        MethodHandleInstantiationEngine.Instantiator delegate = new MethodHandleInstantiationEngine.Instantiator(plan);
+        Function<Object[], Object> factory = defineFactory(plan.getConstructor());
+        if (factory == null) {
+            return delegate;
+        }
+        return new Instantiator(plan.getConstructor(), factory, delegate);
+    }
+
+    @Override
+    public String toString() {
+        return "hiddenClasses";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object[], Object> defineFactory(Constructor<?> constructor) {
+        Class<?> beanClass = constructor.getDeclaringClass();
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup());
+            for (Class<?> type : constructor.getParameterTypes()) {
+                if (type.isPrimitive()) {
+                    return null;
+                }
+                lookup.accessClass(type);
+            }
+        } catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+
+        byte[] bytes = generateFactory(constructor);
+        try {
+            MethodHandles.Lookup hidden = lookup.defineHiddenClass(bytes, true, MethodHandles.Lookup.ClassOption.NESTMATE);
+            return (Function<Object[], Object>) hidden
+                .findConstructor(hidden.lookupClass(), MethodType.methodType(void.class))
+                .invoke();
+        } catch (Throwable e) {
+            throw new ContainerException("Failed to define factory class for " + beanClass.getName(), e);
+        }
+    }
+
+    /**
+     * Generates the equivalent of:
+     * <pre>
+     * final class Bean$$LightDIFactory implements Function {
+     *     public Object apply(Object args) {
+     *         Object[] a = (Object[]) args;
+     *         return new Bean((P0) a[0], (P1) a[1], ...);
+     *     }
+     * }
+     * </pre>
+     */
+    private static byte[] generateFactory(Constructor<?> constructor) {
+        String beanName = internalName(constructor.getDeclaringClass());
+        ClassFileWriter writer = new ClassFileWriter(
+            ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC,
+            beanName + FACTORY_SUFFIX, OBJECT, internalName(Function.class)
+        );
+
+        writer.method(ACC_PUBLIC, "<init>", "()V")
+            .aload(0)
+            .invokespecial(OBJECT, "<init>", "()V")
+            .returnVoid();
+
+        ClassFileWriter.Code apply = writer.method(ACC_PUBLIC, "apply", "(Ljava/lang/Object;)Ljava/lang/Object;")
+            .aload(1)
+            .checkcast(OBJECT_ARRAY)
+            .astore(2)
+            .newObject(beanName)
+            .dup();
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            apply.aload(2)
+                .iconst(i)
+                .aaload()
+                .checkcast(internalName(parameterTypes[i]));
+        }
+        apply.invokespecial(beanName, "<init>", methodDescriptor(void.class, parameterTypes))
+            .areturn();
+
+        return writer.toByteArray();
+    }
+
+    private static final class Instantiator implements BeanInstantiator {
+
+        private final Constructor<?> constructor;
+        private final Function<Object[], Object> factory;
+        private final BeanInstantiator delegate;
+
+        Instantiator(Constructor<?> constructor, Function<Object[], Object> factory, BeanInstantiator delegate) {
+            this.constructor = constructor;
+            this.factory = factory;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object newInstance(Object[] args) {
+            try {
+                return factory.apply(args);
+            } catch (Exception e) {
+                throw new ContainerException(
+                    "Failed to create instance using constructor: " + constructor, e
+                );
+            }
+        }
+
+        @Override
+        public void setField(Object target, int index, Object value) {
+            delegate.setField(target, index, value);
+        }
+
+        @Override
+        public void invokeMethod(Object target, int index, Object[] args) {
+            delegate.invokeMethod(target, index, args);
+        }
+
+        @Override
+        public void postConstruct(Object target) {
+            delegate.postConstruct(target);
+        }
+
+        @Override
+        public void preDestroy(Object target) {
+            delegate.preDestroy(target);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.annotation.Lazy;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.util.ReflectionUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable description of how a bean is built.
+ * Holds the resolved constructor, the injection points of its parameters,
+ * the injectable fields and methods, and the lifecycle callbacks.
+ *
+ * <p>A plan is computed once per {@link BeanDefinition} and reused for every
+ * instance created from it, so the class hierarchy is walked and members are
+ * made accessible only once instead of on every prototype creation.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class InjectionPlan {
+
+    private final Class<?> beanClass;
+    private final Constructor<?> constructor;
+    private final List<InjectionPoint> constructorParameters;
+    private final List<Field> fields;
+    private final List<InjectionPoint> fieldPoints;
+    private final List<Method> methods;
+    private final List<List<InjectionPoint>> methodParameters;
+    private final Method postConstruct;
+    private final Method preDestroy;
+
+    private InjectionPlan(Class<?> beanClass) {
+        this.beanClass = beanClass;
+        this.constructor = ReflectionUtils.findInjectableConstructor(beanClass);
+        this.constructorParameters = parameterPoints(constructor.getParameters());
+
+        this.fields = List.copyOf(ReflectionUtils.findInjectableFields(beanClass));
+        InjectionPoint[] points = new InjectionPoint[fields.size()];
+        for (int i = 0; i < points.length; i++) {
+            Field field = fields.get(i);
+            points[i] = injectionPoint(
+                field.getType(),
+                field.getGenericType(),
+                ReflectionUtils.getFieldQualifier(field).orElse(null),
+                field.isAnnotationPresent(Lazy.class),
+                "field " + field.getName()
+            );
+        }
+        this.fieldPoints = List.of(points);
+
+        this.methods = List.copyOf(ReflectionUtils.findInjectableMethods(beanClass));
+        List<List<InjectionPoint>> parameters = new ArrayList<>(methods.size());
+        for (Method method : methods) {
+            parameters.add(parameterPoints(method.getParameters()));
+        }
+        this.methodParameters = List.copyOf(parameters);
+
+        this.postConstruct = ReflectionUtils.findPostConstructMethod(beanClass).orElse(null);
+        this.preDestroy = ReflectionUtils.findPreDestroyMethod(beanClass).orElse(null);
+    }
+
+    /**
+     * Computes the injection plan for a class.
+     *
+     * @param beanClass the implementation class
+     * @return the injection plan
+     * @throws io.github.abolpv.lightdi.exception.ContainerException if the class has no usable constructor
+     *         or declares invalid injection or lifecycle methods
+     */
+    public static InjectionPlan of(Class<?> beanClass) {
+        return new InjectionPlan(beanClass);
+    }
+
+    private static List<InjectionPoint> parameterPoints(Parameter[] parameters) {
+        InjectionPoint[] points = new InjectionPoint[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            points[i] = injectionPoint(
+                parameters[i].getType(),
+                parameters[i].getParameterizedType(),
+                ReflectionUtils.getParameterQualifier(parameters[i]).orElse(null),
+                false,
+                "parameter " + parameters[i].getName() + " of " + parameters[i].getDeclaringExecutable().getName()
+            );
+        }
+        return List.of(points);
+    }
+
+    /**
+     * Creates an injection point, unwrapping {@code Provider<T>}, {@code Supplier<T>},
+     * {@code Lazy<T>}, {@code List<T>}, {@code Set<T>} and {@code Map<String, T>} to the bean type {@code T}.
+     */
+    private static InjectionPoint injectionPoint(Class<?> declaredType, Type genericType, String qualifier,
+                                                 boolean lazyAnnotated, String description) {
+        InjectionPoint.Kind kind = InjectionPoint.Kind.of(declaredType);
+        if (kind == InjectionPoint.Kind.INSTANCE) {
+            return new InjectionPoint(declaredType, qualifier, lazyAnnotated && declaredType.isInterface());
+        }
+        if (kind.isCollection() && qualifier != null) {
+            throw new ContainerException(
+                "Collection " + description + " cannot be @Named; it receives all beans of its element type"
+            );
+        }
+        if (kind == InjectionPoint.Kind.MAP && typeArgument(genericType, 0) != String.class) {
+            throw new ContainerException(
+                "Map " + description + " must have String keys: " + genericType.getTypeName()
+            );
+        }
+        int argument = kind == InjectionPoint.Kind.MAP ? 1 : 0;
+        return new InjectionPoint(beanType(genericType, argument, description), qualifier, false, kind);
+    }
+
+    private static Class<?> beanType(Type genericType, int index, String description) {
+        Class<?> type = typeArgument(genericType, index);
+        if (type != null) {
+            return type;
+        }
+        throw new ContainerException(
+            "Cannot determine the bean type of " + description + ": " + genericType.getTypeName() +
+            ". Declare it with a concrete type argument, e.g. Provider<MyService>."
+        );
+    }
+
+    private static Class<?> typeArgument(Type genericType, int index) {
+        if (genericType instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[index];
+            if (argument instanceof Class) {
+                return (Class<?>) argument;
+            }
+            if (argument instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) argument).getRawType();
+            }
+        }
+        return null;
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    public Constructor<?> getConstructor() {
+        return constructor;
+    }
+
+    public List<InjectionPoint> getConstructorParameters() {
+        return constructorParameters;
+    }
+
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the injection points of the injectable fields,
+     * in the same order as {@link #getFields()}.
+     *
+     * @return field injection points
+     */
+    public List<InjectionPoint> getFieldPoints() {
+        return fieldPoints;
+    }
+
+    public List<Method> getMethods() {
+        return methods;
+    }
+
+    /**
+     * Returns the parameter injection points of each injectable method,
+     * in the same order as {@link #getMethods()}.
+     *
+     * @return method parameter injection points
+     */
+    public List<List<InjectionPoint>> getMethodParameters() {
+        return methodParameters;
+    }
+
+    public Optional<Method> getPostConstruct() {
+        return Optional.ofNullable(postConstruct);
+    }
+
+    public Optional<Method> getPreDestroy() {
+        return Optional.ofNullable(preDestroy);
+    }
+
+    Method postConstructMethod() {
+        return postConstruct;
+    }
+
+    Method preDestroyMethod() {
+        return preDestroy;
+    }
+
+    @Override
+    public String toString() {
+        return "InjectionPlan{" +
+               "class=" + beanClass.getSimpleName() +
+               ", constructorParameters=" + constructorParameters.size() +
+               ", fields=" + fields.size() +
+               ", methods=" + methods.size() +
+               (postConstruct != null ? ", postConstruct=" + postConstruct.getName() : "") +
+               (preDestroy != null ? ", preDestroy=" + preDestroy.getName() : "") +
+               '}';
+    }
+}
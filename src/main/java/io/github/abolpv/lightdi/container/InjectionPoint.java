@@ -0,0 +1,168 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.provider.Lazy;
+import io.github.abolpv.lightdi.provider.Provider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Describes a single dependency required by a bean.
+ * An injection point is a constructor parameter, an injectable field,
+ * or a parameter of an {@literal @}Inject method.
+ *
+ * <p>For {@code Provider<T>}, {@code Supplier<T>} and {@code Lazy<T>} injection points,
+ * the type is the bean type {@code T} and the {@link Kind} tells how it is wrapped.
+ * The same holds for {@code List<T>}, {@code Set<T>} and {@code Map<String, T>} injection
+ * points, which receive all beans assignable to {@code T}.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class InjectionPoint {
+
+    /**
+     * How a dependency is handed to the bean.
+     */
+    public enum Kind {
+        /** The bean instance itself, or a lazy proxy for {@literal @}Lazy interface fields. */
+        INSTANCE,
+        /** A {@link Provider} or {@link Supplier} of the bean. */
+        PROVIDER,
+        /** A {@link Lazy} holder of the bean. */
+        LAZY,
+        /** A {@link List} of all beans assignable to the type, in registration order. */
+        LIST,
+        /** A {@link Set} of all beans assignable to the type, in registration order. */
+        SET,
+        /** A {@link Map} of all {@literal @}Named beans assignable to the type, keyed by name. */
+        MAP;
+
+        /**
+         * Determines the kind from the declared type of an injection point.
+         *
+         * @param declaredType the declared type of the field or parameter
+         * @return the kind
+         */
+        static Kind of(Class<?> declaredType) {
+            if (declaredType == Provider.class || declaredType == Supplier.class) {
+                return PROVIDER;
+            }
+            if (declaredType == Lazy.class) {
+                return LAZY;
+            }
+            if (declaredType == List.class) {
+                return LIST;
+            }
+            if (declaredType == Set.class) {
+                return SET;
+            }
+            if (declaredType == Map.class) {
+                return MAP;
+            }
+            return INSTANCE;
+        }
+
+        /**
+         * Checks if the kind injects all beans of a type.
+         *
+         * @return true for {@link #LIST}, {@link #SET} and {@link #MAP}
+         */
+        public boolean isCollection() {
+            return this == LIST || this == SET || this == MAP;
+        }
+    }
+
+    private final Class<?> type;
+    private final String qualifier;
+    private final boolean lazy;
+    private final Kind kind;
+
+    InjectionPoint(Class<?> type, String qualifier, boolean lazy) {
+        this(type, qualifier, lazy, Kind.INSTANCE);
+    }
+
+    InjectionPoint(Class<?> type, String qualifier, boolean lazy, Kind kind) {
+        this.type = type;
+        this.qualifier = qualifier;
+        this.lazy = lazy;
+        this.kind = kind;
+    }
+
+    /**
+     * Returns the type of the dependency.
+     * For provider and lazy holder injection points, this is the type of the provided bean.
+     *
+     * @return the dependency type
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the {@literal @}Named qualifier of the dependency.
+     *
+     * @return the qualifier, or null if the dependency is unqualified
+     */
+    public String getQualifier() {
+        return qualifier;
+    }
+
+    /**
+     * Checks if the dependency has a {@literal @}Named qualifier.
+     *
+     * @return true if a qualifier is present
+     */
+    public boolean hasQualifier() {
+        return qualifier != null;
+    }
+
+    /**
+     * Checks if the dependency should be injected as a lazy proxy.
+     *
+     * @return true if the injection point is marked with {@literal @}Lazy
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Returns how the dependency is handed to the bean.
+     *
+     * @return the injection kind
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Checks if the dependency is resolved only when the bean asks for it,
+     * either through a lazy proxy or a provider or lazy holder.
+     *
+     * @return true if injecting the dependency does not create it
+     */
+    public boolean isDeferred() {
+        return lazy || kind == Kind.PROVIDER || kind == Kind.LAZY;
+    }
+
+    /**
+     * Checks if the dependency is a collection of all beans assignable to its type.
+     *
+     * @return true for {@code List<T>}, {@code Set<T>} and {@code Map<String, T>} injection points
+     */
+    public boolean isCollection() {
+        return kind.isCollection();
+    }
+
+    @Override
+    public String toString() {
+        return "InjectionPoint{" +
+               "type=" + type.getSimpleName() +
+               (qualifier != null ? ", qualifier='" + qualifier + "'" : "") +
+               (lazy ? ", lazy=true" : "") +
+               (kind != Kind.INSTANCE ? ", kind=" + kind : "") +
+               '}';
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.abolpv.lightdi.container;
+
+/**
+ * Strategy for turning an {@link InjectionPlan} into executable code.
+ * The container compiles each bean definition once with the configured engine
+ * and reuses the resulting {@link BeanInstantiator} for every instance.
+ *
+ * <p>Built-in engines:</p>
+ * <ul>
+ *   <li>{@link #reflection()} - core reflection ({@code Constructor.newInstance},
+ *       {@code Field.set}, {@code Method.invoke}); the default</li>
+ *   <li>{@link #methodHandles()} - {@code MethodHandle}s adapted to a fixed shape,
+ *       without per-call access checks</li>
+ *   <li>{@link #hiddenClasses()} - a hidden class per bean with straight-line
+ *       {@code new} code for the constructor</li>
+ * </ul>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * Container container = Container.builder()
+ *     .instantiationEngine(InstantiationEngine.hiddenClasses())
+ *     .scan("com.example")
+ *     .build();
+ * </pre>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public interface InstantiationEngine {
+
+    /**
+     * Compiles an injection plan.
+     *
+     * @param plan the plan to compile
+     * @return an instantiator for the planned class
+     * @throws io.github.abolpv.lightdi.exception.ContainerException if the plan cannot be compiled
+     */
+    BeanInstantiator compile(InjectionPlan plan);
+
+    /**
+     * Returns the engine backed by core reflection.
+     *
+     * @return the reflection engine
+     */
+    static InstantiationEngine reflection() {
+        return ReflectionInstantiationEngine.INSTANCE;
+    }
+
+    /**
+     * Returns the engine backed by method handles.
+     *
+     * @return the method handle engine
+     */
+    static InstantiationEngine methodHandles() {
+        return MethodHandleInstantiationEngine.INSTANCE;
+    }
+
+    /**
+     * Returns the engine that defines a hidden factory class per bean.
+     * Beans whose constructor cannot be reached from generated code fall back
+     * to method handles.
+     *
+     * @return the hidden class engine
+     */
+    static InstantiationEngine hiddenClasses() {
+        return HiddenClassInstantiationEngine.INSTANCE;
+    }
+}
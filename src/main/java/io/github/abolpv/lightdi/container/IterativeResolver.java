@@ -0,0 +1,399 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.exception.CircularDependencyException;
+import io.github.abolpv.lightdi.monitor.BeanCreationEvent;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates a bean and the dependencies it creates on the way with an explicit work stack
+ * instead of recursive calls, so the depth of a dependency chain is bounded by the heap
+ * rather than the thread stack.
+ *
+ * <p>Each bean under construction is a frame that resolves its constructor parameters,
+ * fields and method parameters in declaration order. A dependency that has to be created
+ * pushes a new frame; once that frame has run its {@literal @}PostConstruct callback its
+ * instance is handed to the frame below. Beans are therefore created, injected and
+ * initialized in exactly the order the recursive path uses.</p>
+ *
+ * <p>Beans with a generated factory are created through the host, since the factory
+ * resolves its own dependencies.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class IterativeResolver {
+
+    /**
+     * The container services the resolver relies on.
+     */
+    interface Host {
+
+        /**
+         * Resolves a {@literal @}Lazy, {@code Provider}, {@code Supplier} or {@code Lazy} injection point.
+         */
+        Object resolveDeferred(InjectionPoint point);
+
+        /**
+         * Resolves a {@code List}, {@code Set} or {@code Map} injection point, creating its members.
+         *
+         * @param path the beans being created, or null if cycles are not tracked
+         */
+        Object resolveCollection(InjectionPoint point, ResolutionPath path);
+
+        /**
+         * Finds the definition an injection point resolves to.
+         *
+         * @throws io.github.abolpv.lightdi.exception.BeanNotFoundException if there is none
+         * @throws io.github.abolpv.lightdi.exception.ContainerException if the container is shutting down
+         */
+        BeanDefinition definition(InjectionPoint point);
+
+        /**
+         * Creates a lazy proxy for an unqualified interface dependency on a lazy prototype.
+         */
+        Object lazyProxy(Class<?> type, BeanDefinition definition);
+
+        /**
+         * Gets the instantiator of a definition, or null if it is created through a generated factory.
+         */
+        BeanInstantiator instantiator(BeanDefinition definition);
+
+        /**
+         * Creates a bean through its generated factory.
+         *
+         * @param path the beans being created, or null if cycles are not tracked
+         */
+        Object createWithFactory(BeanDefinition definition, ResolutionPath path);
+
+        /**
+         * Records a new singleton for shutdown; called before its slot is completed.
+         */
+        void singletonCreated(BeanDefinition definition, Object instance);
+
+        Map<Thread, SingletonSlot.Creation> singletonWaits();
+
+        /**
+         * Gets the metrics to record into, or null if metrics are off.
+         */
+        ContainerMetrics metrics();
+    }
+
+    private static final Object PENDING = new Object();
+
+    private static final int CONSTRUCTOR = 0;
+    private static final int FIELDS = 1;
+    private static final int METHODS = 2;
+
+    private final Host host;
+    private final ArrayDeque<Frame> stack = new ArrayDeque<>();
+    private final ResolutionPath path;
+    private final int baseDepth;
+    private final ContainerMetrics metrics;
+    private final StartupProfiler profiler;
+
+    private IterativeResolver(Host host, ResolutionPath path, StartupProfiler profiler) {
+        this.host = host;
+        this.path = path;
+        this.baseDepth = path != null ? path.depth() : 0;
+        this.metrics = host.metrics();
+        this.profiler = profiler;
+    }
+
+    /**
+     * Creates a bean built from its injection plan. A singleton's slot must already be
+     * claimed by the caller, which also completes it.
+     *
+     * @param host the container
+     * @param definition the bean to create
+     * @param instantiator the instantiator of the bean
+     * @param path the beans being created further up the call stack, or null if cycles are not tracked
+     * @param profiler the startup profiler recording the beans, or null; requires a path
+     * @return the new instance
+     */
+    static Object create(Host host, BeanDefinition definition, BeanInstantiator instantiator,
+                         ResolutionPath path, StartupProfiler profiler) {
+        return new IterativeResolver(host, path, profiler).run(definition, instantiator);
+    }
+
+    private Object run(BeanDefinition root, BeanInstantiator instantiator) {
+        try {
+            push(root, instantiator, null);
+            while (true) {
+                Frame frame = stack.peek();
+                InjectionPoint point = frame.next();
+                if (point == null) {
+                    Object instance = complete(frame);
+                    if (stack.isEmpty()) {
+                        return instance;
+                    }
+                    stack.peek().accept(instance);
+                    continue;
+                }
+                Object value = resolve(point);
+                if (value != PENDING) {
+                    frame.accept(value);
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            // Singletons created on this stack would otherwise stay claimed forever
+            for (Frame frame : stack) {
+                if (frame.node != null) {
+                    profiler.exit(frame.node, path);
+                }
+                if (frame.creation != null) {
+                    frame.definition.getSingletonSlot().fail(frame.creation, e);
+                }
+            }
+            if (path != null) {
+                path.truncate(baseDepth);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Resolves an injection point of the frame on top of the stack.
+     *
+     * @return the value, or {@link #PENDING} if a frame creating it was pushed
+     */
+    private Object resolve(InjectionPoint point) {
+        if (point.isDeferred()) {
+            return host.resolveDeferred(point);
+        }
+        if (point.isCollection()) {
+            return host.resolveCollection(point, path);
+        }
+        BeanDefinition target = host.definition(point);
+        if (!target.isSingleton()) {
+            if (target.isLazy() && point.getType().isInterface() && !point.hasQualifier()) {
+                return host.lazyProxy(point.getType(), target);
+            }
+            return begin(target, null);
+        }
+
+        SingletonSlot slot = target.getSingletonSlot();
+        while (true) {
+            Object state = slot.state();
+            if (state == null) {
+                SingletonSlot.Creation creation = slot.begin(target.getImplementationClass());
+                if (creation != null) {
+                    if (metrics != null) {
+                        metrics.recordSingletonMiss();
+                    }
+                    return begin(target, creation);
+                }
+            } else if (state instanceof SingletonSlot.Creation) {
+                SingletonSlot.Creation creation = (SingletonSlot.Creation) state;
+                if (creation.isOwnedByCurrentThread()) {
+                    Class<?> clazz = target.getImplementationClass();
+                    throw new CircularDependencyException(path != null ? path.cycleTo(clazz) : List.of(clazz, clazz));
+                }
+                if (metrics == null && profiler == null) {
+                    return creation.await(host.singletonWaits());
+                }
+                long start = System.nanoTime();
+                try {
+                    return creation.await(host.singletonWaits());
+                } finally {
+                    long nanos = System.nanoTime() - start;
+                    if (metrics != null) {
+                        metrics.recordSingletonWait(nanos);
+                    }
+                    if (profiler != null) {
+                        profiler.await(target, nanos, path);
+                    }
+                }
+            } else {
+                if (metrics != null) {
+                    metrics.recordSingletonHit();
+                }
+                if (profiler != null) {
+                    profiler.reference(target, path);
+                }
+                return state;
+            }
+        }
+    }
+
+    /**
+     * Starts creating a dependency: beans built from a plan get a frame, beans with a
+     * generated factory are created right away.
+     */
+    private Object begin(BeanDefinition target, SingletonSlot.Creation creation) {
+        Object instance;
+        try {
+            BeanInstantiator instantiator = host.instantiator(target);
+            if (instantiator != null) {
+                push(target, instantiator, creation);
+                return PENDING;
+            }
+            instance = host.createWithFactory(target, path);
+        } catch (RuntimeException | Error e) {
+            if (creation != null) {
+                target.getSingletonSlot().fail(creation, e);
+            }
+            throw e;
+        }
+        if (creation != null) {
+            host.singletonCreated(target, instance);
+            target.getSingletonSlot().complete(creation, instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Pushes a frame, adding the bean to the resolution path unless cycles are not tracked.
+     */
+    private void push(BeanDefinition definition, BeanInstantiator instantiator, SingletonSlot.Creation creation) {
+        Frame frame = new Frame(definition, instantiator, creation, baseDepth + stack.size(),
+            metrics != null ? System.nanoTime() : 0);
+        if (path != null) {
+            path.push(definition.getImplementationClass());
+        }
+        if (profiler != null) {
+            frame.node = profiler.enter(definition, path);
+        }
+        stack.push(frame);
+    }
+
+    private Object complete(Frame frame) {
+        stack.pop();
+        if (path != null) {
+            path.pop();
+        }
+        if (frame.node != null) {
+            frame.node.created();
+            profiler.exit(frame.node, path);
+        }
+        if (frame.event != null) {
+            frame.event.complete(frame.definition.getImplementationClass(),
+                frame.definition.getScope().name(), frame.depth);
+        }
+        if (metrics != null) {
+            metrics.recordCreation(frame.definition, System.nanoTime() - frame.started);
+        }
+        if (frame.creation != null) {
+            host.singletonCreated(frame.definition, frame.instance);
+            frame.definition.getSingletonSlot().complete(frame.creation, frame.instance);
+        }
+        return frame.instance;
+    }
+
+    /**
+     * A bean under construction and the injection point it is waiting for.
+     */
+    private static final class Frame {
+        final BeanDefinition definition;
+        final SingletonSlot.Creation creation;
+        final int depth;
+        final long started;
+        final BeanCreationEvent event;
+        StartupProfiler.Node node;
+        private final BeanInstantiator instantiator;
+        private final List<InjectionPoint> constructorParameters;
+        private final List<InjectionPoint> fieldPoints;
+        private final List<List<InjectionPoint>> methodParameters;
+        private int phase = CONSTRUCTOR;
+        private int index;
+        private int parameter;
+        private Object[] args;
+        Object instance;
+
+        Frame(BeanDefinition definition, BeanInstantiator instantiator, SingletonSlot.Creation creation,
+              int depth, long started) {
+            this.definition = definition;
+            this.creation = creation;
+            this.depth = depth;
+            this.started = started;
+            // Frames live on the heap, so the event is only created while it is recorded
+            this.event = BeanCreationEvent.isRecorded() ? new BeanCreationEvent() : null;
+            if (event != null) {
+                event.start();
+            }
+            this.instantiator = instantiator;
+            InjectionPlan plan = definition.getPlan();
+            this.constructorParameters = plan.getConstructorParameters();
+            this.fieldPoints = plan.getFieldPoints();
+            this.methodParameters = plan.getMethodParameters();
+            this.args = new Object[constructorParameters.size()];
+        }
+
+        /**
+         * Performs every step that needs no further dependency.
+         *
+         * @return the next injection point to resolve, or null once the bean is initialized
+         */
+        InjectionPoint next() {
+            while (true) {
+                switch (phase) {
+                    case CONSTRUCTOR:
+                        if (index < constructorParameters.size()) {
+                            return constructorParameters.get(index);
+                        }
+                        instance = instantiator.newInstance(args);
+                        if (event != null) {
+                            event.constructed();
+                        }
+                        args = null;
+                        phase = FIELDS;
+                        index = 0;
+                        break;
+                    case FIELDS:
+                        if (index < fieldPoints.size()) {
+                            return fieldPoints.get(index);
+                        }
+                        phase = METHODS;
+                        index = 0;
+                        break;
+                    default:
+                        if (index == methodParameters.size()) {
+                            if (event != null) {
+                                event.injected();
+                            }
+                            long initStart = node != null ? System.nanoTime() : 0;
+                            instantiator.postConstruct(instance);
+                            if (node != null) {
+                                node.postConstructed(System.nanoTime() - initStart);
+                            }
+                            if (event != null) {
+                                event.initialized();
+                            }
+                            return null;
+                        }
+                        List<InjectionPoint> parameters = methodParameters.get(index);
+                        if (args == null) {
+                            args = new Object[parameters.size()];
+                        }
+                        if (parameter < parameters.size()) {
+                            return parameters.get(parameter);
+                        }
+                        instantiator.invokeMethod(instance, index, args);
+                        index++;
+                        parameter = 0;
+                        args = null;
+                        break;
+                }
+            }
+        }
+
+        /**
+         * Supplies the value of the injection point last returned by {@link #next()}.
+         */
+        void accept(Object value) {
+            switch (phase) {
+                case CONSTRUCTOR:
+                    args[index++] = value;
+                    break;
+                case FIELDS:
+                    instantiator.setField(instance, index++, value);
+                    break;
+                default:
+                    args[parameter++] = value;
+                    break;
+            }
+        }
+    }
+}
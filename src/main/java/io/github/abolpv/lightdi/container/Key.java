@@ -0,0 +1,107 @@
+package io.github.abolpv.lightdi.container;
+
+import java.util.Objects;
+
+/**
+ * Identifies a bean by its type and optional {@literal @}Named qualifier.
+ * Keys are immutable and compute their hash code once, so they can be created
+ * up front and reused as lookup keys.
+ *
+ * <p>Example:</p>
+ * <pre>
+ * private static final Key&lt;MessageSender&gt; EMAIL = Key.of(MessageSender.class, "email");
+ *
+ * MessageSender sender = container.get(EMAIL);
+ * </pre>
+ *
+ * @param <T> the bean type
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class Key<T> {
+
+    private final Class<T> type;
+    private final String qualifier;
+    private final int hash;
+
+    private Key(Class<T> type, String qualifier) {
+        this.type = Objects.requireNonNull(type, "type");
+        this.qualifier = qualifier;
+        this.hash = 31 * type.hashCode() + (qualifier != null ? qualifier.hashCode() : 0);
+    }
+
+    /**
+     * Creates a key for an unqualified bean.
+     *
+     * @param type the bean type
+     * @param <T> the bean type
+     * @return the key
+     */
+    public static <T> Key<T> of(Class<T> type) {
+        return new Key<>(type, null);
+    }
+
+    /**
+     * Creates a key for a named bean.
+     *
+     * @param type the bean type
+     * @param qualifier the qualifier name, or null for an unqualified bean
+     * @param <T> the bean type
+     * @return the key
+     */
+    public static <T> Key<T> of(Class<T> type, String qualifier) {
+        return new Key<>(type, qualifier);
+    }
+
+    /**
+     * Returns the bean type.
+     *
+     * @return the bean type
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the {@literal @}Named qualifier.
+     *
+     * @return the qualifier, or null if the key is unqualified
+     */
+    public String getQualifier() {
+        return qualifier;
+    }
+
+    /**
+     * Checks if the key has a qualifier.
+     *
+     * @return true if a qualifier is present
+     */
+    public boolean hasQualifier() {
+        return qualifier != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Key)) {
+            return false;
+        }
+        Key<?> other = (Key<?>) o;
+        return hash == other.hash && type == other.type && Objects.equals(qualifier, other.qualifier);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "Key{" +
+               "type=" + type.getSimpleName() +
+               (qualifier != null ? ", qualifier='" + qualifier + "'" : "") +
+               '}';
+    }
+}
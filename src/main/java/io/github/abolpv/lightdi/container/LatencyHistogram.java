@@ -0,0 +1,123 @@
+package io.github.abolpv.lightdi.container;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in power-of-two microsecond buckets.
+ *
+ * <p>Bucket 0 counts latencies below 1 µs, and bucket {@code i} those from 2<sup>i-1</sup> up to
+ * 2<sup>i</sup> µs; the last bucket has no upper bound. Each bucket is a {@link LongAdder},
+ * so threads recording at the same time do not contend on one counter.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Number of buckets.
+     */
+    public static final int BUCKETS = 32;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        long micros = nanos / 1000;
+        int bucket = micros <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets[bucket].increment();
+        totalNanos.add(nanos);
+    }
+
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+    }
+
+    /**
+     * Gets the exclusive upper bound of a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the upper bound, or {@link ChronoUnit#FOREVER}'s duration for the last bucket
+     */
+    public static Duration getUpperBound(int bucket) {
+        if (bucket < 0 || bucket >= BUCKETS) {
+            throw new IllegalArgumentException("Bucket must be between 0 and " + (BUCKETS - 1) + ": " + bucket);
+        }
+        return bucket == BUCKETS - 1 ? ChronoUnit.FOREVER.getDuration() : Duration.ofNanos(1000L << bucket);
+    }
+
+    /**
+     * Gets the number of latencies in each bucket.
+     *
+     * @return a copy of the bucket counts
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the sum of all recorded latencies.
+     *
+     * @return the total time
+     */
+    public Duration getTotalTime() {
+        return Duration.ofNanos(totalNanos.sum());
+    }
+
+    /**
+     * Estimates a percentile as the upper bound of the bucket it falls into.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the estimate, or zero if nothing was recorded
+     */
+    public Duration getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return getUpperBound(i);
+            }
+        }
+        return getUpperBound(BUCKETS - 1);
+    }
+}
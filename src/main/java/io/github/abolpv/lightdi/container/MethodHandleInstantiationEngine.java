@@ -0,0 +1,174 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.exception.ContainerException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Instantiation engine backed by method handles.
+ * Members are unreflected once and adapted to a fixed erased shape, so calls
+ * skip the per-invocation access checks of core reflection.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class MethodHandleInstantiationEngine implements InstantiationEngine {
+
+    static final MethodHandleInstantiationEngine INSTANCE = new MethodHandleInstantiationEngine();
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType METHOD_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+    private static final MethodType CALLBACK_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private MethodHandleInstantiationEngine() {
+    }
+
+    @Override
+    public BeanInstantiator compile(InjectionPlan plan) {
+        return new Instantiator(plan);
+    }
+
+    @Override
+    public String toString() {
+        return "methodHandles";
+    }
+
+    static MethodHandle constructorHandle(Constructor<?> constructor) {
+        try {
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                .asSpreader(Object[].class, constructor.getParameterCount())
+                .asType(CONSTRUCTOR_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new ContainerException("Cannot access constructor: " + constructor, e);
+        }
+    }
+
+    static final class Instantiator implements BeanInstantiator {
+
+        private final Class<?> beanClass;
+        private final Constructor<?> constructor;
+        private final MethodHandle constructorHandle;
+        private final Field[] fields;
+        private final MethodHandle[] setters;
+        private final Method[] methods;
+        private final MethodHandle[] methodHandles;
+        private final MethodHandle postConstruct;
+        private final MethodHandle preDestroy;
+
+        Instantiator(InjectionPlan plan) {
+            this.beanClass = plan.getBeanClass();
+            this.constructor = plan.getConstructor();
+            this.constructorHandle = constructorHandle(constructor);
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            List<Field> planFields = plan.getFields();
+            this.fields = planFields.toArray(new Field[0]);
+            this.setters = new MethodHandle[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                try {
+                    setters[i] = lookup.unreflectSetter(fields[i]).asType(SETTER_TYPE);
+                } catch (IllegalAccessException e) {
+                    throw new ContainerException("Cannot access field: " + fields[i], e);
+                }
+            }
+
+            List<Method> planMethods = plan.getMethods();
+            this.methods = planMethods.toArray(new Method[0]);
+            this.methodHandles = new MethodHandle[methods.length];
+            for (int i = 0; i < methods.length; i++) {
+                methodHandles[i] = unreflect(lookup, methods[i])
+                    .asSpreader(Object[].class, methods[i].getParameterCount())
+                    .asType(METHOD_TYPE);
+            }
+
+            Method postConstructMethod = plan.postConstructMethod();
+            this.postConstruct = postConstructMethod != null
+                ? unreflect(lookup, postConstructMethod).asType(CALLBACK_TYPE)
+                : null;
+            Method preDestroyMethod = plan.preDestroyMethod();
+            this.preDestroy = preDestroyMethod != null
+                ? unreflect(lookup, preDestroyMethod).asType(CALLBACK_TYPE)
+                : null;
+        }
+
+        private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method method) {
+            try {
+                return lookup.unreflect(method);
+            } catch (IllegalAccessException e) {
+                throw new ContainerException("Cannot access method: " + method, e);
+            }
+        }
+
+        @Override
+        public Object newInstance(Object[] args) {
+            try {
+                return (Object) constructorHandle.invokeExact(args);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ContainerException(
+                    "Failed to create instance using constructor: " + constructor, e
+                );
+            }
+        }
+
+        @Override
+        public void setField(Object target, int index, Object value) {
+            try {
+                setters[index].invokeExact(target, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ContainerException(
+                    "Failed to set field " + fields[index].getName() + " on " + beanClass.getName(), e
+                );
+            }
+        }
+
+        @Override
+        public void invokeMethod(Object target, int index, Object[] args) {
+            try {
+                methodHandles[index].invokeExact(target, args);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ContainerException(
+                    "Failed to invoke method " + methods[index].getName() + " on " + beanClass.getName(), e
+                );
+            }
+        }
+
+        @Override
+        public void postConstruct(Object target) {
+            if (postConstruct != null) {
+                invokeCallback(postConstruct, target, "@PostConstruct");
+            }
+        }
+
+        @Override
+        public void preDestroy(Object target) {
+            if (preDestroy != null) {
+                invokeCallback(preDestroy, target, "@PreDestroy");
+            }
+        }
+
+        private void invokeCallback(MethodHandle callback, Object target, String kind) {
+            try {
+                callback.invokeExact(target);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ContainerException(
+                    "Failed to invoke " + kind + " method on " + beanClass.getName(), e
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.abolpv.lightdi.container;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.SwitchPoint;
+
+/**
+ * JVM-wide switch guarding the metrics code of every container.
+ *
+ * <p>Until a container enables metrics, {@link #isOn()} is a {@link SwitchPoint} guard that
+ * the JIT compiles to the constant {@code false}, so the metrics branches on the
+ * {@code get()} path are removed entirely. Enabling metrics invalidates the switch point,
+ * which deoptimizes the compiled code once; from then on containers check their own
+ * metrics field. The switch is never turned off again.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class MetricsSwitch {
+
+    private static final SwitchPoint OFF = new SwitchPoint();
+    private static final MethodHandle IS_ON = OFF.guardWithTest(
+        MethodHandles.constant(boolean.class, false),
+        MethodHandles.constant(boolean.class, true)
+    );
+
+    private MetricsSwitch() {
+    }
+
+    /**
+     * Checks if any container in the JVM has enabled metrics.
+     *
+     * @return true once metrics were enabled
+     */
+    static boolean isOn() {
+        try {
+            return (boolean) IS_ON.invokeExact();
+        } catch (Throwable e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Turns the switch on for all containers.
+     */
+    static void turnOn() {
+        if (!OFF.hasBeenInvalidated()) {
+            SwitchPoint.invalidateAll(new SwitchPoint[] {OFF});
+        }
+    }
+}
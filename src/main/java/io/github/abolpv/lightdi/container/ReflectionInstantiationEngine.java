@@ -0,0 +1,77 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.util.ReflectionUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Instantiation engine backed by core reflection.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class ReflectionInstantiationEngine implements InstantiationEngine {
+
+    static final ReflectionInstantiationEngine INSTANCE = new ReflectionInstantiationEngine();
+
+    private ReflectionInstantiationEngine() {
+    }
+
+    @Override
+    public BeanInstantiator compile(InjectionPlan plan) {
+        return new Instantiator(plan);
+    }
+
+    @Override
+    public String toString() {
+        return "reflection";
+    }
+
+    private static final class Instantiator implements BeanInstantiator {
+
+        private final Constructor<?> constructor;
+        private final Field[] fields;
+        private final Method[] methods;
+        private final Method postConstruct;
+        private final Method preDestroy;
+
+        Instantiator(InjectionPlan plan) {
+            this.constructor = plan.getConstructor();
+            this.fields = plan.getFields().toArray(new Field[0]);
+            this.methods = plan.getMethods().toArray(new Method[0]);
+            this.postConstruct = plan.postConstructMethod();
+            this.preDestroy = plan.preDestroyMethod();
+        }
+
+        @Override
+        public Object newInstance(Object[] args) {
+            return ReflectionUtils.createInstance(constructor, args);
+        }
+
+        @Override
+        public void setField(Object target, int index, Object value) {
+            ReflectionUtils.setField(target, fields[index], value);
+        }
+
+        @Override
+        public void invokeMethod(Object target, int index, Object[] args) {
+            ReflectionUtils.invokeMethodWithArgs(target, methods[index], args);
+        }
+
+        @Override
+        public void postConstruct(Object target) {
+            if (postConstruct != null) {
+                ReflectionUtils.invokeMethod(target, postConstruct);
+            }
+        }
+
+        @Override
+        public void preDestroy(Object target) {
+            if (preDestroy != null) {
+                ReflectionUtils.invokeMethod(target, preDestroy);
+            }
+        }
+    }
+}
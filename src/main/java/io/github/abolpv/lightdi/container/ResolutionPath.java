@@ -0,0 +1,116 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.exception.CircularDependencyException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The beans being created by one resolution, outermost first.
+ *
+ * <p>A path is created by the call that starts a resolution and handed down the call
+ * stack to the beans it creates, so it is confined to that stack: it needs no
+ * synchronization, leaves nothing behind on the thread, and costs nothing on threads
+ * that never resolve a bean. Virtual threads serving one request each therefore
+ * do not accumulate per-thread state.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class ResolutionPath {
+
+    /** Beyond this depth, membership checks use a hash set instead of a scan. */
+    private static final int SCAN_LIMIT = 16;
+
+    private Class<?>[] classes = new Class<?>[8];
+    private int size;
+    private Set<Class<?>> index;
+
+    /**
+     * Adds a bean to the end of the path.
+     *
+     * @param clazz the bean being created
+     * @throws CircularDependencyException if the bean is already on the path
+     */
+    void push(Class<?> clazz) {
+        if (contains(clazz)) {
+            throw new CircularDependencyException(cycleTo(clazz));
+        }
+        if (size == classes.length) {
+            classes = Arrays.copyOf(classes, size * 2);
+        }
+        classes[size++] = clazz;
+        if (index != null) {
+            index.add(clazz);
+        } else if (size > SCAN_LIMIT) {
+            index = new HashSet<>(Arrays.asList(classes).subList(0, size));
+        }
+    }
+
+    /**
+     * Removes the bean at the end of the path.
+     */
+    void pop() {
+        Class<?> clazz = classes[--size];
+        classes[size] = null;
+        if (index != null) {
+            index.remove(clazz);
+        }
+    }
+
+    /**
+     * Removes beans from the end until the path has the given depth, after a failure.
+     */
+    void truncate(int depth) {
+        while (size > depth) {
+            pop();
+        }
+    }
+
+    int depth() {
+        return size;
+    }
+
+    private boolean contains(Class<?> clazz) {
+        if (index != null) {
+            return index.contains(clazz);
+        }
+        for (int i = 0; i < size; i++) {
+            if (classes[i] == clazz) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the closed cycle from the first occurrence of a bean to the end of the path,
+     * e.g. {@code [A, B, A]}; just {@code [A, A]} if the bean is not on the path.
+     */
+    List<Class<?>> cycleTo(Class<?> clazz) {
+        List<Class<?>> cycle = new ArrayList<>();
+        boolean inCycle = false;
+        for (int i = 0; i < size; i++) {
+            inCycle |= classes[i] == clazz;
+            if (inCycle) {
+                cycle.add(classes[i]);
+            }
+        }
+        if (cycle.isEmpty()) {
+            cycle.add(clazz);
+        }
+        cycle.add(clazz);
+        return cycle;
+    }
+
+    /**
+     * A path created while profiling, which also knows the innermost bean being recorded.
+     * Kept apart so that paths stay small when the container is not profiled.
+     */
+    static final class Profiled extends ResolutionPath {
+        StartupProfiler.Node node;
+    }
+}
@@ -0,0 +1,340 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.container.ShutdownReport.BeanShutdown;
+import io.github.abolpv.lightdi.container.ShutdownReport.Status;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Destroys the singletons of a container in reverse dependency order.
+ *
+ * <p>A singleton is destroyed once every singleton depending on it, directly or through
+ * prototypes, has been destroyed. Among the singletons ready to be destroyed, the most
+ * recently created goes first, so sequential shutdown keeps the reverse creation order.
+ * Independent singletons are destroyed in parallel when the options allow it.</p>
+ *
+ * <p>A singleton that overruns the per-bean deadline is interrupted and treated as done,
+ * so it no longer holds up its dependencies. When the global deadline passes, singletons
+ * still being destroyed are interrupted and the others are skipped.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class ShutdownEngine {
+
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+
+    private final List<DisposableSingleton> singletons;
+    private final ShutdownOptions options;
+    private final int[][] dependencies;
+    private final int[] pendingDependents;
+    private final PriorityQueue<Integer> ready = new PriorityQueue<>(Comparator.reverseOrder());
+
+    // Guarded by this in parallel mode
+    private final int[] states;
+    private final long[] starts;
+    private final Thread[] threads;
+    private final List<BeanShutdown> results = new ArrayList<>();
+    private int done;
+    private int inFlight;
+
+    /**
+     * @param singletons the created singletons, in creation order
+     * @param graph the dependency graph of the container's definitions
+     * @param options the shutdown options
+     */
+    ShutdownEngine(List<DisposableSingleton> singletons, DependencyGraph graph, ShutdownOptions options) {
+        this.singletons = singletons;
+        this.options = options;
+        int count = singletons.size();
+        this.dependencies = singletonDependencies(singletons, graph);
+        this.pendingDependents = new int[count];
+        this.states = new int[count];
+        this.starts = new long[count];
+        this.threads = new Thread[count];
+
+        for (int[] targets : dependencies) {
+            for (int target : targets) {
+                pendingDependents[target]++;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (pendingDependents[i] == 0) {
+                ready.add(i);
+            }
+        }
+    }
+
+    /**
+     * Maps the definition-level graph onto the created singletons. Prototypes in between
+     * are looked through, since a singleton holding a prototype also holds its dependencies.
+     */
+    private static int[][] singletonDependencies(List<DisposableSingleton> singletons, DependencyGraph graph) {
+        Map<BeanDefinition, List<Integer>> byDefinition = new IdentityHashMap<>();
+        for (int i = 0; i < singletons.size(); i++) {
+            byDefinition.computeIfAbsent(singletons.get(i).getDefinition(), d -> new ArrayList<>()).add(i);
+        }
+
+        int[][] result = new int[singletons.size()][];
+        for (int i = 0; i < singletons.size(); i++) {
+            int node = graph.indexOf(singletons.get(i).getDefinition());
+            Set<Integer> targets = new LinkedHashSet<>();
+            if (node >= 0) {
+                boolean[] visited = new boolean[graph.size()];
+                Deque<Integer> stack = new ArrayDeque<>();
+                visited[node] = true;
+                stack.push(node);
+                while (!stack.isEmpty()) {
+                    for (int dependency : graph.dependencies(stack.pop())) {
+                        if (visited[dependency]) {
+                            continue;
+                        }
+                        visited[dependency] = true;
+                        List<Integer> created = byDefinition.get(graph.definition(dependency));
+                        if (created != null) {
+                            targets.addAll(created);
+                        } else {
+                            stack.push(dependency);
+                        }
+                    }
+                }
+            }
+            targets.remove(i);
+            result[i] = targets.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return result;
+    }
+
+    ShutdownReport run() {
+        long start = System.nanoTime();
+        if (options.isInline()) {
+            runInline();
+        } else {
+            runParallel(start);
+        }
+        return new ShutdownReport(results, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    // ==================== Sequential ====================
+
+    private void runInline() {
+        while (done < singletons.size()) {
+            int index = nextReady();
+            states[index] = RUNNING;
+            DisposableSingleton singleton = singletons.get(index);
+            if (!singleton.hasCallback()) {
+                finish(index);
+                continue;
+            }
+            long start = System.nanoTime();
+            Throwable failure = destroy(singleton);
+            record(index, failure == null ? Status.DESTROYED : Status.FAILED, System.nanoTime() - start, failure);
+            finish(index);
+        }
+    }
+
+    /**
+     * Gets the next singleton ready to be destroyed. Should the singletons left depend on
+     * each other, the most recently created is released to break the cycle.
+     */
+    private int nextReady() {
+        if (ready.isEmpty()) {
+            for (int i = singletons.size() - 1; i >= 0; i--) {
+                if (states[i] == PENDING) {
+                    return i;
+                }
+            }
+        }
+        return ready.poll();
+    }
+
+    // ==================== Parallel ====================
+
+    private synchronized void runParallel(long start) {
+        long globalDeadline = options.getTimeout() != null ? start + options.getTimeout().toNanos() : Long.MAX_VALUE;
+        long beanTimeout = options.getBeanTimeout() != null ? options.getBeanTimeout().toNanos() : Long.MAX_VALUE;
+        Executor executor = options.getExecutor() != null ? options.getExecutor() : ShutdownEngine::startDaemon;
+        boolean interrupted = false;
+
+        while (done < singletons.size()) {
+            long now = System.nanoTime();
+            if (globalDeadline != Long.MAX_VALUE && now - globalDeadline >= 0) {
+                expireAll(now);
+                break;
+            }
+            dispatch(executor);
+            int before = done;
+            long nextDeadline = expireOverdue(System.nanoTime(), beanTimeout, globalDeadline);
+            if (done == singletons.size()) {
+                break;
+            }
+            if (done != before) {
+                continue; // timed out beans may have released others
+            }
+            try {
+                if (nextDeadline == Long.MAX_VALUE) {
+                    wait();
+                } else {
+                    wait(Math.max(1, (nextDeadline - System.nanoTime()) / 1_000_000));
+                }
+            } catch (InterruptedException e) {
+                // Stop waiting and give up on the rest, as if the global deadline had passed
+                interrupted = true;
+                expireAll(System.nanoTime());
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts ready singletons while below the parallelism limit.
+     */
+    private void dispatch(Executor executor) {
+        while (inFlight < options.getParallelism() && done < singletons.size()) {
+            if (ready.isEmpty() && inFlight > 0) {
+                return;
+            }
+            int index = nextReady();
+            states[index] = RUNNING;
+            DisposableSingleton singleton = singletons.get(index);
+            if (!singleton.hasCallback()) {
+                finish(index);
+                continue;
+            }
+            starts[index] = System.nanoTime();
+            inFlight++;
+            try {
+                executor.execute(() -> destroyAsync(index));
+            } catch (RejectedExecutionException e) {
+                inFlight--;
+                record(index, Status.FAILED, 0, e);
+                finish(index);
+            }
+        }
+    }
+
+    private void destroyAsync(int index) {
+        Thread current = Thread.currentThread();
+        synchronized (this) {
+            if (states[index] != RUNNING) {
+                return; // expired before it could start
+            }
+            threads[index] = current;
+            starts[index] = System.nanoTime();
+        }
+        Throwable failure = destroy(singletons.get(index));
+        synchronized (this) {
+            threads[index] = null;
+            // Do not leak a deadline interrupt into the executor's next task
+            Thread.interrupted();
+            if (states[index] == RUNNING) {
+                inFlight--;
+                record(index, failure == null ? Status.DESTROYED : Status.FAILED, System.nanoTime() - starts[index], failure);
+                finish(index);
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Times out the singletons past their own deadline.
+     *
+     * @return the nearest deadline still ahead
+     */
+    private long expireOverdue(long now, long beanTimeout, long globalDeadline) {
+        long next = globalDeadline;
+        for (int i = 0; i < singletons.size(); i++) {
+            if (states[i] != RUNNING || beanTimeout == Long.MAX_VALUE) {
+                continue;
+            }
+            long deadline = starts[i] + beanTimeout;
+            if (now - deadline >= 0) {
+                timeOut(i, beanTimeout);
+            } else if (next == Long.MAX_VALUE || deadline - next < 0) {
+                next = deadline;
+            }
+        }
+        return next;
+    }
+
+    private void expireAll(long now) {
+        for (int i = 0; i < singletons.size(); i++) {
+            if (states[i] == RUNNING) {
+                timeOut(i, now - starts[i]);
+            }
+        }
+        for (int i = 0; i < singletons.size(); i++) {
+            if (states[i] == PENDING) {
+                states[i] = DONE;
+                done++;
+                if (singletons.get(i).hasCallback()) {
+                    record(i, Status.SKIPPED, 0, null);
+                }
+            }
+        }
+    }
+
+    private void timeOut(int index, long elapsed) {
+        Thread thread = threads[index];
+        if (thread != null) {
+            thread.interrupt();
+        }
+        inFlight--;
+        record(index, Status.TIMED_OUT, elapsed, null);
+        finish(index);
+    }
+
+    private static void startDaemon(Runnable task) {
+        Thread thread = new Thread(task, "lightdi-shutdown");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // ==================== Common ====================
+
+    private static Throwable destroy(DisposableSingleton singleton) {
+        try {
+            singleton.destroy();
+            return null;
+        } catch (Exception | Error e) {
+            return e;
+        }
+    }
+
+    private void record(int index, Status status, long nanos, Throwable failure) {
+        Duration threshold = options.getSlowThreshold();
+        boolean slow = status == Status.TIMED_OUT || (threshold != null && nanos >= threshold.toNanos());
+        Class<?> beanClass = singletons.get(index).getDefinition().getImplementationClass();
+        results.add(new BeanShutdown(beanClass, status, Duration.ofNanos(nanos), failure, slow));
+    }
+
+    /**
+     * Marks a singleton as done and releases the singletons it depends on.
+     */
+    private void finish(int index) {
+        states[index] = DONE;
+        done++;
+        for (int dependency : dependencies[index]) {
+            if (--pendingDependents[dependency] == 0 && states[dependency] == PENDING) {
+                ready.add(dependency);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.abolpv.lightdi.container;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Controls how {@link Container#shutdown(ShutdownOptions)} destroys singletons.
+ * Instances are immutable; every method returns a modified copy.
+ *
+ * <p>Example:</p>
+ * <pre>
+ * ShutdownReport report = container.shutdown(ShutdownOptions.parallel(8)
+ *     .beanTimeout(Duration.ofSeconds(5))
+ *     .timeout(Duration.ofSeconds(25))
+ *     .slowThreshold(Duration.ofSeconds(1)));
+ * </pre>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class ShutdownOptions {
+
+    private static final ShutdownOptions SEQUENTIAL = new ShutdownOptions(1, null, null, null, null);
+
+    private final int parallelism;
+    private final Executor executor;
+    private final Duration beanTimeout;
+    private final Duration timeout;
+    private final Duration slowThreshold;
+
+    private ShutdownOptions(int parallelism, Executor executor, Duration beanTimeout,
+                            Duration timeout, Duration slowThreshold) {
+        this.parallelism = parallelism;
+        this.executor = executor;
+        this.beanTimeout = beanTimeout;
+        this.timeout = timeout;
+        this.slowThreshold = slowThreshold;
+    }
+
+    /**
+     * Destroys one bean at a time on the calling thread, without deadlines.
+     * This is what {@link Container#shutdown()} uses.
+     *
+     * @return the sequential options
+     */
+    public static ShutdownOptions sequential() {
+        return SEQUENTIAL;
+    }
+
+    /**
+     * Destroys up to the given number of independent beans at a time.
+     *
+     * @param parallelism the maximum number of beans destroyed at a time
+     * @return the parallel options
+     * @throws IllegalArgumentException if parallelism is less than one
+     */
+    public static ShutdownOptions parallel(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        return new ShutdownOptions(parallelism, null, null, null, null);
+    }
+
+    /**
+     * Runs the destroy callbacks on the given executor.
+     * By default each callback runs on its own daemon thread, so a callback that
+     * overruns its deadline never holds up a pool thread needed by other beans.
+     *
+     * @param executor the executor
+     * @return the modified options
+     */
+    public ShutdownOptions executor(Executor executor) {
+        return new ShutdownOptions(parallelism, Objects.requireNonNull(executor, "executor"),
+            beanTimeout, timeout, slowThreshold);
+    }
+
+    /**
+     * Sets the time each bean may take. A bean that overruns is interrupted, reported as
+     * timed out, and no longer holds up the beans it depends on.
+     *
+     * @param beanTimeout the per-bean deadline
+     * @return the modified options
+     * @throws IllegalArgumentException if the timeout is not positive
+     */
+    public ShutdownOptions beanTimeout(Duration beanTimeout) {
+        return new ShutdownOptions(parallelism, executor, positive(beanTimeout, "Bean timeout"),
+            timeout, slowThreshold);
+    }
+
+    /**
+     * Sets the time the whole shutdown may take. When it is reached, beans still being
+     * destroyed are interrupted and reported as timed out, and the rest are skipped.
+     *
+     * @param timeout the global deadline
+     * @return the modified options
+     * @throws IllegalArgumentException if the timeout is not positive
+     */
+    public ShutdownOptions timeout(Duration timeout) {
+        return new ShutdownOptions(parallelism, executor, beanTimeout,
+            positive(timeout, "Timeout"), slowThreshold);
+    }
+
+    /**
+     * Sets the duration from which a bean that was destroyed in time is still reported as slow.
+     *
+     * @param slowThreshold the threshold
+     * @return the modified options
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public ShutdownOptions slowThreshold(Duration slowThreshold) {
+        return new ShutdownOptions(parallelism, executor, beanTimeout, timeout,
+            positive(slowThreshold, "Slow threshold"));
+    }
+
+    private static Duration positive(Duration duration, String name) {
+        Objects.requireNonNull(duration, name);
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException(name + " must be positive: " + duration);
+        }
+        return duration;
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    Executor getExecutor() {
+        return executor;
+    }
+
+    Duration getBeanTimeout() {
+        return beanTimeout;
+    }
+
+    Duration getTimeout() {
+        return timeout;
+    }
+
+    Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    /**
+     * Checks if callbacks can run one after another on the calling thread.
+     */
+    boolean isInline() {
+        return parallelism == 1 && executor == null && beanTimeout == null && timeout == null;
+    }
+}
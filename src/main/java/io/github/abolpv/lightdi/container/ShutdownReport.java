@@ -0,0 +1,176 @@
+package io.github.abolpv.lightdi.container;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of {@link Container#shutdown(ShutdownOptions)}: how each singleton with a
+ * {@literal @}PreDestroy callback was destroyed, and how long it took.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class ShutdownReport {
+
+    /**
+     * What happened to a bean during shutdown.
+     */
+    public enum Status {
+        /** The callback completed. */
+        DESTROYED,
+        /** The callback threw an exception. */
+        FAILED,
+        /** The callback overran the per-bean or the global deadline and was interrupted. */
+        TIMED_OUT,
+        /** The global deadline passed before the callback was started. */
+        SKIPPED
+    }
+
+    /**
+     * The shutdown of a single bean.
+     */
+    public static final class BeanShutdown {
+        private final Class<?> beanClass;
+        private final Status status;
+        private final Duration duration;
+        private final Throwable failure;
+        private final boolean slow;
+
+        BeanShutdown(Class<?> beanClass, Status status, Duration duration, Throwable failure, boolean slow) {
+            this.beanClass = beanClass;
+            this.status = status;
+            this.duration = duration;
+            this.failure = failure;
+            this.slow = slow;
+        }
+
+        public Class<?> getBeanClass() {
+            return beanClass;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * Gets the time the callback ran, up to the deadline for timed out beans.
+         *
+         * @return the duration, zero for skipped beans
+         */
+        public Duration getDuration() {
+            return duration;
+        }
+
+        /**
+         * Gets the exception thrown by the callback.
+         *
+         * @return the failure, or null unless the status is {@link Status#FAILED}
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * Checks if the callback took at least the configured slow threshold.
+         *
+         * @return true for slow and timed out beans
+         */
+        public boolean isSlow() {
+            return slow;
+        }
+
+        @Override
+        public String toString() {
+            return beanClass.getSimpleName() + "[" + status + ", " + duration.toMillis() + " ms]";
+        }
+    }
+
+    private final List<BeanShutdown> beans;
+    private final Duration duration;
+
+    ShutdownReport(List<BeanShutdown> beans, Duration duration) {
+        this.beans = Collections.unmodifiableList(new ArrayList<>(beans));
+        this.duration = duration;
+    }
+
+    static ShutdownReport empty() {
+        return new ShutdownReport(List.of(), Duration.ZERO);
+    }
+
+    /**
+     * Gets every bean with a destroy callback, in the order their shutdown finished.
+     *
+     * @return the bean shutdowns
+     */
+    public List<BeanShutdown> getBeans() {
+        return beans;
+    }
+
+    /**
+     * Gets the beans with the given status.
+     *
+     * @param status the status
+     * @return the matching bean shutdowns
+     */
+    public List<BeanShutdown> getBeans(Status status) {
+        List<BeanShutdown> result = new ArrayList<>();
+        for (BeanShutdown bean : beans) {
+            if (bean.status == status) {
+                result.add(bean);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the beans that took at least the slow threshold, including timed out ones.
+     *
+     * @return the slow bean shutdowns
+     */
+    public List<BeanShutdown> getSlowBeans() {
+        List<BeanShutdown> result = new ArrayList<>();
+        for (BeanShutdown bean : beans) {
+            if (bean.slow) {
+                result.add(bean);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the wall-clock time of the shutdown.
+     *
+     * @return the duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Checks if every bean was destroyed successfully within its deadline.
+     *
+     * @return true if no bean failed, timed out or was skipped
+     */
+    public boolean isComplete() {
+        for (BeanShutdown bean : beans) {
+            if (bean.status != Status.DESTROYED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "ShutdownReport{" +
+               "duration=" + duration.toMillis() + " ms" +
+               ", destroyed=" + getBeans(Status.DESTROYED).size() +
+               ", failed=" + getBeans(Status.FAILED) +
+               ", timedOut=" + getBeans(Status.TIMED_OUT) +
+               ", skipped=" + getBeans(Status.SKIPPED) +
+               ", slow=" + getSlowBeans() +
+               '}';
+    }
+}
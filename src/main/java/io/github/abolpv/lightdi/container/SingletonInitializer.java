@@ -0,0 +1,216 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.exception.ContainerException;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Creates the singletons of a dependency graph ahead of use, in parallel.
+ *
+ * <p>A bean is scheduled once all of its dependencies exist, so creating it never waits on
+ * another thread. Among the beans ready to run, the ones heading the longest chain of
+ * dependents go first, since they hold up the most remaining work. At most
+ * {@code parallelism} beans are created at a time.</p>
+ *
+ * <p>The first failure stops scheduling, interrupts the beans still being created and is
+ * rethrown once they have finished.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class SingletonInitializer {
+
+    private final DependencyGraph graph;
+    private final Consumer<BeanDefinition> creator;
+    private final Executor executor;
+    private final int parallelism;
+
+    private final boolean[] selected;
+    private final int[] pending;
+    private final PriorityQueue<Integer> ready;
+
+    // Guarded by this
+    private final Set<Thread> running = new HashSet<>();
+    private int remaining;
+    private int inFlight;
+    private boolean dispatching;
+    private Throwable failure;
+    private BeanDefinition failedDefinition;
+
+    /**
+     * @param graph the dependency graph of the container
+     * @param creator creates the singleton of a definition, or does nothing for other scopes
+     * @param executor runs the creation tasks
+     * @param parallelism the maximum number of beans created at a time
+     */
+    SingletonInitializer(DependencyGraph graph, Consumer<BeanDefinition> creator, Executor executor, int parallelism) {
+        this.graph = graph;
+        this.creator = creator;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.selected = new boolean[graph.size()];
+        this.pending = new int[graph.size()];
+
+        // Non-lazy singletons not yet created, and whatever they need to be created
+        select();
+        int[] order = graph.topologicalOrder(selected);
+        int[] priorities = graph.longestDependentPaths(order, selected);
+        this.ready = new PriorityQueue<>(Math.max(1, order.length),
+            Comparator.<Integer>comparingInt(node -> priorities[node]).reversed());
+        this.remaining = order.length;
+
+        for (int node : order) {
+            for (int dependency : graph.dependencies(node)) {
+                if (selected[dependency]) {
+                    pending[node]++;
+                }
+            }
+            if (pending[node] == 0) {
+                ready.add(node);
+            }
+        }
+    }
+
+    /**
+     * Selects the non-lazy singletons and every dependency they reach through beans without
+     * an instance, with an explicit stack rather than recursion so that deep graphs fit.
+     */
+    private void select() {
+        // Nodes are pushed once, when they are selected
+        int[] stack = new int[graph.size()];
+        int size = 0;
+        for (int node = 0; node < graph.size(); node++) {
+            BeanDefinition definition = graph.definition(node);
+            if (definition.isSingleton() && !definition.isLazy() && mark(node)) {
+                stack[size++] = node;
+            }
+            while (size > 0) {
+                for (int dependency : graph.dependencies(stack[--size])) {
+                    if (mark(dependency)) {
+                        stack[size++] = dependency;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean mark(int node) {
+        if (selected[node] || graph.definition(node).getSingletonSlot().instance() != null) {
+            return false;
+        }
+        selected[node] = true;
+        return true;
+    }
+
+    /**
+     * Creates the selected singletons and waits until they all exist.
+     *
+     * @throws ContainerException if a bean fails to be created or the calling thread is interrupted
+     */
+    synchronized void run() {
+        dispatch();
+        boolean interrupted = false;
+        while ((remaining > 0 && failure == null) || inFlight > 0) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                fail(null, new ContainerException("Interrupted while initializing singletons", e));
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof ContainerException && failedDefinition == null) {
+            throw (ContainerException) failure;
+        }
+        if (failure != null) {
+            throw new ContainerException(
+                "Failed to initialize singleton " + failedDefinition.getImplementationClass().getName(), failure
+            );
+        }
+    }
+
+    /**
+     * Submits ready beans while below the parallelism limit. An executor that runs tasks on
+     * the calling thread completes them inside this loop; the beans they make ready are then
+     * left to the loop instead of being dispatched recursively.
+     */
+    private void dispatch() {
+        if (dispatching) {
+            return;
+        }
+        dispatching = true;
+        try {
+            while (failure == null && inFlight < parallelism && !ready.isEmpty()) {
+                int node = ready.poll();
+                inFlight++;
+                try {
+                    executor.execute(() -> create(node));
+                } catch (RejectedExecutionException e) {
+                    inFlight--;
+                    fail(graph.definition(node), e);
+                }
+            }
+        } finally {
+            dispatching = false;
+        }
+    }
+
+    private void create(int node) {
+        BeanDefinition definition = graph.definition(node);
+        Thread current = Thread.currentThread();
+        synchronized (this) {
+            if (failure != null) {
+                // Cancelled before it could start
+                inFlight--;
+                notifyAll();
+                return;
+            }
+            running.add(current);
+        }
+        Throwable error = null;
+        try {
+            creator.accept(definition);
+        } catch (RuntimeException | Error e) {
+            error = e;
+        }
+        completed(current, node, error);
+    }
+
+    private synchronized void completed(Thread current, int node, Throwable error) {
+        running.remove(current);
+        // Do not leak a cancellation interrupt into the executor's next task
+        Thread.interrupted();
+        inFlight--;
+        if (error != null) {
+            fail(graph.definition(node), error);
+        } else {
+            remaining--;
+            for (int dependent : graph.dependents(node)) {
+                if (selected[dependent] && --pending[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+            dispatch();
+        }
+        notifyAll();
+    }
+
+    private void fail(BeanDefinition definition, Throwable error) {
+        if (failure == null) {
+            failure = error;
+            failedDefinition = definition;
+            ready.clear();
+            for (Thread thread : running) {
+                thread.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.exception.CircularDependencyException;
+import io.github.abolpv.lightdi.exception.ContainerException;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Holds the singleton instance of a bean definition together with its creation state.
+ *
+ * <p>The slot is either empty, holds the {@link Creation} of the thread currently
+ * creating the singleton, or holds the instance. Threads claim an empty slot with a
+ * compare-and-set, so no lock is held while the dependency graph of the bean is resolved:
+ * unrelated singletons are created concurrently, and a thread needing a singleton that is
+ * being created elsewhere waits for that bean only.</p>
+ *
+ * <p>Waiting threads are recorded in a wait-for map shared by the container. A thread that
+ * would wait, directly or through other waiting threads, on a singleton it is itself creating
+ * fails with a {@link CircularDependencyException} instead of deadlocking.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class SingletonSlot {
+
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(SingletonSlot.class, "state", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused") // accessed through STATE
+    private volatile Object state;
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the instance, or null if it has not been created yet or is being created
+     */
+    Object instance() {
+        Object current = STATE.getAcquire(this);
+        return current instanceof Creation ? null : current;
+    }
+
+    /**
+     * Gets the raw state: null, a {@link Creation} in progress, or the instance.
+     */
+    Object state() {
+        return STATE.getAcquire(this);
+    }
+
+    /**
+     * Claims the empty slot for creation by the current thread.
+     *
+     * @param beanClass the implementation class, used in deadlock reports
+     * @return the claimed creation, or null if another thread got there first
+     */
+    Creation begin(Class<?> beanClass) {
+        Creation creation = new Creation(beanClass, Thread.currentThread());
+        return STATE.compareAndSet(this, null, creation) ? creation : null;
+    }
+
+    /**
+     * Publishes the created instance and releases the waiting threads.
+     * If the slot was reset meanwhile, the instance is handed to the waiters only.
+     */
+    void complete(Creation creation, Object instance) {
+        creation.finish(instance, null);
+        STATE.compareAndSet(this, creation, instance);
+    }
+
+    /**
+     * Empties the slot after a failed creation and rethrows the failure in the waiting threads.
+     */
+    void fail(Creation creation, Throwable failure) {
+        creation.finish(null, failure);
+        STATE.compareAndSet(this, creation, null);
+    }
+
+    /**
+     * Stores an instance created outside of the container.
+     */
+    void set(Object instance) {
+        STATE.setRelease(this, instance);
+    }
+
+    /**
+     * Discards the instance. A creation in progress completes for its waiters but is not cached.
+     */
+    void reset() {
+        STATE.setRelease(this, null);
+    }
+
+    /**
+     * Creation of a singleton by one thread, awaited by the others.
+     */
+    static final class Creation {
+        private final Class<?> beanClass;
+        private final Thread owner;
+        private final CountDownLatch done = new CountDownLatch(1);
+        // Written before the latch is released, read after it
+        private Object result;
+        private Throwable failure;
+
+        private Creation(Class<?> beanClass, Thread owner) {
+            this.beanClass = beanClass;
+            this.owner = owner;
+        }
+
+        /**
+         * Checks if the creation runs in the current thread, meaning the bean depends on itself.
+         */
+        boolean isOwnedByCurrentThread() {
+            return owner == Thread.currentThread();
+        }
+
+        Class<?> getBeanClass() {
+            return beanClass;
+        }
+
+        private void finish(Object result, Throwable failure) {
+            this.result = result;
+            this.failure = failure;
+            done.countDown();
+        }
+
+        /**
+         * Waits for the creation to finish.
+         *
+         * @param waiting the container-wide map of threads to the creation they wait for
+         * @return the created instance
+         * @throws CircularDependencyException if waiting would deadlock
+         * @throws ContainerException if the creation failed; the creating thread's own
+         *         {@code ContainerException}s and errors are rethrown as they are, so that waiters
+         *         see the same exception type, with the wait added as a suppressed exception
+         */
+        Object await(Map<Thread, Creation> waiting) {
+            Thread current = Thread.currentThread();
+            waiting.put(current, this);
+            try {
+                // Both ends of a cycle register before checking, so the last one to register sees it
+                List<Class<?>> cycle = findCycle(waiting, current);
+                if (cycle != null) {
+                    throw new CircularDependencyException(cycle);
+                }
+                awaitUninterruptibly();
+            } finally {
+                waiting.remove(current);
+            }
+
+            if (failure != null) {
+                throw rethrow();
+            }
+            return result;
+        }
+
+        private RuntimeException rethrow() {
+            String message = "Failed to create singleton " + beanClass.getName() + " in thread " + owner.getName();
+            if (failure instanceof ContainerException || failure instanceof Error) {
+                failure.addSuppressed(new ContainerException(
+                    message + ", awaited by thread " + Thread.currentThread().getName()
+                ));
+                if (failure instanceof Error) {
+                    throw (Error) failure;
+                }
+                return (ContainerException) failure;
+            }
+            return new ContainerException(message, failure);
+        }
+
+        private void awaitUninterruptibly() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Follows the wait-for chain from this creation; returns the closed cycle of bean
+         * classes if it leads back to the current thread, starting with the bean that
+         * thread is creating, e.g. {@code [A, B, A]}.
+         */
+        private List<Class<?>> findCycle(Map<Thread, Creation> waiting, Thread current) {
+            List<Class<?>> chain = new ArrayList<>();
+            Creation next = this;
+            while (next != null && chain.size() <= waiting.size()) {
+                chain.add(next.beanClass);
+                if (next.owner == current) {
+                    List<Class<?>> cycle = new ArrayList<>();
+                    cycle.add(chain.get(chain.size() - 1));
+                    cycle.addAll(chain.subList(0, chain.size() - 1));
+                    cycle.add(cycle.get(0));
+                    return cycle;
+                }
+                next = waiting.get(next.owner);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,522 @@
+package io.github.abolpv.lightdi.container;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Outcome of {@link Container#stopProfiling()}: every bean created while profiling, with
+ * its creation time and the dependencies it created, and the critical path of startup.
+ *
+ * <p>A bean's inclusive time runs from the start of its creation until its
+ * {@literal @}PostConstruct callback returned, so it contains the dependencies created for it
+ * and the time spent waiting for singletons that other threads were creating; its exclusive
+ * time is what remains after subtracting both. Dependencies on singletons that already existed
+ * cost nothing and are listed separately.</p>
+ *
+ * <p>The creations form a graph whose edges lead to the dependencies created for a bean and
+ * to the singletons it waited for, so creations made in parallel by several threads are
+ * connected. The critical path is the heaviest chain of that graph, where each bean weighs its
+ * exclusive time plus any wait for a singleton whose creation was not profiled. Its beans are
+ * the ones whose creation decides how long startup takes: making one of them {@literal @}Lazy,
+ * or moving its {@literal @}PostConstruct work off the startup thread, shortens startup
+ * directly.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class StartupProfile {
+
+    /**
+     * The creation of a single bean.
+     */
+    public static final class BeanCreation {
+        private final int id;
+        private final Class<?> beanClass;
+        private final Scope scope;
+        private final String thread;
+        private final Duration start;
+        private final Duration inclusiveTime;
+        private final Duration exclusiveTime;
+        private final Duration postConstructTime;
+        private final Duration waitTime;
+        private final List<BeanCreation> dependencies = new ArrayList<>();
+        private final List<BeanCreation> awaitedDependencies = new ArrayList<>();
+        private final List<Class<?>> existingDependencies;
+        // Waits for singletons created outside the profile, which count towards the critical path
+        private long unprofiledWait;
+
+        BeanCreation(int id, StartupProfiler.Node node, long origin) {
+            long childTime = 0;
+            for (StartupProfiler.Node child : node.children) {
+                childTime += child.end - child.start;
+            }
+            long waitTime = 0;
+            if (node.waits != null) {
+                for (StartupProfiler.Wait wait : node.waits) {
+                    waitTime += wait.nanos;
+                }
+            }
+            List<Class<?>> existing = new ArrayList<>();
+            if (node.references != null) {
+                for (BeanDefinition reference : node.references) {
+                    if (!existing.contains(reference.getImplementationClass())) {
+                        existing.add(reference.getImplementationClass());
+                    }
+                }
+            }
+            this.id = id;
+            this.beanClass = node.definition.getImplementationClass();
+            this.scope = node.definition.getScope();
+            this.thread = node.thread;
+            this.start = Duration.ofNanos(Math.max(0, node.start - origin));
+            this.inclusiveTime = Duration.ofNanos(node.end - node.start);
+            this.exclusiveTime = Duration.ofNanos(Math.max(0, node.end - node.start - childTime - waitTime));
+            this.postConstructTime = Duration.ofNanos(node.postConstruct);
+            this.waitTime = Duration.ofNanos(waitTime);
+            this.existingDependencies = Collections.unmodifiableList(existing);
+        }
+
+        /**
+         * Gets the position of this creation in {@link StartupProfile#getCreations()}.
+         *
+         * @return the index
+         */
+        public int getId() {
+            return id;
+        }
+
+        public Class<?> getBeanClass() {
+            return beanClass;
+        }
+
+        public Scope getScope() {
+            return scope;
+        }
+
+        /**
+         * Gets the name of the thread that created the bean.
+         *
+         * @return the thread name
+         */
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * Gets when the creation started, relative to the start of profiling.
+         *
+         * @return the offset
+         */
+        public Duration getStart() {
+            return start;
+        }
+
+        /**
+         * Gets the creation time of the bean, including the dependencies created for it.
+         *
+         * @return the inclusive time
+         */
+        public Duration getInclusiveTime() {
+            return inclusiveTime;
+        }
+
+        /**
+         * Gets the creation time of the bean itself, without the dependencies created for it
+         * and the time spent waiting for other threads.
+         *
+         * @return the exclusive time
+         */
+        public Duration getExclusiveTime() {
+            return exclusiveTime;
+        }
+
+        /**
+         * Gets the time spent in the {@literal @}PostConstruct callback.
+         *
+         * @return the callback time, zero for beans without one or created by a generated factory
+         */
+        public Duration getPostConstructTime() {
+            return postConstructTime;
+        }
+
+        /**
+         * Gets the time spent waiting for singletons that other threads were creating.
+         *
+         * @return the wait time, zero if the bean did not wait
+         */
+        public Duration getWaitTime() {
+            return waitTime;
+        }
+
+        /**
+         * Gets the dependencies created for this bean, in creation order.
+         *
+         * @return the nested creations
+         */
+        public List<BeanCreation> getDependencies() {
+            return Collections.unmodifiableList(dependencies);
+        }
+
+        /**
+         * Gets the profiled creations of singletons that this bean waited for while another
+         * thread created them.
+         *
+         * @return the awaited creations
+         */
+        public List<BeanCreation> getAwaitedDependencies() {
+            return Collections.unmodifiableList(awaitedDependencies);
+        }
+
+        /**
+         * Gets the singletons this bean depends on that already existed.
+         *
+         * @return the implementation classes of the singletons
+         */
+        public List<Class<?>> getExistingDependencies() {
+            return existingDependencies;
+        }
+
+        @Override
+        public String toString() {
+            return beanClass.getSimpleName() + "[" + millis(inclusiveTime.toNanos()) +
+                   ", own " + millis(exclusiveTime.toNanos()) + "]";
+        }
+    }
+
+    private final List<BeanCreation> creations;
+    private final List<BeanCreation> roots;
+    private final List<BeanCreation> criticalPath;
+    private final Duration wallClockTime;
+
+    private StartupProfile(List<BeanCreation> creations, List<BeanCreation> roots,
+                           List<BeanCreation> criticalPath, Duration wallClockTime) {
+        this.creations = Collections.unmodifiableList(creations);
+        this.roots = Collections.unmodifiableList(roots);
+        this.criticalPath = Collections.unmodifiableList(criticalPath);
+        this.wallClockTime = wallClockTime;
+    }
+
+    /**
+     * Builds a profile from the closed root nodes of a profiler. The trees are walked
+     * with an explicit stack, as deep graphs may be created by iterative resolution.
+     */
+    static StartupProfile of(List<StartupProfiler.Node> rootNodes, long origin) {
+        Comparator<StartupProfiler.Node> byStart = Comparator.comparingLong(node -> node.start);
+        rootNodes.sort(byStart);
+
+        List<BeanCreation> creations = new ArrayList<>();
+        List<BeanCreation> roots = new ArrayList<>();
+        Map<StartupProfiler.Node, BeanCreation> created = new IdentityHashMap<>();
+        Map<BeanDefinition, BeanCreation> singletons = new IdentityHashMap<>();
+        Deque<StartupProfiler.Node> stack = new ArrayDeque<>();
+        for (int i = rootNodes.size() - 1; i >= 0; i--) {
+            stack.push(rootNodes.get(i));
+        }
+        while (!stack.isEmpty()) {
+            StartupProfiler.Node node = stack.pop();
+            BeanCreation creation = new BeanCreation(creations.size(), node, origin);
+            creations.add(creation);
+            created.put(node, creation);
+            if (node.definition.getScope() == Scope.SINGLETON) {
+                singletons.putIfAbsent(node.definition, creation);
+            }
+            if (node.parent == null) {
+                roots.add(creation);
+            } else {
+                created.get(node.parent).dependencies.add(creation);
+            }
+            List<StartupProfiler.Node> children = new ArrayList<>(node.children);
+            children.sort(byStart);
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+
+        // Link the waits across threads once every creation is known
+        for (Map.Entry<StartupProfiler.Node, BeanCreation> entry : created.entrySet()) {
+            if (entry.getKey().waits == null) {
+                continue;
+            }
+            BeanCreation creation = entry.getValue();
+            for (StartupProfiler.Wait wait : entry.getKey().waits) {
+                BeanCreation awaited = singletons.get(wait.definition);
+                if (awaited == null) {
+                    creation.unprofiledWait += wait.nanos;
+                } else if (!creation.awaitedDependencies.contains(awaited)) {
+                    creation.awaitedDependencies.add(awaited);
+                }
+            }
+        }
+
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (StartupProfiler.Node node : rootNodes) {
+            first = Math.min(first, node.start);
+            last = Math.max(last, node.end);
+        }
+        Duration wallClockTime = rootNodes.isEmpty() ? Duration.ZERO : Duration.ofNanos(last - first);
+        return new StartupProfile(creations, roots, criticalPath(creations, roots), wallClockTime);
+    }
+
+    /**
+     * Finds the heaviest chain of the creation graph. Each creation's cost is its own weight
+     * plus the highest cost among its created and awaited dependencies, computed after theirs
+     * in a depth-first walk with an explicit stack.
+     */
+    private static List<BeanCreation> criticalPath(List<BeanCreation> creations, List<BeanCreation> roots) {
+        int size = creations.size();
+        long[] cost = new long[size];
+        BeanCreation[] next = new BeanCreation[size];
+        int[] cursor = new int[size];
+        boolean[] entered = new boolean[size];
+        boolean[] finished = new boolean[size];
+        Deque<BeanCreation> stack = new ArrayDeque<>();
+        for (BeanCreation root : roots) {
+            if (entered[root.id]) {
+                continue;
+            }
+            entered[root.id] = true;
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                BeanCreation creation = stack.peek();
+                BeanCreation target = successor(creation, cursor[creation.id]);
+                if (target != null) {
+                    cursor[creation.id]++;
+                    if (!entered[target.id]) {
+                        entered[target.id] = true;
+                        stack.push(target);
+                    }
+                    continue;
+                }
+                stack.pop();
+                BeanCreation heaviest = null;
+                for (int i = 0; (target = successor(creation, i)) != null; i++) {
+                    // Unfinished targets are still on the stack, which only a cycle allows
+                    if (finished[target.id] && (heaviest == null || cost[target.id] > cost[heaviest.id])) {
+                        heaviest = target;
+                    }
+                }
+                cost[creation.id] = creation.exclusiveTime.toNanos() + creation.unprofiledWait
+                    + (heaviest != null ? cost[heaviest.id] : 0);
+                next[creation.id] = heaviest;
+                finished[creation.id] = true;
+            }
+        }
+
+        BeanCreation start = null;
+        for (BeanCreation root : roots) {
+            if (start == null || cost[root.id] > cost[start.id]) {
+                start = root;
+            }
+        }
+        List<BeanCreation> path = new ArrayList<>();
+        for (BeanCreation creation = start; creation != null; creation = next[creation.id]) {
+            path.add(creation);
+        }
+        return path;
+    }
+
+    private static BeanCreation successor(BeanCreation creation, int index) {
+        int created = creation.dependencies.size();
+        if (index < created) {
+            return creation.dependencies.get(index);
+        }
+        index -= created;
+        return index < creation.awaitedDependencies.size() ? creation.awaitedDependencies.get(index) : null;
+    }
+
+    /**
+     * Gets every profiled creation in the order creations started, each followed by the
+     * dependencies created for it.
+     *
+     * @return the creations
+     */
+    public List<BeanCreation> getCreations() {
+        return creations;
+    }
+
+    /**
+     * Gets the creations that were not made for another profiled bean, such as those started
+     * by {@code get()}, eager singleton initialization or a lazy proxy.
+     *
+     * @return the top-level creations
+     */
+    public List<BeanCreation> getRoots() {
+        return roots;
+    }
+
+    /**
+     * Gets the chain of created and awaited dependencies that took longest, outermost first.
+     *
+     * @return the critical path, empty if nothing was created
+     */
+    public List<BeanCreation> getCriticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * Gets the time from the start of the first profiled creation to the end of the last.
+     *
+     * @return the wall-clock time
+     */
+    public Duration getWallClockTime() {
+        return wallClockTime;
+    }
+
+    // ==================== Export ====================
+
+    /**
+     * Formats the profile as JSON: the wall-clock time, every creation with its times in
+     * nanoseconds and the ids of its created and awaited dependencies, and the ids of the roots
+     * and the critical path.
+     *
+     * @return the JSON document
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"wallClockNanos\": ").append(wallClockTime.toNanos()).append(",\n");
+        json.append("  \"creations\": [");
+        for (int i = 0; i < creations.size(); i++) {
+            BeanCreation creation = creations.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {\"id\": ").append(creation.id)
+                .append(", \"class\": ").append(jsonString(creation.beanClass.getName()))
+                .append(", \"scope\": ").append(jsonString(creation.scope.name()))
+                .append(", \"thread\": ").append(jsonString(creation.thread))
+                .append(", \"startNanos\": ").append(creation.start.toNanos())
+                .append(", \"inclusiveNanos\": ").append(creation.inclusiveTime.toNanos())
+                .append(", \"exclusiveNanos\": ").append(creation.exclusiveTime.toNanos())
+                .append(", \"postConstructNanos\": ").append(creation.postConstructTime.toNanos())
+                .append(", \"waitNanos\": ").append(creation.waitTime.toNanos())
+                .append(", \"dependencies\": ").append(ids(creation.dependencies))
+                .append(", \"awaitedDependencies\": ").append(ids(creation.awaitedDependencies))
+                .append(", \"existingDependencies\": [");
+            for (int j = 0; j < creation.existingDependencies.size(); j++) {
+                json.append(j == 0 ? "" : ", ").append(jsonString(creation.existingDependencies.get(j).getName()));
+            }
+            json.append("]}");
+        }
+        json.append(creations.isEmpty() ? "],\n" : "\n  ],\n");
+        json.append("  \"roots\": ").append(ids(roots)).append(",\n");
+        json.append("  \"criticalPath\": ").append(ids(criticalPath)).append("\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Formats the profile as a Graphviz graph with one node per bean class, labelled with the
+     * number of creations and their summed inclusive, exclusive and {@literal @}PostConstruct
+     * times. Dashed edges lead to singletons that already existed, dotted edges to singletons
+     * awaited from another thread; the critical path is red.
+     *
+     * @return the graph in DOT format
+     */
+    public String toDot() {
+        Map<Class<?>, long[]> totals = new LinkedHashMap<>();
+        Map<String, String> edges = new LinkedHashMap<>();
+        for (BeanCreation creation : creations) {
+            long[] total = totals.computeIfAbsent(creation.beanClass, key -> new long[4]);
+            total[0]++;
+            total[1] += creation.inclusiveTime.toNanos();
+            total[2] += creation.exclusiveTime.toNanos();
+            total[3] += creation.postConstructTime.toNanos();
+            for (Class<?> existing : creation.existingDependencies) {
+                edges.putIfAbsent(edge(creation.beanClass, existing), "style=dashed");
+            }
+            for (BeanCreation awaited : creation.awaitedDependencies) {
+                edges.putIfAbsent(edge(creation.beanClass, awaited.beanClass), "style=dotted");
+            }
+            for (BeanCreation dependency : creation.dependencies) {
+                edges.put(edge(creation.beanClass, dependency.beanClass), "");
+            }
+        }
+        for (int i = 1; i < criticalPath.size(); i++) {
+            edges.put(edge(criticalPath.get(i - 1).beanClass, criticalPath.get(i).beanClass),
+                "color=red, penwidth=2");
+        }
+
+        StringBuilder dot = new StringBuilder("digraph startup {\n");
+        dot.append("  rankdir=LR;\n  node [shape=box, fontname=\"Helvetica\"];\n");
+        for (Map.Entry<Class<?>, long[]> entry : totals.entrySet()) {
+            long[] total = entry.getValue();
+            String label = entry.getKey().getSimpleName() + "\\n" + total[0] + " created, " + millis(total[1]) +
+                           "\\nown " + millis(total[2]) +
+                           (total[3] > 0 ? "\\n@PostConstruct " + millis(total[3]) : "");
+            dot.append("  ").append(dotString(entry.getKey().getName()))
+                .append(" [label=\"").append(label).append('"');
+            if (isCritical(entry.getKey())) {
+                dot.append(", color=red, penwidth=2");
+            }
+            dot.append("];\n");
+        }
+        for (Map.Entry<String, String> edge : edges.entrySet()) {
+            dot.append("  ").append(edge.getKey());
+            if (!edge.getValue().isEmpty()) {
+                dot.append(" [").append(edge.getValue()).append(']');
+            }
+            dot.append(";\n");
+        }
+        return dot.append("}\n").toString();
+    }
+
+    private boolean isCritical(Class<?> beanClass) {
+        for (BeanCreation creation : criticalPath) {
+            if (creation.beanClass == beanClass) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String edge(Class<?> from, Class<?> to) {
+        return dotString(from.getName()) + " -> " + dotString(to.getName());
+    }
+
+    private static String dotString(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    private static String ids(List<BeanCreation> creations) {
+        StringBuilder ids = new StringBuilder("[");
+        for (int i = 0; i < creations.size(); i++) {
+            ids.append(i == 0 ? "" : ", ").append(creations.get(i).id);
+        }
+        return ids.append(']').toString();
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder json = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f ms", nanos / 1_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return "StartupProfile{" +
+               "wallClock=" + millis(wallClockTime.toNanos()) +
+               ", creations=" + creations.size() +
+               ", criticalPath=" + criticalPath +
+               '}';
+    }
+}
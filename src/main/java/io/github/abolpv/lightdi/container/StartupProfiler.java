@@ -0,0 +1,155 @@
+package io.github.abolpv.lightdi.container;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records the beans created while profiling is on, as trees following the resolution path.
+ *
+ * <p>Each creation is a {@link Node} opened before its dependencies are resolved and closed
+ * once the bean is initialized, so the dependencies it creates become its children. The
+ * innermost open node is kept on the {@link ResolutionPath.Profiled} path, which confines an
+ * unfinished tree to the thread resolving it; a tree is only shared once its root is closed.
+ * Beans created on a path started before profiling have no parent.</p>
+ *
+ * <p>A bean that waits for a singleton being created by another thread records the wait
+ * against that singleton, which links the trees of different threads into one graph.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class StartupProfiler {
+
+    private final long origin = System.nanoTime();
+    private final Queue<Node> roots = new ConcurrentLinkedQueue<>();
+
+    /**
+     * A bean under creation, or created while profiling.
+     */
+    static final class Node {
+        final BeanDefinition definition;
+        Node parent;
+        final String thread;
+        final long start;
+        long end;
+        long postConstruct;
+        final List<Node> children = new ArrayList<>(2);
+        List<BeanDefinition> references;
+        List<Wait> waits;
+
+        private Node(BeanDefinition definition, Node parent) {
+            this.definition = definition;
+            this.parent = parent;
+            this.thread = Thread.currentThread().getName();
+            this.start = System.nanoTime();
+        }
+
+        /**
+         * Records the time spent in the {@literal @}PostConstruct callback.
+         */
+        void postConstructed(long nanos) {
+            postConstruct = nanos;
+        }
+
+        /**
+         * Marks the bean as created; nodes closed without it are discarded.
+         */
+        void created() {
+            end = System.nanoTime();
+        }
+    }
+
+    /**
+     * A wait for a singleton that another thread was creating.
+     */
+    static final class Wait {
+        final BeanDefinition definition;
+        final long nanos;
+
+        private Wait(BeanDefinition definition, long nanos) {
+            this.definition = definition;
+            this.nanos = nanos;
+        }
+    }
+
+    /**
+     * Opens the node of a bean whose creation starts on the given path.
+     *
+     * @param definition the bean being created
+     * @param path the path of the creation, which then points to the new node
+     * @return the node to close with {@link #exit(Node, ResolutionPath)}
+     */
+    Node enter(BeanDefinition definition, ResolutionPath path) {
+        Node node = new Node(definition, innermost(path));
+        if (path instanceof ResolutionPath.Profiled) {
+            ((ResolutionPath.Profiled) path).node = node;
+        }
+        return node;
+    }
+
+    /**
+     * Closes a node, attaching it to its parent or publishing it as a root if the bean
+     * was {@linkplain Node#created() created}. If creation failed, the node is discarded
+     * but the dependencies it created, such as singletons, move up in its place.
+     */
+    void exit(Node node, ResolutionPath path) {
+        if (path instanceof ResolutionPath.Profiled) {
+            ((ResolutionPath.Profiled) path).node = node.parent;
+        }
+        if (node.end != 0) {
+            attach(node);
+            return;
+        }
+        for (Node child : node.children) {
+            child.parent = node.parent;
+            attach(child);
+        }
+    }
+
+    private void attach(Node node) {
+        if (node.parent != null) {
+            node.parent.children.add(node);
+        } else {
+            roots.add(node);
+        }
+    }
+
+    /**
+     * Records that the bean being created on the path uses an existing singleton.
+     */
+    void reference(BeanDefinition definition, ResolutionPath path) {
+        Node node = innermost(path);
+        if (node != null) {
+            if (node.references == null) {
+                node.references = new ArrayList<>(2);
+            }
+            node.references.add(definition);
+        }
+    }
+
+    /**
+     * Records that the bean being created on the path waited for another thread to create a singleton.
+     */
+    void await(BeanDefinition definition, long nanos, ResolutionPath path) {
+        Node node = innermost(path);
+        if (node != null) {
+            if (node.waits == null) {
+                node.waits = new ArrayList<>(1);
+            }
+            node.waits.add(new Wait(definition, nanos));
+        }
+    }
+
+    private static Node innermost(ResolutionPath path) {
+        return path instanceof ResolutionPath.Profiled ? ((ResolutionPath.Profiled) path).node : null;
+    }
+
+    /**
+     * Builds the profile of the creations finished so far.
+     */
+    StartupProfile snapshot() {
+        return StartupProfile.of(new ArrayList<>(roots), origin);
+    }
+}
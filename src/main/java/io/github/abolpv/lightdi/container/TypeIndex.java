@@ -0,0 +1,83 @@
+package io.github.abolpv.lightdi.container;
+
+import io.github.abolpv.lightdi.util.ReflectionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps every type to the registered beans assignable to it: the implementation class itself,
+ * its superclasses and all its interfaces, including the ones those interfaces extend.
+ * The container keeps a second index keyed by the annotation types present on each bean class.
+ *
+ * <p>A bean is identified by its implementation class and name, so registering the same
+ * implementation again replaces the earlier definition in place instead of listing it twice,
+ * mirroring how registration replaces the registry entry of the implementation class.
+ * Each type's beans are kept in registration order in an immutable list that is replaced
+ * on registration, so lookups never lock or scan the whole registry.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class TypeIndex {
+
+    private final Map<Class<?>, List<BeanDefinition>> beans = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes a bean under all types it can be assigned to.
+     *
+     * @param definition the bean definition
+     */
+    void add(BeanDefinition definition) {
+        for (Class<?> type : ReflectionUtils.getAllSupertypes(definition.getImplementationClass())) {
+            add(type, definition);
+        }
+    }
+
+    /**
+     * Indexes a bean under a single key.
+     *
+     * @param key the type or annotation type
+     * @param definition the bean definition
+     */
+    void add(Class<?> key, BeanDefinition definition) {
+        beans.compute(key, (k, existing) -> {
+            List<BeanDefinition> updated = existing != null ? new ArrayList<>(existing) : new ArrayList<>();
+            int index = indexOf(updated, definition);
+            if (index >= 0) {
+                updated.set(index, definition);
+            } else {
+                updated.add(definition);
+            }
+            return List.copyOf(updated);
+        });
+    }
+
+    /**
+     * Gets the beans indexed under a type, in registration order.
+     *
+     * @param type the type or annotation type
+     * @return the bean definitions, empty if there are none
+     */
+    List<BeanDefinition> get(Class<?> type) {
+        return beans.getOrDefault(type, List.of());
+    }
+
+    void clear() {
+        beans.clear();
+    }
+
+    private static int indexOf(List<BeanDefinition> definitions, BeanDefinition definition) {
+        for (int i = 0; i < definitions.size(); i++) {
+            BeanDefinition existing = definitions.get(i);
+            if (existing.getImplementationClass() == definition.getImplementationClass()
+                && Objects.equals(existing.getName(), definition.getName())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
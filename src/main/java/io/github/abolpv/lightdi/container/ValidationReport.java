@@ -0,0 +1,130 @@
+package io.github.abolpv.lightdi.container;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of {@link Container#validate()}: every dependency problem found in the
+ * registered beans, collected in one pass instead of failing on the first.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class ValidationReport {
+
+    /**
+     * The kind of a dependency problem.
+     */
+    public enum Kind {
+        /** An injection point requires a type or name that is not registered. */
+        MISSING,
+        /** An unqualified injection point matches several beans and none is {@literal @}Primary. */
+        AMBIGUOUS,
+        /** Beans depend on each other in a cycle. */
+        CIRCULAR,
+        /** A bean has no usable constructor or injection point. */
+        INVALID
+    }
+
+    /**
+     * A single dependency problem.
+     */
+    public static final class Problem {
+        private final Kind kind;
+        private final Class<?> beanClass;
+        private final String message;
+        private final List<Class<?>> cycle;
+
+        Problem(Kind kind, Class<?> beanClass, String message, List<Class<?>> cycle) {
+            this.kind = kind;
+            this.beanClass = beanClass;
+            this.message = message;
+            this.cycle = Collections.unmodifiableList(new ArrayList<>(cycle));
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Gets the bean whose dependencies cannot be satisfied; for cycles, the first bean of the cycle.
+         *
+         * @return the bean class
+         */
+        public Class<?> getBeanClass() {
+            return beanClass;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * Gets the beans forming the cycle, closed, e.g. {@code [A, B, A]}.
+         *
+         * @return the cycle, empty unless the kind is {@link Kind#CIRCULAR}
+         */
+        public List<Class<?>> getCycle() {
+            return cycle;
+        }
+
+        @Override
+        public String toString() {
+            return kind + ": " + message;
+        }
+    }
+
+    private final List<Problem> problems;
+
+    ValidationReport(List<Problem> problems) {
+        this.problems = Collections.unmodifiableList(new ArrayList<>(problems));
+    }
+
+    /**
+     * Checks if the dependency graph has no problems.
+     *
+     * @return true if every dependency resolves to exactly one bean and there are no cycles
+     */
+    public boolean isValid() {
+        return problems.isEmpty();
+    }
+
+    /**
+     * Gets all problems: those of each bean, ordered by class name, then the cycles.
+     *
+     * @return the problems, empty if the graph is valid
+     */
+    public List<Problem> getProblems() {
+        return problems;
+    }
+
+    /**
+     * Gets the problems of the given kind.
+     *
+     * @param kind the kind
+     * @return the matching problems
+     */
+    public List<Problem> getProblems(Kind kind) {
+        List<Problem> result = new ArrayList<>();
+        for (Problem problem : problems) {
+            if (problem.kind == kind) {
+                result.add(problem);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        if (problems.isEmpty()) {
+            return "Dependency graph is valid";
+        }
+        StringBuilder sb = new StringBuilder("Dependency graph has ")
+            .append(problems.size()).append(" problem(s):");
+        for (Problem problem : problems) {
+            sb.append(System.lineSeparator()).append("  - ").append(problem);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.abolpv.lightdi.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event for the creation of a bean by the container.
+ *
+ * <p>The event spans the whole creation, including the dependencies the bean creates, which
+ * are recorded as events of their own one level deeper. The phase timings split the span:
+ * the constructor phase includes resolving the constructor parameters, the injection phase
+ * includes resolving fields and method parameters, and the {@literal @}PostConstruct phase is
+ * the callback alone. Beans created by a generated factory are recorded without phases.</p>
+ *
+ * <p>Like all LightDI events this event is disabled unless a recording enables it. Example:</p>
+ * <pre>
+ * try (RecordingStream stream = new RecordingStream()) {
+ *     stream.enable(BeanCreationEvent.NAME).withThreshold(Duration.ofMillis(10));
+ *     stream.onEvent(BeanCreationEvent.NAME, event -&gt;
+ *         log.warn("Slow bean {}", event.getClass("beanClass").getName()));
+ *     stream.startAsync();
+ * }
+ * </pre>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@Name(BeanCreationEvent.NAME)
+@Label("Bean Creation")
+@Category({"LightDI", "Container"})
+@Description("Creation of a bean, including the dependencies it creates")
+@StackTrace(false)
+public final class BeanCreationEvent extends Event {
+
+    /**
+     * Name of the event type.
+     */
+    public static final String NAME = "io.github.abolpv.lightdi.BeanCreation";
+
+    private static final BeanCreationEvent PROBE = new BeanCreationEvent();
+
+    @Label("Bean Class")
+    private Class<?> beanClass;
+
+    @Label("Scope")
+    private String scope;
+
+    @Label("Depth")
+    @Description("Number of beans being created further up the call stack")
+    private int depth;
+
+    @Label("Constructor")
+    @Timespan
+    private long constructorTime;
+
+    @Label("Injection")
+    @Timespan
+    private long injectionTime;
+
+    @Label("Post Construct")
+    @Timespan
+    private long postConstructTime;
+
+    private transient long mark;
+
+    /**
+     * Checks if a recording enables the event, without creating one. For callers that would
+     * keep the event in a heap object, where creating it is not free while it is disabled.
+     *
+     * @return true if the event is enabled
+     */
+    public static boolean isRecorded() {
+        return PROBE.isEnabled();
+    }
+
+    /**
+     * Starts the event and its constructor phase.
+     */
+    public void start() {
+        begin();
+        if (isEnabled()) {
+            mark = System.nanoTime();
+        }
+    }
+
+    /**
+     * Ends the constructor phase once the instance exists.
+     */
+    public void constructed() {
+        if (isEnabled()) {
+            long now = System.nanoTime();
+            constructorTime = now - mark;
+            mark = now;
+        }
+    }
+
+    /**
+     * Ends the injection phase once fields and methods are injected.
+     */
+    public void injected() {
+        if (isEnabled()) {
+            long now = System.nanoTime();
+            injectionTime = now - mark;
+            mark = now;
+        }
+    }
+
+    /**
+     * Ends the {@literal @}PostConstruct phase.
+     */
+    public void initialized() {
+        if (isEnabled()) {
+            postConstructTime = System.nanoTime() - mark;
+        }
+    }
+
+    /**
+     * Commits the event if it is enabled and passes its threshold.
+     *
+     * @param beanClass the implementation class of the bean
+     * @param scope the scope of the bean
+     * @param depth the number of beans being created further up the call stack
+     */
+    public void complete(Class<?> beanClass, String scope, int depth) {
+        end();
+        if (shouldCommit()) {
+            this.beanClass = beanClass;
+            this.scope = scope;
+            this.depth = depth;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.abolpv.lightdi.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for the first call on a lazy proxy, which creates its target.
+ * The stack trace shows the call that triggered the creation.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@Name(LazyInitializationEvent.NAME)
+@Label("Lazy Proxy Initialization")
+@Category({"LightDI", "Container"})
+@Description("Creation of the target of a lazy proxy on its first call")
+@StackTrace(true)
+public final class LazyInitializationEvent extends Event {
+
+    /**
+     * Name of the event type.
+     */
+    public static final String NAME = "io.github.abolpv.lightdi.LazyInitialization";
+
+    @Label("Proxied Type")
+    @Description("The type the proxy implements or extends; missing for JDK proxies")
+    private Class<?> proxiedType;
+
+    @Label("Target Class")
+    private Class<?> targetClass;
+
+    /**
+     * Commits the event if it is enabled and passes its threshold.
+     *
+     * @param proxiedType the proxied type, or null if unknown
+     * @param targetClass the class of the created target
+     */
+    public void complete(Class<?> proxiedType, Class<?> targetClass) {
+        end();
+        if (shouldCommit()) {
+            this.proxiedType = proxiedType;
+            this.targetClass = targetClass;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.abolpv.lightdi.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for the {@literal @}PreDestroy callback of a singleton.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@Name(PreDestroyEvent.NAME)
+@Label("Pre Destroy")
+@Category({"LightDI", "Lifecycle"})
+@Description("The @PreDestroy callback of a singleton during shutdown")
+@StackTrace(false)
+public final class PreDestroyEvent extends Event {
+
+    /**
+     * Name of the event type.
+     */
+    public static final String NAME = "io.github.abolpv.lightdi.PreDestroy";
+
+    @Label("Bean Class")
+    private Class<?> beanClass;
+
+    @Label("Failed")
+    @Description("Whether the callback threw")
+    private boolean failed;
+
+    /**
+     * Commits the event if it is enabled and passes its threshold.
+     *
+     * @param beanClass the implementation class of the bean
+     * @param failed whether the callback threw
+     */
+    public void complete(Class<?> beanClass, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.beanClass = beanClass;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.abolpv.lightdi.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for the registration of a bean, from checking the class to
+ * indexing its definition. Classes registered by scanning are recorded inside the
+ * {@link ScanRootEvent} of the root they were found in.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@Name(RegistrationEvent.NAME)
+@Label("Bean Registration")
+@Category({"LightDI", "Container"})
+@Description("Registration of a bean in a container")
+@StackTrace(false)
+public final class RegistrationEvent extends Event {
+
+    /**
+     * Name of the event type.
+     */
+    public static final String NAME = "io.github.abolpv.lightdi.Registration";
+
+    @Label("Registered Type")
+    @Description("The type the bean is registered under")
+    private Class<?> registeredType;
+
+    @Label("Bean Class")
+    private Class<?> beanClass;
+
+    @Label("Scope")
+    private String scope;
+
+    @Label("Name")
+    private String beanName;
+
+    /**
+     * Commits the event if it is enabled and passes its threshold.
+     *
+     * @param registeredType the type the bean is registered under
+     * @param beanClass the implementation class of the bean
+     * @param scope the scope of the bean
+     * @param beanName the qualifier name, or null
+     */
+    public void complete(Class<?> registeredType, Class<?> beanClass, String scope, String beanName) {
+        end();
+        if (shouldCommit()) {
+            this.registeredType = registeredType;
+            this.beanClass = beanClass;
+            this.scope = scope;
+            this.beanName = beanName;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.abolpv.lightdi.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for scanning one classpath root or module for a package.
+ *
+ * <p>The source tells how the root was read: {@code index} for a compile-time bean index,
+ * {@code cache} for a scan cache hit, or {@code directory}, {@code jar}, {@code jrt} and
+ * {@code module}. Classes found are registered while the root is scanned, unless the scan
+ * runs in parallel, so the event includes their registration.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+@Name(ScanRootEvent.NAME)
+@Label("Scan Root")
+@Category({"LightDI", "Scanning"})
+@Description("Scan of a package in one classpath root or module")
+@StackTrace(false)
+public final class ScanRootEvent extends Event {
+
+    /**
+     * Name of the event type.
+     */
+    public static final String NAME = "io.github.abolpv.lightdi.ScanRoot";
+
+    @Label("Root")
+    private String root;
+
+    @Label("Package")
+    private String packageName;
+
+    @Label("Source")
+    private String source;
+
+    /**
+     * Commits the event if it is enabled and passes its threshold.
+     *
+     * @param root the location of the root
+     * @param packageName the package scanned
+     * @param source how the root was read
+     */
+    public void complete(String root, String packageName, String source) {
+        end();
+        if (shouldCommit()) {
+            this.root = root;
+            this.packageName = packageName;
+            this.source = source;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.abolpv.lightdi.provider;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A dependency that is created on first use and then reused.
+ *
+ * <p>Inject a {@code Lazy<T>} instead of {@code T} to defer creating the dependency until
+ * {@link #get()} is first called. Unlike {@literal @}{@link io.github.abolpv.lightdi.annotation.Lazy}
+ * fields, no proxy is involved: after the first call, {@code get()} returns the stored instance,
+ * and concrete classes can be deferred as well as interfaces. Each holder resolves the bean once,
+ * so a prototype is created once per holder.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@literal @}Injectable
+ * public class ReportService {
+ *     private final Lazy&lt;PdfRenderer&gt; renderer;
+ *
+ *     {@literal @}Inject
+ *     public ReportService(Lazy&lt;PdfRenderer&gt; renderer) {
+ *         this.renderer = renderer;
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <T> the bean type
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ * @see Provider
+ */
+public interface Lazy<T> extends Supplier<T> {
+
+    /**
+     * Returns the instance, creating it on the first call.
+     *
+     * @return the bean instance
+     */
+    @Override
+    T get();
+
+    /**
+     * Checks if the instance has been created.
+     *
+     * @return true if {@link #get()} has completed at least once
+     */
+    boolean isResolved();
+
+    /**
+     * Creates a holder that calls the supplier once, on first use.
+     *
+     * @param supplier supplies the instance
+     * @param <T> the instance type
+     * @return the lazy holder
+     */
+    static <T> Lazy<T> of(Supplier<? extends T> supplier) {
+        return new MemoizingLazy<>(Objects.requireNonNull(supplier, "supplier"));
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.abolpv.lightdi.provider;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * {@link Lazy} implementation using double-checked locking on a {@link ReentrantLock},
+ * which, unlike a monitor, does not pin a virtual thread while the instance is created.
+ * Once the instance is stored, {@link #get()} is a single volatile read and
+ * the supplier is released.
+ *
+ * @param <T> the instance type
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class MemoizingLazy<T> implements Lazy<T> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile T instance;
+    private Supplier<? extends T> supplier;
+
+    MemoizingLazy(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public T get() {
+        T value = instance;
+        return value != null ? value : initialize();
+    }
+
+    private T initialize() {
+        lock.lock();
+        try {
+            T value = instance;
+            if (value == null) {
+                value = supplier.get();
+                instance = value;
+                supplier = null;
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isResolved() {
+        return instance != null;
+    }
+
+    @Override
+    public String toString() {
+        T value = instance;
+        return "Lazy{" + (value != null ? value : "unresolved") + '}';
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.abolpv.lightdi.provider;
+
+import java.util.function.Supplier;
+
+/**
+ * Provides instances of a bean on demand.
+ *
+ * <p>Inject a {@code Provider<T>} (or a {@code java.util.function.Supplier<T>}) instead of
+ * {@code T} to defer creating the dependency, or to obtain a fresh prototype per call.
+ * The provider is bound to the bean definition when it is injected; each {@link #get()}
+ * returns the cached instance for singletons and a new instance for prototypes.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@literal @}Injectable
+ * public class RequestDispatcher {
+ *     {@literal @}Inject
+ *     private Provider&lt;RequestHandler&gt; handlers;
+ *
+ *     public void dispatch(Request request) {
+ *         handlers.get().handle(request);
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <T> the bean type
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ * @see Lazy
+ */
+@FunctionalInterface
+public interface Provider<T> extends Supplier<T> {
+
+    /**
+     * Returns an instance of the bean.
+     *
+     * @return the bean instance
+     */
+    @Override
+    T get();
+}
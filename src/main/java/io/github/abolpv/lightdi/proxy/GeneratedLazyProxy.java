@@ -0,0 +1,19 @@
+package io.github.abolpv.lightdi.proxy;
+
+/**
+ * Implemented by lazy proxy classes generated at runtime.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ * @see ProxyFactory#isLazyProxy(Object)
+ */
+public interface GeneratedLazyProxy {
+
+    /**
+     * Returns the holder of the proxy's target.
+     * The unusual name avoids clashes with methods of the proxied type.
+     *
+     * @return the target holder
+     */
+    LazyTarget lightdi$lazyTarget();
+}
@@ -1,7 +1,10 @@
 package io.github.abolpv.lightdi.proxy;
 
+import io.github.abolpv.lightdi.monitor.LazyInitializationEvent;
+
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 /**
@@ -18,7 +21,7 @@ public class LazyProxy implements InvocationHandler {
     
     private final Supplier<Object> beanSupplier;
     private volatile Object instance;
-    private final Object lock = new Object();
+    private final ReentrantLock lock = new ReentrantLock();
     
     /**
      * Creates a new lazy proxy.
@@ -45,20 +48,8 @@ public class LazyProxy implements InvocationHandler {
             return "LazyProxy[" + instance.toString() + "]";
         }
         
-        // Lazy initialization with double-checked locking
-        Object target = instance;
-        if (target == null) {
-            synchronized (lock) {
-                target = instance;
-                if (target == null) {
-                    target = beanSupplier.get();
-                    instance = target;
-                }
-            }
-        }
-
         method.setAccessible(true);
-        return method.invoke(target, args);
+        return method.invoke(getTarget(), args);
     }
     
     /**
@@ -76,13 +67,24 @@ public class LazyProxy implements InvocationHandler {
      * @return the initialized instance
      */
     public Object getTarget() {
-        if (instance == null) {
-            synchronized (lock) {
-                if (instance == null) {
-                    instance = beanSupplier.get();
-                }
+        Object target = instance;
+        if (target != null) {
+            return target;
+        }
+        // Double-checked locking; a ReentrantLock does not pin virtual threads
+        lock.lock();
+        try {
+            target = instance;
+            if (target == null) {
+                LazyInitializationEvent event = new LazyInitializationEvent();
+                event.begin();
+                target = beanSupplier.get();
+                instance = target;
+                event.complete(null, target.getClass());
             }
+            return target;
+        } finally {
+            lock.unlock();
         }
-        return instance;
     }
 }
@@ -0,0 +1,362 @@
+package io.github.abolpv.lightdi.proxy;
+
+import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.util.ClassFileWriter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static io.github.abolpv.lightdi.util.ClassFileWriter.*;
+
+/**
+ * Generates lazy proxy classes without an external bytecode library.
+ *
+ * <p>Every proxy method loads the {@link LazyTarget} from a field, asks it for the
+ * target and calls the same method on the target with {@code invokeinterface} or
+ * {@code invokevirtual}. There is no reflective dispatch, so after initialization
+ * the JIT can inline the whole call into the caller.</p>
+ *
+ * <ul>
+ *   <li>Interface proxies are hidden classes that hold the target in a final field,
+ *       defined in the interface's package or, for public interfaces that cannot be
+ *       opened, in this package.</li>
+ *   <li>Class proxies are hidden subclasses defined in the class's package. Creating
+ *       one runs the class's non-private no-argument constructor, so that state the
+ *       class sets up for itself is initialized even though calls are forwarded; the
+ *       target is still created on first use. Classes with final methods are rejected,
+ *       since those would run on the proxy instead of the target. Methods not visible
+ *       from the class's package are not intercepted.</li>
+ * </ul>
+ *
+ * <p>Proxy classes are cached per type. {@code equals} and {@code hashCode} use
+ * the proxy's identity and {@code toString} reports the initialization state.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class LazyProxyGenerator {
+
+    private static final String PROXY_SUFFIX = "$$LightDILazyProxy";
+    private static final String TARGET_FIELD = "lightdi$lazy";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String LAZY_TARGET = internalName(LazyTarget.class);
+    private static final String LAZY_TARGET_DESCRIPTOR = descriptor(LazyTarget.class);
+    private static final String GENERATED_PROXY = internalName(GeneratedLazyProxy.class);
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, LazyTarget.class);
+
+    private static final ClassValue<ProxyClass> CACHE = new ClassValue<>() {
+        @Override
+        protected ProxyClass computeValue(Class<?> type) {
+            String reason = unsupportedReason(type);
+            if (reason != null) {
+                throw new ContainerException("Cannot create a lazy proxy for " + type.getName() + ": " + reason);
+            }
+            return type.isInterface() ? defineInterfaceProxy(type) : defineClassProxy(type);
+        }
+    };
+
+    private LazyProxyGenerator() {
+    }
+
+    /**
+     * Checks if a proxy can be generated for the type.
+     */
+    static boolean canProxy(Class<?> type) {
+        return unsupportedReason(type) == null;
+    }
+
+    /**
+     * Creates a proxy of the type whose target is supplied on first use.
+     *
+     * @throws ContainerException if no proxy class can be generated for the type
+     */
+    static Object newProxy(Class<?> type, LazyTarget target) {
+        return CACHE.get(type).newInstance(target);
+    }
+
+    /**
+     * Explains why no proxy can be generated for the type, or returns null if one can.
+     */
+    private static String unsupportedReason(Class<?> type) {
+        if (type.isInterface()) {
+            return type.isHidden() || type.isAnnotation()
+                ? "only interfaces and non-final classes can be proxied" : null;
+        }
+        if (type.isPrimitive() || type.isArray() || type.isEnum() || type.isHidden()
+            || type.isSealed() || Modifier.isFinal(type.getModifiers()) || type == Object.class) {
+            return "only interfaces and non-final classes can be proxied";
+        }
+        try {
+            if (Modifier.isPrivate(type.getDeclaredConstructor().getModifiers())) {
+                return "its no-argument constructor is private";
+            }
+        } catch (NoSuchMethodException e) {
+            return "it has no no-argument constructor";
+        }
+        Method finalMethod = finalMethod(type);
+        if (finalMethod != null) {
+            return "final method " + finalMethod.getName() + "() of " + finalMethod.getDeclaringClass().getName()
+                + " would run on the proxy instead of the target";
+        }
+        return null;
+    }
+
+    // ==================== Interface Proxies ====================
+
+    private static ProxyClass defineInterfaceProxy(Class<?> type) {
+        MethodHandles.Lookup lookup = lookupFor(type);
+        String proxyName = lookup.lookupClass().getPackageName().replace('.', '/') + '/'
+            + type.getSimpleName() + PROXY_SUFFIX;
+
+        ClassFileWriter writer = new ClassFileWriter(
+            ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, proxyName, OBJECT, internalName(type), GENERATED_PROXY
+        );
+        writer.field(ACC_PRIVATE | ACC_FINAL, TARGET_FIELD, LAZY_TARGET_DESCRIPTOR);
+        writer.method(ACC_PUBLIC, "<init>", methodDescriptor(void.class, LazyTarget.class))
+            .aload(0)
+            .invokespecial(OBJECT, "<init>", "()V")
+            .aload(0)
+            .aload(1)
+            .putfield(proxyName, TARGET_FIELD, LAZY_TARGET_DESCRIPTOR)
+            .returnVoid();
+        writeCommonMethods(writer, proxyName);
+
+        for (Method method : interfaceMethods(type).values()) {
+            writeDelegate(writer, proxyName, method, internalName(type), true);
+        }
+
+        try {
+            MethodHandles.Lookup hidden = lookup.defineHiddenClass(writer.toByteArray(), true);
+            MethodHandle constructor = hidden.findConstructor(
+                hidden.lookupClass(), MethodType.methodType(void.class, LazyTarget.class)
+            );
+            return new ProxyClass(constructor.asType(FACTORY_TYPE));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new ContainerException("Failed to define lazy proxy class for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Collects the public instance methods of an interface and its superinterfaces,
+     * except those that override {@code Object} methods.
+     */
+    private static Map<String, Method> interfaceMethods(Class<?> type) {
+        Map<String, Method> methods = new LinkedHashMap<>();
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)) {
+                continue;
+            }
+            methods.putIfAbsent(signature(method), method);
+        }
+        return methods;
+    }
+
+    /**
+     * Defines the proxy in the interface's package where possible, so that package-private
+     * interfaces and parameter types are accessible; otherwise in this package.
+     */
+    private static MethodHandles.Lookup lookupFor(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException | SecurityException e) {
+            if (Modifier.isPublic(type.getModifiers())) {
+                return MethodHandles.lookup();
+            }
+            throw new ContainerException("Cannot create a lazy proxy for " + type.getName() +
+                ": its package is not open to LightDI", e);
+        }
+    }
+
+    // ==================== Class Proxies ====================
+
+    private static ProxyClass defineClassProxy(Class<?> type) {
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new ContainerException("Cannot create a lazy proxy for " + type.getName() +
+                ": its package is not open to LightDI", e);
+        }
+
+        String superName = internalName(type);
+        String proxyName = superName + PROXY_SUFFIX;
+        ClassFileWriter writer = new ClassFileWriter(
+            ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, proxyName, superName, GENERATED_PROXY
+        );
+        writer.field(ACC_PRIVATE | ACC_FINAL, TARGET_FIELD, LAZY_TARGET_DESCRIPTOR);
+        writer.method(ACC_PUBLIC, "<init>", methodDescriptor(void.class, LazyTarget.class))
+            .aload(0)
+            .invokespecial(superName, "<init>", "()V")
+            .aload(0)
+            .aload(1)
+            .putfield(proxyName, TARGET_FIELD, LAZY_TARGET_DESCRIPTOR)
+            .returnVoid();
+        writeCommonMethods(writer, proxyName);
+
+        for (Method method : classMethods(type).values()) {
+            writeDelegate(writer, proxyName, method, superName, false);
+        }
+
+        try {
+            MethodHandles.Lookup hidden = lookup.defineHiddenClass(writer.toByteArray(), true);
+            MethodHandle constructor = hidden.findConstructor(
+                hidden.lookupClass(), MethodType.methodType(void.class, LazyTarget.class)
+            );
+            return new ProxyClass(constructor.asType(FACTORY_TYPE));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new ContainerException("Failed to define lazy proxy class for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Finds a final instance method that code in the class's package or its subclasses can call.
+     */
+    private static Method finalMethod(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            boolean samePackage = current.getPackageName().equals(type.getPackageName())
+                && current.getClassLoader() == type.getClassLoader();
+            for (Method method : current.getDeclaredMethods()) {
+                int modifiers = method.getModifiers();
+                if (Modifier.isFinal(modifiers) && !Modifier.isStatic(modifiers) && !Modifier.isPrivate(modifiers)
+                    && (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers) || samePackage)) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collects the methods a subclass in the same package can override: public methods,
+     * including interface default methods, and protected and package-private methods
+     * declared in the same package. Final methods also hide overridden methods further up.
+     */
+    private static Map<String, Method> classMethods(Class<?> type) {
+        Map<String, Method> methods = new LinkedHashMap<>();
+        Set<String> blocked = new HashSet<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            boolean samePackage = current.getPackageName().equals(type.getPackageName())
+                && current.getClassLoader() == type.getClassLoader();
+            for (Method method : current.getDeclaredMethods()) {
+                int modifiers = method.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers) || method.isBridge()) {
+                    continue;
+                }
+                String signature = signature(method);
+                if (Modifier.isFinal(modifiers) || (!Modifier.isPublic(modifiers) && !samePackage)) {
+                    blocked.add(signature);
+                    continue;
+                }
+                if (!blocked.contains(signature) && !isObjectMethod(method)) {
+                    methods.putIfAbsent(signature, method);
+                }
+            }
+        }
+        for (Method method : type.getMethods()) {
+            String signature = signature(method);
+            if (!Modifier.isStatic(method.getModifiers()) && !Modifier.isFinal(method.getModifiers())
+                && !method.isBridge() && !blocked.contains(signature) && !isObjectMethod(method)) {
+                methods.putIfAbsent(signature, method);
+            }
+        }
+        return methods;
+    }
+
+    // ==================== Code Generation ====================
+
+    /**
+     * Writes {@code lightdi$lazyTarget()}, {@code equals}, {@code hashCode} and {@code toString}.
+     */
+    private static void writeCommonMethods(ClassFileWriter writer, String proxyName) {
+        writer.method(ACC_PUBLIC, "lightdi$lazyTarget", "()" + LAZY_TARGET_DESCRIPTOR)
+            .aload(0)
+            .getfield(proxyName, TARGET_FIELD, LAZY_TARGET_DESCRIPTOR)
+            .areturn();
+        writer.method(ACC_PUBLIC, "equals", "(Ljava/lang/Object;)Z")
+            .aload(0)
+            .aload(1)
+            .invokestatic(LAZY_TARGET, "identical", "(Ljava/lang/Object;Ljava/lang/Object;)Z")
+            .returnValue(boolean.class);
+        writer.method(ACC_PUBLIC, "hashCode", "()I")
+            .aload(0)
+            .invokestatic("java/lang/System", "identityHashCode", "(Ljava/lang/Object;)I")
+            .returnValue(int.class);
+        writer.method(ACC_PUBLIC, "toString", "()Ljava/lang/String;")
+            .aload(0)
+            .getfield(proxyName, TARGET_FIELD, LAZY_TARGET_DESCRIPTOR)
+            .invokevirtual(LAZY_TARGET, "describe", "()Ljava/lang/String;")
+            .areturn();
+    }
+
+    /**
+     * Writes the equivalent of:
+     * <pre>
+     * public R method(P0 p0, P1 p1) {
+     *     return ((Type) this.lightdi$lazy.get()).method(p0, p1);
+     * }
+     * </pre>
+     */
+    private static void writeDelegate(ClassFileWriter writer, String proxyName, Method method,
+                                      String owner, boolean isInterface) {
+        String descriptor = methodDescriptor(method.getReturnType(), method.getParameterTypes());
+        int access = method.getModifiers() & (ACC_PUBLIC | ACC_PROTECTED);
+        ClassFileWriter.Code code = writer.method(access, method.getName(), descriptor)
+            .aload(0)
+            .getfield(proxyName, TARGET_FIELD, LAZY_TARGET_DESCRIPTOR)
+            .invokevirtual(LAZY_TARGET, "get", "()Ljava/lang/Object;")
+            .checkcast(owner);
+        int slot = 1;
+        for (Class<?> parameter : method.getParameterTypes()) {
+            code.load(parameter, slot);
+            slot += parameter == long.class || parameter == double.class ? 2 : 1;
+        }
+        if (isInterface) {
+            code.invokeinterface(owner, method.getName(), descriptor);
+        } else {
+            code.invokevirtual(owner, method.getName(), descriptor);
+        }
+        code.returnValue(method.getReturnType());
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return method.getName().equals("finalize") && method.getParameterCount() == 0
+                || method.getName().equals("clone") && method.getParameterCount() == 0;
+        }
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + methodDescriptor(method.getReturnType(), method.getParameterTypes());
+    }
+
+    // ==================== Proxy Classes ====================
+
+    /**
+     * A generated proxy class, instantiated through its constructor.
+     */
+    private static final class ProxyClass {
+        private final MethodHandle constructor;
+
+        ProxyClass(MethodHandle constructor) {
+            this.constructor = constructor;
+        }
+
+        Object newInstance(LazyTarget target) {
+            try {
+                return constructor.invokeExact(target);
+            } catch (Throwable e) {
+                throw new ContainerException("Failed to create lazy proxy", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.abolpv.lightdi.proxy;
+
+import io.github.abolpv.lightdi.monitor.LazyInitializationEvent;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Holds the target of a generated lazy proxy.
+ *
+ * <p>Generated proxies call {@link #get()} before every delegated call. Once the
+ * target exists this is a single volatile read, which the JIT inlines into the
+ * proxy method together with the direct call to the target.</p>
+ *
+ * <p>This class is public because generated proxies live in the package of the
+ * proxied type. It is not intended to be used directly.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class LazyTarget {
+
+    private final Class<?> type;
+    private final Supplier<?> supplier;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Object instance;
+
+    LazyTarget(Class<?> type, Supplier<?> supplier) {
+        this.type = type;
+        this.supplier = supplier;
+    }
+
+    /**
+     * Returns the target, creating it on the first call.
+     *
+     * @return the target instance
+     */
+    public Object get() {
+        Object target = instance;
+        return target != null ? target : initialize();
+    }
+
+    /**
+     * Creates the target under a {@link ReentrantLock} rather than a monitor, so a virtual
+     * thread creating a bean that blocks on I/O does not pin its carrier thread.
+     */
+    private Object initialize() {
+        lock.lock();
+        try {
+            Object target = instance;
+            if (target == null) {
+                LazyInitializationEvent event = new LazyInitializationEvent();
+                event.begin();
+                target = supplier.get();
+                instance = target;
+                event.complete(type, target.getClass());
+            }
+            return target;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if the target has been created.
+     *
+     * @return true if the target exists
+     */
+    public boolean isInitialized() {
+        return instance != null;
+    }
+
+    /**
+     * Describes the proxy, used as its {@code toString()}.
+     *
+     * @return the description
+     */
+    public String describe() {
+        Object target = instance;
+        return target == null ? "LazyProxy[not initialized]" : "LazyProxy[" + target + "]";
+    }
+
+    /**
+     * Compares a proxy with another object by identity, used as its {@code equals()}.
+     *
+     * @param proxy the proxy
+     * @param other the other object
+     * @return true if both references are the same
+     */
+    public static boolean identical(Object proxy, Object other) {
+        return proxy == other;
+    }
+}
@@ -7,10 +7,11 @@ import java.util.function.Supplier;
 
 /**
  * Factory for creating proxy instances.
- * Supports creating lazy proxies for interface-based beans.
+ * Supports creating lazy proxies for interfaces and non-final classes.
  *
- * <p>Note: Lazy proxies can only be created for interface types.
- * Classes without interfaces cannot be lazily proxied using JDK proxies.</p>
+ * <p>Single-type lazy proxies are generated classes that call the target directly
+ * once it exists, without reflection. Proxies for several interfaces at once use
+ * JDK dynamic proxies with a {@link LazyProxy} handler.</p>
  *
  * @author Abolfazl Azizi
  * @since 1.0.0
@@ -22,23 +23,42 @@ public final class ProxyFactory {
     }
     
     /**
-     * Creates a lazy proxy for the given interface.
+     * Creates a lazy proxy for the given interface or non-final class.
+     * The proxy class is generated once per type; calls on the proxy create the
+     * target on first use and are then forwarded to it directly.
      *
-     * @param interfaceType the interface to proxy
+     * <p>Creating a class proxy runs the class's no-argument constructor, which must not be
+     * private; the target is still created on first use. Classes with final methods cannot be
+     * proxied. Methods not visible from the class's package are not forwarded and must not be
+     * called on the proxy.</p>
+     *
+     * @param type the interface or class to proxy
      * @param beanSupplier supplier that creates the actual bean
-     * @param <T> the interface type
+     * @param <T> the proxied type
      * @return a proxy instance
-     * @throws ContainerException if the type is not an interface
+     * @throws ContainerException if the type cannot be proxied
      */
-    @SuppressWarnings("unchecked")
-    public static <T> T createLazyProxy(Class<T> interfaceType, Supplier<T> beanSupplier) {
-        if (!interfaceType.isInterface()) {
-            throw new ContainerException(
-                "Lazy proxy can only be created for interfaces. " +
-                interfaceType.getName() + " is not an interface."
-            );
+    public static <T> T createLazyProxy(Class<T> type, Supplier<T> beanSupplier) {
+        if (type.isInterface() && !LazyProxyGenerator.canProxy(type)) {
+            return createJdkProxy(type, beanSupplier);
         }
-        
+        return type.cast(LazyProxyGenerator.newProxy(type, new LazyTarget(type, beanSupplier)));
+    }
+
+    /**
+     * Checks if {@link #createLazyProxy(Class, Supplier)} supports the type.
+     *
+     * @param type the type to check
+     * @return true for interfaces, and for non-final, non-sealed classes with a non-private
+     *         no-argument constructor and no final methods
+     * @since 1.2.0
+     */
+    public static boolean canCreateLazyProxy(Class<?> type) {
+        return type.isInterface() || LazyProxyGenerator.canProxy(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T createJdkProxy(Class<T> interfaceType, Supplier<T> beanSupplier) {
         LazyProxy handler = new LazyProxy(() -> beanSupplier.get());
         
         return (T) Proxy.newProxyInstance(
@@ -88,6 +108,9 @@ public final class ProxyFactory {
         if (object == null) {
             return false;
         }
+        if (object instanceof GeneratedLazyProxy) {
+            return true;
+        }
         if (!Proxy.isProxyClass(object.getClass())) {
             return false;
         }
@@ -95,13 +118,13 @@ public final class ProxyFactory {
     }
     
     /**
-     * Gets the underlying LazyProxy handler if the object is a lazy proxy.
+     * Gets the underlying LazyProxy handler if the object is a JDK lazy proxy.
      *
      * @param object the proxy object
-     * @return the LazyProxy handler, or null if not a lazy proxy
+     * @return the LazyProxy handler, or null if not a JDK lazy proxy
      */
     public static LazyProxy getLazyProxyHandler(Object object) {
-        if (!isLazyProxy(object)) {
+        if (!isLazyProxy(object) || object instanceof GeneratedLazyProxy) {
             return null;
         }
         return (LazyProxy) Proxy.getInvocationHandler(object);
@@ -114,6 +137,9 @@ public final class ProxyFactory {
      * @return true if initialized, false if not a proxy or not initialized
      */
     public static boolean isInitialized(Object object) {
+        if (object instanceof GeneratedLazyProxy) {
+            return ((GeneratedLazyProxy) object).lightdi$lazyTarget().isInitialized();
+        }
         LazyProxy handler = getLazyProxyHandler(object);
         return handler != null && handler.isInitialized();
     }
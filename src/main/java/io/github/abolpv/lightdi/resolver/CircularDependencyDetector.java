@@ -10,6 +10,11 @@ import java.util.Set;
 /**
  * Detects circular dependencies during bean resolution.
  * Uses a thread-local resolution stack to track the current dependency chain.
+ * The thread-locals are removed whenever the stack becomes empty, so threads that are
+ * done resolving, such as finished virtual threads, keep no state behind.
+ *
+ * <p>The container itself passes its resolution path down the call stack instead
+ * and no longer uses this class.</p>
  *
  * <p>Circular dependency example:</p>
  * <pre>
@@ -78,6 +83,9 @@ public class CircularDependencyDetector {
         if (!path.isEmpty()) {
             path.remove(path.size() - 1);
         }
+        if (path.isEmpty()) {
+            clear();
+        }
     }
     
     /**
@@ -95,8 +103,8 @@ public class CircularDependencyDetector {
      * Useful for testing or resetting state.
      */
     public void clear() {
-        resolutionStack.get().clear();
-        resolutionPath.get().clear();
+        resolutionStack.remove();
+        resolutionPath.remove();
     }
     
     /**
@@ -0,0 +1,115 @@
+package io.github.abolpv.lightdi.scanner;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A location inside a (possibly nested) archive, parsed from a {@code jar:} URL.
+ *
+ * <p>Supported forms:</p>
+ * <ul>
+ *   <li>{@code jar:file:/app.jar!/com/example}</li>
+ *   <li>{@code jar:file:/app.jar!/BOOT-INF/lib/lib.jar!/com/example} (nested JAR)</li>
+ *   <li>{@code jar:file:/app.war!/WEB-INF/classes!/com/example} (directory inside the archive)</li>
+ *   <li>{@code jar:nested:/app.jar/!BOOT-INF/lib/lib.jar!/com/example} (Spring Boot 3.2+)</li>
+ * </ul>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class ArchivePath {
+
+    private static final String SEPARATOR = "!/";
+    private static final String NESTED_SEPARATOR = "/!";
+
+    /**
+     * The archive on the file system.
+     */
+    final Path file;
+
+    /**
+     * Entries leading from the outer archive to the scanned location: archives
+     * ({@code .jar}, {@code .war}, {@code .zip}) followed by at most one directory prefix.
+     */
+    final List<String> nested;
+
+    private ArchivePath(Path file, List<String> nested) {
+        this.file = file;
+        this.nested = nested;
+    }
+
+    /**
+     * Parses a {@code jar:} URL, or returns null if it does not point into a local archive.
+     */
+    static ArchivePath parse(URL url) {
+        String spec = url.toString();
+        if (!spec.startsWith("jar:")) {
+            return null;
+        }
+        List<String> parts = split(spec.substring(4));
+        if (parts.size() < 2) {
+            return null;
+        }
+
+        String outer = parts.get(0);
+        List<String> nested = new ArrayList<>();
+        Path file;
+        try {
+            if (outer.startsWith("nested:")) {
+                // nested:/path/app.jar/!BOOT-INF/lib/lib.jar
+                String path = outer.substring("nested:".length());
+                int separator = path.indexOf(NESTED_SEPARATOR);
+                if (separator >= 0) {
+                    addSegment(nested, path.substring(separator + NESTED_SEPARATOR.length()));
+                    path = path.substring(0, separator);
+                }
+                file = Paths.get(URLDecoder.decode(path, StandardCharsets.UTF_8));
+            } else if (outer.startsWith("file:")) {
+                file = Paths.get(new URI(outer));
+            } else {
+                return null;
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+
+        // The last part is the entry the URL points to (the scanned package)
+        for (String segment : parts.subList(1, parts.size() - 1)) {
+            addSegment(nested, segment);
+        }
+        return new ArchivePath(file, List.copyOf(nested));
+    }
+
+    static boolean isArchive(String entryName) {
+        String name = entryName.toLowerCase();
+        return name.endsWith(".jar") || name.endsWith(".war") || name.endsWith(".zip");
+    }
+
+    private static void addSegment(List<String> nested, String segment) {
+        while (segment.endsWith("/")) {
+            segment = segment.substring(0, segment.length() - 1);
+        }
+        if (!segment.isEmpty()) {
+            nested.add(segment);
+        }
+    }
+
+    private static List<String> split(String spec) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        int separator;
+        while ((separator = spec.indexOf(SEPARATOR, start)) >= 0) {
+            parts.add(spec.substring(start, separator));
+            start = separator + SEPARATOR.length();
+        }
+        parts.add(spec.substring(start));
+        return parts;
+    }
+}
@@ -0,0 +1,253 @@
+package io.github.abolpv.lightdi.scanner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Minimal class file parser used to filter scanned classes before loading them.
+ *
+ * <p>Reads only the constant pool, the class header and the class-level
+ * {@code RuntimeVisibleAnnotations} attribute; fields and methods are skipped
+ * without being decoded. See JVMS chapter 4 for the format.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    // Constant pool tags
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private final byte[] bytes;
+    private final int[] offsets;
+    private final String[] strings;
+    private int position;
+
+    private ClassFileReader(byte[] bytes) {
+        this.bytes = bytes;
+        if (readInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a class file");
+        }
+        position += 4; // minor and major version
+        int count = readUnsignedShort();
+        this.offsets = new int[count];
+        this.strings = new String[count];
+        for (int i = 1; i < count; i++) {
+            offsets[i] = position;
+            int tag = bytes[position++];
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    position += 2 + readUnsignedShort(position);
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    position += 2;
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    position += 3;
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    position += 4;
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    position += 8;
+                    i++; // takes two entries
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag " + tag + " at entry " + i);
+            }
+        }
+    }
+
+    /**
+     * Reads the metadata of a class file.
+     *
+     * @param bytes the class file bytes
+     * @return the class metadata
+     * @throws IllegalArgumentException if the bytes are not a well-formed class file
+     */
+    public static ClassMetadata read(byte[] bytes) {
+        try {
+            return new ClassFileReader(bytes).readMetadata();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated class file", e);
+        }
+    }
+
+    private ClassMetadata readMetadata() {
+        int accessFlags = readUnsignedShort();
+        String className = classNameAt(readUnsignedShort());
+        int superIndex = readUnsignedShort();
+        String superClassName = superIndex == 0 ? null : classNameAt(superIndex);
+
+        int interfaceCount = readUnsignedShort();
+        List<String> interfaceNames = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaceNames.add(classNameAt(readUnsignedShort()));
+        }
+
+        skipMembers(); // fields
+        skipMembers(); // methods
+
+        Set<String> annotationNames = new HashSet<>();
+        int attributeCount = readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            String name = utf8At(readUnsignedShort());
+            int length = readInt();
+            int end = position + length;
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(name)) {
+                int annotationCount = readUnsignedShort();
+                for (int j = 0; j < annotationCount; j++) {
+                    annotationNames.add(descriptorToClassName(utf8At(readUnsignedShort())));
+                    skipElementValuePairs();
+                }
+            }
+            position = end;
+        }
+
+        return new ClassMetadata(className, superClassName, interfaceNames, annotationNames, accessFlags);
+    }
+
+    private void skipMembers() {
+        int count = readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            position += 6; // access flags, name, descriptor
+            int attributeCount = readUnsignedShort();
+            for (int j = 0; j < attributeCount; j++) {
+                position += 2; // attribute name
+                int length = readInt();
+                position += length;
+            }
+        }
+    }
+
+    private void skipElementValuePairs() {
+        int pairCount = readUnsignedShort();
+        for (int i = 0; i < pairCount; i++) {
+            position += 2; // element name
+            skipElementValue();
+        }
+    }
+
+    private void skipElementValue() {
+        int tag = bytes[position++];
+        switch (tag) {
+            case 'e':
+                position += 4;
+                break;
+            case '@':
+                position += 2;
+                skipElementValuePairs();
+                break;
+            case '[':
+                int count = readUnsignedShort();
+                for (int i = 0; i < count; i++) {
+                    skipElementValue();
+                }
+                break;
+            default:
+                // B C D F I J S Z s c: a single constant pool index
+                position += 2;
+        }
+    }
+
+    // ==================== Constant Pool ====================
+
+    private String classNameAt(int index) {
+        int offset = offsets[index];
+        if (bytes[offset] != CONSTANT_CLASS) {
+            throw new IllegalArgumentException("Constant pool entry " + index + " is not a class");
+        }
+        return utf8At(readUnsignedShort(offset + 1)).replace('/', '.');
+    }
+
+    private String utf8At(int index) {
+        String value = strings[index];
+        if (value == null) {
+            int offset = offsets[index];
+            if (bytes[offset] != CONSTANT_UTF8) {
+                throw new IllegalArgumentException("Constant pool entry " + index + " is not UTF-8");
+            }
+            value = decodeModifiedUtf8(offset + 3, readUnsignedShort(offset + 1));
+            strings[index] = value;
+        }
+        return value;
+    }
+
+    private String decodeModifiedUtf8(int start, int length) {
+        char[] chars = new char[length];
+        int count = 0;
+        int end = start + length;
+        int i = start;
+        while (i < end) {
+            int b = bytes[i++] & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (bytes[i++] & 0x3F));
+            } else {
+                chars[count++] = (char) (((b & 0x0F) << 12) | ((bytes[i++] & 0x3F) << 6) | (bytes[i++] & 0x3F));
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private static String descriptorToClassName(String descriptor) {
+        // "Lcom/example/Annotation;" -> "com.example.Annotation"
+        if (descriptor.length() > 2 && descriptor.charAt(0) == 'L' && descriptor.endsWith(";")) {
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+        return descriptor;
+    }
+
+    // ==================== Primitive Reads ====================
+
+    private int readUnsignedShort() {
+        int value = readUnsignedShort(position);
+        position += 2;
+        return value;
+    }
+
+    private int readUnsignedShort(int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private int readInt() {
+        int value = ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16)
+            | ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+        position += 4;
+        return value;
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.abolpv.lightdi.scanner;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Class information read from a class file without loading the class.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ * @see ClassFileReader
+ */
+public final class ClassMetadata {
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ACC_ANNOTATION = 0x2000;
+
+    private final String className;
+    private final String superClassName;
+    private final List<String> interfaceNames;
+    private final Set<String> annotationNames;
+    private final int accessFlags;
+
+    ClassMetadata(String className, String superClassName, List<String> interfaceNames,
+                  Set<String> annotationNames, int accessFlags) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = List.copyOf(interfaceNames);
+        this.annotationNames = Set.copyOf(annotationNames);
+        this.accessFlags = accessFlags;
+    }
+
+    /**
+     * Gets the fully qualified (binary) name of the class.
+     *
+     * @return the class name
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Gets the fully qualified name of the superclass.
+     *
+     * @return the superclass name, or null for {@code java.lang.Object} and module descriptors
+     */
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    /**
+     * Gets the names of the directly implemented interfaces.
+     *
+     * @return unmodifiable list of interface names
+     */
+    public List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * Gets the names of the runtime-visible annotations declared on the class.
+     *
+     * @return unmodifiable set of annotation type names
+     */
+    public Set<String> getAnnotationNames() {
+        return annotationNames;
+    }
+
+    /**
+     * Checks whether the class declares a runtime-visible annotation.
+     *
+     * @param annotationName the fully qualified annotation type name
+     * @return true if the annotation is present
+     */
+    public boolean hasAnnotation(String annotationName) {
+        return annotationNames.contains(annotationName);
+    }
+
+    public boolean isInterface() {
+        return (accessFlags & ACC_INTERFACE) != 0;
+    }
+
+    public boolean isAbstract() {
+        return (accessFlags & ACC_ABSTRACT) != 0;
+    }
+
+    public boolean isAnnotation() {
+        return (accessFlags & ACC_ANNOTATION) != 0;
+    }
+
+    int getAccessFlags() {
+        return accessFlags;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassMetadata{" + className + ", annotations=" + annotationNames + "}";
+    }
+}
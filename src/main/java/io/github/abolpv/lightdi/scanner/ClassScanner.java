@@ -2,18 +2,39 @@ package io.github.abolpv.lightdi.scanner;
 
 import io.github.abolpv.lightdi.annotation.Injectable;
 import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.monitor.ScanRootEvent;
 
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.module.ModuleFinder;
+import java.lang.module.ModuleReader;
+import java.lang.module.ModuleReference;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -21,12 +42,51 @@ import java.util.jar.JarFile;
  * Scans classpath for classes with specific annotations.
  * Supports scanning from both file system and JAR files.
  *
+ * <p>Classpath roots that contain a bean index ({@value #INDEX_RESOURCE}),
+ * written at compile time by the {@code lightdi-processor} annotation processor,
+ * are not walked: the indexed class names are used instead.</p>
+ *
+ * <p>Candidate classes are checked for {@literal @}Injectable, and against any
+ * {@link ScanFilter}, by reading their class file bytes with {@link ClassFileReader}.
+ * Only classes that pass are loaded.</p>
+ *
+ * <p>With a parallelism greater than one, classpath roots, directories and JAR entries
+ * are processed on a {@link ForkJoinPool}, and found classes are handed to the
+ * consumer on the calling thread while the scan is still running.</p>
+ *
+ * <p>Besides directories and JAR files, classes are found inside nested archives
+ * (fat JARs such as {@code BOOT-INF/lib/*.jar}), which are streamed in place rather
+ * than extracted, in the run-time image ({@code jrt:}), and in the named modules of the
+ * boot layer and of any {@link #addModuleLayer(ModuleLayer) added module layer}.</p>
+ *
+ * <p>An optional {@link ScanCache} stores scan results on disk, so that unchanged
+ * directories and JARs are not read again on the next run.</p>
+ *
  * @author Abolfazl Azizi
  * @since 1.0.0
  */
 public class ClassScanner {
+
+    /**
+     * Location of the compile-time bean index within a classpath root.
+     * The index lists one bean class name per line.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/lightdi/beans";
+
+    private static final String INJECTABLE = Injectable.class.getName();
+
+    /**
+     * Number of JAR entries read by a single task.
+     */
+    private static final int JAR_BATCH_SIZE = 64;
+
+    private static final Object END_OF_SCAN = new Object();
     
     private final ClassLoader classLoader;
+    private volatile Map<String, List<String>> beanIndexes;
+    private volatile int parallelism = Runtime.getRuntime().availableProcessors();
+    private volatile ScanCache scanCache;
+    private final List<ModuleLayer> moduleLayers = new CopyOnWriteArrayList<>(List.of(ModuleLayer.boot()));
     
     public ClassScanner() {
         this.classLoader = Thread.currentThread().getContextClassLoader();
@@ -35,6 +95,76 @@ public class ClassScanner {
     public ClassScanner(ClassLoader classLoader) {
         this.classLoader = classLoader;
     }
+
+    /**
+     * Sets the number of threads used to scan.
+     * A parallelism of one scans on the calling thread.
+     * Defaults to the number of available processors.
+     *
+     * @param parallelism the parallelism level, at least one
+     * @since 1.2.0
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Gets the number of threads used to scan.
+     *
+     * @return the parallelism level
+     * @since 1.2.0
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Adds a module layer whose named modules are scanned in addition to the classpath.
+     * The boot layer is always scanned. Classes found in a layer are loaded with the
+     * class loader of their module.
+     *
+     * @param layer the module layer
+     * @since 1.2.0
+     */
+    public void addModuleLayer(ModuleLayer layer) {
+        if (!moduleLayers.contains(layer)) {
+            moduleLayers.add(layer);
+        }
+    }
+
+    /**
+     * Gets the module layers that are scanned.
+     *
+     * @return unmodifiable list of module layers, starting with the boot layer
+     * @since 1.2.0
+     */
+    public List<ModuleLayer> getModuleLayers() {
+        return Collections.unmodifiableList(moduleLayers);
+    }
+
+    /**
+     * Sets the persistent cache of scan results. Disabled (null) by default.
+     * The cache is saved after each package scan that changed it.
+     *
+     * @param scanCache the cache, or null to disable caching
+     * @since 1.2.0
+     */
+    public void setScanCache(ScanCache scanCache) {
+        this.scanCache = scanCache;
+    }
+
+    /**
+     * Gets the persistent cache of scan results.
+     *
+     * @return the cache, or null if caching is disabled
+     * @since 1.2.0
+     */
+    public ScanCache getScanCache() {
+        return scanCache;
+    }
     
     /**
      * Scans a package for classes annotated with @Injectable.
@@ -43,27 +173,119 @@ public class ClassScanner {
      * @return set of injectable classes found
      */
     public Set<Class<?>> scanPackage(String packageName) {
-        Set<Class<?>> classes = new HashSet<>();
+        return scanPackage(packageName, ScanFilter.acceptAll());
+    }
+
+    /**
+     * Scans a package for classes annotated with @Injectable that pass a filter.
+     *
+     * @param packageName the package to scan
+     * @param filter the include and exclude filters to apply
+     * @return set of injectable classes found
+     * @since 1.2.0
+     */
+    public Set<Class<?>> scanPackage(String packageName, ScanFilter filter) {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        scanPackage(packageName, filter, classes::add);
+        return classes;
+    }
+
+    /**
+     * Scans a package and streams each @Injectable class that passes the filter to a consumer.
+     * The consumer is always called on the calling thread, once per class, as classes are found.
+     * If the consumer throws, the scan is cancelled and the exception propagates.
+     *
+     * <p>To scan several packages, use a {@link #openSession() session} so that
+     * JAR files are opened and indexed only once.</p>
+     *
+     * @param packageName the package to scan
+     * @param filter the include and exclude filters to apply
+     * @param consumer receives each class found
+     * @throws ContainerException if the scan fails
+     * @since 1.2.0
+     */
+    public void scanPackage(String packageName, ScanFilter filter, Consumer<Class<?>> consumer) {
+        try (ScanSession session = openSession()) {
+            session.scanPackage(packageName, filter, consumer);
+        }
+    }
+
+    /**
+     * Opens a session for scanning several packages.
+     * The session must be closed to release the JAR files it opened.
+     *
+     * @return a new scan session
+     * @since 1.2.0
+     */
+    public ScanSession openSession() {
+        return new ScanSession(this);
+    }
+
+    void scan(ScanSession session, String packageName, ScanFilter filter, Consumer<Class<?>> consumer) {
         String path = packageName.replace('.', '/');
-        
+        List<URL> roots;
         try {
-            Enumeration<URL> resources = classLoader.getResources(path);
-            
-            while (resources.hasMoreElements()) {
-                URL resource = resources.nextElement();
-                String protocol = resource.getProtocol();
-                
-                if ("file".equals(protocol)) {
-                    scanDirectory(new File(resource.toURI()), packageName, classes);
-                } else if ("jar".equals(protocol)) {
-                    scanJar(resource, packageName, classes);
+            roots = Collections.list(classLoader.getResources(path));
+            getBeanIndexes();
+        } catch (IOException e) {
+            throw new ContainerException("Failed to scan package: " + packageName, e);
+        }
+
+        int threads = parallelism;
+        if (threads <= 1) {
+            try {
+                new Scan(session, packageName, filter, consumer, false).run(roots);
+            } catch (UncheckedIOException e) {
+                throw new ContainerException("Failed to scan package: " + packageName, e.getCause());
+            }
+            return;
+        }
+
+        BlockingQueue<Object> found = new LinkedBlockingQueue<>();
+        Scan scan = new Scan(session, packageName, filter, found::add, true);
+        ForkJoinPool pool = session.pool(threads);
+        try {
+            pool.execute(() -> {
+                try {
+                    scan.run(roots);
+                } catch (Throwable t) {
+                    scan.failure = t;
+                } finally {
+                    found.add(END_OF_SCAN);
                 }
+            });
+
+            Object next;
+            while ((next = found.take()) != END_OF_SCAN) {
+                consumer.accept((Class<?>) next);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scan.cancelled = true;
+            throw new ContainerException("Interrupted while scanning package: " + packageName, e);
+        } catch (RuntimeException | Error e) {
+            scan.cancelled = true;
+            throw e;
+        }
+
+        if (scan.failure instanceof ContainerException) {
+            throw (ContainerException) scan.failure;
+        }
+        if (scan.failure != null) {
+            Throwable cause = scan.failure instanceof UncheckedIOException ? scan.failure.getCause() : scan.failure;
+            throw new ContainerException("Failed to scan package: " + packageName, cause);
+        }
+    }
+
+    void saveScanCache() {
+        ScanCache cache = scanCache;
+        if (cache != null) {
+            try {
+                cache.save();
+            } catch (IOException e) {
+                // The cache is an optimization only; the next run rescans
             }
-        } catch (Exception e) {
-            throw new ContainerException("Failed to scan package: " + packageName, e);
         }
-        
-        return classes;
     }
     
     /**
@@ -73,73 +295,425 @@ public class ClassScanner {
      * @return set of injectable classes found
      */
     public Set<Class<?>> scanPackages(String... packageNames) {
-        Set<Class<?>> classes = new HashSet<>();
-        for (String packageName : packageNames) {
-            classes.addAll(scanPackage(packageName));
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        try (ScanSession session = openSession()) {
+            for (String packageName : packageNames) {
+                session.scanPackage(packageName, ScanFilter.acceptAll(), classes::add);
+            }
         }
         return classes;
     }
     
-    private void scanDirectory(File directory, String packageName, Set<Class<?>> classes) {
-        if (!directory.exists()) {
-            return;
-        }
-        
-        File[] files = directory.listFiles();
-        if (files == null) {
-            return;
+    /**
+     * Gets the bean indexes on the classpath, keyed by the root URL that contains them.
+     * Loaded once per scanner.
+     */
+    private Map<String, List<String>> getBeanIndexes() throws IOException {
+        Map<String, List<String>> indexes = beanIndexes;
+        if (indexes == null) {
+            indexes = new HashMap<>();
+            Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                indexes.put(rootOf(resource, INDEX_RESOURCE), readIndex(resource));
+            }
+            beanIndexes = indexes;
         }
-        
-        for (File file : files) {
-            if (file.isDirectory()) {
-                scanDirectory(file, packageName + "." + file.getName(), classes);
-            } else if (file.getName().endsWith(".class")) {
-                String className = packageName + "." + 
-                    file.getName().substring(0, file.getName().length() - 6);
-                addClass(className, classes);
+        return indexes;
+    }
+
+    private static List<String> readIndex(URL resource) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    classNames.add(line);
+                }
             }
         }
+        return classNames;
     }
-    
-    private void scanJar(URL jarUrl, String packageName, Set<Class<?>> classes) {
-        String jarPath = jarUrl.getPath();
-        // Extract JAR file path from URL like "file:/path/to/file.jar!/package/path"
-        int bangIndex = jarPath.indexOf('!');
-        if (bangIndex > 0) {
-            jarPath = jarPath.substring(5, bangIndex); // Remove "file:" prefix
+
+    /**
+     * Strips a resource path from its URL, leaving the URL of the classpath root.
+     */
+    private static String rootOf(URL resource, String path) {
+        String url = resource.toString();
+        if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
         }
-        
-        try (JarFile jar = new JarFile(jarPath)) {
-            String packagePath = packageName.replace('.', '/');
-            Enumeration<JarEntry> entries = jar.entries();
-            
-            while (entries.hasMoreElements()) {
-                JarEntry entry = entries.nextElement();
+        return url.endsWith(path) ? url.substring(0, url.length() - path.length()) : url;
+    }
+
+    private static String toClassName(String entryName, int prefixLength) {
+        return entryName.substring(prefixLength, entryName.length() - 6).replace('/', '.');
+    }
+
+    /**
+     * The @Injectable classes found below one classpath location, collected for the scan cache.
+     */
+    private static final class Recording {
+        final List<ClassMetadata> classes = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean complete = true;
+    }
+
+    /**
+     * A single package scan. Work is split into tasks that run inline when
+     * sequential, or are forked on the current {@link ForkJoinPool} when parallel.
+     */
+    private final class Scan {
+        private final ScanSession session;
+        private final String packageName;
+        private final String packagePath;
+        private final ScanFilter filter;
+        private final Consumer<Class<?>> sink;
+        private final boolean parallel;
+        private final Set<String> seen = ConcurrentHashMap.newKeySet();
+        volatile boolean cancelled;
+        volatile Throwable failure;
+
+        Scan(ScanSession session, String packageName, ScanFilter filter, Consumer<Class<?>> sink, boolean parallel) {
+            this.session = session;
+            this.packageName = packageName;
+            this.packagePath = packageName.replace('.', '/');
+            this.filter = filter;
+            this.sink = sink;
+            this.parallel = parallel;
+        }
+
+        void run(List<URL> roots) {
+            List<Runnable> tasks = new ArrayList<>(roots.size());
+            for (URL root : roots) {
+                tasks.add(() -> scanRoot(root));
+            }
+            for (ModuleLayer layer : moduleLayers) {
+                for (Module module : layer.modules()) {
+                    if (containsPackage(module)) {
+                        ClassLoader loader = module.getClassLoader() != null ? module.getClassLoader() : classLoader;
+                        layer.configuration().findModule(module.getName())
+                            .ifPresent(resolved -> tasks.add(() -> scanLayerModule(resolved.reference(), loader)));
+                    }
+                }
+            }
+            runAll(tasks);
+        }
+
+        private boolean containsPackage(Module module) {
+            Set<String> packages = module.getPackages();
+            if (packages.contains(packageName)) {
+                return true;
+            }
+            String prefix = packageName + ".";
+            for (String name : packages) {
+                if (name.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void runAll(List<Runnable> tasks) {
+            if (!parallel || tasks.size() == 1) {
+                for (Runnable task : tasks) {
+                    task.run();
+                }
+                return;
+            }
+            List<ForkJoinTask<?>> forked = new ArrayList<>(tasks.size());
+            for (Runnable task : tasks) {
+                forked.add(ForkJoinTask.adapt(task));
+            }
+            ForkJoinTask.invokeAll(forked);
+        }
+
+        private void scanRoot(URL resource) {
+            ScanRootEvent event = new ScanRootEvent();
+            event.begin();
+            String source = scanLocation(resource);
+            event.complete(resource.toString(), packageName, source);
+        }
+
+        private void scanLayerModule(ModuleReference reference, ClassLoader loader) {
+            ScanRootEvent event = new ScanRootEvent();
+            event.begin();
+            scanModule(reference, loader);
+            event.complete(reference.location().map(Object::toString).orElse(reference.descriptor().name()),
+                packageName, "module");
+        }
+
+        /**
+         * Scans a classpath root, from its bean index or scan cache entry if it has one.
+         *
+         * @return how the root was read, as reported by {@link ScanRootEvent}
+         */
+        private String scanLocation(URL resource) {
+            try {
+                List<String> indexed = beanIndexes.get(rootOf(resource, packagePath));
+                if (indexed != null) {
+                    addIndexedClasses(indexed);
+                    return "index";
+                }
+
+                ScanCache cache = scanCache;
+                String location = resource.toString();
+                ScanCache.Fingerprint fingerprint = cache != null ? ScanCache.fingerprint(resource) : null;
+                if (fingerprint != null) {
+                    List<ClassMetadata> cached = cache.get(location, fingerprint);
+                    if (cached != null) {
+                        for (ClassMetadata metadata : cached) {
+                            if (filter.matches(metadata)) {
+                                addClass(metadata.getClassName());
+                            }
+                        }
+                        return "cache";
+                    }
+                }
+
+                Recording recording = fingerprint != null ? new Recording() : null;
+                String protocol = resource.getProtocol();
+                switch (protocol) {
+                    case "file":
+                        scanDirectory(Paths.get(resource.toURI()), packageName, recording);
+                        protocol = "directory";
+                        break;
+                    case "jar":
+                        scanArchive(resource, recording);
+                        break;
+                    case "jrt":
+                        scanSystemModule(resource);
+                        break;
+                    default:
+                        // Unsupported protocol; classes may still be found through module layers
+                }
+                if (recording != null && recording.complete && !cancelled) {
+                    cache.put(location, fingerprint, recording.classes);
+                }
+                return protocol;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (URISyntaxException e) {
+                throw new ContainerException("Invalid classpath URL: " + resource, e);
+            }
+        }
+
+        /**
+         * Scans a {@code jrt:/module.name/package/path} location from the run-time image.
+         */
+        private void scanSystemModule(URL resource) {
+            String path = resource.getPath();
+            int slash = path.indexOf('/', 1);
+            String moduleName = slash > 0 ? path.substring(1, slash) : path.substring(1);
+            ModuleFinder.ofSystem().find(moduleName)
+                .ifPresent(reference -> scanModule(reference, classLoader));
+        }
+
+        private void addIndexedClasses(List<String> indexed) throws IOException {
+            String prefix = packageName + ".";
+            for (String className : indexed) {
+                if (cancelled || !className.startsWith(prefix)) {
+                    continue;
+                }
+                if (filter.isAcceptAll()) {
+                    // Indexed classes are known to be @Injectable
+                    addClass(className);
+                } else {
+                    try (InputStream in = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+                        if (in != null) {
+                            addCandidate(className, in.readAllBytes(), null);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void scanDirectory(Path directory, String directoryPackage, Recording recording) {
+            if (cancelled || !Files.isDirectory(directory)) {
+                return;
+            }
+
+            List<Runnable> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    String fileName = entry.getFileName().toString();
+                    if (Files.isDirectory(entry)) {
+                        String subPackage = directoryPackage + "." + fileName;
+                        subdirectories.add(() -> scanDirectory(entry, subPackage, recording));
+                    } else if (fileName.endsWith(".class")) {
+                        String className = directoryPackage + "."
+                            + fileName.substring(0, fileName.length() - 6);
+                        addCandidate(className, Files.readAllBytes(entry), recording);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            runAll(subdirectories);
+        }
+
+        private void scanArchive(URL resource, Recording recording) {
+            ArchivePath archive = ArchivePath.parse(resource);
+            if (archive == null) {
+                return;
+            }
+            String jarPath = archive.file.toString();
+            try {
+                JarIndex index = session.jar(jarPath);
+                List<String> nested = archive.nested;
+                if (nested.isEmpty()) {
+                    scanJarEntries(index, "", recording);
+                } else if (!ArchivePath.isArchive(nested.get(0))) {
+                    // A directory inside the archive, e.g. WEB-INF/classes
+                    scanJarEntries(index, nested.get(0) + "/", recording);
+                } else {
+                    // Archives nested in the JAR, optionally followed by a directory inside the innermost one
+                    int archives = 1;
+                    while (archives < nested.size() && ArchivePath.isArchive(nested.get(archives))) {
+                        archives++;
+                    }
+                    String prefix = archives < nested.size() ? nested.get(archives) + "/" : "";
+                    scanNestedEntries(session.nested(jarPath, nested.subList(0, archives)), prefix, recording);
+                }
+            } catch (IOException e) {
+                throw new ContainerException("Failed to scan JAR: " + resource, e);
+            }
+        }
+
+        /**
+         * Reads the classes below a prefix of an opened JAR in parallel batches.
+         */
+        private void scanJarEntries(JarIndex index, String prefix, Recording recording) {
+            JarFile jar = index.getJarFile();
+            List<JarEntry> matching = index.classesUnder(prefix + packagePath);
+
+            // JarFile allows concurrent reads of different entries
+            List<Runnable> batches = new ArrayList<>();
+            for (int start = 0; start < matching.size(); start += JAR_BATCH_SIZE) {
+                List<JarEntry> batch = matching.subList(start, Math.min(start + JAR_BATCH_SIZE, matching.size()));
+                batches.add(() -> readJarEntries(jar, batch, prefix.length(), recording));
+            }
+            runAll(batches);
+        }
+
+        private void readJarEntries(JarFile jar, List<JarEntry> batch, int prefixLength, Recording recording) {
+            for (JarEntry entry : batch) {
+                if (cancelled) {
+                    return;
+                }
                 String name = entry.getName();
-                
-                if (name.startsWith(packagePath) && name.endsWith(".class")) {
-                    String className = name.substring(0, name.length() - 6).replace('/', '.');
-                    addClass(className, classes);
+                try (InputStream in = jar.getInputStream(entry)) {
+                    addCandidate(toClassName(name, prefixLength), in.readAllBytes(), recording);
+                } catch (IOException e) {
+                    throw new ContainerException("Failed to read " + name + " from " + jar.getName(), e);
                 }
             }
-        } catch (IOException e) {
-            throw new ContainerException("Failed to scan JAR: " + jarPath, e);
         }
-    }
-    
-    private void addClass(String className, Set<Class<?>> classes) {
-        try {
-            Class<?> clazz = classLoader.loadClass(className);
-            if (clazz.isAnnotationPresent(Injectable.class)) {
-                classes.add(clazz);
+
+        /**
+         * Reads the classes below a prefix of an indexed nested archive in parallel batches.
+         */
+        private void scanNestedEntries(NestedArchiveIndex index, String prefix, Recording recording) {
+            List<Map.Entry<String, byte[]>> matching = index.classesUnder(prefix + packagePath);
+
+            List<Runnable> batches = new ArrayList<>();
+            for (int start = 0; start < matching.size(); start += JAR_BATCH_SIZE) {
+                List<Map.Entry<String, byte[]>> batch =
+                    matching.subList(start, Math.min(start + JAR_BATCH_SIZE, matching.size()));
+                batches.add(() -> {
+                    for (Map.Entry<String, byte[]> entry : batch) {
+                        if (cancelled) {
+                            return;
+                        }
+                        addCandidate(toClassName(entry.getKey(), prefix.length()), entry.getValue(), recording);
+                    }
+                });
+            }
+            runAll(batches);
+        }
+
+        /**
+         * Reads the classes of a package from a module, loading them with the module's class loader.
+         */
+        private void scanModule(ModuleReference reference, ClassLoader loader) {
+            String prefix = packagePath + "/";
+            try (ModuleReader reader = reference.open()) {
+                List<String> names = new ArrayList<>();
+                reader.list()
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(".class"))
+                    .forEach(names::add);
+                for (String name : names) {
+                    if (cancelled) {
+                        return;
+                    }
+                    Optional<InputStream> resource = reader.open(name);
+                    if (resource.isPresent()) {
+                        try (InputStream in = resource.get()) {
+                            addCandidate(toClassName(name, 0), in.readAllBytes(), null, loader);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new ContainerException("Failed to scan module: " + reference.descriptor().name(), e);
+            }
+        }
+
+        /**
+         * Loads a class only if its bytes show it is @Injectable and it passes the filter.
+         * Every @Injectable class is recorded for the scan cache, whether or not it passes.
+         */
+        private void addCandidate(String className, byte[] bytes, Recording recording) {
+            addCandidate(className, bytes, recording, classLoader);
+        }
+
+        private void addCandidate(String className, byte[] bytes, Recording recording, ClassLoader loader) {
+            ClassMetadata metadata;
+            try {
+                metadata = ClassFileReader.read(bytes);
+            } catch (IllegalArgumentException e) {
+                // Unreadable class file: let the class loader decide, unless filters need the bytes
+                if (recording != null) {
+                    recording.complete = false;
+                }
+                if (filter.isAcceptAll()) {
+                    addClass(className, loader);
+                }
+                return;
+            }
+            if (!metadata.hasAnnotation(INJECTABLE)) {
+                return;
+            }
+            if (recording != null) {
+                recording.classes.add(metadata);
+            }
+            if (filter.matches(metadata)) {
+                addClass(className, loader);
+            }
+        }
+
+        private void addClass(String className) {
+            addClass(className, classLoader);
+        }
+
+        private void addClass(String className, ClassLoader loader) {
+            if (cancelled || !seen.add(className)) {
+                return;
+            }
+            try {
+                Class<?> clazz = Class.forName(className, false, loader);
+                if (clazz.isAnnotationPresent(Injectable.class)) {
+                    sink.accept(clazz);
+                }
+            } catch (ClassNotFoundException e) {
+                // Ignore classes that cannot be loaded
+            } catch (NoClassDefFoundError e) {
+                // Ignore classes with missing dependencies
             }
-        } catch (ClassNotFoundException e) {
-            // Ignore classes that cannot be loaded
-        } catch (NoClassDefFoundError e) {
-            // Ignore classes with missing dependencies
         }
     }
     
+    
     /**
      * Gets all classes in a package (regardless of annotations).
      *
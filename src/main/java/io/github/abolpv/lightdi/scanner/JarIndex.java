@@ -0,0 +1,91 @@
+package io.github.abolpv.lightdi.scanner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * An open JAR file with its class entries arranged in a package-prefix trie.
+ * The central directory is read once; each package lookup then only visits
+ * the entries below that package.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class JarIndex implements Closeable {
+
+    private final JarFile jar;
+    private final Node root = new Node();
+
+    JarIndex(JarFile jar) {
+        this.jar = jar;
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            String name = entry.getName();
+            if (!name.endsWith(".class")) {
+                continue;
+            }
+            Node node = root;
+            int start = 0;
+            int slash;
+            while ((slash = name.indexOf('/', start)) >= 0) {
+                node = node.child(name.substring(start, slash));
+                start = slash + 1;
+            }
+            node.classes.add(entry);
+        }
+    }
+
+    JarFile getJarFile() {
+        return jar;
+    }
+
+    /**
+     * Gets the class entries in a package and its subpackages.
+     *
+     * @param packagePath the package path, e.g. {@code com/example}
+     * @return the matching entries
+     */
+    List<JarEntry> classesUnder(String packagePath) {
+        Node node = root;
+        if (!packagePath.isEmpty()) {
+            for (String segment : packagePath.split("/")) {
+                node = node.children.get(segment);
+                if (node == null) {
+                    return List.of();
+                }
+            }
+        }
+        List<JarEntry> entries = new ArrayList<>();
+        node.collect(entries);
+        return entries;
+    }
+
+    @Override
+    public void close() throws IOException {
+        jar.close();
+    }
+
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>();
+        final List<JarEntry> classes = new ArrayList<>();
+
+        Node child(String segment) {
+            return children.computeIfAbsent(segment, s -> new Node());
+        }
+
+        void collect(List<JarEntry> entries) {
+            entries.addAll(classes);
+            for (Node child : children.values()) {
+                child.collect(entries);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.abolpv.lightdi.scanner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * The class entries of an archive stored inside another archive, arranged in a
+ * package-prefix trie like {@link JarIndex}.
+ * A nested archive has no central directory that can be read in place, so it is
+ * streamed once and the bytes of its class files are kept until the session closes;
+ * each package lookup then only visits the entries below that package.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class NestedArchiveIndex {
+
+    private final Node root = new Node();
+
+    private NestedArchiveIndex() {
+    }
+
+    /**
+     * Streams a nested archive out of a JAR, descending through further nested archives.
+     *
+     * @param jar the outer JAR
+     * @param archives the entry names of the nested archives, outermost first
+     * @return the index, empty if one of the nested archives does not exist
+     */
+    static NestedArchiveIndex read(JarFile jar, List<String> archives) throws IOException {
+        NestedArchiveIndex index = new NestedArchiveIndex();
+        JarEntry outer = jar.getJarEntry(archives.get(0));
+        if (outer == null) {
+            return index;
+        }
+        try (ZipInputStream in = new ZipInputStream(jar.getInputStream(outer))) {
+            ZipInputStream zip = in;
+            for (String archive : archives.subList(1, archives.size())) {
+                if (!seek(zip, archive)) {
+                    return index;
+                }
+                zip = new ZipInputStream(zip);
+            }
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (name.endsWith(".class")) {
+                    index.add(name, zip.readAllBytes());
+                }
+            }
+        }
+        return index;
+    }
+
+    private static boolean seek(ZipInputStream zip, String name) throws IOException {
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (entry.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(String name, byte[] bytes) {
+        Node node = root;
+        int start = 0;
+        int slash;
+        while ((slash = name.indexOf('/', start)) >= 0) {
+            node = node.child(name.substring(start, slash));
+            start = slash + 1;
+        }
+        node.classes.put(name, bytes);
+    }
+
+    /**
+     * Gets the class files in a package and its subpackages.
+     *
+     * @param packagePath the package path, e.g. {@code com/example}
+     * @return the matching entry names and their bytes
+     */
+    List<Map.Entry<String, byte[]>> classesUnder(String packagePath) {
+        Node node = root;
+        if (!packagePath.isEmpty()) {
+            for (String segment : packagePath.split("/")) {
+                node = node.children.get(segment);
+                if (node == null) {
+                    return List.of();
+                }
+            }
+        }
+        List<Map.Entry<String, byte[]>> entries = new ArrayList<>();
+        node.collect(entries);
+        return entries;
+    }
+
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>();
+        final Map<String, byte[]> classes = new HashMap<>();
+
+        Node child(String segment) {
+            return children.computeIfAbsent(segment, s -> new Node());
+        }
+
+        void collect(List<Map.Entry<String, byte[]>> entries) {
+            entries.addAll(classes.entrySet());
+            for (Node child : children.values()) {
+                child.collect(entries);
+            }
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package io.github.abolpv.lightdi.scanner;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of scan results, shared across JVM runs.
+ *
+ * <p>For every scanned classpath location (a package directory or a package inside a JAR)
+ * the cache stores the metadata of the {@literal @}Injectable classes found there, keyed by
+ * a fingerprint of the location: the size and modification time of a JAR, or the names,
+ * sizes and modification times of all files below a directory. A location whose fingerprint
+ * is unchanged is not rescanned; only changed locations are read again.</p>
+ *
+ * <p>Entries are stored before filtering, so the same cache serves scans with different
+ * {@link ScanFilter}s. The file is read into memory in one go, but an entry is only decoded
+ * when it is used. It is rewritten atomically by {@link #save()} when entries changed. The file
+ * is not kept open or mapped, since Windows refuses to replace a file that is still mapped.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Container container = Container.builder()
+ *     .scanCache(Paths.get("/var/cache/app/lightdi-scan.bin"))
+ *     .scan("com.example")
+ *     .build();
+ * </pre>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class ScanCache {
+
+    private static final int MAGIC = 0x4C445343; // "LDSC"
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private Map<String, Entry> entries;
+    private boolean dirty;
+
+    /**
+     * Creates a cache backed by a file. The file is created on the first {@link #save()}.
+     *
+     * @param file the cache file
+     */
+    public ScanCache(Path file) {
+        this.file = file.toAbsolutePath();
+    }
+
+    /**
+     * Gets the file backing this cache.
+     *
+     * @return the cache file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the number of cached locations.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries().size();
+    }
+
+    /**
+     * Removes all entries. The file is rewritten on the next {@link #save()}.
+     */
+    public synchronized void clear() {
+        entries().clear();
+        dirty = true;
+    }
+
+    /**
+     * Writes changed entries to the cache file, replacing it atomically.
+     * Does nothing if no entry changed since the cache was loaded or last saved.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        Path directory = file.getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    Entry entry = e.getValue();
+                    writeString(out, e.getKey());
+                    out.writeLong(entry.first);
+                    out.writeLong(entry.second);
+                    byte[] payload = entry.payloadBytes();
+                    out.writeInt(payload.length);
+                    out.write(payload);
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            dirty = false;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // ==================== Scanner Access ====================
+
+    /**
+     * Gets the cached classes of a location, or null if absent or out of date.
+     */
+    synchronized List<ClassMetadata> get(String location, Fingerprint fingerprint) {
+        Entry entry = entries().get(location);
+        if (entry == null || entry.first != fingerprint.first || entry.second != fingerprint.second) {
+            return null;
+        }
+        try {
+            return entry.classes();
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // Corrupt entry: drop it and rescan
+            entries.remove(location);
+            dirty = true;
+            return null;
+        }
+    }
+
+    synchronized void put(String location, Fingerprint fingerprint, List<ClassMetadata> classes) {
+        entries().put(location, new Entry(fingerprint.first, fingerprint.second, List.copyOf(classes)));
+        dirty = true;
+    }
+
+    /**
+     * Computes the fingerprint of a scanned location, or returns null if the
+     * location type is not supported by the cache.
+     */
+    static Fingerprint fingerprint(URL resource) throws IOException {
+        try {
+            if ("file".equals(resource.getProtocol())) {
+                return directoryFingerprint(Paths.get(resource.toURI()));
+            }
+            if ("jar".equals(resource.getProtocol())) {
+                // Nested archives are covered by the fingerprint of the outer archive
+                ArchivePath archive = ArchivePath.parse(resource);
+                if (archive == null) {
+                    return null;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(archive.file, BasicFileAttributes.class);
+                return new Fingerprint(attributes.size(), attributes.lastModifiedTime().toMillis());
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Combines the relative name, size and modification time of every file below a
+     * directory. The combination is order-independent, so the walk order does not matter.
+     */
+    private static Fingerprint directoryFingerprint(Path directory) throws IOException {
+        long[] result = new long[2];
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.forEach(path -> {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    long hash = directory.relativize(path).toString().hashCode();
+                    hash = hash * 31 + attributes.size();
+                    hash = hash * 31 + attributes.lastModifiedTime().toMillis();
+                    result[0]++;
+                    result[1] += mix(hash);
+                } catch (IOException e) {
+                    result[1] += mix(path.hashCode());
+                }
+            });
+        }
+        return new Fingerprint(result[0], result[1]);
+    }
+
+    private static long mix(long value) {
+        // SplitMix64 finalizer
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    // ==================== File Format ====================
+
+    private Map<String, Entry> entries() {
+        if (entries == null) {
+            entries = load();
+        }
+        return entries;
+    }
+
+    /**
+     * Reads the cache file and indexes its entries without decoding them.
+     * A missing, foreign or corrupt file yields an empty cache.
+     */
+    private Map<String, Entry> load() {
+        Map<String, Entry> loaded = new HashMap<>();
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        } catch (NoSuchFileException e) {
+            return loaded;
+        } catch (IOException e) {
+            dirty = true;
+            return loaded;
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                dirty = true;
+                return loaded;
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                String location = readString(buffer);
+                long first = buffer.getLong();
+                long second = buffer.getLong();
+                int length = buffer.getInt();
+                ByteBuffer payload = buffer.slice().limit(length);
+                buffer.position(buffer.position() + length);
+                loaded.put(location, new Entry(first, second, payload));
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            loaded.clear();
+            dirty = true;
+        }
+        return loaded;
+    }
+
+    private static byte[] encode(List<ClassMetadata> classes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(classes.size());
+            for (ClassMetadata metadata : classes) {
+                writeString(out, metadata.getClassName());
+                writeString(out, metadata.getSuperClassName() != null ? metadata.getSuperClassName() : "");
+                out.writeInt(metadata.getAccessFlags());
+                writeStrings(out, metadata.getInterfaceNames());
+                writeStrings(out, new ArrayList<>(metadata.getAnnotationNames()));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<ClassMetadata> decode(ByteBuffer payload) {
+        ByteBuffer buffer = payload.duplicate();
+        int count = buffer.getInt();
+        List<ClassMetadata> classes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String className = readString(buffer);
+            String superClassName = readString(buffer);
+            int accessFlags = buffer.getInt();
+            List<String> interfaceNames = readStrings(buffer);
+            List<String> annotationNames = readStrings(buffer);
+            classes.add(new ClassMetadata(className, superClassName.isEmpty() ? null : superClassName,
+                interfaceNames, Set.copyOf(annotationNames), accessFlags));
+        }
+        return List.copyOf(classes);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static List<String> readStrings(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(buffer));
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Size/time (JAR) or count/hash (directory) of a scanned location.
+     */
+    static final class Fingerprint {
+        final long first;
+        final long second;
+
+        Fingerprint(long first, long second) {
+            this.first = first;
+            this.second = second;
+        }
+    }
+
+    /**
+     * A cached location: either still encoded as read from the file or freshly scanned.
+     */
+    private static final class Entry {
+        final long first;
+        final long second;
+        private ByteBuffer payload;
+        private List<ClassMetadata> classes;
+
+        Entry(long first, long second, ByteBuffer payload) {
+            this.first = first;
+            this.second = second;
+            this.payload = payload;
+        }
+
+        Entry(long first, long second, List<ClassMetadata> classes) {
+            this.first = first;
+            this.second = second;
+            this.classes = classes;
+        }
+
+        List<ClassMetadata> classes() {
+            if (classes == null) {
+                classes = decode(payload);
+            }
+            return classes;
+        }
+
+        byte[] payloadBytes() throws IOException {
+            if (payload != null) {
+                byte[] bytes = new byte[payload.remaining()];
+                payload.duplicate().get(bytes);
+                return bytes;
+            }
+            return encode(classes);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.abolpv.lightdi.scanner;
+
+import io.github.abolpv.lightdi.annotation.ComponentScan;
+import io.github.abolpv.lightdi.exception.ContainerException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Include and exclude filters applied to scanned classes.
+ * Filters are evaluated on {@link ClassMetadata}, so rejected classes are never loaded.
+ *
+ * <p>A class passes if it matches at least one include filter (or there are none)
+ * and matches no exclude filter.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class ScanFilter {
+
+    private static final ScanFilter ACCEPT_ALL = new ScanFilter(List.of(), List.of());
+
+    private final List<Predicate<ClassMetadata>> includes;
+    private final List<Predicate<ClassMetadata>> excludes;
+
+    private ScanFilter(List<Predicate<ClassMetadata>> includes, List<Predicate<ClassMetadata>> excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    /**
+     * Gets a filter that accepts every class.
+     *
+     * @return the accept-all filter
+     */
+    public static ScanFilter acceptAll() {
+        return ACCEPT_ALL;
+    }
+
+    /**
+     * Creates a filter from the include and exclude filters of a {@literal @}ComponentScan.
+     *
+     * @param componentScan the annotation
+     * @return the filter
+     * @throws ContainerException if a filter declares an invalid regular expression
+     */
+    public static ScanFilter from(ComponentScan componentScan) {
+        List<Predicate<ClassMetadata>> includes = toPredicates(componentScan.includeFilters());
+        List<Predicate<ClassMetadata>> excludes = toPredicates(componentScan.excludeFilters());
+        if (includes.isEmpty() && excludes.isEmpty()) {
+            return ACCEPT_ALL;
+        }
+        return new ScanFilter(includes, excludes);
+    }
+
+    /**
+     * Checks whether this filter accepts every class.
+     *
+     * @return true if no include or exclude filters are configured
+     */
+    public boolean isAcceptAll() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    /**
+     * Evaluates the filter against a class.
+     *
+     * @param metadata the class metadata
+     * @return true if the class passes
+     */
+    public boolean matches(ClassMetadata metadata) {
+        if (!includes.isEmpty() && includes.stream().noneMatch(p -> p.test(metadata))) {
+            return false;
+        }
+        return excludes.stream().noneMatch(p -> p.test(metadata));
+    }
+
+    private static List<Predicate<ClassMetadata>> toPredicates(ComponentScan.Filter[] filters) {
+        List<Predicate<ClassMetadata>> predicates = new ArrayList<>();
+        for (ComponentScan.Filter filter : filters) {
+            switch (filter.type()) {
+                case ANNOTATION:
+                    for (Class<?> annotation : filter.classes()) {
+                        String name = annotation.getName();
+                        predicates.add(metadata -> metadata.hasAnnotation(name));
+                    }
+                    break;
+                case REGEX:
+                    for (String regex : filter.pattern()) {
+                        Pattern pattern = compile(regex);
+                        predicates.add(metadata -> pattern.matcher(metadata.getClassName()).matches());
+                    }
+                    break;
+                default:
+                    throw new ContainerException("Unsupported filter type: " + filter.type());
+            }
+        }
+        return predicates;
+    }
+
+    private static Pattern compile(String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new ContainerException("Invalid @ComponentScan filter pattern: " + regex, e);
+        }
+    }
+}
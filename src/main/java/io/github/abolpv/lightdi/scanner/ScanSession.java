@@ -0,0 +1,160 @@
+package io.github.abolpv.lightdi.scanner;
+
+import io.github.abolpv.lightdi.exception.ContainerException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.jar.JarFile;
+
+/**
+ * Shares work between several package scans.
+ * Each JAR is opened and indexed once per session and then answers every scanned
+ * package from its {@link JarIndex}. Archives nested inside a JAR are streamed once
+ * into a {@link NestedArchiveIndex}; the thread pool is also reused across scans.
+ * The scan cache, if any, is saved when the session is closed.
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * try (ScanSession session = scanner.openSession()) {
+ *     session.scanPackage("com.example.services", ScanFilter.acceptAll(), container::register);
+ *     session.scanPackage("com.example.repositories", ScanFilter.acceptAll(), container::register);
+ * }
+ * </pre>
+ *
+ * <p>Sessions are meant to be used by one thread at a time.</p>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ * @see ClassScanner#openSession()
+ */
+public final class ScanSession implements AutoCloseable {
+
+    private final ClassScanner scanner;
+    private final Map<String, JarIndex> jars = new HashMap<>();
+    private final Map<String, NestedArchiveIndex> nestedArchives = new HashMap<>();
+    private ForkJoinPool pool;
+    private boolean closed;
+
+    ScanSession(ClassScanner scanner) {
+        this.scanner = scanner;
+    }
+
+    /**
+     * Scans a package for classes annotated with @Injectable.
+     *
+     * @param packageName the package to scan
+     * @return set of injectable classes found
+     */
+    public Set<Class<?>> scanPackage(String packageName) {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        scanPackage(packageName, ScanFilter.acceptAll(), classes::add);
+        return classes;
+    }
+
+    /**
+     * Scans a package and streams each @Injectable class that passes the filter to a consumer.
+     *
+     * @param packageName the package to scan
+     * @param filter the include and exclude filters to apply
+     * @param consumer receives each class found, on the calling thread
+     * @throws ContainerException if the scan fails or the session is closed
+     * @see ClassScanner#scanPackage(String, ScanFilter, Consumer)
+     */
+    public void scanPackage(String packageName, ScanFilter filter, Consumer<Class<?>> consumer) {
+        if (closed) {
+            throw new ContainerException("Scan session is closed");
+        }
+        scanner.scan(this, packageName, filter, consumer);
+    }
+
+    /**
+     * Gets the number of JAR files opened by this session so far.
+     *
+     * @return the number of opened JARs
+     */
+    public synchronized int getOpenedJarCount() {
+        return jars.size();
+    }
+
+    /**
+     * Gets the number of archives nested in JARs that this session has indexed so far.
+     *
+     * @return the number of indexed nested archives
+     */
+    public synchronized int getIndexedNestedArchiveCount() {
+        return nestedArchives.size();
+    }
+
+    /**
+     * Gets the index of a JAR, opening it on first use.
+     */
+    synchronized JarIndex jar(String path) throws IOException {
+        JarIndex index = jars.get(path);
+        if (index == null) {
+            index = new JarIndex(new JarFile(path));
+            jars.put(path, index);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the index of an archive nested in a JAR, streaming it on first use.
+     * Indexes are keyed by the JAR path and the chain of nested entry names.
+     */
+    synchronized NestedArchiveIndex nested(String path, List<String> archives) throws IOException {
+        String key = path + "!/" + String.join("!/", archives);
+        NestedArchiveIndex index = nestedArchives.get(key);
+        if (index == null) {
+            index = NestedArchiveIndex.read(jar(path).getJarFile(), archives);
+            nestedArchives.put(key, index);
+        }
+        return index;
+    }
+
+    synchronized ForkJoinPool pool(int parallelism) {
+        if (pool == null || pool.getParallelism() != parallelism) {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+
+    /**
+     * Closes the opened JARs, stops the thread pool and saves the scan cache.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+        List<IOException> failures = new ArrayList<>();
+        for (JarIndex index : jars.values()) {
+            try {
+                index.close();
+            } catch (IOException e) {
+                failures.add(e);
+            }
+        }
+        jars.clear();
+        nestedArchives.clear();
+        scanner.saveScanCache();
+        if (!failures.isEmpty()) {
+            ContainerException exception = new ContainerException("Failed to close scanned JARs", failures.get(0));
+            failures.stream().skip(1).forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,555 @@
+package io.github.abolpv.lightdi.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal class file assembler for runtime-generated classes.
+ * Supports fields and straight-line methods, which is all the container needs
+ * for its generated factories and proxies, without an external bytecode library.
+ *
+ * <p>Methods must not contain branches or exception handlers: no StackMapTable
+ * is emitted. The maximum stack depth and local variable count are computed
+ * from the emitted instructions.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * ClassFileWriter writer = new ClassFileWriter(
+ *     ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER,
+ *     "com/example/Factory", "java/lang/Object");
+ * writer.method(ClassFileWriter.ACC_PUBLIC, "&lt;init&gt;", "()V")
+ *     .aload(0)
+ *     .invokespecial("java/lang/Object", "&lt;init&gt;", "()V")
+ *     .returnVoid();
+ * byte[] bytes = writer.toByteArray();
+ * </pre>
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+public final class ClassFileWriter {
+
+    public static final int ACC_PUBLIC = 0x0001;
+    public static final int ACC_PRIVATE = 0x0002;
+    public static final int ACC_PROTECTED = 0x0004;
+    public static final int ACC_STATIC = 0x0008;
+    public static final int ACC_FINAL = 0x0010;
+    public static final int ACC_SUPER = 0x0020;
+    public static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int JAVA_11_VERSION = 55;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+    private final DataOutputStream poolOut = new DataOutputStream(pool);
+    private final Map<String, Integer> poolIndex = new HashMap<>();
+    private int poolCount = 1;
+
+    private final int access;
+    private final int thisClass;
+    private final int superClass;
+    private final int[] interfaces;
+    private final List<byte[]> fields = new ArrayList<>();
+    private final List<Code> methods = new ArrayList<>();
+
+    /**
+     * Creates a writer for a new class.
+     *
+     * @param access the class access flags
+     * @param internalName the internal name of the class, e.g. {@code com/example/Factory}
+     * @param superName the internal name of the superclass
+     * @param interfaceNames the internal names of the implemented interfaces
+     */
+    public ClassFileWriter(int access, String internalName, String superName, String... interfaceNames) {
+        this.access = access;
+        this.thisClass = classRef(internalName);
+        this.superClass = classRef(superName);
+        this.interfaces = new int[interfaceNames.length];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaces[i] = classRef(interfaceNames[i]);
+        }
+    }
+
+    /**
+     * Adds a field to the class.
+     *
+     * @param access the field access flags
+     * @param name the field name
+     * @param descriptor the field descriptor
+     * @return this writer
+     */
+    public ClassFileWriter field(int access, String name, String descriptor) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeShort(access);
+            out.writeShort(utf8(name));
+            out.writeShort(utf8(descriptor));
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        fields.add(bytes.toByteArray());
+        return this;
+    }
+
+    /**
+     * Starts a new method. Instructions are appended to the returned code builder.
+     *
+     * @param access the method access flags
+     * @param name the method name
+     * @param descriptor the method descriptor
+     * @return a code builder for the method body
+     */
+    public Code method(int access, String name, String descriptor) {
+        Code code = new Code(access, utf8(name), utf8(descriptor), descriptor);
+        methods.add(code);
+        return code;
+    }
+
+    /**
+     * Assembles the class file.
+     *
+     * @return the class file bytes
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            int codeName = utf8("Code");
+            out.writeInt(MAGIC);
+            out.writeShort(0);
+            out.writeShort(JAVA_11_VERSION);
+            out.writeShort(poolCount);
+            pool.writeTo(out);
+            out.writeShort(access);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.length);
+            for (int iface : interfaces) {
+                out.writeShort(iface);
+            }
+            out.writeShort(fields.size());
+            for (byte[] field : fields) {
+                out.write(field);
+            }
+            out.writeShort(methods.size());
+            for (Code method : methods) {
+                method.writeTo(out, codeName);
+            }
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the internal name of a class, e.g. {@code java/lang/String}.
+     *
+     * @param clazz the class
+     * @return the internal name
+     */
+    public static String internalName(Class<?> clazz) {
+        return clazz.getName().replace('.', '/');
+    }
+
+    /**
+     * Returns the type descriptor of a class, e.g. {@code Ljava/lang/String;} or {@code I}.
+     *
+     * @param clazz the class
+     * @return the descriptor
+     */
+    public static String descriptor(Class<?> clazz) {
+        return clazz.descriptorString();
+    }
+
+    /**
+     * Builds a method descriptor from a return type and parameter types.
+     *
+     * @param returnType the return type
+     * @param parameterTypes the parameter types
+     * @return the method descriptor
+     */
+    public static String methodDescriptor(Class<?> returnType, Class<?>... parameterTypes) {
+        StringBuilder sb = new StringBuilder("(");
+        for (Class<?> type : parameterTypes) {
+            sb.append(type.descriptorString());
+        }
+        return sb.append(')').append(returnType.descriptorString()).toString();
+    }
+
+    // ==================== Constant Pool ====================
+
+    private int utf8(String value) {
+        return constant("U" + value, 1, out -> {
+            out.writeByte(CONSTANT_UTF8);
+            out.writeUTF(value);
+        });
+    }
+
+    private int integer(int value) {
+        return constant("I" + value, 1, out -> {
+            out.writeByte(CONSTANT_INTEGER);
+            out.writeInt(value);
+        });
+    }
+
+    private int classRef(String internalName) {
+        int name = utf8(internalName);
+        return constant("C" + internalName, 1, out -> {
+            out.writeByte(CONSTANT_CLASS);
+            out.writeShort(name);
+        });
+    }
+
+    private int nameAndType(String name, String descriptor) {
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        return constant("N" + name + ':' + descriptor, 1, out -> {
+            out.writeByte(CONSTANT_NAME_AND_TYPE);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+        });
+    }
+
+    private int memberRef(int tag, String owner, String name, String descriptor) {
+        int ownerIndex = classRef(owner);
+        int nameAndTypeIndex = nameAndType(name, descriptor);
+        return constant("M" + tag + owner + '.' + name + ':' + descriptor, 1, out -> {
+            out.writeByte(tag);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndTypeIndex);
+        });
+    }
+
+    private int constant(String key, int slots, PoolWriter writer) {
+        Integer existing = poolIndex.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            writer.write(poolOut);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int index = poolCount;
+        poolCount += slots;
+        if (poolCount > 0xFFFF) {
+            throw new IllegalStateException("Constant pool too large");
+        }
+        poolIndex.put(key, index);
+        return index;
+    }
+
+    @FunctionalInterface
+    private interface PoolWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    // ==================== Code ====================
+
+    /**
+     * Appends the instructions of a single method.
+     * Stack depth and local variable usage are tracked as instructions are added.
+     */
+    public final class Code {
+
+        private final int access;
+        private final int name;
+        private final int descriptor;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int stack;
+        private int maxStack;
+        private int maxLocals;
+
+        private Code(int access, int name, int descriptor, String methodDescriptor) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.maxLocals = argumentSlots(methodDescriptor) + ((access & ACC_STATIC) != 0 ? 0 : 1);
+        }
+
+        public Code aload(int index) {
+            return load(0x19, 0x2A, index, 1);
+        }
+
+        public Code iload(int index) {
+            return load(0x15, 0x1A, index, 1);
+        }
+
+        public Code lload(int index) {
+            return load(0x16, 0x1E, index, 2);
+        }
+
+        public Code fload(int index) {
+            return load(0x17, 0x22, index, 1);
+        }
+
+        public Code dload(int index) {
+            return load(0x18, 0x26, index, 2);
+        }
+
+        public Code astore(int index) {
+            locals(index, 1);
+            if (index <= 3) {
+                op(0x4B + index, -1);
+            } else {
+                op(0x3A, -1);
+                bytes.write(index);
+            }
+            return this;
+        }
+
+        /**
+         * Loads a value of the given type from a local variable slot.
+         *
+         * @param type the value type
+         * @param index the local variable slot
+         * @return this code builder
+         */
+        public Code load(Class<?> type, int index) {
+            if (!type.isPrimitive()) {
+                return aload(index);
+            }
+            if (type == long.class) {
+                return lload(index);
+            }
+            if (type == float.class) {
+                return fload(index);
+            }
+            if (type == double.class) {
+                return dload(index);
+            }
+            return iload(index);
+        }
+
+        /**
+         * Returns a value of the given type, or returns void.
+         *
+         * @param type the return type
+         * @return this code builder
+         */
+        public Code returnValue(Class<?> type) {
+            if (type == void.class) {
+                return returnVoid();
+            }
+            if (!type.isPrimitive()) {
+                return op(0xB0, -1);
+            }
+            if (type == long.class) {
+                return op(0xAD, -2);
+            }
+            if (type == float.class) {
+                return op(0xAE, -1);
+            }
+            if (type == double.class) {
+                return op(0xAF, -2);
+            }
+            return op(0xAC, -1);
+        }
+
+        public Code areturn() {
+            return op(0xB0, -1);
+        }
+
+        public Code returnVoid() {
+            return op(0xB1, 0);
+        }
+
+        public Code dup() {
+            return op(0x59, 1);
+        }
+
+        public Code pop() {
+            return op(0x57, -1);
+        }
+
+        public Code aconstNull() {
+            return op(0x01, 1);
+        }
+
+        public Code aaload() {
+            return op(0x32, -1);
+        }
+
+        public Code athrow() {
+            return op(0xBF, -1);
+        }
+
+        /**
+         * Pushes an int constant.
+         *
+         * @param value the value
+         * @return this code builder
+         */
+        public Code iconst(int value) {
+            if (value >= -1 && value <= 5) {
+                return op(0x03 + value, 1);
+            }
+            if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                op(0x10, 1);
+                bytes.write(value);
+                return this;
+            }
+            if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                op(0x11, 1);
+                writeShort(value);
+                return this;
+            }
+            op(0x13, 1);
+            writeShort(integer(value));
+            return this;
+        }
+
+        public Code newObject(String internalName) {
+            op(0xBB, 1);
+            writeShort(classRef(internalName));
+            return this;
+        }
+
+        public Code checkcast(String internalName) {
+            op(0xC0, 0);
+            writeShort(classRef(internalName));
+            return this;
+        }
+
+        public Code getfield(String owner, String name, String descriptor) {
+            op(0xB4, slots(descriptor) - 1);
+            writeShort(memberRef(CONSTANT_FIELDREF, owner, name, descriptor));
+            return this;
+        }
+
+        public Code putfield(String owner, String name, String descriptor) {
+            op(0xB5, -slots(descriptor) - 1);
+            writeShort(memberRef(CONSTANT_FIELDREF, owner, name, descriptor));
+            return this;
+        }
+
+        public Code invokevirtual(String owner, String name, String descriptor) {
+            return invoke(0xB6, CONSTANT_METHODREF, owner, name, descriptor, true);
+        }
+
+        public Code invokespecial(String owner, String name, String descriptor) {
+            return invoke(0xB7, CONSTANT_METHODREF, owner, name, descriptor, true);
+        }
+
+        public Code invokestatic(String owner, String name, String descriptor) {
+            return invoke(0xB8, CONSTANT_METHODREF, owner, name, descriptor, false);
+        }
+
+        public Code invokeinterface(String owner, String name, String descriptor) {
+            int argumentSlots = argumentSlots(descriptor);
+            invoke(0xB9, CONSTANT_INTERFACE_METHODREF, owner, name, descriptor, true);
+            bytes.write(argumentSlots + 1);
+            bytes.write(0);
+            return this;
+        }
+
+        private Code invoke(int opcode, int tag, String owner, String name, String descriptor, boolean hasReceiver) {
+            int delta = returnSlots(descriptor) - argumentSlots(descriptor) - (hasReceiver ? 1 : 0);
+            op(opcode, delta);
+            writeShort(memberRef(tag, owner, name, descriptor));
+            return this;
+        }
+
+        private Code load(int opcode, int shortOpcode, int index, int size) {
+            locals(index, size);
+            if (index <= 3) {
+                op(shortOpcode + index, size);
+            } else {
+                op(opcode, size);
+                bytes.write(index);
+            }
+            return this;
+        }
+
+        private void locals(int index, int size) {
+            if (index > 0xFF) {
+                throw new IllegalArgumentException("Local variable index too large: " + index);
+            }
+            maxLocals = Math.max(maxLocals, index + size);
+        }
+
+        private Code op(int opcode, int stackDelta) {
+            bytes.write(opcode);
+            stack += stackDelta;
+            if (stack < 0) {
+                throw new IllegalStateException("Operand stack underflow at opcode 0x" + Integer.toHexString(opcode));
+            }
+            maxStack = Math.max(maxStack, stack);
+            return this;
+        }
+
+        private void writeShort(int value) {
+            bytes.write((value >>> 8) & 0xFF);
+            bytes.write(value & 0xFF);
+        }
+
+        private void writeTo(DataOutputStream out, int codeName) throws IOException {
+            byte[] code = bytes.toByteArray();
+            out.writeShort(access);
+            out.writeShort(name);
+            out.writeShort(descriptor);
+            out.writeShort(1);
+            out.writeShort(codeName);
+            out.writeInt(12 + code.length);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(code.length);
+            out.write(code);
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+    }
+
+    // ==================== Descriptors ====================
+
+    private static int slots(String descriptor) {
+        char c = descriptor.charAt(0);
+        if (c == 'V') {
+            return 0;
+        }
+        return c == 'J' || c == 'D' ? 2 : 1;
+    }
+
+    private static int returnSlots(String methodDescriptor) {
+        return slots(methodDescriptor.substring(methodDescriptor.indexOf(')') + 1));
+    }
+
+    private static int argumentSlots(String methodDescriptor) {
+        int slots = 0;
+        int i = 1;
+        while (methodDescriptor.charAt(i) != ')') {
+            char c = methodDescriptor.charAt(i);
+            if (c == 'J' || c == 'D') {
+                slots += 2;
+                i++;
+                continue;
+            }
+            while (c == '[') {
+                c = methodDescriptor.charAt(++i);
+            }
+            if (c == 'L') {
+                i = methodDescriptor.indexOf(';', i);
+            }
+            slots++;
+            i++;
+        }
+        return slots;
+    }
+}
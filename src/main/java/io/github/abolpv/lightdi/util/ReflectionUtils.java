@@ -12,9 +12,10 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Utility class for reflection operations.
@@ -25,6 +26,8 @@ import java.util.Optional;
  */
 public final class ReflectionUtils {
     
+    private static final Object[] NO_ARGS = new Object[0];
+
     private ReflectionUtils() {
         // Utility class, prevent instantiation
     }
@@ -241,20 +244,52 @@ public final class ReflectionUtils {
     
     /**
      * Gets all interfaces implemented by a class (including inherited).
+     * Interfaces extended by those interfaces are included, each interface once,
+     * depth first in declaration order.
      *
      * @param clazz the class to inspect
      * @return list of all interfaces
      */
     public static List<Class<?>> getAllInterfaces(Class<?> clazz) {
-        List<Class<?>> interfaces = new ArrayList<>();
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
         
         Class<?> current = clazz;
         while (current != null && current != Object.class) {
-            interfaces.addAll(Arrays.asList(current.getInterfaces()));
+            collectInterfaces(current, interfaces);
             current = current.getSuperclass();
         }
         
-        return interfaces;
+        return new ArrayList<>(interfaces);
+    }
+
+    /**
+     * Gets a class, its superclasses up to but excluding {@code Object}, and all its interfaces.
+     *
+     * @param clazz the class to inspect
+     * @return list of all types an instance of the class can be assigned to, the class first
+     * @since 1.2.0
+     */
+    public static List<Class<?>> getAllSupertypes(Class<?> clazz) {
+        List<Class<?>> supertypes = new ArrayList<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            supertypes.add(current);
+        }
+        if (clazz.isInterface()) {
+            Set<Class<?>> interfaces = new LinkedHashSet<>();
+            collectInterfaces(clazz, interfaces);
+            supertypes.addAll(interfaces);
+        } else {
+            supertypes.addAll(getAllInterfaces(clazz));
+        }
+        return supertypes;
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> iface : type.getInterfaces()) {
+            if (interfaces.add(iface)) {
+                collectInterfaces(iface, interfaces);
+            }
+        }
     }
     
     /**
@@ -285,8 +320,13 @@ public final class ReflectionUtils {
      */
     public static void setField(Object target, Field field, Object value) {
         try {
-            field.setAccessible(true);
-            field.set(target, value);
+            try {
+                field.set(target, value);
+            } catch (IllegalAccessException e) {
+                // Fields found by findInjectableFields are already accessible
+                field.setAccessible(true);
+                field.set(target, value);
+            }
         } catch (IllegalAccessException e) {
             throw new ContainerException(
                 "Failed to set field " + field.getName() + " on " + target.getClass().getName(), e
@@ -303,8 +343,7 @@ public final class ReflectionUtils {
      */
     public static void invokeMethod(Object target, Method method) {
         try {
-            method.setAccessible(true);
-            method.invoke(target);
+            invoke(target, method, NO_ARGS);
         } catch (Exception e) {
             throw new ContainerException(
                 "Failed to invoke method " + method.getName() + " on " + target.getClass().getName(), e
@@ -322,12 +361,21 @@ public final class ReflectionUtils {
      */
     public static void invokeMethodWithArgs(Object target, Method method, Object[] args) {
         try {
-            method.setAccessible(true);
-            method.invoke(target, args);
+            invoke(target, method, args);
         } catch (Exception e) {
             throw new ContainerException(
                 "Failed to invoke method " + method.getName() + " on " + target.getClass().getName(), e
             );
         }
     }
+
+    private static void invoke(Object target, Method method, Object[] args) throws Exception {
+        try {
+            method.invoke(target, args);
+        } catch (IllegalAccessException e) {
+            // Methods found by the find* lookups are already accessible
+            method.setAccessible(true);
+            method.invoke(target, args);
+        }
+    }
 }
@@ -0,0 +1,164 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.BeanDefinition;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.fixtures.scan.ScannedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for looking up beans by the annotations on their classes.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class AnnotationLookupTest {
+
+    private static final AtomicInteger created = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        created.set(0);
+    }
+
+    // Test classes
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @interface MessageHandler {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @Inherited
+    @interface Route {
+        String value();
+    }
+
+    @Injectable
+    @Singleton
+    @MessageHandler
+    static class OrderHandler {
+        OrderHandler() {
+            created.incrementAndGet();
+        }
+    }
+
+    @Injectable
+    @MessageHandler
+    static class PaymentHandler {
+        PaymentHandler() {
+            created.incrementAndGet();
+        }
+    }
+
+    @Injectable
+    @Singleton
+    @Route("/users")
+    static class UserController {
+    }
+
+    @Injectable
+    @Singleton
+    static class AdminController extends UserController {
+    }
+
+    @Injectable
+    static class Unmarked {
+    }
+
+    @Nested
+    @DisplayName("Instances")
+    class InstanceTests {
+
+        @Test
+        @DisplayName("Should find annotated beans in registration order")
+        void shouldFindAnnotatedBeans() {
+            Container container = new Container()
+                .register(OrderHandler.class)
+                .register(Unmarked.class)
+                .register(PaymentHandler.class);
+
+            List<Object> handlers = container.getBeansWithAnnotation(MessageHandler.class);
+
+            assertEquals(2, handlers.size());
+            assertSame(container.get(OrderHandler.class), handlers.get(0));
+            assertInstanceOf(PaymentHandler.class, handlers.get(1));
+            assertTrue(container.getBeansWithAnnotation(Primary.class).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should include beans inheriting an @Inherited annotation")
+        void shouldFindInheritedAnnotations() {
+            Container container = new Container().register(UserController.class).register(AdminController.class);
+
+            List<Object> routes = container.getBeansWithAnnotation(Route.class);
+
+            assertEquals(2, routes.size());
+            assertInstanceOf(AdminController.class, routes.get(1));
+        }
+
+        @Test
+        @DisplayName("Should cache singleton results until registration changes")
+        void shouldCacheSingletons() {
+            Container container = new Container().register(UserController.class);
+
+            List<Object> first = container.getBeansWithAnnotation(Route.class);
+            assertSame(first, container.getBeansWithAnnotation(Route.class));
+
+            container.register(AdminController.class);
+            assertEquals(2, container.getBeansWithAnnotation(Route.class).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Definitions")
+    class DefinitionTests {
+
+        @Test
+        @DisplayName("Should return definitions without creating beans")
+        void shouldNotInstantiate() {
+            Container container = new Container().register(OrderHandler.class).register(PaymentHandler.class);
+
+            List<BeanDefinition> definitions = container.getBeanDefinitionsWithAnnotation(MessageHandler.class);
+
+            assertEquals(List.of(OrderHandler.class, PaymentHandler.class),
+                definitions.stream().map(BeanDefinition::getImplementationClass).toList());
+            assertEquals(0, created.get());
+        }
+
+        @Test
+        @DisplayName("Should index beans found by scanning")
+        void shouldIndexScannedBeans() {
+            Container container = new Container().scan("io.github.abolpv.lightdi.fixtures.scan");
+
+            List<BeanDefinition> named = container.getBeanDefinitionsWithAnnotation(Named.class);
+
+            assertEquals(List.of(ScannedService.class),
+                named.stream().map(BeanDefinition::getImplementationClass).toList());
+        }
+
+        @Test
+        @DisplayName("Should forget definitions when the container is cleared")
+        void shouldClear() {
+            Container container = new Container().register(OrderHandler.class);
+
+            container.clear();
+
+            assertTrue(container.getBeanDefinitionsWithAnnotation(MessageHandler.class).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.BeanHandle;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.container.Key;
+import io.github.abolpv.lightdi.container.Scope;
+import io.github.abolpv.lightdi.exception.BeanNotFoundException;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.provider.Provider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for bean handles and keys.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class BeanHandleTest {
+
+    // Test classes
+
+    interface Sender {
+        String send();
+    }
+
+    @Injectable
+    @Singleton
+    static class Repository {
+    }
+
+    @Injectable
+    static class Handler {
+        final Repository repository;
+
+        @Inject
+        Handler(Repository repository) {
+            this.repository = repository;
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class EmailSender implements Sender {
+        public String send() {
+            return "email";
+        }
+    }
+
+    @Injectable
+    static class SmsSender implements Sender {
+        public String send() {
+            return "sms";
+        }
+    }
+
+    @Injectable
+    static class Notifier {
+        @Inject
+        Provider<Sender> sender;
+    }
+
+    @Nested
+    @DisplayName("Keys")
+    class KeyTests {
+
+        @Test
+        @DisplayName("Should compare by type and qualifier")
+        void shouldCompareByTypeAndQualifier() {
+            assertEquals(Key.of(Sender.class, "email"), Key.of(Sender.class, "email"));
+            assertEquals(Key.of(Sender.class, "email").hashCode(), Key.of(Sender.class, "email").hashCode());
+            assertEquals(Key.of(Sender.class), Key.of(Sender.class, null));
+            assertNotEquals(Key.of(Sender.class), Key.of(Sender.class, "email"));
+            assertNotEquals(Key.of(Sender.class, "email"), Key.of(EmailSender.class, "email"));
+        }
+
+        @Test
+        @DisplayName("Should retrieve beans by key")
+        void shouldRetrieveByKey() {
+            Container container = new Container()
+                .register(Sender.class, SmsSender.class, "sms")
+                .register(Repository.class);
+
+            assertEquals("sms", container.get(Key.of(Sender.class, "sms")).send());
+            assertSame(container.get(Repository.class), container.get(Key.of(Repository.class)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Handles")
+    class HandleTests {
+
+        @Test
+        @DisplayName("Should return the cached singleton")
+        void shouldReturnSingleton() {
+            Container container = new Container().register(Repository.class);
+            BeanHandle<Repository> handle = container.handle(Repository.class);
+
+            assertEquals(Scope.SINGLETON, handle.getScope());
+            assertSame(container.get(Repository.class), handle.get());
+            assertSame(handle.get(), handle.get());
+        }
+
+        @Test
+        @DisplayName("Should create a new prototype on every call")
+        void shouldCreatePrototypes() {
+            Container container = new Container().register(Repository.class).register(Handler.class);
+            BeanHandle<Handler> handle = container.handle(Handler.class);
+
+            Handler first = handle.get();
+            Handler second = handle.get();
+
+            assertEquals(Scope.PROTOTYPE, handle.getScope());
+            assertNotSame(first, second);
+            assertSame(container.get(Repository.class), first.repository);
+        }
+
+        @Test
+        @DisplayName("Should resolve named beans")
+        void shouldResolveNamedBeans() {
+            Container container = new Container()
+                .register(Sender.class, EmailSender.class, "email")
+                .register(Sender.class, SmsSender.class, "sms");
+
+            assertEquals("email", container.handle(Sender.class, "email").get().send());
+            assertEquals("sms", container.handle(Sender.class, "sms").get().send());
+            assertSame(container.get(Sender.class, "email"), container.handle(Sender.class, "email").get());
+        }
+
+        @Test
+        @DisplayName("Should return the same handle for equal keys")
+        void shouldCacheHandles() {
+            Container container = new Container().register(Repository.class);
+
+            assertSame(container.handle(Repository.class), container.handle(Key.of(Repository.class)));
+        }
+
+        @Test
+        @DisplayName("Should resolve the new definition after re-registration")
+        void shouldFollowReRegistration() {
+            Container container = new Container()
+                .register(Sender.class, EmailSender.class)
+                .register(Notifier.class);
+            assertEquals("email", container.handle(Sender.class).get().send());
+            assertEquals("email", container.get(Notifier.class).sender.get().send());
+
+            container.register(Sender.class, SmsSender.class);
+
+            assertEquals("sms", container.handle(Sender.class).get().send());
+            assertEquals("sms", container.get(Notifier.class).sender.get().send());
+        }
+
+        @Test
+        @DisplayName("Should throw for unregistered beans")
+        void shouldThrowForUnregistered() {
+            Container container = new Container();
+
+            assertThrows(BeanNotFoundException.class, () -> container.handle(Repository.class));
+            assertThrows(BeanNotFoundException.class, () -> container.handle(Sender.class, "fax"));
+        }
+
+        @Test
+        @DisplayName("Should follow clearSingletons and shutdown")
+        void shouldFollowLifecycle() {
+            Container container = new Container().register(Repository.class).register(Handler.class);
+            BeanHandle<Repository> singleton = container.handle(Repository.class);
+            BeanHandle<Handler> prototype = container.handle(Handler.class);
+            Repository first = singleton.get();
+
+            container.clearSingletons();
+            Repository second = singleton.get();
+            assertNotSame(first, second);
+            assertSame(container.get(Repository.class), second);
+
+            container.shutdown();
+            assertThrows(ContainerException.class, singleton::get);
+            assertThrows(ContainerException.class, prototype::get);
+        }
+
+        @Test
+        @DisplayName("Should work on frozen containers")
+        void shouldWorkWhenFrozen() {
+            Container container = Container.builder()
+                .register(Repository.class)
+                .register(Handler.class)
+                .freeze()
+                .build();
+
+            assertSame(container.get(Repository.class), container.handle(Repository.class).get());
+            assertSame(container.get(Repository.class), container.handle(Handler.class).get().repository);
+        }
+    }
+}
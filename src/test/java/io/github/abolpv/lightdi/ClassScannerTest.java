@@ -0,0 +1,587 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.ComponentScan;
+import io.github.abolpv.lightdi.annotation.Injectable;
+import io.github.abolpv.lightdi.annotation.Named;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.fixtures.scan.LegacyService;
+import io.github.abolpv.lightdi.fixtures.scan.PlainHelper;
+import io.github.abolpv.lightdi.fixtures.scan.ScanConfig;
+import io.github.abolpv.lightdi.fixtures.scan.ScannedRepository;
+import io.github.abolpv.lightdi.fixtures.scan.ScannedService;
+import io.github.abolpv.lightdi.fixtures.scan.SingletonOnlyConfig;
+import io.github.abolpv.lightdi.scanner.ClassFileReader;
+import io.github.abolpv.lightdi.scanner.ClassMetadata;
+import io.github.abolpv.lightdi.scanner.ClassScanner;
+import io.github.abolpv.lightdi.scanner.ScanCache;
+import io.github.abolpv.lightdi.scanner.ScanFilter;
+import io.github.abolpv.lightdi.scanner.ScanSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.module.Configuration;
+import java.lang.module.ModuleFinder;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for classpath scanning, the class file pre-filter and @ComponentScan.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class ClassScannerTest {
+
+    private static final String FIXTURES = "io.github.abolpv.lightdi.fixtures.scan";
+
+    @Nested
+    @DisplayName("Class File Reader Tests")
+    class ClassFileReaderTests {
+
+        @Test
+        @DisplayName("Should read class name, supertypes and annotations from bytes")
+        void shouldReadMetadata() throws IOException {
+            ClassMetadata metadata = ClassFileReader.read(bytesOf(ScannedService.class));
+
+            assertEquals(ScannedService.class.getName(), metadata.getClassName());
+            assertEquals(Object.class.getName(), metadata.getSuperClassName());
+            assertEquals(List.of("java.lang.Runnable", "java.io.Serializable"), metadata.getInterfaceNames());
+            assertEquals(Set.of(Injectable.class.getName(), Named.class.getName()), metadata.getAnnotationNames());
+            assertFalse(metadata.isInterface());
+        }
+
+        @Test
+        @DisplayName("Should report no annotations for plain classes and flag interfaces")
+        void shouldReadPlainClassesAndInterfaces() throws IOException {
+            assertTrue(ClassFileReader.read(bytesOf(PlainHelper.class)).getAnnotationNames().isEmpty());
+
+            ClassMetadata runnable = ClassFileReader.read(bytesOf(Runnable.class));
+            assertTrue(runnable.isInterface());
+            assertTrue(runnable.isAbstract());
+        }
+
+        @Test
+        @DisplayName("Should reject bytes that are not a class file")
+        void shouldRejectInvalidBytes() {
+            assertThrows(IllegalArgumentException.class, () -> ClassFileReader.read(new byte[] {1, 2, 3, 4}));
+            assertThrows(IllegalArgumentException.class,
+                () -> ClassFileReader.read(new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0}));
+        }
+    }
+
+    @Nested
+    @DisplayName("Pre-filter Tests")
+    class PreFilterTests {
+
+        @Test
+        @DisplayName("Should only load classes annotated with @Injectable")
+        void shouldNotLoadNonInjectableClasses() {
+            RecordingClassLoader loader = new RecordingClassLoader(getClass().getClassLoader());
+
+            Set<Class<?>> classes = new ClassScanner(loader).scanPackage(FIXTURES);
+
+            assertEquals(Set.of(ScannedRepository.class, ScannedService.class, LegacyService.class), classes);
+            assertFalse(loader.loaded.contains(PlainHelper.class.getName()));
+            assertFalse(loader.loaded.contains(ScanConfig.class.getName()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel Scan Tests")
+    class ParallelScanTests {
+
+        @TempDir
+        Path tempDir;
+
+        @Test
+        @DisplayName("Should find the same classes sequentially and in parallel")
+        void shouldMatchSequentialScan() {
+            ClassScanner sequential = new ClassScanner(getClass().getClassLoader());
+            sequential.setParallelism(1);
+            ClassScanner parallel = new ClassScanner(getClass().getClassLoader());
+            parallel.setParallelism(4);
+
+            assertEquals(sequential.scanPackage(FIXTURES), parallel.scanPackage(FIXTURES));
+        }
+
+        @Test
+        @DisplayName("Should stream classes to the consumer on the calling thread")
+        void shouldStreamOnCallingThread() {
+            ClassScanner scanner = new ClassScanner(getClass().getClassLoader());
+            scanner.setParallelism(4);
+            Thread caller = Thread.currentThread();
+            List<Thread> threads = new ArrayList<>();
+
+            scanner.scanPackage(FIXTURES, ScanFilter.acceptAll(), clazz -> threads.add(Thread.currentThread()));
+
+            assertEquals(3, threads.size());
+            assertTrue(threads.stream().allMatch(t -> t == caller));
+        }
+
+        @Test
+        @DisplayName("Should propagate consumer failures and stop the scan")
+        void shouldPropagateConsumerFailure() {
+            ClassScanner scanner = new ClassScanner(getClass().getClassLoader());
+            scanner.setParallelism(4);
+
+            IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> scanner.scanPackage(FIXTURES, ScanFilter.acceptAll(), clazz -> {
+                    throw new IllegalStateException("stop");
+                }));
+            assertEquals("stop", thrown.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should scan JAR entries in parallel batches")
+        void shouldScanJarInParallel() throws IOException {
+            Path jar = writeJar(tempDir.resolve("fixtures.jar"),
+                ScannedRepository.class, ScannedService.class, LegacyService.class, PlainHelper.class);
+
+            try (URLClassLoader loader = isolatedLoader(jar)) {
+                ClassScanner scanner = new ClassScanner(loader);
+                scanner.setParallelism(4);
+
+                Set<String> names = new HashSet<>();
+                for (Class<?> clazz : scanner.scanPackage(FIXTURES)) {
+                    assertSame(loader, clazz.getClassLoader());
+                    names.add(clazz.getSimpleName());
+                }
+                assertEquals(Set.of("ScannedRepository", "ScannedService", "LegacyService"), names);
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject invalid parallelism")
+        void shouldRejectInvalidParallelism() {
+            assertThrows(IllegalArgumentException.class, () -> Container.builder().scanParallelism(0));
+            assertEquals(2, Container.builder().scanParallelism(2).build().getScanParallelism());
+        }
+    }
+
+    @Nested
+    @DisplayName("Scan Session Tests")
+    class ScanSessionTests {
+
+        @TempDir
+        Path tempDir;
+
+        @Test
+        @DisplayName("Should open each JAR once for several packages")
+        void shouldOpenJarOnce() throws IOException {
+            Path jar = writeJar(tempDir.resolve("fixtures.jar"), ScannedRepository.class, LegacyService.class);
+
+            try (URLClassLoader loader = isolatedLoader(jar);
+                 ScanSession session = new ClassScanner(loader).openSession()) {
+                Set<String> narrow = simpleNames(session.scanPackage(FIXTURES));
+                Set<String> wide = simpleNames(session.scanPackage("io.github.abolpv.lightdi.fixtures"));
+                Set<String> unrelated = simpleNames(session.scanPackage("io.github.abolpv.lightdi.fixtures.scan.none"));
+
+                assertEquals(Set.of("ScannedRepository", "LegacyService"), narrow);
+                assertEquals(narrow, wide);
+                assertTrue(unrelated.isEmpty());
+                assertEquals(1, session.getOpenedJarCount());
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject scans after the session is closed")
+        void shouldRejectScansAfterClose() {
+            ScanSession session = new ClassScanner(getClass().getClassLoader()).openSession();
+            session.close();
+
+            assertThrows(ContainerException.class, () -> session.scanPackage(FIXTURES));
+        }
+    }
+
+    @Nested
+    @DisplayName("Archive and Module Tests")
+    class ArchiveAndModuleTests {
+
+        @TempDir
+        Path tempDir;
+
+        @Test
+        @DisplayName("Should scan JARs nested in a fat JAR without extracting them")
+        void shouldScanNestedJar() throws IOException {
+            Path inner = writeJar(tempDir.resolve("inner.jar"), ScannedRepository.class, PlainHelper.class);
+            Path outer = tempDir.resolve("app.jar");
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(outer))) {
+                out.putNextEntry(new JarEntry("BOOT-INF/lib/inner.jar"));
+                out.write(Files.readAllBytes(inner));
+                out.closeEntry();
+            }
+            String url = "jar:" + outer.toUri() + "!/BOOT-INF/lib/inner.jar!/";
+
+            Set<Class<?>> found = new ClassScanner(fatJarLoader(url)).scanPackage(FIXTURES);
+
+            assertEquals(Set.of("ScannedRepository"), simpleNames(found));
+        }
+
+        @Test
+        @DisplayName("Should index a nested JAR once for several packages")
+        void shouldIndexNestedJarOnce() throws IOException {
+            Path inner = writeJar(tempDir.resolve("inner.jar"), ScannedRepository.class, LegacyService.class);
+            Path outer = tempDir.resolve("app.jar");
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(outer))) {
+                out.putNextEntry(new JarEntry("BOOT-INF/lib/inner.jar"));
+                out.write(Files.readAllBytes(inner));
+                out.closeEntry();
+            }
+            String url = "jar:" + outer.toUri() + "!/BOOT-INF/lib/inner.jar!/";
+
+            try (ScanSession session = new ClassScanner(fatJarLoader(url)).openSession()) {
+                Set<String> narrow = simpleNames(session.scanPackage(FIXTURES));
+                Set<String> wide = simpleNames(session.scanPackage("io.github.abolpv.lightdi.fixtures"));
+
+                assertEquals(Set.of("ScannedRepository", "LegacyService"), narrow);
+                assertEquals(narrow, wide);
+                assertEquals(1, session.getOpenedJarCount());
+                assertEquals(1, session.getIndexedNestedArchiveCount());
+            }
+        }
+
+        @Test
+        @DisplayName("Should scan class directories inside an archive")
+        void shouldScanDirectoryInsideArchive() throws IOException {
+            Path war = tempDir.resolve("app.war");
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(war))) {
+                for (Class<?> fixture : List.of(ScannedService.class, PlainHelper.class)) {
+                    out.putNextEntry(new JarEntry("WEB-INF/classes/" + fixture.getName().replace('.', '/') + ".class"));
+                    out.write(bytesOf(fixture));
+                    out.closeEntry();
+                }
+            }
+            String url = "jar:" + war.toUri() + "!/WEB-INF/classes!/";
+
+            Set<Class<?>> found = new ClassScanner(fatJarLoader(url)).scanPackage(FIXTURES);
+
+            assertEquals(Set.of("ScannedService"), simpleNames(found));
+        }
+
+        @Test
+        @DisplayName("Should scan JARs whose path needs URL encoding")
+        void shouldScanJarWithEncodedPath() throws IOException {
+            Path directory = Files.createDirectories(tempDir.resolve("with space"));
+            Path jar = writeJar(directory.resolve("fixtures.jar"), LegacyService.class);
+
+            try (URLClassLoader loader = isolatedLoader(jar)) {
+                assertEquals(Set.of("LegacyService"), simpleNames(new ClassScanner(loader).scanPackage(FIXTURES)));
+            }
+        }
+
+        @Test
+        @DisplayName("Should scan named modules of an added module layer")
+        void shouldScanModuleLayer() throws IOException {
+            Path jar = writeJar(tempDir.resolve("fixtures.jar"), ScannedRepository.class, LegacyService.class);
+            Configuration configuration = ModuleLayer.boot().configuration()
+                .resolve(ModuleFinder.of(jar), ModuleFinder.of(), Set.of("fixtures"));
+            ModuleLayer layer = ModuleLayer.boot()
+                .defineModulesWithOneLoader(configuration, ClassScannerTest.class.getClassLoader());
+
+            // A loader that sees nothing, so classes can only come from the layer
+            ClassScanner scanner = new ClassScanner(new URLClassLoader(new URL[0], null));
+            scanner.addModuleLayer(layer);
+            Set<Class<?>> found = scanner.scanPackage(FIXTURES);
+
+            assertEquals(Set.of("ScannedRepository", "LegacyService"), simpleNames(found));
+            for (Class<?> clazz : found) {
+                assertEquals("fixtures", clazz.getModule().getName());
+            }
+        }
+
+        @Test
+        @DisplayName("Should scan the run-time image through jrt URLs")
+        void shouldScanRuntimeImage() throws IOException {
+            URL url = new URL("jrt:/java.base/java/util/function");
+            ClassLoader loader = new ClassLoader(null) {
+                @Override
+                public Enumeration<URL> getResources(String name) {
+                    return name.equals("java/util/function")
+                        ? Collections.enumeration(List.of(url))
+                        : Collections.emptyEnumeration();
+                }
+            };
+
+            // No JDK class is @Injectable, but the module must be readable
+            assertTrue(new ClassScanner(loader).scanPackage("java.util.function").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Scan Cache Tests")
+    class ScanCacheTests {
+
+        @TempDir
+        Path tempDir;
+
+        @Test
+        @DisplayName("Should reuse cached results for unchanged directories")
+        void shouldReuseCachedResults() throws IOException {
+            Path classes = copyFixtures(tempDir.resolve("classes"),
+                ScannedRepository.class, LegacyService.class, PlainHelper.class);
+            Path cacheFile = tempDir.resolve("cache/scan.bin");
+
+            try (URLClassLoader loader = isolatedLoader(classes)) {
+                ClassScanner first = new ClassScanner(loader);
+                first.setScanCache(new ScanCache(cacheFile));
+                assertEquals(Set.of("ScannedRepository", "LegacyService"), simpleNames(first.scanPackage(FIXTURES)));
+                assertTrue(Files.exists(cacheFile));
+                Object fileKey = Files.readAttributes(cacheFile, BasicFileAttributes.class).fileKey();
+
+                ClassScanner second = new ClassScanner(loader);
+                ScanCache cache = new ScanCache(cacheFile);
+                second.setScanCache(cache);
+                assertEquals(Set.of("ScannedRepository", "LegacyService"), simpleNames(second.scanPackage(FIXTURES)));
+                assertEquals(1, cache.size());
+                // A cache hit leaves the file untouched
+                assertEquals(fileKey, Files.readAttributes(cacheFile, BasicFileAttributes.class).fileKey());
+            }
+        }
+
+        @Test
+        @DisplayName("Should apply filters to cached results")
+        void shouldFilterCachedResults() throws IOException {
+            Path classes = copyFixtures(tempDir.resolve("classes"), ScannedRepository.class, LegacyService.class);
+            Path cacheFile = tempDir.resolve("scan.bin");
+
+            try (URLClassLoader loader = isolatedLoader(classes)) {
+                ClassScanner scanner = new ClassScanner(loader);
+                scanner.setScanCache(new ScanCache(cacheFile));
+                scanner.scanPackage(FIXTURES);
+
+                ClassScanner cached = new ClassScanner(loader);
+                cached.setScanCache(new ScanCache(cacheFile));
+                Set<Class<?>> found = cached.scanPackage(FIXTURES,
+                    ScanFilter.from(SingletonOnlyConfig.class.getAnnotation(ComponentScan.class)));
+                assertEquals(Set.of("ScannedRepository"), simpleNames(found));
+            }
+        }
+
+        @Test
+        @DisplayName("Should rescan directories that changed")
+        void shouldRescanChangedDirectories() throws IOException {
+            Path classes = copyFixtures(tempDir.resolve("classes"), ScannedRepository.class);
+            Path cacheFile = tempDir.resolve("scan.bin");
+
+            try (URLClassLoader loader = isolatedLoader(classes)) {
+                ClassScanner scanner = new ClassScanner(loader);
+                scanner.setScanCache(new ScanCache(cacheFile));
+                assertEquals(Set.of("ScannedRepository"), simpleNames(scanner.scanPackage(FIXTURES)));
+
+                copyFixtures(classes, LegacyService.class);
+
+                ClassScanner rescanned = new ClassScanner(loader);
+                rescanned.setScanCache(new ScanCache(cacheFile));
+                assertEquals(Set.of("ScannedRepository", "LegacyService"), simpleNames(rescanned.scanPackage(FIXTURES)));
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep no hold on the cache file after loading it")
+        void shouldReleaseCacheFile() throws IOException {
+            Path classes = copyFixtures(tempDir.resolve("classes"), ScannedRepository.class);
+            Path cacheFile = tempDir.resolve("scan.bin");
+
+            try (URLClassLoader loader = isolatedLoader(classes)) {
+                ClassScanner scanner = new ClassScanner(loader);
+                scanner.setScanCache(new ScanCache(cacheFile));
+                scanner.scanPackage(FIXTURES);
+
+                ScanCache cache = new ScanCache(cacheFile);
+                assertEquals(1, cache.size());
+                // Replacing or truncating a mapped file fails on Windows and faults on access elsewhere
+                Files.write(cacheFile, new byte[0]);
+
+                ClassScanner cached = new ClassScanner(loader);
+                cached.setScanCache(cache);
+                assertEquals(Set.of("ScannedRepository"), simpleNames(cached.scanPackage(FIXTURES)));
+
+                copyFixtures(classes, LegacyService.class);
+                ClassScanner rescanned = new ClassScanner(loader);
+                rescanned.setScanCache(cache);
+                rescanned.scanPackage(FIXTURES);
+                cache.save();
+                assertEquals(1, new ScanCache(cacheFile).size());
+            }
+        }
+
+        @Test
+        @DisplayName("Should treat a corrupt cache file as empty")
+        void shouldIgnoreCorruptCacheFile() throws IOException {
+            Path cacheFile = tempDir.resolve("scan.bin");
+            Files.write(cacheFile, new byte[] {1, 2, 3});
+
+            ClassScanner scanner = new ClassScanner(getClass().getClassLoader());
+            scanner.setScanCache(new ScanCache(cacheFile));
+
+            assertEquals(3, scanner.scanPackage(FIXTURES).size());
+            assertEquals(1, new ScanCache(cacheFile).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("@ComponentScan Tests")
+    class ComponentScanTests {
+
+        @Test
+        @DisplayName("Should scan the package of the configuration class and apply exclude filters")
+        void shouldScanAndExclude() {
+            Container container = Container.builder()
+                .register(ScanConfig.class)
+                .build();
+
+            assertTrue(container.contains(ScannedService.class));
+            assertTrue(container.contains(ScannedRepository.class));
+            assertFalse(container.contains(LegacyService.class));
+            assertFalse(container.contains(ScanConfig.class));
+            assertNotNull(container.get(ScannedService.class).getRepository());
+        }
+
+        @Test
+        @DisplayName("Should register only classes matching include filters")
+        void shouldApplyIncludeFilters() {
+            Container container = new Container().register(SingletonOnlyConfig.class);
+
+            assertTrue(container.contains(ScannedRepository.class));
+            assertFalse(container.contains(ScannedService.class));
+            assertFalse(container.contains(LegacyService.class));
+        }
+
+        @Test
+        @DisplayName("Should still reject classes without @Injectable or @ComponentScan")
+        void shouldRejectPlainClasses() {
+            assertThrows(ContainerException.class, () -> new Container().register(PlainHelper.class));
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private static byte[] bytesOf(Class<?> clazz) throws IOException {
+        String resource = "/" + clazz.getName().replace('.', '/') + ".class";
+        try (InputStream in = clazz.getResourceAsStream(resource)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Path writeJar(Path jar, Class<?>... fixtures) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            // Directory entries, as written by the jar tool, make the package visible to getResources()
+            String directory = "";
+            for (String segment : FIXTURES.split("\\.")) {
+                directory += segment + "/";
+                out.putNextEntry(new JarEntry(directory));
+                out.closeEntry();
+            }
+            for (Class<?> fixture : fixtures) {
+                out.putNextEntry(new JarEntry(fixture.getName().replace('.', '/') + ".class"));
+                out.write(bytesOf(fixture));
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static Path copyFixtures(Path root, Class<?>... fixtures) throws IOException {
+        Path directory = root.resolve(FIXTURES.replace('.', '/'));
+        Files.createDirectories(directory);
+        for (Class<?> fixture : fixtures) {
+            Files.write(directory.resolve(fixture.getSimpleName() + ".class"), bytesOf(fixture));
+        }
+        return root;
+    }
+
+    private static Set<String> simpleNames(Set<Class<?>> classes) {
+        Set<String> names = new HashSet<>();
+        for (Class<?> clazz : classes) {
+            names.add(clazz.getSimpleName());
+        }
+        return names;
+    }
+
+    /**
+     * Creates a loader that reports the fixture package and its parents at a jar URL and defines
+     * the fixture classes itself, as the class loader of a fat JAR launcher would.
+     */
+    private static ClassLoader fatJarLoader(String archiveUrl) {
+        String packagePath = FIXTURES.replace('.', '/');
+        return new ClassLoader(null) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                if (name.equals(packagePath) || packagePath.startsWith(name + "/")) {
+                    return Collections.enumeration(List.of(new URL(archiveUrl + name)));
+                }
+                return Collections.emptyEnumeration();
+            }
+
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (name.startsWith("io.github.abolpv.lightdi.annotation.")) {
+                    return ClassScannerTest.class.getClassLoader().loadClass(name);
+                }
+                return super.loadClass(name, resolve);
+            }
+
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                try (InputStream in = ClassScannerTest.class.getResourceAsStream(
+                        "/" + name.replace('.', '/') + ".class")) {
+                    if (in == null) {
+                        throw new ClassNotFoundException(name);
+                    }
+                    byte[] bytes = in.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates a loader that sees only the given classpath root, plus the LightDI
+     * annotations so that isAnnotationPresent() works on the classes it defines.
+     */
+    private static URLClassLoader isolatedLoader(Path root) throws IOException {
+        return new URLClassLoader(new URL[] {root.toUri().toURL()}, null) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (name.startsWith("io.github.abolpv.lightdi.annotation.")) {
+                    return ClassScannerTest.class.getClassLoader().loadClass(name);
+                }
+                return super.loadClass(name, resolve);
+            }
+        };
+    }
+
+    private static final class RecordingClassLoader extends ClassLoader {
+        final List<String> loaded = new ArrayList<>();
+
+        RecordingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            loaded.add(name);
+            return super.loadClass(name, resolve);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.exception.CircularDependencyException;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.util.ReflectionUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the type-hierarchy index, {@code getAll()} and collection injection.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class CollectionInjectionTest {
+
+    // Test classes
+
+    interface Plugin {
+    }
+
+    interface Filter extends Plugin {
+    }
+
+    interface Ordered {
+    }
+
+    @Injectable
+    @Singleton
+    @Named("auth")
+    static class AuthFilter implements Filter, Ordered {
+    }
+
+    @Injectable
+    @Singleton
+    @Named("metrics")
+    static class MetricsPlugin implements Plugin {
+    }
+
+    @Injectable
+    @Singleton
+    static class AuditPlugin implements Plugin {
+    }
+
+    @Injectable
+    static class PrototypePlugin implements Plugin {
+    }
+
+    @Injectable
+    static class BrokenPlugin implements Plugin {
+        BrokenPlugin() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    @Injectable
+    static class Dispatcher {
+        final List<Plugin> plugins;
+        Set<Plugin> unique;
+        Map<String, Plugin> byName;
+
+        @Inject
+        List<Filter> filters;
+
+        @Inject
+        List<Runnable> none;
+
+        @Inject
+        Dispatcher(List<Plugin> plugins) {
+            this.plugins = plugins;
+        }
+
+        @Inject
+        void setCollections(Set<Plugin> unique, Map<String, Plugin> byName) {
+            this.unique = unique;
+            this.byName = byName;
+        }
+    }
+
+    @Injectable
+    static class SelfAwarePlugin implements Plugin {
+        @Inject
+        List<Plugin> plugins;
+    }
+
+    @Injectable
+    static class NamedCollection {
+        @Inject
+        @Named("auth")
+        List<Plugin> plugins;
+    }
+
+    @Nested
+    @DisplayName("Type index")
+    class TypeIndexTests {
+
+        @Test
+        @DisplayName("Should include interfaces extended by implemented interfaces")
+        void shouldIncludeSuperinterfaces() {
+            List<Class<?>> interfaces = ReflectionUtils.getAllInterfaces(AuthFilter.class);
+
+            assertEquals(List.of(Filter.class, Plugin.class, Ordered.class), interfaces);
+        }
+
+        @Test
+        @DisplayName("Should return each bean once, in registration order")
+        void shouldDeduplicateBeans() {
+            Container container = new Container()
+                .register(AuthFilter.class)
+                .register(MetricsPlugin.class)
+                .register(Plugin.class, AuditPlugin.class);
+
+            List<Plugin> plugins = container.getAll(Plugin.class);
+
+            assertEquals(List.of(AuthFilter.class, MetricsPlugin.class, AuditPlugin.class),
+                plugins.stream().map(Object::getClass).toList());
+            assertEquals(1, container.getAll(AuthFilter.class).size());
+            assertEquals(1, container.getAll(Ordered.class).size());
+        }
+
+        @Test
+        @DisplayName("Should replace a re-registered bean instead of listing it twice")
+        void shouldReplaceReRegisteredBean() {
+            AuditPlugin instance = new AuditPlugin();
+            Container container = new Container()
+                .register(AuditPlugin.class)
+                .registerInstance(AuditPlugin.class, instance);
+
+            assertEquals(List.of(instance), container.getAll(Plugin.class));
+        }
+
+        @Test
+        @DisplayName("Should propagate failures instead of skipping beans")
+        void shouldPropagateFailures() {
+            Container container = new Container().register(AuditPlugin.class).register(BrokenPlugin.class);
+
+            assertThrows(ContainerException.class, () -> container.getAll(Plugin.class));
+        }
+
+        @Test
+        @DisplayName("Should key named beans by name")
+        void shouldMapNamedBeans() {
+            Container container = new Container()
+                .register(AuthFilter.class)
+                .register(AuditPlugin.class)
+                .register(MetricsPlugin.class);
+
+            Map<String, Plugin> plugins = container.getAllByName(Plugin.class);
+
+            assertEquals(List.of("auth", "metrics"), List.copyOf(plugins.keySet()));
+            assertSame(container.get(MetricsPlugin.class), plugins.get("metrics"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Caching")
+    class CachingTests {
+
+        @Test
+        @DisplayName("Should return the same immutable list for singletons")
+        void shouldCacheSingletons() {
+            Container container = new Container().register(AuthFilter.class).register(AuditPlugin.class);
+
+            List<Plugin> first = container.getAll(Plugin.class);
+
+            assertSame(first, container.getAll(Plugin.class));
+            assertThrows(UnsupportedOperationException.class, () -> first.add(new AuditPlugin()));
+        }
+
+        @Test
+        @DisplayName("Should resolve prototypes on every call")
+        void shouldNotCachePrototypes() {
+            Container container = new Container().register(AuditPlugin.class).register(PrototypePlugin.class);
+
+            List<Plugin> first = container.getAll(Plugin.class);
+            List<Plugin> second = container.getAll(Plugin.class);
+
+            assertSame(first.get(0), second.get(0));
+            assertNotSame(first.get(1), second.get(1));
+        }
+
+        @Test
+        @DisplayName("Should refresh after registration and after clearing singletons")
+        void shouldInvalidate() {
+            Container container = new Container().register(AuditPlugin.class);
+            List<Plugin> first = container.getAll(Plugin.class);
+
+            container.register(MetricsPlugin.class);
+            List<Plugin> second = container.getAll(Plugin.class);
+            assertEquals(2, second.size());
+
+            container.clearSingletons();
+            assertNotSame(second.get(0), container.getAll(Plugin.class).get(0));
+            assertEquals(1, first.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Injection")
+    class InjectionTests {
+
+        @Test
+        @DisplayName("Should inject List, Set and Map dependencies")
+        void shouldInjectCollections() {
+            for (boolean iterative : new boolean[] {false, true}) {
+                Container container = new Container()
+                    .setIterativeResolution(iterative)
+                    .register(AuthFilter.class)
+                    .register(MetricsPlugin.class)
+                    .register(AuditPlugin.class)
+                    .register(Dispatcher.class);
+
+                Dispatcher dispatcher = container.get(Dispatcher.class);
+
+                assertEquals(3, dispatcher.plugins.size());
+                assertEquals(Set.copyOf(dispatcher.plugins), dispatcher.unique);
+                assertEquals(Map.of("auth", container.get(AuthFilter.class),
+                    "metrics", container.get(MetricsPlugin.class)), dispatcher.byName);
+                assertEquals(List.of(container.get(AuthFilter.class)), dispatcher.filters);
+                assertTrue(dispatcher.none.isEmpty());
+                assertSame(dispatcher.plugins, container.get(Dispatcher.class).plugins);
+            }
+        }
+
+        @Test
+        @DisplayName("Should detect a bean injecting a collection it belongs to")
+        void shouldDetectCollectionCycles() {
+            Container container = new Container().register(AuditPlugin.class).register(SelfAwarePlugin.class);
+
+            assertThrows(CircularDependencyException.class, () -> container.get(SelfAwarePlugin.class));
+            assertEquals(1, container.validate().getProblems().size());
+        }
+
+        @Test
+        @DisplayName("Should accept empty collections during validation")
+        void shouldValidateEmptyCollections() {
+            Container container = new Container().register(Dispatcher.class);
+
+            assertTrue(container.validate().isValid());
+            assertTrue(container.get(Dispatcher.class).plugins.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reject qualified collections")
+        void shouldRejectQualifiedCollections() {
+            Container container = new Container().register(AuthFilter.class).register(NamedCollection.class);
+
+            ContainerException exception =
+                assertThrows(ContainerException.class, () -> container.get(NamedCollection.class));
+            assertTrue(exception.getMessage().contains("cannot be @Named"), exception.getMessage());
+        }
+    }
+}
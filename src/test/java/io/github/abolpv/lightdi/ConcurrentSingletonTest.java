@@ -0,0 +1,288 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.exception.BeanNotFoundException;
+import io.github.abolpv.lightdi.exception.CircularDependencyException;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for concurrent singleton creation.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class ConcurrentSingletonTest {
+
+    private static volatile CyclicBarrier barrier;
+
+    // Test classes
+
+    @Injectable
+    @Singleton
+    static class Counted {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        Counted() throws InterruptedException {
+            CREATED.incrementAndGet();
+            Thread.sleep(20);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class SlowLeft {
+        SlowLeft() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class SlowRight {
+        SlowRight() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Injectable
+    static class Gate {
+        Gate() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class DeadlockA {
+        @Inject
+        DeadlockA(Gate gate, DeadlockB b) {
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class DeadlockB {
+        @Inject
+        DeadlockB(Gate gate, DeadlockA a) {
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class FailsOnce {
+        static final AtomicInteger ATTEMPTS = new AtomicInteger();
+
+        FailsOnce() {
+            if (ATTEMPTS.incrementAndGet() == 1) {
+                throw new IllegalStateException("first attempt");
+            }
+        }
+    }
+
+    interface Unbound {
+    }
+
+    @Injectable
+    static class Latch {
+        static volatile CountDownLatch entered;
+        static volatile CountDownLatch released;
+
+        Latch() throws InterruptedException {
+            entered.countDown();
+            released.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class NeedsUnbound {
+        @Inject
+        NeedsUnbound(Latch latch, Unbound unbound) {
+        }
+    }
+
+    @Nested
+    @DisplayName("Creation")
+    class CreationTests {
+
+        @Test
+        @DisplayName("Should create a contended singleton exactly once")
+        void shouldCreateOnce() throws Exception {
+            Counted.CREATED.set(0);
+            Container container = new Container().register(Counted.class);
+
+            List<Object> instances = runConcurrently(8, () -> container.get(Counted.class));
+
+            assertEquals(1, Counted.CREATED.get());
+            for (Object instance : instances) {
+                assertSame(instances.get(0), instance);
+            }
+        }
+
+        @Test
+        @DisplayName("Should create independent singletons in parallel")
+        void shouldCreateIndependentSingletonsInParallel() throws Exception {
+            // Each constructor waits for the other, so serialized creation would time out
+            barrier = new CyclicBarrier(2);
+            Container container = new Container().register(SlowLeft.class).register(SlowRight.class);
+
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Future<SlowLeft> left = executor.submit(() -> container.get(SlowLeft.class));
+                Future<SlowRight> right = executor.submit(() -> container.get(SlowRight.class));
+
+                assertNotNull(left.get(10, TimeUnit.SECONDS));
+                assertNotNull(right.get(10, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should retry creation after a failure")
+        void shouldRetryAfterFailure() {
+            FailsOnce.ATTEMPTS.set(0);
+            Container container = new Container().register(FailsOnce.class);
+
+            assertThrows(ContainerException.class, () -> container.get(FailsOnce.class));
+
+            assertSame(container.get(FailsOnce.class), container.get(FailsOnce.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Failure")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should rethrow the creating thread's exception to waiting threads")
+        void shouldRethrowOriginalFailure() throws Exception {
+            Latch.entered = new CountDownLatch(1);
+            Latch.released = new CountDownLatch(1);
+            Container container = new Container().register(Latch.class).register(NeedsUnbound.class);
+
+            AtomicReference<Throwable> creatorFailure = new AtomicReference<>();
+            AtomicReference<Throwable> waiterFailure = new AtomicReference<>();
+            Thread creator = new Thread(() -> capture(creatorFailure, () -> container.get(NeedsUnbound.class)));
+            Thread waiter = new Thread(() -> capture(waiterFailure, () -> container.get(NeedsUnbound.class)));
+            creator.start();
+            assertTrue(Latch.entered.await(5, TimeUnit.SECONDS));
+            waiter.start();
+            while (waiter.getState() != Thread.State.WAITING && waiter.isAlive()) {
+                Thread.onSpinWait();
+            }
+            Latch.released.countDown();
+            creator.join(5_000);
+            waiter.join(5_000);
+
+            assertInstanceOf(BeanNotFoundException.class, creatorFailure.get());
+            assertSame(creatorFailure.get(), waiterFailure.get());
+            assertEquals(1, waiterFailure.get().getSuppressed().length);
+            assertTrue(waiterFailure.get().getSuppressed()[0].getMessage().contains("awaited by thread"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Deadlock Detection")
+    class DeadlockTests {
+
+        @Test
+        @DisplayName("Should report a cycle split across threads instead of deadlocking")
+        void shouldDetectCrossThreadDeadlock() throws Exception {
+            barrier = new CyclicBarrier(2);
+            Container container = new Container().register(Gate.class)
+                .register(DeadlockA.class)
+                .register(DeadlockB.class);
+
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Future<DeadlockA> a = executor.submit(() -> container.get(DeadlockA.class));
+                Future<DeadlockB> b = executor.submit(() -> container.get(DeadlockB.class));
+
+                Throwable failureA = failure(a);
+                Throwable failureB = failure(b);
+
+                assertTrue(hasCycleCause(failureA) || hasCycleCause(failureB));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should still report cycles within a single thread")
+        void shouldDetectSingleThreadCycle() {
+            barrier = new CyclicBarrier(1);
+            Container container = new Container().register(Gate.class)
+                .register(DeadlockA.class)
+                .register(DeadlockB.class);
+
+            CircularDependencyException e = assertThrows(CircularDependencyException.class,
+                () -> container.get(DeadlockA.class));
+            assertTrue(e.getDependencyChain().contains(DeadlockB.class));
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private static <T> List<T> runConcurrently(int threads, Callable<T> task) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return task.call();
+                }));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void capture(AtomicReference<Throwable> failure, Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            failure.set(t);
+        }
+    }
+
+    private static Throwable failure(Future<?> future) throws Exception {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        return e.getCause();
+    }
+
+    private static boolean hasCycleCause(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof CircularDependencyException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,240 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.container.ContainerMetrics;
+import io.github.abolpv.lightdi.container.LatencyHistogram;
+import io.github.abolpv.lightdi.container.Scope;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the runtime metrics of the container.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class ContainerMetricsTest {
+
+    // Test classes
+
+    interface Greeter {
+        String greet();
+    }
+
+    @Injectable
+    @Singleton
+    static class Repository {
+    }
+
+    @Injectable
+    static class Service {
+        @Inject
+        Repository repository;
+    }
+
+    @Injectable
+    static class Controller {
+        final Service service;
+
+        @Inject
+        Controller(Service service) {
+            this.service = service;
+        }
+    }
+
+    @Injectable
+    @Lazy
+    static class LazyGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "hello";
+        }
+    }
+
+    @Injectable
+    static class Welcome {
+        @Inject
+        Greeter greeter;
+    }
+
+    @Nested
+    @DisplayName("Counters")
+    class CounterTests {
+
+        @Test
+        @DisplayName("Should count get() calls per requested type")
+        void shouldCountGets() {
+            Container container = container(false);
+
+            container.get(Controller.class);
+            container.get(Controller.class);
+            container.get(Repository.class);
+
+            assertEquals(Map.of(Controller.class.getName(), 2L, Repository.class.getName(), 1L),
+                container.getMetrics().getGetCounts());
+            assertEquals(List.of(Controller.class.getName(), Repository.class.getName()),
+                List.copyOf(container.getMetrics().getGetCounts().keySet()));
+        }
+
+        @Test
+        @DisplayName("Should count singleton hits, misses and prototype allocations")
+        void shouldCountCreations() {
+            for (boolean iterative : new boolean[] {false, true}) {
+                Container container = container(iterative);
+
+                container.get(Controller.class);
+                container.get(Controller.class);
+                container.get(Repository.class);
+
+                ContainerMetrics metrics = container.getMetrics();
+                assertEquals(1, metrics.getSingletonMisses(), "iterative=" + iterative);
+                assertEquals(2, metrics.getSingletonHits(), "iterative=" + iterative);
+                assertEquals(Map.of(Controller.class.getName(), 2L, Service.class.getName(), 2L),
+                    metrics.getPrototypeAllocations());
+            }
+        }
+
+        @Test
+        @DisplayName("Should record creation latencies per scope")
+        void shouldRecordLatencies() {
+            for (boolean iterative : new boolean[] {false, true}) {
+                Container container = container(iterative);
+
+                container.get(Controller.class);
+
+                LatencyHistogram singletons = container.getMetrics().getCreationLatency(Scope.SINGLETON);
+                LatencyHistogram prototypes = container.getMetrics().getCreationLatency(Scope.PROTOTYPE);
+                assertEquals(1, singletons.getCount(), "iterative=" + iterative);
+                assertEquals(2, prototypes.getCount(), "iterative=" + iterative);
+                assertEquals(2, sum(container.getMetrics().getPrototypeCreationLatencyBuckets()));
+                assertTrue(prototypes.getPercentile(1.0).compareTo(Duration.ZERO) > 0);
+            }
+        }
+
+        @Test
+        @DisplayName("Should count lazy proxy initializations once per proxy")
+        void shouldCountLazyInitializations() {
+            Container container = new Container()
+                .setMetricsEnabled(true)
+                .register(Greeter.class, LazyGreeter.class)
+                .register(Welcome.class);
+
+            Welcome welcome = container.get(Welcome.class);
+            assertEquals(0, container.getMetrics().getLazyInitializations());
+
+            welcome.greeter.greet();
+            welcome.greeter.greet();
+
+            assertEquals(1, container.getMetrics().getLazyInitializations());
+        }
+
+        @Test
+        @DisplayName("Should reset all metrics")
+        void shouldReset() {
+            Container container = container(false);
+            container.get(Controller.class);
+
+            container.getMetrics().reset();
+
+            ContainerMetrics metrics = container.getMetrics();
+            assertTrue(metrics.getGetCounts().isEmpty());
+            assertTrue(metrics.getPrototypeAllocations().isEmpty());
+            assertEquals(0, metrics.getSingletonMisses());
+            assertEquals(0, metrics.getCreationLatency(Scope.PROTOTYPE).getCount());
+            assertEquals(Duration.ZERO, metrics.getSingletonWaitTime());
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuration")
+    class ConfigurationTests {
+
+        @Test
+        @DisplayName("Should reject reading metrics while they are disabled")
+        void shouldRequireEnabledMetrics() {
+            Container container = new Container().register(Repository.class);
+
+            assertThrows(ContainerException.class, container::getMetrics);
+
+            container.setMetricsEnabled(true).setMetricsEnabled(false);
+            assertThrows(ContainerException.class, container::getMetrics);
+        }
+
+        @Test
+        @DisplayName("Should enable metrics from the builder")
+        void shouldEnableFromBuilder() {
+            Container container = Container.builder()
+                .metrics(true)
+                .register(Repository.class)
+                .build();
+
+            container.get(Repository.class);
+
+            assertEquals(1, container.getMetrics().getSingletonMisses());
+        }
+
+        @Test
+        @DisplayName("Should give histogram buckets doubling in width")
+        void shouldDescribeBuckets() {
+            assertEquals(Duration.ofNanos(1000), LatencyHistogram.getUpperBound(0));
+            assertEquals(Duration.ofNanos(2000), LatencyHistogram.getUpperBound(1));
+
+            long[] bounds = container(false).getMetrics().getLatencyBucketBoundsMicros();
+            assertEquals(LatencyHistogram.BUCKETS - 1, bounds.length);
+            assertEquals(1024, bounds[10]);
+        }
+    }
+
+    @Nested
+    @DisplayName("JMX")
+    class JmxTests {
+
+        @Test
+        @DisplayName("Should expose metrics as a platform MBean")
+        void shouldRegisterMBean() throws Exception {
+            Container container = container(false);
+            ObjectName name = container.getMetrics().registerMBean("metrics-test");
+            try {
+                container.get(Repository.class);
+
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                assertEquals(1L, server.getAttribute(name, "SingletonMisses"));
+                assertThrows(ContainerException.class, () -> container.getMetrics().registerMBean("metrics-test"));
+            } finally {
+                container.getMetrics().unregisterMBean("metrics-test");
+            }
+            assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private static Container container(boolean iterative) {
+        return new Container()
+            .setMetricsEnabled(true)
+            .setIterativeResolution(iterative)
+            .register(Repository.class)
+            .register(Service.class)
+            .register(Controller.class);
+    }
+
+    private static long sum(long[] counts) {
+        long sum = 0;
+        for (long count : counts) {
+            sum += count;
+        }
+        return sum;
+    }
+}
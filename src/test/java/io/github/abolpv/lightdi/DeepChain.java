@@ -0,0 +1,120 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.container.Container;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test helper for dependency chains deeper than a recursive walk can follow
+ * on a small thread stack.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+final class DeepChain implements AutoCloseable {
+
+    private final URLClassLoader loader;
+    private final int depth;
+
+    private DeepChain(URLClassLoader loader, int depth) {
+        this.loader = loader;
+        this.depth = depth;
+    }
+
+    /**
+     * Compiles classes Stage00000..StageN-1, each injecting the next one. Names sort in chain
+     * order, so walks over the beans in name or registration order start at the top.
+     *
+     * @param directory the directory to compile into
+     * @param depth the number of classes
+     * @param singleton whether the classes are {@literal @}Singleton
+     */
+    static DeepChain compile(Path directory, int depth, boolean singleton) throws IOException {
+        Path source = directory.resolve("chain");
+        Files.createDirectories(source);
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < depth; i++) {
+            String body = i == depth - 1
+                ? ""
+                : "    @io.github.abolpv.lightdi.annotation.Inject\n"
+                  + "    public " + name(i) + "(" + name(i + 1) + " next) {}\n";
+            Path file = source.resolve(name(i) + ".java");
+            Files.writeString(file, "package chain;\n"
+                + "@io.github.abolpv.lightdi.annotation.Injectable\n"
+                + (singleton ? "@io.github.abolpv.lightdi.annotation.Singleton\n" : "")
+                + "public class " + name(i) + " {\n" + body + "}\n");
+            files.add(file.toString());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> args = new ArrayList<>(List.of(
+            "-proc:none", "-classpath", System.getProperty("java.class.path"), "-d", directory.toString()));
+        args.addAll(files);
+        assertEquals(0, compiler.run(null, null, null, args.toArray(new String[0])));
+        return new DeepChain(new URLClassLoader(new URL[] {directory.toUri().toURL()},
+            DeepChain.class.getClassLoader()), depth);
+    }
+
+    private static String name(int stage) {
+        return String.format("Stage%05d", stage);
+    }
+
+    /**
+     * Registers every class of the chain, the top first.
+     */
+    Container registerAll(Container container) throws ClassNotFoundException {
+        for (int i = 0; i < depth; i++) {
+            container.register(stage(i));
+        }
+        return container;
+    }
+
+    Class<?> stage(int i) throws ClassNotFoundException {
+        return loader.loadClass("chain." + name(i));
+    }
+
+    /**
+     * Gets the class at the top of the chain, which depends on all others.
+     */
+    Class<?> top() throws ClassNotFoundException {
+        return stage(0);
+    }
+
+    /**
+     * Runs a task on a thread with a 256 KB stack, rethrowing whatever it throws.
+     */
+    static <T> T onSmallStack(Callable<T> task) throws Throwable {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicReference<T> result = new AtomicReference<>();
+        Thread thread = new Thread(null, () -> {
+            try {
+                result.set(task.call());
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        }, "small-stack", 256 * 1024);
+        thread.start();
+        thread.join();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return result.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        loader.close();
+    }
+}
@@ -0,0 +1,293 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.exception.CircularDependencyException;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for eager, parallel singleton initialization.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class EagerInitializationTest {
+
+    private static final List<Class<?>> created = Collections.synchronizedList(new ArrayList<>());
+    private static volatile CyclicBarrier barrier;
+
+    @BeforeEach
+    void setUp() {
+        created.clear();
+    }
+
+    // Test classes
+
+    @Injectable
+    @Singleton
+    static class Database {
+        Database() {
+            created.add(Database.class);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class Repository {
+        @Inject
+        Repository(Database database) {
+            created.add(Repository.class);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class Service {
+        @Inject
+        Repository repository;
+
+        @PostConstruct
+        void init() {
+            created.add(Service.class);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class Standalone {
+        Standalone() {
+            created.add(Standalone.class);
+        }
+    }
+
+    @Injectable
+    static class Request {
+        Request() {
+            created.add(Request.class);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    @Lazy
+    static class Expensive {
+        Expensive() {
+            created.add(Expensive.class);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class PoolA {
+        PoolA() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class PoolB {
+        PoolB() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class Broken {
+        Broken() {
+            throw new IllegalStateException("cannot connect");
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class NeedsBroken {
+        @Inject
+        NeedsBroken(Broken broken) {
+            created.add(NeedsBroken.class);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class Sleeper {
+        Sleeper() throws InterruptedException {
+            Thread.sleep(10_000);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class CycleA {
+        @Inject
+        CycleB b;
+    }
+
+    @Injectable
+    @Singleton
+    static class CycleB {
+        @Inject
+        CycleB(CycleA a) {
+        }
+    }
+
+    @Nested
+    @DisplayName("Scheduling")
+    class SchedulingTests {
+
+        @Test
+        @DisplayName("Should create non-lazy singletons when the container is built")
+        void shouldCreateSingletonsOnBuild() {
+            Container container = Container.builder()
+                .register(Database.class)
+                .register(Request.class)
+                .register(Expensive.class)
+                .eagerSingletons()
+                .build();
+
+            assertEquals(List.of(Database.class), created);
+            assertNotNull(container.get(Database.class));
+            assertEquals(List.of(Database.class), created);
+        }
+
+        @Test
+        @DisplayName("Should create dependencies before their dependents")
+        void shouldFollowDependencyOrder() {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                Container container = Container.builder()
+                    .register(Service.class)
+                    .register(Repository.class)
+                    .register(Database.class)
+                    .eagerSingletons(executor, 4)
+                    .build();
+
+                assertEquals(List.of(Database.class, Repository.class, Service.class), created);
+                assertSame(container.get(Repository.class), container.get(Service.class).repository);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should start the bean heading the longest chain first")
+        void shouldStartLongestChainFirst() {
+            new Container()
+                .register(Standalone.class)
+                .register(Service.class)
+                .register(Repository.class)
+                .register(Database.class)
+                .initializeSingletons(Runnable::run, 1);
+
+            // Standalone ties with Service once the chain is down to one bean
+            assertEquals(List.of(Database.class, Repository.class), created.subList(0, 2));
+            assertEquals(4, created.size());
+        }
+
+        @Test
+        @DisplayName("Should create independent singletons concurrently")
+        void shouldCreateConcurrently() {
+            // Each constructor waits for the other, so sequential creation would time out
+            barrier = new CyclicBarrier(2);
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Container container = Container.builder()
+                    .register(PoolA.class)
+                    .register(PoolB.class)
+                    .eagerSingletons(executor, 2)
+                    .build();
+
+                assertSame(container.get(PoolA.class), container.get(PoolA.class));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should fail the build and skip dependents of a failed singleton")
+        void shouldSkipDependentsOfFailure() {
+            ContainerException e = assertThrows(ContainerException.class, () -> Container.builder()
+                .register(Broken.class)
+                .register(NeedsBroken.class)
+                .eagerSingletons()
+                .build());
+
+            assertTrue(e.getMessage().contains(Broken.class.getName()), e.getMessage());
+            assertFalse(created.contains(NeedsBroken.class));
+        }
+
+        @Test
+        @DisplayName("Should interrupt singletons in progress after a failure")
+        void shouldCancelRemainingWork() {
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Container container = new Container().register(Sleeper.class).register(Broken.class);
+                long start = System.nanoTime();
+
+                assertThrows(ContainerException.class, () -> container.initializeSingletons(executor, 2));
+
+                assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should report cycles before creating any singleton")
+        void shouldReportCycles() {
+            Container container = new Container().register(CycleA.class).register(CycleB.class);
+
+            assertThrows(CircularDependencyException.class, container::initializeSingletons);
+        }
+
+        @Test
+        @DisplayName("Should reject invalid parallelism")
+        void shouldRejectInvalidParallelism() {
+            assertThrows(IllegalArgumentException.class,
+                () -> new Container().initializeSingletons(Runnable::run, 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Depth")
+    class DepthTests {
+
+        @TempDir
+        Path classes;
+
+        @Test
+        @DisplayName("Should initialize a chain deeper than the thread stack allows recursively")
+        void shouldInitializeDeepChain() throws Throwable {
+            try (DeepChain chain = DeepChain.compile(classes, 5_000, true)) {
+                Container container = chain.registerAll(new Container().setIterativeResolution(true));
+
+                DeepChain.onSmallStack(() -> container.initializeSingletons(Runnable::run, 1));
+
+                Object top = container.get(chain.top());
+                assertSame(top, container.get(chain.top()));
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.monitor.BeanCreationEvent;
+import io.github.abolpv.lightdi.monitor.LazyInitializationEvent;
+import io.github.abolpv.lightdi.monitor.PreDestroyEvent;
+import io.github.abolpv.lightdi.monitor.RegistrationEvent;
+import io.github.abolpv.lightdi.monitor.ScanRootEvent;
+import io.github.abolpv.lightdi.proxy.ProxyFactory;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the JDK Flight Recorder events of the container.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class FlightRecorderEventsTest {
+
+    @TempDir
+    Path directory;
+
+    // Test classes
+
+    interface Greeter {
+        String greet();
+    }
+
+    @Injectable
+    @Singleton
+    static class Repository {
+        boolean closed;
+
+        @PreDestroy
+        void close() {
+            closed = true;
+        }
+    }
+
+    @Injectable
+    static class Service {
+        @Inject
+        Repository repository;
+
+        boolean ready;
+
+        @PostConstruct
+        void init() {
+            ready = true;
+        }
+    }
+
+    @Injectable
+    static class Controller {
+        final Service service;
+
+        @Inject
+        Controller(Service service) {
+            this.service = service;
+        }
+    }
+
+    static class SimpleGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "hello";
+        }
+    }
+
+    @Injectable
+    static class SimpleGreeterBean implements Greeter {
+        @Override
+        public String greet() {
+            return "hi";
+        }
+    }
+
+    @Nested
+    @DisplayName("Bean creation")
+    class CreationTests {
+
+        @Test
+        @DisplayName("Should record each created bean with its scope and depth")
+        void shouldRecordCreations() throws Exception {
+            for (boolean iterative : new boolean[] {false, true}) {
+                Container container = new Container()
+                    .setIterativeResolution(iterative)
+                    .register(Repository.class)
+                    .register(Service.class)
+                    .register(Controller.class);
+
+                List<RecordedEvent> events = record(BeanCreationEvent.NAME,
+                    () -> container.get(Controller.class));
+
+                assertEquals(List.of(Repository.class.getName(), Service.class.getName(), Controller.class.getName()),
+                    classNames(events, "beanClass"), "iterative=" + iterative);
+                assertEquals(List.of(2, 1, 0), events.stream().map(e -> e.getInt("depth")).collect(Collectors.toList()));
+                assertEquals("SINGLETON", events.get(0).getString("scope"));
+                assertEquals("PROTOTYPE", events.get(2).getString("scope"));
+                assertFalse(events.get(1).getDuration("postConstructTime").isNegative());
+            }
+        }
+
+        @Test
+        @DisplayName("Should give the depth of graphs proven acyclic")
+        void shouldRecordDepthWhenValidated() throws Exception {
+            Container container = new Container()
+                .register(Repository.class)
+                .register(Service.class)
+                .register(Controller.class);
+            assertTrue(container.validate().isValid());
+
+            List<RecordedEvent> events = record(BeanCreationEvent.NAME, () -> container.get(Controller.class));
+
+            assertEquals(List.of(2, 1, 0), events.stream().map(e -> e.getInt("depth")).collect(Collectors.toList()));
+        }
+
+        @Test
+        @DisplayName("Should not record creations while the event is disabled")
+        void shouldNotRecordWhenDisabled() throws Exception {
+            Container container = new Container().register(Repository.class);
+
+            List<RecordedEvent> events = record(RegistrationEvent.NAME, () -> container.get(Repository.class));
+
+            assertTrue(events.isEmpty());
+            assertFalse(BeanCreationEvent.isRecorded());
+        }
+    }
+
+    @Nested
+    @DisplayName("Container lifecycle")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Should record registrations")
+        void shouldRecordRegistrations() throws Exception {
+            Container container = new Container();
+
+            List<RecordedEvent> events = record(RegistrationEvent.NAME, () -> container
+                .register(Repository.class)
+                .register(Greeter.class, SimpleGreeterBean.class));
+
+            assertEquals(List.of(Repository.class.getName(), Greeter.class.getName()),
+                classNames(events, "registeredType"));
+            assertEquals(SimpleGreeterBean.class.getName(),
+                events.get(1).getClass("beanClass").getName());
+        }
+
+        @Test
+        @DisplayName("Should record each scanned root")
+        void shouldRecordScanRoots() throws Exception {
+            Container container = new Container();
+
+            List<RecordedEvent> events = record(ScanRootEvent.NAME,
+                () -> container.scan("io.github.abolpv.lightdi.fixtures.scan"));
+
+            assertFalse(events.isEmpty());
+            assertEquals("io.github.abolpv.lightdi.fixtures.scan", events.get(0).getString("packageName"));
+            assertEquals("directory", events.get(0).getString("source"));
+            assertTrue(events.get(0).getString("root").contains("fixtures/scan"));
+        }
+
+        @Test
+        @DisplayName("Should record @PreDestroy callbacks")
+        void shouldRecordPreDestroy() throws Exception {
+            Container container = new Container().register(Repository.class);
+            container.get(Repository.class);
+
+            List<RecordedEvent> events = record(PreDestroyEvent.NAME, container::shutdown);
+
+            assertEquals(List.of(Repository.class.getName()), classNames(events, "beanClass"));
+            assertFalse(events.get(0).getBoolean("failed"));
+        }
+
+        @Test
+        @DisplayName("Should record the initialization of lazy proxies once")
+        void shouldRecordLazyInitialization() throws Exception {
+            Greeter proxy = ProxyFactory.createLazyProxy(Greeter.class, SimpleGreeter::new);
+
+            List<RecordedEvent> events = record(LazyInitializationEvent.NAME, () -> {
+                proxy.greet();
+                proxy.greet();
+            });
+
+            assertEquals(1, events.size());
+            assertEquals(Greeter.class.getName(), events.get(0).getClass("proxiedType").getName());
+            assertEquals(SimpleGreeter.class.getName(), events.get(0).getClass("targetClass").getName());
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs an action with one event type enabled and returns the events it recorded, oldest first.
+     */
+    private List<RecordedEvent> record(String eventName, Action action) throws Exception {
+        Path file = directory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(eventName))
+            .sorted((a, b) -> a.getEndTime().compareTo(b.getEndTime()))
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> classNames(List<RecordedEvent> events, String field) {
+        return events.stream().map(event -> event.getClass(field).getName()).collect(Collectors.toList());
+    }
+}
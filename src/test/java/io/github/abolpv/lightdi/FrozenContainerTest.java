@@ -0,0 +1,255 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.exception.BeanNotFoundException;
+import io.github.abolpv.lightdi.exception.CircularDependencyException;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for frozen containers.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class FrozenContainerTest {
+
+    // Test classes
+
+    interface Greeter {
+        String greet();
+    }
+
+    @Injectable
+    @Singleton
+    static class Repository {
+    }
+
+    @Injectable
+    static class EnglishGreeter implements Greeter {
+        public String greet() {
+            return "hello";
+        }
+    }
+
+    @Injectable
+    static class GermanGreeter implements Greeter {
+        public String greet() {
+            return "hallo";
+        }
+    }
+
+    @Injectable
+    static class Service {
+        final Repository repository;
+
+        @Inject
+        @Named("english")
+        Greeter greeter;
+
+        @Inject
+        Service(Repository repository) {
+            this.repository = repository;
+        }
+    }
+
+    @Injectable
+    static class CycleA {
+        @Inject
+        CycleA(CycleB b) {
+        }
+    }
+
+    @Injectable
+    static class CycleB {
+        @Inject
+        CycleA a;
+    }
+
+    @Nested
+    @DisplayName("Lookups")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should resolve types, names and dependencies after freezing")
+        void shouldResolveAfterFreeze() {
+            Container container = Container.builder()
+                .register(Repository.class)
+                .bind(Greeter.class, EnglishGreeter.class).named("english")
+                .bind(Greeter.class, GermanGreeter.class).named("german")
+                .register(Service.class)
+                .freeze()
+                .build();
+
+            assertTrue(container.isFrozen());
+            Service service = container.get(Service.class);
+            assertSame(container.get(Repository.class), service.repository);
+            assertEquals("hello", service.greeter.greet());
+            assertEquals("hallo", container.get(Greeter.class, "german").greet());
+            assertNotSame(service, container.get(Service.class));
+        }
+
+        @Test
+        @DisplayName("Should keep singleton identity across freezing")
+        void shouldKeepSingletonsAcrossFreeze() {
+            Container container = new Container().register(Repository.class);
+            Repository before = container.get(Repository.class);
+
+            container.freeze();
+
+            assertSame(before, container.get(Repository.class));
+        }
+
+        @Test
+        @DisplayName("Should throw for unknown types and names")
+        void shouldThrowForUnknownKeys() {
+            Container container = new Container()
+                .register(Greeter.class, EnglishGreeter.class, "english")
+                .freeze();
+
+            assertThrows(BeanNotFoundException.class, () -> container.get(Repository.class));
+            assertThrows(BeanNotFoundException.class, () -> container.get(Greeter.class, "french"));
+        }
+
+        @Test
+        @DisplayName("Should find every key of a large registry")
+        void shouldFindEveryKeyOfLargeRegistry() {
+            List<Class<?>> types = List.of(
+                Runnable.class, Callable.class, Supplier.class, Consumer.class, Function.class,
+                BiFunction.class, BiConsumer.class, Predicate.class, BiPredicate.class, UnaryOperator.class,
+                BinaryOperator.class, IntSupplier.class, IntFunction.class, IntPredicate.class,
+                IntConsumer.class, LongSupplier.class, LongFunction.class, LongPredicate.class,
+                LongConsumer.class, DoubleSupplier.class, DoubleFunction.class, DoublePredicate.class,
+                DoubleConsumer.class, BooleanSupplier.class, ToIntFunction.class, ToLongFunction.class,
+                ToDoubleFunction.class, IntUnaryOperator.class, LongUnaryOperator.class,
+                DoubleUnaryOperator.class, IntBinaryOperator.class, Comparable.class, AutoCloseable.class
+            );
+            Container container = new Container();
+            List<Object> instances = new ArrayList<>();
+            for (Class<?> type : types) {
+                Object instance = stub(type);
+                registerInstance(container, type, instance);
+                instances.add(instance);
+            }
+            container.freeze();
+
+            for (int i = 0; i < types.size(); i++) {
+                assertSame(instances.get(i), container.get(types.get(i)));
+            }
+            assertThrows(BeanNotFoundException.class, () -> container.get(ObjIntConsumer.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Lifecycle")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Should reject registration after freezing")
+        void shouldRejectRegistration() {
+            Container container = new Container().register(Repository.class).freeze();
+
+            assertThrows(ContainerException.class, () -> container.register(Service.class));
+            assertThrows(ContainerException.class, () -> container.registerInstance(String.class, "x"));
+            assertThrows(ContainerException.class, () -> container.scan("io.github.abolpv.lightdi.fixtures"));
+        }
+
+        @Test
+        @DisplayName("Should recreate singletons after clearSingletons")
+        void shouldRecreateSingletonsAfterClear() {
+            Container container = new Container().register(Repository.class).freeze();
+            Repository first = container.get(Repository.class);
+
+            container.clearSingletons();
+
+            Repository second = container.get(Repository.class);
+            assertNotSame(first, second);
+            assertSame(second, container.get(Repository.class));
+        }
+
+        @Test
+        @DisplayName("Should become mutable again after clear")
+        void shouldUnfreezeOnClear() {
+            Container container = new Container().register(Repository.class).freeze();
+
+            container.clear();
+
+            assertFalse(container.isFrozen());
+            container.register(Repository.class);
+            assertNotNull(container.get(Repository.class));
+        }
+
+        @Test
+        @DisplayName("Should refuse lookups of uncreated singletons after shutdown")
+        void shouldRefuseAfterShutdown() {
+            Container container = new Container().register(Repository.class).freeze();
+            container.get(Repository.class);
+
+            container.shutdown();
+
+            assertThrows(ContainerException.class, () -> container.get(Repository.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Cycle Detection")
+    class CycleTests {
+
+        @Test
+        @DisplayName("Should still detect cycles in a frozen container")
+        void shouldDetectCycles() {
+            Container container = new Container()
+                .register(CycleA.class)
+                .register(CycleB.class)
+                .freeze();
+
+            assertThrows(CircularDependencyException.class, () -> container.get(CycleA.class));
+        }
+
+        @Test
+        @DisplayName("Should detect cycles through instances cleared after freezing")
+        void shouldDetectCyclesAfterClearSingletons() {
+            Container container = new Container()
+                .registerInstance(CycleA.class, new CycleA(null))
+                .register(CycleB.class)
+                .freeze();
+            assertNotNull(container.get(CycleB.class));
+
+            container.clearSingletons();
+
+            CircularDependencyException exception =
+                assertThrows(CircularDependencyException.class, () -> container.get(CycleB.class));
+            assertEquals(List.of(CycleB.class, CycleA.class, CycleB.class), exception.getDependencyChain());
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    @SuppressWarnings("unchecked")
+    private static <T> void registerInstance(Container container, Class<T> type, Object instance) {
+        container.registerInstance(type, (T) instance);
+    }
+
+    private static Object stub(Class<?> type) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            return null;
+        });
+    }
+}
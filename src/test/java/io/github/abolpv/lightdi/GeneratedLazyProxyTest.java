@@ -0,0 +1,251 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.Inject;
+import io.github.abolpv.lightdi.annotation.Injectable;
+import io.github.abolpv.lightdi.annotation.Lazy;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.proxy.ProxyFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for generated lazy proxies.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class GeneratedLazyProxyTest {
+
+    private static final AtomicInteger CREATED = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        CREATED.set(0);
+    }
+
+    // Test classes
+
+    interface Calculator {
+        long add(long a, int b);
+
+        double scale(double value, float factor);
+
+        void fail();
+
+        default String name() {
+            return "calculator";
+        }
+    }
+
+    static class SimpleCalculator implements Calculator {
+        SimpleCalculator() {
+            CREATED.incrementAndGet();
+        }
+
+        public long add(long a, int b) {
+            return a + b;
+        }
+
+        public double scale(double value, float factor) {
+            return value * factor;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    static class Report {
+        private final String title;
+
+        Report() {
+            this.title = "proxy";
+        }
+
+        Report(String title) {
+            CREATED.incrementAndGet();
+            this.title = title;
+        }
+
+        public String title() {
+            return title;
+        }
+
+        String packageTitle() {
+            return "package " + title;
+        }
+
+        protected int length() {
+            return title.length();
+        }
+    }
+
+    static class SignedReport extends Report {
+        public final String signature() {
+            return "signed";
+        }
+    }
+
+    static class Invoice {
+        Invoice(int number) {
+        }
+
+        public int number() {
+            return 1;
+        }
+    }
+
+    static final class Sealed {
+    }
+
+    @Injectable
+    static class Renderer {
+        Renderer() {
+            CREATED.incrementAndGet();
+        }
+
+        public String render() {
+            return "rendered";
+        }
+    }
+
+    @Injectable
+    static class Page {
+        @Inject
+        @Lazy
+        Renderer renderer;
+    }
+
+    @Nested
+    @DisplayName("Interface Proxies")
+    class InterfaceProxyTests {
+
+        @Test
+        @DisplayName("Should forward calls with primitive arguments and default methods")
+        void shouldForwardCalls() {
+            Calculator proxy = ProxyFactory.createLazyProxy(Calculator.class, SimpleCalculator::new);
+
+            assertEquals(0, CREATED.get());
+            assertEquals(7L, proxy.add(3L, 4));
+            assertEquals(5.0, proxy.scale(2.5, 2f));
+            assertEquals("calculator", proxy.name());
+            assertEquals(1, CREATED.get());
+        }
+
+        @Test
+        @DisplayName("Should generate classes instead of JDK proxies and cache them per type")
+        void shouldCacheGeneratedClass() {
+            Calculator first = ProxyFactory.createLazyProxy(Calculator.class, SimpleCalculator::new);
+            Calculator second = ProxyFactory.createLazyProxy(Calculator.class, SimpleCalculator::new);
+
+            assertFalse(Proxy.isProxyClass(first.getClass()));
+            assertSame(first.getClass(), second.getClass());
+            assertTrue(ProxyFactory.isLazyProxy(first));
+        }
+
+        @Test
+        @DisplayName("Should propagate exceptions without wrapping")
+        void shouldPropagateExceptions() {
+            Calculator proxy = ProxyFactory.createLazyProxy(Calculator.class, SimpleCalculator::new);
+
+            IllegalStateException e = assertThrows(IllegalStateException.class, proxy::fail);
+            assertEquals("boom", e.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should use identity for equals and hashCode")
+        void shouldUseIdentity() {
+            Calculator proxy = ProxyFactory.createLazyProxy(Calculator.class, SimpleCalculator::new);
+
+            assertEquals(proxy, proxy);
+            assertNotEquals(proxy, ProxyFactory.createLazyProxy(Calculator.class, SimpleCalculator::new));
+            assertEquals(System.identityHashCode(proxy), proxy.hashCode());
+            assertEquals(0, CREATED.get());
+        }
+
+        @Test
+        @DisplayName("Should proxy JDK interfaces")
+        void shouldProxyJdkInterfaces() {
+            AtomicInteger runs = new AtomicInteger();
+            Runnable proxy = ProxyFactory.createLazyProxy(Runnable.class, () -> runs::incrementAndGet);
+
+            proxy.run();
+
+            assertEquals(1, runs.get());
+            assertTrue(ProxyFactory.isInitialized(proxy));
+        }
+    }
+
+    @Nested
+    @DisplayName("Class Proxies")
+    class ClassProxyTests {
+
+        @Test
+        @DisplayName("Should proxy classes and create the target on first call")
+        void shouldCreateTargetOnFirstCall() {
+            Report proxy = ProxyFactory.createLazyProxy(Report.class, () -> new Report("annual"));
+
+            assertEquals(0, CREATED.get());
+            assertFalse(ProxyFactory.isInitialized(proxy));
+            assertTrue(proxy.toString().contains("not initialized"));
+
+            assertEquals("annual", proxy.title());
+            assertEquals(1, CREATED.get());
+            assertTrue(ProxyFactory.isInitialized(proxy));
+        }
+
+        @Test
+        @DisplayName("Should forward package-private and protected methods")
+        void shouldForwardNonPublicMethods() {
+            Report proxy = ProxyFactory.createLazyProxy(Report.class, () -> new Report("annual"));
+
+            assertEquals("package annual", proxy.packageTitle());
+            assertEquals(6, proxy.length());
+        }
+
+        @Test
+        @DisplayName("Should reject final classes")
+        void shouldRejectFinalClasses() {
+            assertFalse(ProxyFactory.canCreateLazyProxy(Sealed.class));
+            assertThrows(ContainerException.class, () -> ProxyFactory.createLazyProxy(Sealed.class, Sealed::new));
+        }
+
+        @Test
+        @DisplayName("Should reject classes with final methods")
+        void shouldRejectFinalMethods() {
+            assertFalse(ProxyFactory.canCreateLazyProxy(SignedReport.class));
+            ContainerException e = assertThrows(ContainerException.class,
+                () -> ProxyFactory.createLazyProxy(SignedReport.class, SignedReport::new));
+            assertTrue(e.getMessage().contains("final method signature()"), e.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should reject classes without a no-argument constructor")
+        void shouldRejectMissingConstructor() {
+            assertFalse(ProxyFactory.canCreateLazyProxy(Invoice.class));
+            ContainerException e = assertThrows(ContainerException.class,
+                () -> ProxyFactory.createLazyProxy(Invoice.class, () -> new Invoice(1)));
+            assertTrue(e.getMessage().contains("no-argument constructor"), e.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should inject @Lazy fields of concrete classes eagerly")
+        void shouldInjectLazyConcreteFieldsEagerly() {
+            Container container = new Container().register(Renderer.class).register(Page.class);
+
+            Page page = container.get(Page.class);
+
+            assertFalse(ProxyFactory.isLazyProxy(page.renderer));
+            assertEquals(1, CREATED.get());
+            assertEquals("rendered", page.renderer.render());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.BeanDefinition;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.container.InjectionPlan;
+import io.github.abolpv.lightdi.container.InjectionPoint;
+import io.github.abolpv.lightdi.container.Scope;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for cached injection plans.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class InjectionPlanTest {
+
+    // Test classes
+
+    interface Greeter {
+        String greet();
+    }
+
+    @Injectable
+    @Named("english")
+    static class EnglishGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "hello";
+        }
+    }
+
+    @Injectable
+    static class Repository {
+    }
+
+    @Injectable
+    static class PlannedService {
+        private final Repository repository;
+
+        @Inject
+        @Named("english")
+        private Greeter greeter;
+
+        @Inject
+        @Lazy
+        private Greeter lazyGreeter;
+
+        private Repository setterRepository;
+        private boolean initialized;
+
+        @Inject
+        PlannedService(Repository repository) {
+            this.repository = repository;
+        }
+
+        @Inject
+        void setRepository(Repository repository) {
+            this.setterRepository = repository;
+        }
+
+        @PostConstruct
+        void init() {
+            initialized = true;
+        }
+
+        @PreDestroy
+        void close() {
+        }
+    }
+
+    @Test
+    @DisplayName("Should describe constructor, fields, methods and lifecycle callbacks")
+    void shouldDescribeInjectionPoints() {
+        InjectionPlan plan = InjectionPlan.of(PlannedService.class);
+
+        assertEquals(PlannedService.class, plan.getBeanClass());
+        assertEquals(1, plan.getConstructorParameters().size());
+        assertEquals(Repository.class, plan.getConstructorParameters().get(0).getType());
+
+        List<InjectionPoint> fieldPoints = plan.getFieldPoints();
+        assertEquals(2, fieldPoints.size());
+        assertEquals(plan.getFields().size(), fieldPoints.size());
+        assertTrue(fieldPoints.stream().anyMatch(p -> "english".equals(p.getQualifier())));
+        assertTrue(fieldPoints.stream().anyMatch(InjectionPoint::isLazy));
+
+        assertEquals(1, plan.getMethods().size());
+        assertEquals(Repository.class, plan.getMethodParameters().get(0).get(0).getType());
+
+        assertEquals("init", plan.getPostConstruct().orElseThrow().getName());
+        assertEquals("close", plan.getPreDestroy().orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Should compute the plan once per bean definition")
+    void shouldCachePlanPerDefinition() {
+        BeanDefinition definition = new BeanDefinition(PlannedService.class, Scope.PROTOTYPE);
+
+        assertSame(definition.getPlan(), definition.getPlan());
+    }
+
+    @Test
+    @DisplayName("Should build prototypes from the cached plan")
+    void shouldBuildPrototypesFromPlan() {
+        Container container = new Container();
+        container.register(EnglishGreeter.class);
+        container.register(Greeter.class, EnglishGreeter.class, "english");
+        container.register(Repository.class);
+        container.register(PlannedService.class);
+
+        PlannedService first = container.get(PlannedService.class);
+        PlannedService second = container.get(PlannedService.class);
+
+        assertNotSame(first, second);
+        for (PlannedService service : List.of(first, second)) {
+            assertNotNull(service.repository);
+            assertNotNull(service.setterRepository);
+            assertEquals("hello", service.greeter.greet());
+            assertEquals("hello", service.lazyGreeter.greet());
+            assertTrue(service.initialized);
+        }
+    }
+}
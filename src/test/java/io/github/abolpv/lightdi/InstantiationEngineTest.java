@@ -0,0 +1,158 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.container.InstantiationEngine;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the pluggable instantiation engines.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class InstantiationEngineTest {
+
+    static Stream<InstantiationEngine> engines() {
+        return Stream.of(
+            InstantiationEngine.reflection(),
+            InstantiationEngine.methodHandles(),
+            InstantiationEngine.hiddenClasses()
+        );
+    }
+
+    // Test classes
+
+    @Injectable
+    @Singleton
+    static class Repository {
+    }
+
+    @Injectable
+    static class Clock {
+    }
+
+    static abstract class BaseService {
+        @Inject
+        private Clock inheritedClock;
+
+        Clock getInheritedClock() {
+            return inheritedClock;
+        }
+    }
+
+    @Injectable
+    static class FullService extends BaseService {
+        static final List<String> EVENTS = new ArrayList<>();
+
+        private final Repository repository;
+        private final Clock clock;
+
+        @Inject
+        private Repository fieldRepository;
+
+        private Clock setterClock;
+
+        @Inject
+        private FullService(Repository repository, Clock clock) {
+            this.repository = repository;
+            this.clock = clock;
+        }
+
+        @Inject
+        private void setClock(Clock clock) {
+            this.setterClock = clock;
+        }
+
+        @PostConstruct
+        private void init() {
+            EVENTS.add("init");
+        }
+
+        @PreDestroy
+        private void close() {
+            EVENTS.add("close");
+        }
+    }
+
+    @Injectable
+    static class FailingService {
+        FailingService() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    private Container newContainer(InstantiationEngine engine) {
+        return Container.builder()
+            .instantiationEngine(engine)
+            .register(Repository.class)
+            .register(Clock.class)
+            .register(FullService.class)
+            .register(FailingService.class)
+            .build();
+    }
+
+    @ParameterizedTest
+    @MethodSource("engines")
+    @DisplayName("Should construct and inject through every engine")
+    void shouldInjectThroughEngine(InstantiationEngine engine) {
+        FullService.EVENTS.clear();
+        Container container = newContainer(engine);
+
+        FullService service = container.get(FullService.class);
+
+        assertSame(container.get(Repository.class), service.repository);
+        assertSame(service.repository, service.fieldRepository);
+        assertNotNull(service.clock);
+        assertNotNull(service.setterClock);
+        assertNotNull(service.getInheritedClock());
+        assertEquals(List.of("init"), FullService.EVENTS);
+        assertNotSame(service, container.get(FullService.class));
+    }
+
+    @ParameterizedTest
+    @MethodSource("engines")
+    @DisplayName("Should wrap constructor failures in ContainerException")
+    void shouldWrapConstructorFailures(InstantiationEngine engine) {
+        Container container = newContainer(engine);
+
+        ContainerException e = assertThrows(ContainerException.class, () -> container.get(FailingService.class));
+        assertTrue(hasCause(e, IllegalStateException.class));
+    }
+
+    @Test
+    @DisplayName("Should default to the reflection engine")
+    void shouldDefaultToReflection() {
+        assertSame(InstantiationEngine.reflection(), new Container().getInstantiationEngine());
+    }
+
+    @Test
+    @DisplayName("Should switch engines on a live container")
+    void shouldSwitchEngines() {
+        Container container = newContainer(InstantiationEngine.reflection());
+        assertNotNull(container.get(FullService.class));
+
+        container.setInstantiationEngine(InstantiationEngine.hiddenClasses());
+
+        assertNotNull(container.get(FullService.class));
+    }
+
+    private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (type.isInstance(t)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,281 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.exception.BeanNotFoundException;
+import io.github.abolpv.lightdi.exception.CircularDependencyException;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.provider.Provider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for iterative, explicit-stack dependency resolution.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class IterativeResolutionTest {
+
+    private static final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        events.clear();
+        Flaky.failures = 0;
+    }
+
+    // Test classes
+
+    interface Store {
+    }
+
+    @Injectable
+    @Singleton
+    static class Database implements Store {
+        @PostConstruct
+        void init() {
+            events.add("Database");
+        }
+    }
+
+    @Injectable
+    static class Cache {
+        @PostConstruct
+        void init() {
+            events.add("Cache");
+        }
+    }
+
+    @Injectable
+    static class AuditCache extends Cache {
+    }
+
+    @Injectable
+    static class Repository {
+        final Store store;
+        Cache cache;
+        Cache audit;
+
+        @Inject
+        Repository(Store store) {
+            events.add("new Repository");
+            this.store = store;
+        }
+
+        @Inject
+        void setCaches(Cache cache, @Named("audit") Cache audit) {
+            events.add("setCaches");
+            this.cache = cache;
+            this.audit = audit;
+        }
+
+        @PostConstruct
+        void init() {
+            events.add("Repository");
+        }
+    }
+
+    @Injectable
+    static class Service {
+        @Inject
+        Repository repository;
+
+        @Inject
+        Database database;
+
+        @Inject
+        Provider<Cache> caches;
+
+        @PostConstruct
+        void init() {
+            events.add("Service");
+        }
+    }
+
+    @Injectable
+    static class Ping {
+        @Inject
+        Ping(Pong pong) {
+        }
+    }
+
+    @Injectable
+    static class Pong {
+        @Inject
+        Ping ping;
+    }
+
+    @Injectable
+    @Singleton
+    static class Owner {
+        @Inject
+        Owner(Pet pet) {
+        }
+    }
+
+    @Injectable
+    static class Pet {
+        @Inject
+        Owner owner;
+    }
+
+    @Injectable
+    @Singleton
+    static class Flaky {
+        static int failures;
+
+        Flaky() {
+            if (failures-- > 0) {
+                throw new IllegalStateException("not yet");
+            }
+        }
+    }
+
+    @Injectable
+    static class FlakyClient {
+        @Inject
+        Flaky flaky;
+    }
+
+    @Injectable
+    static class Orphan {
+        @Inject
+        Runnable missing;
+    }
+
+    @Nested
+    @DisplayName("Equivalence")
+    class EquivalenceTests {
+
+        @Test
+        @DisplayName("Should inject the same graph as recursive resolution")
+        void shouldInjectSameGraph() {
+            Service service = container(true).get(Service.class);
+
+            assertInstanceOf(Database.class, service.repository.store);
+            assertSame(service.database, service.repository.store);
+            assertInstanceOf(AuditCache.class, service.repository.audit);
+            assertEquals(Cache.class, service.repository.cache.getClass());
+            assertNotNull(service.caches.get());
+        }
+
+        @Test
+        @DisplayName("Should create and initialize beans in the recursive order")
+        void shouldKeepLifecycleOrder() {
+            container(false).get(Service.class);
+            List<String> recursive = new ArrayList<>(events);
+            events.clear();
+
+            container(true).get(Service.class);
+
+            assertEquals(recursive, events);
+            assertEquals(List.of("Database", "new Repository", "Cache", "Cache", "setCaches",
+                "Repository", "Service"), events);
+        }
+
+        @Test
+        @DisplayName("Should share singletons with lookups through get()")
+        void shouldShareSingletons() {
+            Container container = container(true);
+
+            Service service = container.get(Service.class);
+
+            assertSame(container.get(Database.class), service.database);
+            assertSame(container.get(Store.class), service.database);
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should detect prototype and singleton cycles")
+        void shouldDetectCycles() {
+            Container container = container(true)
+                .register(Ping.class).register(Pong.class)
+                .register(Owner.class).register(Pet.class);
+
+            CircularDependencyException prototypes =
+                assertThrows(CircularDependencyException.class, () -> container.get(Ping.class));
+            assertEquals(List.of(Ping.class, Pong.class, Ping.class), prototypes.getDependencyChain());
+
+            CircularDependencyException singletons =
+                assertThrows(CircularDependencyException.class, () -> container.get(Owner.class));
+            assertEquals(List.of(Owner.class, Pet.class, Owner.class), singletons.getDependencyChain());
+        }
+
+        @Test
+        @DisplayName("Should release a singleton that failed deep in the stack")
+        void shouldReleaseFailedSingleton() {
+            Container container = container(true).register(Flaky.class).register(FlakyClient.class);
+            Flaky.failures = 1;
+
+            assertThrows(ContainerException.class, () -> container.get(FlakyClient.class));
+
+            assertNotNull(container.get(FlakyClient.class).flaky);
+        }
+
+        @Test
+        @DisplayName("Should report missing dependencies")
+        void shouldReportMissingDependencies() {
+            Container container = container(true).register(Orphan.class);
+
+            assertThrows(BeanNotFoundException.class, () -> container.get(Orphan.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Depth")
+    class DepthTests {
+
+        @TempDir
+        Path classes;
+
+        @Test
+        @DisplayName("Should resolve a chain deeper than the thread stack allows recursively")
+        void shouldResolveDeepChain() throws Throwable {
+            try (DeepChain chain = DeepChain.compile(classes, 2_000, false)) {
+                Container container = chain.registerAll(new Container().setIterativeResolution(true));
+                Class<?> top = chain.top();
+
+                assertInstanceOf(top, DeepChain.onSmallStack(() -> container.get(top)));
+            }
+        }
+
+        @Test
+        @DisplayName("Should freeze a chain deeper than the thread stack allows recursively")
+        void shouldFreezeDeepChain() throws Throwable {
+            try (DeepChain chain = DeepChain.compile(classes, 5_000, false)) {
+                Container container = chain.registerAll(new Container().setIterativeResolution(true));
+                Class<?> top = chain.top();
+
+                assertInstanceOf(top, DeepChain.onSmallStack(() -> container.freeze().get(top)));
+            }
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private static Container container(boolean iterative) {
+        return new Container()
+            .setIterativeResolution(iterative)
+            .setUseGeneratedFactories(false)
+            .register(Database.class)
+            .register(Cache.class)
+            .register(Cache.class, AuditCache.class, "audit")
+            .register(Repository.class)
+            .register(Service.class);
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.Inject;
+import io.github.abolpv.lightdi.annotation.Injectable;
+import io.github.abolpv.lightdi.annotation.Named;
+import io.github.abolpv.lightdi.annotation.Singleton;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.container.InstantiationEngine;
+import io.github.abolpv.lightdi.exception.BeanNotFoundException;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.provider.Lazy;
+import io.github.abolpv.lightdi.provider.Provider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Provider, Supplier and Lazy holder injection.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class ProviderInjectionTest {
+
+    private Container container;
+
+    @BeforeEach
+    void setUp() {
+        container = new Container();
+        Expensive.CREATED.set(0);
+    }
+
+    // Test classes
+
+    interface Sender {
+        String send();
+    }
+
+    @Injectable
+    static class Expensive {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        Expensive() {
+            CREATED.incrementAndGet();
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class Repository {
+    }
+
+    @Injectable
+    static class EmailSender implements Sender {
+        public String send() {
+            return "email";
+        }
+    }
+
+    @Injectable
+    static class Consumer {
+        final Provider<Expensive> constructorProvider;
+
+        @Inject
+        Supplier<Repository> repositorySupplier;
+
+        @Inject
+        Lazy<Expensive> lazyExpensive;
+
+        Lazy<Repository> methodLazy;
+
+        @Inject
+        Consumer(Provider<Expensive> constructorProvider) {
+            this.constructorProvider = constructorProvider;
+        }
+
+        @Inject
+        void setMethodLazy(Lazy<Repository> methodLazy) {
+            this.methodLazy = methodLazy;
+        }
+    }
+
+    @Injectable
+    static class NamedConsumer {
+        @Inject
+        @Named("email")
+        Provider<Sender> sender;
+    }
+
+    @Injectable
+    static class RawConsumer {
+        @Inject
+        @SuppressWarnings("rawtypes")
+        Provider raw;
+    }
+
+    @Injectable
+    static class MissingConsumer {
+        @Inject
+        Provider<Sender> sender;
+    }
+
+    @Injectable
+    @Singleton
+    static class CycleA {
+        final Lazy<CycleB> b;
+
+        @Inject
+        CycleA(Lazy<CycleB> b) {
+            this.b = b;
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class CycleB {
+        @Inject
+        CycleA a;
+    }
+
+    @Test
+    @DisplayName("Should inject providers, suppliers and lazy holders without creating the bean")
+    void shouldDeferCreation() {
+        container.register(Expensive.class).register(Repository.class).register(Consumer.class);
+
+        Consumer consumer = container.get(Consumer.class);
+
+        assertEquals(0, Expensive.CREATED.get());
+        assertFalse(consumer.lazyExpensive.isResolved());
+        assertSame(container.get(Repository.class), consumer.repositorySupplier.get());
+        assertSame(container.get(Repository.class), consumer.methodLazy.get());
+    }
+
+    @Test
+    @DisplayName("Should create a prototype per provider call and once per lazy holder")
+    void shouldFollowScopes() {
+        container.register(Expensive.class).register(Repository.class).register(Consumer.class);
+        Consumer consumer = container.get(Consumer.class);
+
+        assertNotSame(consumer.constructorProvider.get(), consumer.constructorProvider.get());
+        assertEquals(2, Expensive.CREATED.get());
+
+        Expensive lazy = consumer.lazyExpensive.get();
+        assertSame(lazy, consumer.lazyExpensive.get());
+        assertTrue(consumer.lazyExpensive.isResolved());
+        assertEquals(3, Expensive.CREATED.get());
+    }
+
+    @Test
+    @DisplayName("Should hand out real instances rather than proxies")
+    void shouldNotUseProxies() {
+        container.register(Expensive.class).register(Repository.class).register(Consumer.class);
+        Consumer consumer = container.get(Consumer.class);
+
+        assertFalse(Proxy.isProxyClass(consumer.lazyExpensive.get().getClass()));
+        assertEquals(Expensive.class, consumer.constructorProvider.get().getClass());
+    }
+
+    @Test
+    @DisplayName("Should resolve qualified providers")
+    void shouldResolveQualifiedProviders() {
+        container.register(Sender.class, EmailSender.class, "email").register(NamedConsumer.class);
+
+        assertEquals("email", container.get(NamedConsumer.class).sender.get().send());
+    }
+
+    @Test
+    @DisplayName("Should break cycles with lazy holders")
+    void shouldBreakCycles() {
+        container.register(CycleA.class).register(CycleB.class);
+
+        CycleA a = container.get(CycleA.class);
+
+        assertSame(a, a.b.get().a);
+    }
+
+    @Test
+    @DisplayName("Should work with every instantiation engine")
+    void shouldWorkWithEveryEngine() {
+        for (InstantiationEngine engine : new InstantiationEngine[] {
+            InstantiationEngine.reflection(), InstantiationEngine.methodHandles(), InstantiationEngine.hiddenClasses()}) {
+            Container engineContainer = Container.builder()
+                .instantiationEngine(engine)
+                .register(Expensive.class)
+                .register(Repository.class)
+                .register(Consumer.class)
+                .build();
+
+            Consumer consumer = engineContainer.get(Consumer.class);
+
+            assertNotNull(consumer.constructorProvider.get());
+            assertNotNull(consumer.lazyExpensive.get());
+            assertSame(engineContainer.get(Repository.class), consumer.methodLazy.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject raw providers and missing beans")
+    void shouldRejectInvalidProviders() {
+        container.register(RawConsumer.class).register(MissingConsumer.class);
+
+        assertThrows(ContainerException.class, () -> container.get(RawConsumer.class));
+        assertThrows(BeanNotFoundException.class, () -> container.get(MissingConsumer.class));
+    }
+}
@@ -0,0 +1,199 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.exception.CircularDependencyException;
+import io.github.abolpv.lightdi.provider.Lazy;
+import io.github.abolpv.lightdi.proxy.LazyProxy;
+import io.github.abolpv.lightdi.resolver.CircularDependencyDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the stack-confined resolution path and lock-based lazy initialization.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class ResolutionContextTest {
+
+    private static final int THREADS = 8;
+
+    private static volatile CyclicBarrier barrier;
+
+    // Test classes
+
+    @Injectable
+    static class Ping {
+        @Inject
+        Ping(Pong pong) {
+        }
+    }
+
+    @Injectable
+    static class Pong {
+        @Inject
+        Pong(Ping ping) {
+        }
+    }
+
+    @Injectable
+    static class Leaf {
+        Leaf() throws Exception {
+            // Holds every thread in the middle of its own resolution
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Injectable
+    static class Branch {
+        @Inject
+        Branch(Leaf leaf) {
+        }
+    }
+
+    @Injectable
+    static class Root {
+        @Inject
+        Branch branch;
+    }
+
+    @Injectable
+    @Singleton
+    static class Expensive {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        Expensive() throws InterruptedException {
+            CREATED.incrementAndGet();
+            Thread.sleep(20);
+        }
+    }
+
+    @Injectable
+    static class Consumer {
+        @Inject
+        Lazy<Expensive> expensive;
+    }
+
+    @Nested
+    @DisplayName("Resolution path")
+    class PathTests {
+
+        @Test
+        @DisplayName("Should detect cycles through generated factories and the iterative resolver")
+        void shouldDetectCyclesInEveryMode() {
+            for (boolean iterative : new boolean[] {false, true}) {
+                for (boolean factories : new boolean[] {false, true}) {
+                    Container container = new Container()
+                        .setIterativeResolution(iterative)
+                        .setUseGeneratedFactories(factories)
+                        .register(Ping.class)
+                        .register(Pong.class);
+
+                    CircularDependencyException exception =
+                        assertThrows(CircularDependencyException.class, () -> container.get(Ping.class));
+                    assertEquals(List.of(Ping.class, Pong.class, Ping.class), exception.getDependencyChain());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep the paths of concurrent resolutions apart")
+        void shouldIsolateConcurrentPaths() throws Exception {
+            barrier = new CyclicBarrier(THREADS);
+            Container container = new Container()
+                .register(Leaf.class)
+                .register(Branch.class)
+                .register(Root.class);
+
+            List<Root> roots = runConcurrently(() -> container.get(Root.class));
+
+            assertEquals(THREADS, roots.stream().distinct().count());
+        }
+
+        @Test
+        @DisplayName("Should leave no detector state on the thread once its stack is empty")
+        void shouldReleaseDetectorState() {
+            CircularDependencyDetector detector = new CircularDependencyDetector();
+            detector.push(Ping.class);
+            detector.push(Pong.class);
+            detector.pop(Pong.class);
+            detector.pop(Ping.class);
+
+            assertEquals(0, detector.getDepth());
+            assertEquals("<empty>", detector.getCurrentPath());
+            detector.push(Ping.class);
+            assertTrue(detector.isResolving(Ping.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Lazy initialization")
+    class LazyTests {
+
+        @Test
+        @DisplayName("Should create a Lazy dependency once under contention")
+        void shouldCreateLazyOnce() throws Exception {
+            Expensive.CREATED.set(0);
+            Container container = new Container().register(Expensive.class).register(Consumer.class);
+            Lazy<Expensive> lazy = container.get(Consumer.class).expensive;
+
+            List<Expensive> instances = runConcurrently(lazy::get);
+
+            assertEquals(1, Expensive.CREATED.get());
+            assertEquals(1, instances.stream().distinct().count());
+        }
+
+        @Test
+        @DisplayName("Should create a lazy proxy target once under contention")
+        void shouldCreateProxyTargetOnce() throws Exception {
+            AtomicInteger created = new AtomicInteger();
+            LazyProxy proxy = new LazyProxy(() -> {
+                created.incrementAndGet();
+                return new Object();
+            });
+
+            List<Object> targets = runConcurrently(proxy::getTarget);
+
+            assertEquals(1, created.get());
+            assertEquals(1, targets.stream().distinct().count());
+            assertTrue(proxy.isInitialized());
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private static <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return task.call();
+                }));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
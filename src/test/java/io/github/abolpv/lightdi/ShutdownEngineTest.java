@@ -0,0 +1,250 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.container.ShutdownOptions;
+import io.github.abolpv.lightdi.container.ShutdownReport;
+import io.github.abolpv.lightdi.container.ShutdownReport.Status;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for dependency-ordered, parallel shutdown.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class ShutdownEngineTest {
+
+    private static final List<Class<?>> destroyed = Collections.synchronizedList(new ArrayList<>());
+    private static volatile CyclicBarrier barrier;
+
+    @BeforeEach
+    void setUp() {
+        destroyed.clear();
+    }
+
+    // Test classes
+
+    @Injectable
+    @Singleton
+    static class Pool {
+        @PreDestroy
+        void close() {
+            destroyed.add(Pool.class);
+        }
+    }
+
+    @Injectable
+    static class Session {
+        @Inject
+        Pool pool;
+    }
+
+    @Injectable
+    @Singleton
+    static class Facade {
+        @Inject
+        Session session;
+
+        @PreDestroy
+        void close() {
+            destroyed.add(Facade.class);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class Late {
+        @PreDestroy
+        void close() {
+            destroyed.add(Late.class);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class FlushLeft {
+        @PreDestroy
+        void flush() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class FlushRight {
+        @PreDestroy
+        void flush() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class Hanging {
+        @Inject
+        Pool pool;
+
+        @PreDestroy
+        void close() throws InterruptedException {
+            Thread.sleep(10_000);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class Slow {
+        @PreDestroy
+        void close() throws InterruptedException {
+            Thread.sleep(50);
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class Failing {
+        @PreDestroy
+        void close() {
+            throw new IllegalStateException("flush failed");
+        }
+    }
+
+    @Nested
+    @DisplayName("Ordering")
+    class OrderingTests {
+
+        @Test
+        @DisplayName("Should destroy dependents first, looking through prototypes")
+        void shouldDestroyInReverseDependencyOrder() {
+            Container container = new Container()
+                .register(Pool.class)
+                .register(Session.class)
+                .register(Facade.class)
+                .register(Late.class);
+            container.get(Facade.class);
+            container.get(Late.class);
+
+            ShutdownReport report = container.shutdown(ShutdownOptions.sequential());
+
+            assertEquals(List.of(Late.class, Facade.class, Pool.class), destroyed);
+            assertTrue(report.isComplete());
+            assertEquals(3, report.getBeans(Status.DESTROYED).size());
+        }
+
+        @Test
+        @DisplayName("Should destroy independent beans in parallel")
+        void shouldDestroyInParallel() {
+            // Each callback waits for the other, so sequential shutdown would time out
+            barrier = new CyclicBarrier(2);
+            Container container = new Container().register(FlushLeft.class).register(FlushRight.class);
+            container.get(FlushLeft.class);
+            container.get(FlushRight.class);
+
+            ShutdownReport report = container.shutdown(ShutdownOptions.parallel(2));
+
+            assertTrue(report.isComplete(), report.toString());
+            assertTrue(container.isShutdown());
+        }
+    }
+
+    @Nested
+    @DisplayName("Deadlines")
+    class DeadlineTests {
+
+        @Test
+        @DisplayName("Should time out a bean and still destroy its dependencies")
+        void shouldEnforceBeanTimeout() {
+            Container container = new Container().register(Pool.class).register(Hanging.class);
+            container.get(Hanging.class);
+
+            ShutdownReport report = container.shutdown(ShutdownOptions.parallel(2)
+                .beanTimeout(Duration.ofMillis(200)));
+
+            assertEquals(Hanging.class, report.getBeans(Status.TIMED_OUT).get(0).getBeanClass());
+            assertEquals(List.of(Pool.class), destroyed);
+            assertFalse(report.isComplete());
+            assertTrue(report.getDuration().compareTo(Duration.ofSeconds(5)) < 0);
+        }
+
+        @Test
+        @DisplayName("Should skip the remaining beans after the global deadline")
+        void shouldEnforceGlobalTimeout() {
+            Container container = new Container().register(Pool.class).register(Hanging.class);
+            container.get(Hanging.class);
+
+            ShutdownReport report = container.shutdown(ShutdownOptions.parallel(2)
+                .timeout(Duration.ofMillis(200)));
+
+            assertEquals(1, report.getBeans(Status.TIMED_OUT).size());
+            assertEquals(Pool.class, report.getBeans(Status.SKIPPED).get(0).getBeanClass());
+            assertTrue(destroyed.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should report beans above the slow threshold")
+        void shouldReportSlowBeans() {
+            Container container = new Container().register(Slow.class).register(Pool.class);
+            container.get(Slow.class);
+            container.get(Pool.class);
+
+            ShutdownReport report = container.shutdown(ShutdownOptions.sequential()
+                .slowThreshold(Duration.ofMillis(20)));
+
+            assertEquals(1, report.getSlowBeans().size());
+            assertEquals(Slow.class, report.getSlowBeans().get(0).getBeanClass());
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should report failures and continue with the remaining beans")
+        void shouldReportFailures() {
+            Container container = new Container().register(Failing.class).register(Pool.class);
+            container.get(Pool.class);
+            container.get(Failing.class);
+
+            ShutdownReport report = container.shutdown(ShutdownOptions.parallel(4));
+
+            ShutdownReport.BeanShutdown failed = report.getBeans(Status.FAILED).get(0);
+            assertEquals(Failing.class, failed.getBeanClass());
+            assertNotNull(failed.getFailure());
+            assertEquals(List.of(Pool.class), destroyed);
+        }
+
+        @Test
+        @DisplayName("Should keep throwing from shutdown() when a callback fails")
+        void shouldThrowFromPlainShutdown() {
+            Container container = new Container().register(Failing.class).register(Pool.class);
+            container.get(Pool.class);
+            container.get(Failing.class);
+
+            assertThrows(ContainerException.class, container::shutdown);
+            assertEquals(List.of(Pool.class), destroyed);
+            assertTrue(container.shutdown(ShutdownOptions.sequential()).getBeans().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reject invalid options")
+        void shouldRejectInvalidOptions() {
+            assertThrows(IllegalArgumentException.class, () -> ShutdownOptions.parallel(0));
+            assertThrows(IllegalArgumentException.class,
+                () -> ShutdownOptions.sequential().beanTimeout(Duration.ZERO));
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.container.Scope;
+import io.github.abolpv.lightdi.container.StartupProfile;
+import io.github.abolpv.lightdi.container.StartupProfile.BeanCreation;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for profiling bean creation at startup.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class StartupProfileTest {
+
+    // Test classes
+
+    @Injectable
+    @Singleton
+    static class Repository {
+    }
+
+    @Injectable
+    @Singleton
+    static class SlowCache {
+        @PostConstruct
+        void warmUp() throws InterruptedException {
+            Thread.sleep(20);
+        }
+    }
+
+    @Injectable
+    static class Clock {
+    }
+
+    @Injectable
+    static class Service {
+        @Inject
+        Repository repository;
+
+        @Inject
+        SlowCache cache;
+    }
+
+    @Injectable
+    static class Controller {
+        final Clock clock;
+        final Service service;
+
+        @Inject
+        Controller(Clock clock, Service service) {
+            this.clock = clock;
+            this.service = service;
+        }
+    }
+
+    @Injectable
+    @Singleton
+    static class SlowIndex {
+        static volatile CountDownLatch started;
+
+        @PostConstruct
+        void build() throws InterruptedException {
+            started.countDown();
+            Thread.sleep(100);
+        }
+    }
+
+    @Injectable
+    static class Indexer {
+        final SlowIndex index;
+
+        @Inject
+        Indexer(SlowIndex index) {
+            this.index = index;
+        }
+    }
+
+    @Injectable
+    static class Broken {
+        @Inject
+        Broken(Repository repository) {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    @Nested
+    @DisplayName("Recording")
+    class RecordingTests {
+
+        @Test
+        @DisplayName("Should record creations with the dependencies created for them")
+        void shouldRecordCreationTree() {
+            for (boolean iterative : new boolean[] {false, true}) {
+                Container container = container(iterative).startProfiling();
+
+                container.get(Controller.class);
+                StartupProfile profile = container.stopProfiling();
+
+                assertEquals(List.of(Controller.class, Clock.class, Service.class, Repository.class, SlowCache.class),
+                    classes(profile.getCreations()), "iterative=" + iterative);
+                assertEquals(List.of(Controller.class), classes(profile.getRoots()));
+                BeanCreation controller = profile.getRoots().get(0);
+                assertEquals(List.of(Clock.class, Service.class), classes(controller.getDependencies()));
+                assertEquals(Scope.PROTOTYPE, controller.getScope());
+                assertEquals(Thread.currentThread().getName(), controller.getThread());
+            }
+        }
+
+        @Test
+        @DisplayName("Should split inclusive, exclusive and @PostConstruct times")
+        void shouldRecordTimes() {
+            for (boolean iterative : new boolean[] {false, true}) {
+                Container container = container(iterative).startProfiling();
+
+                container.get(Controller.class);
+                StartupProfile profile = container.stopProfiling();
+
+                BeanCreation controller = profile.getCreations().get(0);
+                BeanCreation cache = profile.getCreations().get(4);
+                assertTrue(cache.getPostConstructTime().compareTo(Duration.ofMillis(20)) >= 0);
+                assertTrue(controller.getInclusiveTime().compareTo(cache.getInclusiveTime()) >= 0);
+                assertTrue(controller.getExclusiveTime().compareTo(Duration.ofMillis(20)) < 0,
+                    "iterative=" + iterative);
+                assertTrue(profile.getWallClockTime().compareTo(controller.getInclusiveTime()) >= 0);
+            }
+        }
+
+        @Test
+        @DisplayName("Should follow the slowest dependencies along the critical path")
+        void shouldFindCriticalPath() {
+            Container container = container(false).startProfiling();
+
+            container.get(Clock.class);
+            container.get(Controller.class);
+            StartupProfile profile = container.stopProfiling();
+
+            assertEquals(List.of(Controller.class, Service.class, SlowCache.class),
+                classes(profile.getCriticalPath()));
+        }
+
+        @Test
+        @DisplayName("Should list singletons that already existed separately")
+        void shouldRecordExistingDependencies() {
+            Container container = container(false);
+            container.get(Service.class);
+            container.startProfiling();
+
+            container.get(Service.class);
+            StartupProfile profile = container.stopProfiling();
+
+            assertEquals(List.of(Service.class), classes(profile.getCreations()));
+            assertEquals(List.of(Repository.class, SlowCache.class),
+                profile.getCreations().get(0).getExistingDependencies());
+        }
+
+        @Test
+        @DisplayName("Should discard failed creations but keep the singletons they created")
+        void shouldDiscardFailures() {
+            for (boolean iterative : new boolean[] {false, true}) {
+                Container container = container(iterative).register(Broken.class).startProfiling();
+
+                assertThrows(ContainerException.class, () -> container.get(Broken.class));
+                container.get(Clock.class);
+                StartupProfile profile = container.stopProfiling();
+
+                assertEquals(List.of(Repository.class, Clock.class), classes(profile.getRoots()),
+                    "iterative=" + iterative);
+            }
+        }
+
+        @Test
+        @DisplayName("Should profile eager singletons of a validated, frozen container")
+        void shouldProfileFromBuilder() {
+            Container container = Container.builder()
+                .profiling(true)
+                .register(Repository.class)
+                .register(SlowCache.class)
+                .validate()
+                .freeze()
+                .eagerSingletons()
+                .build();
+
+            StartupProfile profile = container.stopProfiling();
+
+            assertEquals(Set.of(Repository.class, SlowCache.class), Set.copyOf(classes(profile.getRoots())));
+            assertThrows(ContainerException.class, container::stopProfiling);
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel Initialization")
+    class ParallelTests {
+
+        @Test
+        @DisplayName("Should link a bean to the singleton it waited for on another thread")
+        void shouldRecordAwaitedSingletons() throws InterruptedException {
+            for (boolean iterative : new boolean[] {false, true}) {
+                SlowIndex.started = new CountDownLatch(1);
+                Container container = new Container()
+                    .setIterativeResolution(iterative)
+                    .register(SlowIndex.class)
+                    .register(Indexer.class)
+                    .startProfiling();
+
+                Thread creator = new Thread(() -> container.get(SlowIndex.class), "index-creator");
+                creator.start();
+                assertTrue(SlowIndex.started.await(5, TimeUnit.SECONDS));
+                container.get(Indexer.class);
+                creator.join();
+                StartupProfile profile = container.stopProfiling();
+
+                BeanCreation indexer = creation(profile, Indexer.class);
+                BeanCreation index = creation(profile, SlowIndex.class);
+                assertEquals("index-creator", index.getThread());
+                assertEquals(List.of(index), indexer.getAwaitedDependencies(), "iterative=" + iterative);
+                assertTrue(indexer.getWaitTime().compareTo(Duration.ofMillis(20)) > 0);
+                assertTrue(indexer.getExclusiveTime().compareTo(indexer.getWaitTime()) < 0);
+                assertEquals(List.of(Indexer.class, SlowIndex.class), classes(profile.getCriticalPath()));
+                assertTrue(profile.toJson().contains("\"awaitedDependencies\": [" + index.getId() + "]"));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Export")
+    class ExportTests {
+
+        @Test
+        @DisplayName("Should write every creation and the critical path as JSON")
+        void shouldWriteJson() {
+            Container container = container(false).startProfiling();
+            container.get(Controller.class);
+
+            String json = container.stopProfiling().toJson();
+
+            assertTrue(json.contains("\"class\": \"" + SlowCache.class.getName() + "\""), json);
+            assertTrue(json.contains("\"dependencies\": [1, 2]"), json);
+            assertTrue(json.contains("\"roots\": [0]"), json);
+            assertTrue(json.contains("\"criticalPath\": [0, 2, 4]"), json);
+        }
+
+        @Test
+        @DisplayName("Should draw one node per class with the critical path highlighted")
+        void shouldWriteDot() {
+            Container container = container(false);
+            container.get(Repository.class);
+            container.startProfiling();
+            container.get(Controller.class);
+
+            String dot = container.stopProfiling().toDot();
+
+            assertTrue(dot.startsWith("digraph startup {"), dot);
+            assertTrue(dot.contains("\"" + Service.class.getName() + "\" -> \"" + SlowCache.class.getName()
+                + "\" [color=red, penwidth=2];"), dot);
+            assertTrue(dot.contains("\"" + Service.class.getName() + "\" -> \"" + Repository.class.getName()
+                + "\" [style=dashed];"), dot);
+            assertTrue(dot.contains("\"" + Controller.class.getName() + "\" -> \"" + Clock.class.getName() + "\";"), dot);
+        }
+
+        @Test
+        @DisplayName("Should export an empty profile")
+        void shouldExportEmptyProfile() {
+            StartupProfile profile = new Container().startProfiling().stopProfiling();
+
+            assertTrue(profile.getCriticalPath().isEmpty());
+            assertEquals(Duration.ZERO, profile.getWallClockTime());
+            assertTrue(profile.toJson().contains("\"creations\": [],"));
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private static Container container(boolean iterative) {
+        return new Container()
+            .setIterativeResolution(iterative)
+            .register(Repository.class)
+            .register(SlowCache.class)
+            .register(Clock.class)
+            .register(Service.class)
+            .register(Controller.class);
+    }
+
+    private static BeanCreation creation(StartupProfile profile, Class<?> beanClass) {
+        return profile.getCreations().stream()
+            .filter(creation -> creation.getBeanClass() == beanClass)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static List<Class<?>> classes(List<BeanCreation> creations) {
+        return creations.stream().map(BeanCreation::getBeanClass).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,283 @@
+package io.github.abolpv.lightdi;
+
+import io.github.abolpv.lightdi.annotation.*;
+import io.github.abolpv.lightdi.container.Container;
+import io.github.abolpv.lightdi.container.ValidationReport;
+import io.github.abolpv.lightdi.container.ValidationReport.Kind;
+import io.github.abolpv.lightdi.exception.CircularDependencyException;
+import io.github.abolpv.lightdi.exception.ContainerException;
+import io.github.abolpv.lightdi.provider.Provider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for up-front dependency graph validation.
+ *
+ * @author Abolfazl Azizi
+ * @since 1.2.0
+ */
+class ValidationTest {
+
+    // Test classes
+
+    interface Notifier {
+    }
+
+    @Injectable
+    static class EmailNotifier implements Notifier {
+    }
+
+    @Injectable
+    static class SmsNotifier implements Notifier {
+    }
+
+    @Injectable
+    @Primary
+    static class PushNotifier implements Notifier {
+    }
+
+    interface Clock {
+    }
+
+    @Injectable
+    static class Alerts {
+        @Inject
+        Notifier notifier;
+    }
+
+    @Injectable
+    static class Billing {
+        @Inject
+        Billing(Clock clock) {
+        }
+
+        @Inject
+        @Named("audit")
+        Notifier audit;
+
+        @Inject
+        void setClock(Clock clock) {
+        }
+    }
+
+    @Injectable
+    static class Scheduler {
+        @Inject
+        Provider<Clock> clock;
+    }
+
+    @Injectable
+    static class Left {
+        @Inject
+        Left(Right right) {
+        }
+    }
+
+    @Injectable
+    static class Right {
+        @Inject
+        Right(Left left) {
+        }
+    }
+
+    @Injectable
+    static class Self {
+        @Inject
+        Self self;
+    }
+
+    @Injectable
+    static class Broken {
+        @PostConstruct
+        void init(String argument) {
+        }
+    }
+
+    @Injectable
+    static class Report {
+        @Inject
+        Report(Alerts alerts) {
+        }
+    }
+
+    @Nested
+    @DisplayName("Problems")
+    class ProblemTests {
+
+        @Test
+        @DisplayName("Should report every problem at once")
+        void shouldReportAllProblems() {
+            Container container = new Container()
+                .register(EmailNotifier.class)
+                .register(SmsNotifier.class)
+                .register(Alerts.class)
+                .register(Billing.class)
+                .register(Scheduler.class)
+                .register(Left.class)
+                .register(Right.class)
+                .register(Self.class)
+                .register(Broken.class);
+
+            ValidationReport report = container.validate();
+
+            assertFalse(report.isValid());
+            assertEquals(3, report.getProblems(Kind.MISSING).size(), report.toString());
+            assertEquals(1, report.getProblems(Kind.AMBIGUOUS).size(), report.toString());
+            assertEquals(2, report.getProblems(Kind.CIRCULAR).size(), report.toString());
+            assertEquals(1, report.getProblems(Kind.INVALID).size(), report.toString());
+            assertEquals(Broken.class, report.getProblems(Kind.INVALID).get(0).getBeanClass());
+        }
+
+        @Test
+        @DisplayName("Should report missing named and deferred dependencies")
+        void shouldReportMissingDependencies() {
+            Container container = new Container().register(Billing.class).register(Scheduler.class);
+
+            ValidationReport report = container.validate();
+
+            String problems = report.getProblems(Kind.MISSING).toString();
+            assertTrue(problems.contains("Billing requires Clock"), problems);
+            assertTrue(problems.contains("Billing requires Notifier named 'audit'"), problems);
+            assertTrue(problems.contains("Scheduler requires Clock"), problems);
+        }
+
+        @Test
+        @DisplayName("Should report each cycle with its beans")
+        void shouldReportCycles() {
+            Container container = new Container()
+                .register(Left.class)
+                .register(Right.class)
+                .register(Self.class);
+
+            List<ValidationReport.Problem> cycles = container.validate().getProblems(Kind.CIRCULAR);
+
+            assertEquals(2, cycles.size());
+            List<Class<?>> cycle = cycles.stream()
+                .filter(problem -> problem.getBeanClass() != Self.class)
+                .findFirst().orElseThrow().getCycle();
+            assertEquals(3, cycle.size());
+            assertEquals(cycle.get(0), cycle.get(2));
+            assertTrue(cycle.containsAll(List.of(Left.class, Right.class)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Resolution")
+    class ResolutionTests {
+
+        @Test
+        @DisplayName("Should accept a graph with a @Primary bean")
+        void shouldAcceptPrimary() {
+            Container container = new Container()
+                .register(EmailNotifier.class)
+                .register(PushNotifier.class)
+                .register(Alerts.class)
+                .register(Report.class);
+
+            assertTrue(container.validate().isValid());
+        }
+
+        @Test
+        @DisplayName("Should accept an explicitly bound type")
+        void shouldAcceptExplicitBinding() {
+            Container container = new Container()
+                .register(EmailNotifier.class)
+                .register(SmsNotifier.class)
+                .register(Notifier.class, SmsNotifier.class)
+                .register(Alerts.class);
+
+            assertTrue(container.validate().isValid());
+        }
+
+        @Test
+        @DisplayName("Should not check the dependencies of registered instances")
+        void shouldSkipRegisteredInstances() {
+            Container container = new Container().registerInstance(Report.class, new Report(new Alerts()));
+
+            assertTrue(container.validate().isValid());
+        }
+    }
+
+    @Nested
+    @DisplayName("Runtime")
+    class RuntimeTests {
+
+        @Test
+        @DisplayName("Should still resolve beans after a successful validation")
+        void shouldResolveAfterValidation() {
+            Container container = new Container()
+                .register(PushNotifier.class)
+                .register(Alerts.class)
+                .register(Report.class);
+            container.validate();
+
+            assertInstanceOf(PushNotifier.class, container.get(Alerts.class).notifier);
+        }
+
+        @Test
+        @DisplayName("Should detect cycles again after further registration")
+        void shouldReenableDetection() {
+            Container container = new Container().register(EmailNotifier.class);
+            assertTrue(container.validate().isValid());
+
+            container.register(Left.class).register(Right.class);
+
+            assertThrows(CircularDependencyException.class, () -> container.get(Left.class));
+        }
+
+        @Test
+        @DisplayName("Should fail the build with all problems")
+        void shouldFailBuild() {
+            ContainerException exception = assertThrows(ContainerException.class, () -> Container.builder()
+                .register(Billing.class)
+                .register(Left.class)
+                .register(Right.class)
+                .validate()
+                .build());
+
+            assertTrue(exception.getMessage().contains("MISSING"), exception.getMessage());
+            assertTrue(exception.getMessage().contains("CIRCULAR"), exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should build a valid container")
+        void shouldBuildValidContainer() {
+            Container container = Container.builder()
+                .register(PushNotifier.class)
+                .register(Alerts.class)
+                .validate()
+                .freeze()
+                .build();
+
+            assertNotNull(container.get(Alerts.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Depth")
+    class DepthTests {
+
+        @TempDir
+        Path classes;
+
+        @Test
+        @DisplayName("Should validate a chain deeper than the thread stack allows recursively")
+        void shouldValidateDeepChain() throws Throwable {
+            try (DeepChain chain = DeepChain.compile(classes, 5_000, true)) {
+                Container container = chain.registerAll(new Container().setIterativeResolution(true));
+
+                ValidationReport report = DeepChain.onSmallStack(container::validate);
+
+                assertTrue(report.isValid(), report.toString());
+                assertInstanceOf(chain.top(), DeepChain.onSmallStack(() -> container.get(chain.top())));
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.abolpv.lightdi.fixtures.scan;
+
+import io.github.abolpv.lightdi.annotation.Injectable;
+
+@Injectable
+public class LegacyService {
+}
@@ -0,0 +1,4 @@
+package io.github.abolpv.lightdi.fixtures.scan;
+
+public class PlainHelper {
+}
@@ -0,0 +1,7 @@
+package io.github.abolpv.lightdi.fixtures.scan;
+
+import io.github.abolpv.lightdi.annotation.ComponentScan;
+
+@ComponentScan(excludeFilters = @ComponentScan.Filter(type = ComponentScan.FilterType.REGEX, pattern = ".*Legacy.*"))
+public class ScanConfig {
+}
@@ -0,0 +1,9 @@
+package io.github.abolpv.lightdi.fixtures.scan;
+
+import io.github.abolpv.lightdi.annotation.Injectable;
+import io.github.abolpv.lightdi.annotation.Singleton;
+
+@Injectable
+@Singleton
+public class ScannedRepository {
+}
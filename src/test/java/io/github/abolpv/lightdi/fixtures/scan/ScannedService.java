@@ -0,0 +1,25 @@
+package io.github.abolpv.lightdi.fixtures.scan;
+
+import io.github.abolpv.lightdi.annotation.Inject;
+import io.github.abolpv.lightdi.annotation.Injectable;
+import io.github.abolpv.lightdi.annotation.Named;
+
+import java.io.Serializable;
+
+@Injectable
+@Named("scanned")
+public class ScannedService implements Runnable, Serializable {
+    public static final long TIMEOUT = 30L;
+    public static final double RATIO = 0.5;
+
+    @Inject
+    private ScannedRepository repository;
+
+    public ScannedRepository getRepository() {
+        return repository;
+    }
+
+    @Override
+    public void run() {
+    }
+}
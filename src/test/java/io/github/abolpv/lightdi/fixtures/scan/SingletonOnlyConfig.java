@@ -0,0 +1,11 @@
+package io.github.abolpv.lightdi.fixtures.scan;
+
+import io.github.abolpv.lightdi.annotation.ComponentScan;
+import io.github.abolpv.lightdi.annotation.Singleton;
+
+@ComponentScan(
+    value = "io.github.abolpv.lightdi.fixtures.scan",
+    includeFilters = @ComponentScan.Filter(classes = Singleton.class)
+)
+public class SingletonOnlyConfig {
+}